@@ -0,0 +1,47 @@
+package bench;
+
+import backend.entities.Entity;
+
+/**
+ * An entity that is never destroyed by collisions, so a population keeps its size while it is benchmarked.
+ * @author Connor Stewart
+ */
+public class BenchEntity extends Entity {
+
+	/** The width and height of the entity, the same as the smaller enemies. */
+	private static final int SIZE = 2;
+
+	/**
+	 * Creates an entity.
+	 * @param x the x coordinate
+	 * @param y the y coordinate
+	 */
+	public BenchEntity(float x, float y) {
+		super("enemies/runner.png", 10, 10);
+		setSize(SIZE, SIZE);
+		setPosition(x, y);
+		setOriginCenter();
+	}
+
+	/**
+	 * Moves this entity forward, exposing {@link Entity#moveForward} to the benchmarks.
+	 * @param pixels the amount of pixels to move the entity by
+	 */
+	public void forward(double pixels) {
+		moveForward(pixels);
+	}
+
+	@Override
+	public boolean onCollision(Entity collidedWith) {
+		return false;
+	}
+
+	@Override
+	public void onDestroy() {}
+
+	@Override
+	public void update(float delta) {
+		moveForward(speed * delta);
+	}
+
+}
@@ -0,0 +1,52 @@
+package bench;
+
+import backend.entities.Entity;
+import com.badlogic.gdx.utils.Array;
+import org.openjdk.jmh.annotations.*;
+import ui.SPGame;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the single player collision pass, {@link SPGame#resolveCollisions}, which checks every pair of entities.
+ * The entities are scattered over the map and are never destroyed, so every invocation checks the same pairs.
+ * @author Connor Stewart
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+
+	/** The amount of entities in the game. */
+	@Param({"10", "100", "1000", "10000"})
+	public int entities;
+
+	/** The entities checked for collisions. */
+	private Array<Entity> population;
+
+	@Setup
+	public void setUp() {
+		Headless.start();
+
+		Random random = new Random(1);
+		population = new Array<>(entities);
+		for (int i = 0; i < entities; i++)
+			population.add(new BenchEntity(random.nextFloat() * SPGame.GAME_WIDTH, random.nextFloat() * SPGame.GAME_HEIGHT));
+	}
+
+	@TearDown
+	public void tearDown() {
+		Headless.stop();
+	}
+
+	@Benchmark
+	public Array<Entity> resolveCollisions() {
+		SPGame.resolveCollisions(population);
+		return population;
+	}
+
+}
@@ -0,0 +1,73 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import ui.SPGame;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the movement and aiming maths every entity runs each frame, applied to a whole population at once.
+ * @author Connor Stewart
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityBenchmark {
+
+	/** The amount of entities in the game. */
+	@Param({"10", "100", "1000", "10000"})
+	public int entities;
+
+	/** The entities moved and aimed. */
+	private BenchEntity[] population;
+
+	/** The entity every other entity aims at and measures its distance to. */
+	private BenchEntity target;
+
+	@Setup
+	public void setUp() {
+		Headless.start();
+
+		Random random = new Random(1);
+		population = new BenchEntity[entities];
+		for (int i = 0; i < entities; i++) {
+			population[i] = new BenchEntity(random.nextFloat() * SPGame.GAME_WIDTH, random.nextFloat() * SPGame.GAME_HEIGHT);
+			population[i].setRotation(random.nextFloat() * 360);
+		}
+
+		target = new BenchEntity(SPGame.GAME_WIDTH / 2, SPGame.GAME_HEIGHT / 2);
+	}
+
+	@TearDown
+	public void tearDown() {
+		Headless.stop();
+	}
+
+	@Benchmark
+	public void moveForward(Blackhole blackhole) {
+		for (BenchEntity entity : population)
+			entity.forward(0.25);
+		blackhole.consume(population);
+	}
+
+	@Benchmark
+	public void rotateTowards(Blackhole blackhole) {
+		for (BenchEntity entity : population)
+			entity.rotateTowards(target.getCenterX(), target.getCenterY());
+		blackhole.consume(population);
+	}
+
+	@Benchmark
+	public double distanceBetween() {
+		double total = 0;
+		for (BenchEntity entity : population)
+			total += entity.distanceBetween(target);
+		return total;
+	}
+
+}
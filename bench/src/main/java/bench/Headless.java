@@ -0,0 +1,102 @@
+package bench;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.mock.graphics.MockGraphics;
+import com.badlogic.gdx.graphics.GL20;
+import org.mockito.Mockito;
+import org.mockito.stubbing.Answer;
+
+import java.nio.IntBuffer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+
+/**
+ * This class starts libGDX without a display so entities can be created by the benchmarks. <br>
+ * OpenGL is replaced with a mock that creates every shader and reports it as compiled so screens can create their
+ * sprite batches, and that does not record its calls so it does not fill the heap over a long run. The frame time
+ * entities read is fixed, zero unless set, so entities that are updated stay where the benchmark put them and each
+ * invocation does the same work. It is read from a plain object rather than a mock, as a mock allocates on
+ * every call.
+ * @author Connor Stewart
+ */
+public final class Headless {
+
+	/** The application that loads the natives and files, null until started. */
+	private static HeadlessApplication app;
+
+	/** The graphics that give the fixed frame time, null until started. */
+	private static FixedGraphics graphics;
+
+	private Headless() {}
+
+	/**
+	 * Starts libGDX if it has not been started already.
+	 */
+	public static synchronized void start() {
+		if (app != null)
+			return;
+
+		GL20 gl = Mockito.mock(GL20.class, Mockito.withSettings().stubOnly());
+		Answer<Void> succeeded = invocation -> {
+			((IntBuffer) invocation.getArgument(2)).put(0, 1);
+			return null;
+		};
+		Mockito.doReturn(1).when(gl).glCreateShader(anyInt());
+		Mockito.doReturn(1).when(gl).glCreateProgram();
+		Mockito.doAnswer(succeeded).when(gl).glGetShaderiv(anyInt(), eq(GL20.GL_COMPILE_STATUS), any());
+		Mockito.doAnswer(succeeded).when(gl).glGetProgramiv(anyInt(), eq(GL20.GL_LINK_STATUS), any());
+
+		Gdx.gl = gl;
+		Gdx.gl20 = gl;
+		app = new HeadlessApplication(new ApplicationAdapter() {});
+
+		graphics = new FixedGraphics();
+		Gdx.graphics = graphics;
+	}
+
+	/**
+	 * Sets the frame time entities read.
+	 * @param delta the time in seconds
+	 */
+	public static synchronized void setDeltaTime(float delta) {
+		if (graphics == null)
+			throw new IllegalStateException("Headless must be started before the frame time is set.");
+
+		graphics.delta = delta;
+	}
+
+	/**
+	 * Stops libGDX so the benchmark process can exit.
+	 */
+	public static synchronized void stop() {
+		if (app != null)
+			app.exit();
+		app = null;
+		graphics = null;
+	}
+
+	/**
+	 * Graphics whose frame time is set rather than measured.
+	 */
+	private static class FixedGraphics extends MockGraphics {
+
+		/** The frame time in seconds. */
+		private volatile float delta;
+
+		@Override
+		public float getDeltaTime() {
+			return delta;
+		}
+
+		@Override
+		public float getRawDeltaTime() {
+			return delta;
+		}
+
+	}
+
+}
@@ -0,0 +1,40 @@
+package bench;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import network.Network;
+
+/**
+ * Encodes messages the way the game sends them, with Kryo and the serializers registered in {@link Network#register}.
+ * @author Connor Stewart
+ */
+public class KryoCodec implements MessageCodec {
+
+	/** The Kryo instance with the network classes registered. */
+	private final Kryo kryo = new Kryo();
+
+	/** Reused to write into each buffer. */
+	private final Output output = new Output();
+
+	/** Reused to read from each buffer. */
+	private final Input input = new Input();
+
+	public KryoCodec() {
+		Network.register(kryo);
+	}
+
+	@Override
+	public int encode(Object message, byte[] buffer) {
+		output.setBuffer(buffer);
+		kryo.writeClassAndObject(output, message);
+		return output.position();
+	}
+
+	@Override
+	public Object decode(byte[] buffer, int length) {
+		input.setBuffer(buffer, 0, length);
+		return kryo.readClassAndObject(input);
+	}
+
+}
@@ -0,0 +1,87 @@
+package bench;
+
+import backend.enemies.Asteroid;
+import backend.enemies.Dropship;
+import backend.enemies.Enemy;
+import backend.enemies.Laser;
+import backend.enemies.Runner;
+import backend.projectiles.LockOn;
+import org.openjdk.jmh.annotations.*;
+import ui.SPGame;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how an auto aim projectile finds its target: {@link LockOn#canSee} against every enemy, and
+ * {@link SPGame#getNearestVisibleEnemy}, which the projectile calls every frame.
+ * @author Connor Stewart
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LockOnBenchmark {
+
+	/** The amount of enemies in the game. */
+	@Param({"10", "100", "1000", "10000"})
+	public int entities;
+
+	/** The game the enemies are in, it is never shown. */
+	private SPGame game;
+
+	/** The enemies in the game. */
+	private Enemy[] enemies;
+
+	/** The projectile looking for enemies, in the middle of the map. */
+	private LockOn projectile;
+
+	@Setup
+	public void setUp() {
+		Headless.start();
+
+		game = new SPGame();
+		Random random = new Random(1);
+		enemies = new Enemy[entities];
+
+		//the same mix of enemies the spawner creates, asteroids are never chased
+		for (int i = 0; i < entities; i++) {
+			float x = random.nextFloat() * SPGame.GAME_WIDTH;
+			float y = random.nextFloat() * SPGame.GAME_HEIGHT;
+			switch (i % 4) {
+				case 0: enemies[i] = new Runner(x, y, game); break;
+				case 1: enemies[i] = new Laser(x, y, game); break;
+				case 2: enemies[i] = new Dropship(x, y, game); break;
+				default: enemies[i] = new Asteroid(x, y, game); break;
+			}
+			game.addEntity(enemies[i]);
+		}
+
+		projectile = new LockOn(SPGame.GAME_WIDTH / 2, SPGame.GAME_HEIGHT / 2, 0, game);
+
+		//an update builds the projectiles field of vision, the frame time is zero so it does not move
+		projectile.update(0);
+	}
+
+	@TearDown
+	public void tearDown() {
+		Headless.stop();
+	}
+
+	@Benchmark
+	public int canSee() {
+		int visible = 0;
+		for (Enemy enemy : enemies)
+			if (projectile.canSee(enemy))
+				visible++;
+		return visible;
+	}
+
+	@Benchmark
+	public Enemy getNearestVisibleEnemy() {
+		return game.getNearestVisibleEnemy(projectile);
+	}
+
+}
@@ -0,0 +1,43 @@
+package bench;
+
+/**
+ * A way of turning network messages into bytes and back, so different encoders can be measured side by side. <br>
+ * Each codec is created by name in {@link #create}; an encoder added to the game is compared with the others by
+ * adding it there and to the codec parameter of {@link SerializationBenchmark}.
+ * @author Connor Stewart
+ */
+public interface MessageCodec {
+
+	/**
+	 * Writes a message.
+	 * @param message the message to write
+	 * @param buffer the buffer to write it to, large enough for any message
+	 * @return the amount of bytes written
+	 */
+	int encode(Object message, byte[] buffer);
+
+	/**
+	 * Reads a message written by {@link #encode}.
+	 * @param buffer the buffer holding the message
+	 * @param length the amount of bytes the message takes up
+	 * @return the message
+	 */
+	Object decode(byte[] buffer, int length);
+
+	/**
+	 * Creates a codec by name.
+	 * @param name the name of the codec, kryo is the encoding the game sends and reflective is Kryo's default
+	 * @return the codec
+	 */
+	static MessageCodec create(String name) {
+		switch (name) {
+			case "kryo":
+				return new KryoCodec();
+			case "reflective":
+				return new ReflectiveCodec();
+			default:
+				throw new IllegalArgumentException("There is no codec named " + name + ".");
+		}
+	}
+
+}
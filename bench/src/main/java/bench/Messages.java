@@ -0,0 +1,133 @@
+package bench;
+
+import network.ConfirmType;
+import network.Network.*;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Creates network messages filled in the way a real game fills them, for the serialization benchmarks.
+ * @author Connor Stewart
+ */
+public final class Messages {
+
+	/** The messages that can be created, in the order they are listed in reports. */
+	public static final String[] NAMES = {"KeyInput", "MouseMoved", "UpdatePlayer", "UpdateProjectile", "AddProjectile",
+			"ReliableMessage", "TimeReply", "ConfirmationMessage", "LobbyPlayers", "ScoreUpdate", "RoomUpdate"};
+
+	/** The amount of scores in a score update, a full leaderboard. */
+	public static final int SCORES = 1000;
+
+	/** The amount of rooms in a room update, a busy server. */
+	public static final int ROOMS = 500;
+
+	/** The amount of players in a lobby. */
+	private static final int LOBBY_SIZE = 8;
+
+	private Messages() {}
+
+	/**
+	 * Creates a message by its class name.
+	 * @param name the simple name of the message class
+	 * @return the message
+	 */
+	public static Object create(String name) {
+		Random random = new Random(1);
+
+		switch (name) {
+			case "KeyInput": {
+				KeyInput msg = new KeyInput();
+				msg.id = 12;
+				msg.keyCode = 51;
+				msg.sequence = 4810;
+				return msg;
+			}
+			case "MouseMoved": {
+				MouseMoved msg = new MouseMoved();
+				msg.id = 12;
+				msg.x = 48.25f;
+				msg.y = 71.5f;
+				return msg;
+			}
+			case "UpdatePlayer": {
+				UpdatePlayer msg = new UpdatePlayer();
+				msg.id = 12;
+				msg.x = 48.25f;
+				msg.y = 71.5f;
+				msg.r = 135;
+				msg.health = 80;
+				msg.kills = 3;
+				msg.inputSequence = 4810;
+				msg.inputTick = 9120;
+				return msg;
+			}
+			case "UpdateProjectile": {
+				UpdateProjectile msg = new UpdateProjectile();
+				msg.id = 20514;
+				msg.x = 52.75f;
+				msg.y = 12.125f;
+				msg.r = 270;
+				return msg;
+			}
+			case "AddProjectile":
+				return addProjectile();
+			case "ReliableMessage": {
+				ReliableMessage msg = new ReliableMessage();
+				msg.sequence = 1377;
+				msg.message = addProjectile();
+				return msg;
+			}
+			case "TimeReply": {
+				TimeReply msg = new TimeReply();
+				msg.clientSent = 81234567890123L;
+				msg.serverReceived = 91234567890123L;
+				msg.serverSent = 91234567990123L;
+				return msg;
+			}
+			case "ConfirmationMessage": {
+				ConfirmationMessage msg = new ConfirmationMessage();
+				msg.type = ConfirmType.ValidName;
+				return msg;
+			}
+			case "LobbyPlayers": {
+				LobbyPlayers msg = new LobbyPlayers();
+				msg.players = new String[LOBBY_SIZE];
+				for (int i = 0; i < LOBBY_SIZE; i++)
+					msg.players[i] = "Player" + random.nextInt(10000);
+				return msg;
+			}
+			case "ScoreUpdate": {
+				ScoreUpdate msg = new ScoreUpdate();
+				msg.scores = new ArrayList<>(SCORES);
+				msg.names = new ArrayList<>(SCORES);
+				for (int i = 0; i < SCORES; i++) {
+					msg.scores.add(random.nextInt(50000));
+					msg.names.add("Player" + random.nextInt(10000));
+				}
+				return msg;
+			}
+			case "RoomUpdate": {
+				RoomUpdate msg = new RoomUpdate();
+				msg.roomNames = new String[ROOMS];
+				for (int i = 0; i < ROOMS; i++)
+					msg.roomNames[i] = "Room " + random.nextInt(100000);
+				return msg;
+			}
+			default:
+				throw new IllegalArgumentException("There is no message named " + name + ".");
+		}
+	}
+
+	/**
+	 * @return a message adding a players shot to the game
+	 */
+	private static AddProjectile addProjectile() {
+		AddProjectile msg = new AddProjectile();
+		msg.playerID = 12;
+		msg.id = 20514;
+		msg.type = "Light";
+		return msg;
+	}
+
+}
@@ -0,0 +1,42 @@
+package bench;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import network.Network;
+
+/**
+ * Encodes messages with Kryo's default reflective serializers, as the game did before each message had its own
+ * serializer, so the two can be compared.
+ * @author Connor Stewart
+ */
+public class ReflectiveCodec implements MessageCodec {
+
+	/** The Kryo instance with the network classes registered with default serializers. */
+	private final Kryo kryo = new Kryo();
+
+	/** Reused to write into each buffer. */
+	private final Output output = new Output();
+
+	/** Reused to read from each buffer. */
+	private final Input input = new Input();
+
+	public ReflectiveCodec() {
+		for (Class<?> type : Network.getRegisteredClasses())
+			kryo.register(type);
+	}
+
+	@Override
+	public int encode(Object message, byte[] buffer) {
+		output.setBuffer(buffer);
+		kryo.writeClassAndObject(output, message);
+		return output.position();
+	}
+
+	@Override
+	public Object decode(byte[] buffer, int length) {
+		input.setBuffer(buffer, 0, length);
+		return kryo.readClassAndObject(input);
+	}
+
+}
@@ -0,0 +1,113 @@
+package bench;
+
+import network.MessagePools;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long each network message takes to serialize and deserialize with each codec. <br>
+ * Running this class rather than the benchmark jar also adds the GC profiler, whose gc.alloc.rate.norm is the bytes
+ * allocated per operation, and then prints the encoded size of every message, so all three can be compared at once.
+ * Any arguments are passed on to JMH, for example {@code -p codec=kryo -p message=ScoreUpdate}.
+ * @author Connor Stewart
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+	/** The largest message that can be encoded. */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/** The codec being measured. */
+	@Param({"kryo", "reflective"})
+	public String codec;
+
+	/** The message being encoded, see {@link Messages}. */
+	@Param({"KeyInput", "MouseMoved", "UpdatePlayer", "UpdateProjectile", "AddProjectile", "ReliableMessage",
+			"TimeReply", "ConfirmationMessage", "LobbyPlayers", "ScoreUpdate", "RoomUpdate"})
+	public String message;
+
+	/** The codec created from its name. */
+	private MessageCodec encoder;
+
+	/** The message created from its name. */
+	private Object toEncode;
+
+	/** The buffer messages are encoded into. */
+	private final byte[] buffer = new byte[BUFFER_SIZE];
+
+	/** The buffer holding the encoded message that is decoded. */
+	private final byte[] encoded = new byte[BUFFER_SIZE];
+
+	/** The length of the encoded message. */
+	private int encodedLength;
+
+	@Setup
+	public void setUp() {
+		encoder = MessageCodec.create(codec);
+		toEncode = Messages.create(message);
+		encodedLength = encoder.encode(toEncode, encoded);
+	}
+
+	@Benchmark
+	public int serialize() {
+		return encoder.encode(toEncode, buffer);
+	}
+
+	@Benchmark
+	public Object deserialize() {
+		//returned to its pool as the dispatcher would, the benchmark only keeps the reference
+		Object message = encoder.decode(encoded, encodedLength);
+		MessagePools.free(message);
+		return message;
+	}
+
+	/**
+	 * Prints the amount of bytes each message takes up with each codec.
+	 * @param codecs the names of the codecs to compare
+	 */
+	public static void printSizes(String... codecs) {
+		byte[] buffer = new byte[BUFFER_SIZE];
+
+		StringBuilder header = new StringBuilder(String.format("%-20s", "message"));
+		for (String codec : codecs)
+			header.append(String.format("%12s", codec));
+		System.out.println(header.append("  (bytes)"));
+
+		MessageCodec[] encoders = new MessageCodec[codecs.length];
+		for (int i = 0; i < codecs.length; i++)
+			encoders[i] = MessageCodec.create(codecs[i]);
+
+		for (String name : Messages.NAMES) {
+			StringBuilder row = new StringBuilder(String.format("%-20s", name));
+			for (MessageCodec encoder : encoders)
+				row.append(String.format("%12d", encoder.encode(Messages.create(name), buffer)));
+			System.out.println(row);
+		}
+	}
+
+	/**
+	 * Runs the benchmarks with the GC profiler then prints the encoded sizes.
+	 * @param args arguments passed on to JMH
+	 * @throws Exception if the benchmarks could not be run
+	 */
+	public static void main(String[] args) throws Exception {
+		new Runner(new OptionsBuilder()
+				.parent(new CommandLineOptions(args))
+				.include(SerializationBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build()).run();
+
+		printSizes("kryo", "reflective");
+	}
+
+}
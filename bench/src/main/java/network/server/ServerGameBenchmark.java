@@ -0,0 +1,74 @@
+package network.server;
+
+import backend.entities.MultiplayerPlayer;
+import backend.projectiles.Beam;
+import bench.Headless;
+import network.Network;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a frame of a multiplayer game, {@link ServerGame#render}, with a synthetic population. <br>
+ * A quarter of the entities are players and the rest are their shots. The game is not hosted, so no clients are
+ * sent snapshots, and the frame time is zero, so the population stays the same once the first frame has removed
+ * the shots that start inside another player. The frame still updates, replicates and collision checks every entity.
+ * @author Connor Stewart
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServerGameBenchmark {
+
+	/** The amount of entities in the game. */
+	@Param({"10", "100", "1000", "10000"})
+	public int entities;
+
+	/** The game being run. */
+	private ServerGame game;
+
+	@Setup
+	public void setUp() {
+		Headless.start();
+
+		game = new ServerGame(new Room("benchmark", null), false);
+		Random random = new Random(1);
+		int players = Math.max(1, entities / 4);
+
+		for (int i = 0; i < entities; i++) {
+			float x = random.nextFloat() * Network.GAME_WIDTH;
+			float y = random.nextFloat() * Network.GAME_HEIGHT;
+
+			if (i < players) {
+				MultiplayerPlayer player = new MultiplayerPlayer(x, y, "player" + i);
+				player.setMultiplayerID(i + 1);
+				game.addEntity(player);
+			} else {
+				Beam shot = new Beam(x, y, random.nextFloat() * 360);
+				shot.setFiredByID(random.nextInt(players) + 1);
+				shot.setMultiplayerID(i + 1);
+				game.addEntity(shot);
+			}
+		}
+
+		game.render();
+	}
+
+	@TearDown
+	public void tearDown() {
+		game.dispose();
+		ServerHandler.getInstance().getServer().stop();
+		Headless.stop();
+	}
+
+	@Benchmark
+	public ServerGame render() {
+		game.render();
+		return game;
+	}
+
+}
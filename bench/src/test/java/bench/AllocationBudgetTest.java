@@ -0,0 +1,128 @@
+package bench;
+
+import network.server.ServerFrameLoop;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the game's hot loops stay within a budget of bytes allocated each tick. <br>
+ * Each loop is run headless with a real frame time until it has been compiled, then the bytes its thread allocates
+ * are read from the JVM over several rounds and the lowest average per tick is compared with the loop's budget. The
+ * lowest round is used so a one off allocation, such as a pool growing, does not fail the check, while anything
+ * allocated every tick shows up in every round. The loops are a multiplayer game's frame on the server with clients
+ * firing, moving and being sent snapshots, see {@link ServerFrameLoop}, and a singleplayer game's update with enemies
+ * spawning, moving and firing, see {@link SPUpdateLoop}. Both create entities as they are played, so their budgets
+ * allow for the shots and enemies created during a round. A budget can be changed with the
+ * allocation.budget.serverFrame and allocation.budget.spUpdate properties.
+ * @author Connor Stewart
+ */
+class AllocationBudgetTest {
+
+	/** The default bytes a server frame may allocate, its shots and their reliable messages with room for noise. */
+	private static final long SERVER_FRAME_BUDGET = 512;
+
+	/** The default bytes a singleplayer update may allocate, its spawns and enemy shots with room for noise. */
+	private static final long SP_UPDATE_BUDGET = 512;
+
+	/** The frame time given to both loops, a frame at sixty frames per second. */
+	private static final float DELTA = 1 / 60f;
+
+	/** The seed of the singleplayer game's spawner, so every run spawns the same enemies. */
+	private static final long SP_SEED = 48;
+
+	/** The amount of rounds measured. */
+	private static final int ROUNDS = 5;
+
+	/** Reads the bytes allocated by a thread. */
+	private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	@BeforeAll
+	static void start() {
+		assertTrue(THREADS.isThreadAllocatedMemorySupported(), "This JVM cannot measure the bytes allocated by a thread.");
+		THREADS.setThreadAllocatedMemoryEnabled(true);
+
+		Headless.start();
+		Headless.setDeltaTime(DELTA);
+	}
+
+	@AfterAll
+	static void stop() {
+		Headless.stop();
+	}
+
+	@Test
+	void serverFrameStaysWithinBudget() {
+		ServerFrameLoop server = new ServerFrameLoop(8);
+
+		try {
+			double bytesPerTick = measure(server, 20000, 5000);
+
+			//the players must have fired, and their shots left the map, during the loop
+			assertTrue(server.getReliableCount() > 0, "No reliable messages were sent.");
+			assertTrue(server.getEntityCount() < 200, "The shots that left the map were not removed.");
+			assertTrue(server.getPendingCount() < server.getReliableCount(), "The reliable messages were not acknowledged.");
+			check("serverFrame", bytesPerTick, server.getEntityCount(), SERVER_FRAME_BUDGET);
+		} finally {
+			server.close();
+		}
+	}
+
+	@Test
+	void singleplayerUpdateStaysWithinBudget() {
+		SPUpdateLoop singleplayer = new SPUpdateLoop(24, DELTA, SP_SEED);
+		int startingEntities = singleplayer.getEntityCount();
+
+		//asteroids are never removed once they leave the map, so the game is kept short to keep collisions quick
+		double bytesPerTick = measure(singleplayer, 3000, 600);
+
+		assertTrue(singleplayer.getEntityCount() > startingEntities, "Nothing was spawned.");
+		check("spUpdate", bytesPerTick, singleplayer.getEntityCount(), SP_UPDATE_BUDGET);
+	}
+
+	/**
+	 * Measures the bytes a loop allocates each tick.
+	 * @param tick runs one tick of the loop
+	 * @param warmupTicks the amount of ticks run before measuring, enough for the loop to be compiled
+	 * @param measuredTicks the amount of ticks run in each round that is measured
+	 * @return the lowest average bytes allocated per tick over the rounds measured
+	 */
+	private static double measure(Runnable tick, int warmupTicks, int measuredTicks) {
+		for (int i = 0; i < warmupTicks; i++)
+			tick.run();
+
+		long thread = Thread.currentThread().getId();
+		double lowest = Double.MAX_VALUE;
+
+		for (int round = 0; round < ROUNDS; round++) {
+			long before = THREADS.getThreadAllocatedBytes(thread);
+			for (int i = 0; i < measuredTicks; i++)
+				tick.run();
+			long allocated = THREADS.getThreadAllocatedBytes(thread) - before;
+
+			lowest = Math.min(lowest, (double) allocated / measuredTicks);
+		}
+
+		return lowest;
+	}
+
+	/**
+	 * Prints a loop's allocation and checks it against its budget.
+	 * @param name the loop's name, used in its budget's property
+	 * @param bytesPerTick the bytes the loop allocated per tick
+	 * @param entities the amount of entities in the loop's game, printed so an empty game is noticed
+	 * @param defaultBudget the bytes the loop may allocate per tick if its property is not set
+	 */
+	private static void check(String name, double bytesPerTick, int entities, long defaultBudget) {
+		long budget = Long.getLong("allocation.budget." + name, defaultBudget);
+		System.out.printf(Locale.ROOT, "%-12s %10.1f bytes/tick  budget %6d  entities %4d%n", name, bytesPerTick, budget, entities);
+
+		assertTrue(bytesPerTick <= budget, name + " allocated " + bytesPerTick + " bytes per tick, over its budget of " + budget + ", something on a hot loop has started allocating every tick.");
+	}
+
+}
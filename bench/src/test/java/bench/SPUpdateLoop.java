@@ -0,0 +1,80 @@
+package bench;
+
+import backend.enemies.Asteroid;
+import backend.enemies.Dropship;
+import backend.enemies.Laser;
+import backend.enemies.Runner;
+import ui.SPGame;
+
+/**
+ * Runs the updates of a singleplayer game, {@link SPGame#update}, as it is played. <br>
+ * The game is shown as it is when a player starts it, then enemies of every kind are spread over the map away from
+ * the player and each other. Every update is given a real frame's length, so the spawner adds enemies and pickups,
+ * enemies move towards the player and fire at it, and projectiles and asteroids cross the map. The spawner is seeded
+ * so every run spawns the same enemies in the same places. The player cannot die, as that would end the game.
+ * @author Connor Stewart
+ */
+class SPUpdateLoop implements Runnable {
+
+	/** The frame time given to each update. */
+	private final float delta;
+
+	/** The game being run. */
+	private final SPGame game;
+
+	/**
+	 * Shows the game and adds its enemies.
+	 * @param enemies the amount of enemies to add, at most 48
+	 * @param delta the frame time given to each update
+	 * @param seed the seed of the game's spawner
+	 */
+	SPUpdateLoop(int enemies, float delta, long seed) {
+		if (enemies < 0 || enemies > 48)
+			throw new IllegalArgumentException("enemies must be between 0 and 48 (was " + enemies + ").");
+
+		this.delta = delta;
+		game = new SPGame(seed);
+		game.show();
+		game.getPlayer().setHealth(Double.MAX_VALUE);
+
+		//a grid of cells twelve apart, leaving out the middle where the player starts
+		int added = 0;
+		for (int cell = 0; added < enemies; cell++) {
+			int column = cell % 8;
+			int row = cell / 8;
+			if (column >= 3 && column <= 4 && row >= 3 && row <= 4)
+				continue;
+
+			float x = 4 + column * 12;
+			float y = 4 + row * 12;
+			switch (added % 4) {
+				case 0:
+					game.addEntity(new Asteroid(x, y, game));
+					break;
+				case 1:
+					game.addEntity(new Runner(x, y, game));
+					break;
+				case 2:
+					game.addEntity(new Dropship(x, y, game));
+					break;
+				case 3:
+					game.addEntity(new Laser(x, y, game));
+					break;
+			}
+			added++;
+		}
+	}
+
+	@Override
+	public void run() {
+		game.update(delta);
+	}
+
+	/**
+	 * @return the amount of entities in the game
+	 */
+	int getEntityCount() {
+		return game.getActiveEntities().size;
+	}
+
+}
@@ -0,0 +1,203 @@
+package network.server;
+
+import backend.entities.MultiplayerPlayer;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.utils.Array;
+import com.esotericsoftware.kryonet.Connection;
+import network.Network;
+import network.Network.ReliableAck;
+import network.Network.ReliableMessage;
+import network.WireSerialization;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Runs the frames of a multiplayer game with clients, {@link ServerGame#render}, the way the server does while a
+ * game is being played. <br>
+ * Each player has a client whose connection serializes everything it is sent into a buffer instead of a socket. Every
+ * frame each client moves its player up or down, aims left and presses both mouse buttons, so the game applies key,
+ * mouse and button input, fires a shot whenever a weapon is ready and sends it reliably, updates and replicates the
+ * players and their shots, removes the shots that leave the map and sends their removal reliably, fills each
+ * snapshot that is due and packs, serializes and counts the datagrams. Each client then acknowledges every reliable
+ * message it has been sent, as a client on a perfect link would. The players are in a column on the left of the map
+ * far enough apart that their shots never hit each other, so the game never ends. The frame time must be set to a
+ * real frame's length with {@link bench.Headless#setDeltaTime} so weapons cool down and snapshots fall due.
+ * @author Connor Stewart
+ */
+public class ServerFrameLoop implements Runnable {
+
+	/** The space between the players, enough that a shot fired straight left misses the players above and below. */
+	private static final float PLAYER_SPACING = 10;
+
+	/** The game being run. */
+	private final ServerGame game = new ServerGame(new Room("allocation", null), false);
+
+	/** The clients playing the game. */
+	private final Array<ClientInfo> clients = new Array<>();
+
+	/** The connection of each client. */
+	private final Array<BufferConnection> connections = new Array<>();
+
+	/** The acknowledgement each client sends, reused every frame. */
+	private final ReliableAck ack = new ReliableAck();
+
+	/** The amount of frames run, used as each input's sequence number. */
+	private int frame;
+
+	/**
+	 * Creates the game and its clients.
+	 * @param players the amount of players, each with their own client
+	 */
+	public ServerFrameLoop(int players) {
+		if (players < 2 || players > 8)
+			throw new IllegalArgumentException("players must be between 2 and 8 (was " + players + ").");
+
+		WireSerialization serialization = new WireSerialization();
+		Network.register(serialization.getKryo());
+
+		for (int i = 0; i < players; i++) {
+			int id = i + 1;
+			MultiplayerPlayer player = new MultiplayerPlayer(10, 10 + i * PLAYER_SPACING, "player" + id);
+			player.setMultiplayerID(id);
+			game.addEntity(player);
+
+			BufferConnection connection = new BufferConnection(id, serialization);
+			ClientInfo client = new ClientInfo(connection, new RateLimits(), new SnapshotRates());
+			client.setMultiplayerID(id);
+			client.setGame(game);
+			game.getRoom().getClients().add(client);
+			clients.add(client);
+			connections.add(connection);
+		}
+	}
+
+	@Override
+	public void run() {
+		frame++;
+
+		for (int i = 0; i < clients.size; i++) {
+			InputInbox inputs = clients.get(i).getInputs();
+			inputs.setMouse(-Network.GAME_WIDTH, 10 + i * PLAYER_SPACING);
+			inputs.addKey(frame % 2 == 0 ? Input.Keys.W : Input.Keys.S, frame);
+			inputs.addButton(Input.Buttons.LEFT, frame);
+			inputs.addButton(Input.Buttons.RIGHT, frame);
+		}
+
+		game.render();
+
+		for (int i = 0; i < clients.size; i++) {
+			ack.received = connections.get(i).lastReliable;
+			ack.receivedBits = 0;
+			clients.get(i).getReliable().acknowledge(ack);
+		}
+	}
+
+	/**
+	 * @return the amount of entities in the game
+	 */
+	public int getEntityCount() {
+		return game.getEntityCount();
+	}
+
+	/**
+	 * @return the amount of reliable messages sent to every client
+	 */
+	public long getReliableCount() {
+		long sent = 0;
+
+		for (int i = 0; i < clients.size; i++)
+			sent += clients.get(i).getReliable().getSentCount();
+
+		return sent;
+	}
+
+	/**
+	 * @return the amount of reliable messages sent to every client that have not been acknowledged
+	 */
+	public int getPendingCount() {
+		int pending = 0;
+
+		for (int i = 0; i < clients.size; i++)
+			pending += clients.get(i).getReliable().getPendingCount();
+
+		return pending;
+	}
+
+	/**
+	 * Disposes the game and stops the server its messages are sent through so the process can exit.
+	 */
+	public void close() {
+		game.dispose();
+		ServerHandler.getInstance().getServer().stop();
+	}
+
+	/**
+	 * A connection that serializes what it is sent into a buffer, as KryoNet would before writing it to a socket.
+	 */
+	private static class BufferConnection extends Connection {
+
+		/** The bytes KryoNet reserves for a TCP message's length. */
+		private static final int LENGTH_HEADER = 4;
+
+		/** The connection's ID. */
+		private final int id;
+
+		/** The serialization messages are written with. */
+		private final WireSerialization serialization;
+
+		/** The buffer each message is written to, the size of KryoNet's UDP buffers. */
+		private final ByteBuffer buffer = ByteBuffer.allocate(2048);
+
+		/** The highest sequence number of the reliable messages sent on this connection. */
+		private int lastReliable = -1;
+
+		/**
+		 * Creates a connection.
+		 * @param id the connection's ID
+		 * @param serialization the serialization messages are written with
+		 */
+		BufferConnection(int id, WireSerialization serialization) {
+			this.id = id;
+			this.serialization = serialization;
+		}
+
+		@Override
+		public int getID() {
+			return id;
+		}
+
+		@Override
+		public boolean isConnected() {
+			return true;
+		}
+
+		@Override
+		public int sendTCP(Object object) {
+			buffer.clear();
+			buffer.position(LENGTH_HEADER);
+			serialization.write(this, buffer, object);
+			return buffer.position() - LENGTH_HEADER;
+		}
+
+		@Override
+		public int sendUDP(Object object) {
+			if (object instanceof ReliableMessage)
+				lastReliable = Math.max(lastReliable, ((ReliableMessage) object).sequence);
+
+			buffer.clear();
+			serialization.write(this, buffer, object);
+			return buffer.position();
+		}
+
+		@Override
+		public void updateReturnTripTime() {
+		}
+
+		@Override
+		public int getTcpWriteBufferSize() {
+			return 0;
+		}
+
+	}
+
+}
@@ -0,0 +1,201 @@
+package network.client;
+
+import com.badlogic.gdx.Gdx;
+import com.esotericsoftware.kryonet.Client;
+import network.*;
+import network.Network.*;
+import ui.ControlGame;
+import ui.LobbyScreen;
+import ui.MPGame;
+import ui.MultiplayerScreen;
+
+import javax.swing.*;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.SocketException;
+
+/**
+ * This class is used to handle functions related to connecting to the server and sending/receiving messages to/from it.
+ * @author Connor Stewart
+ */
+public class ClientHandler {
+
+	/** Unpacks, orders and acknowledges the messages received from the server. */
+	private final ClientTransport transport;
+
+    /** The kyronet client object. */
+	private final Client client;
+
+	/** Measures how long this clients input takes to be applied and rendered. */
+	private final InputLatency inputLatency = new InputLatency();
+
+	/** This clients nickname. */
+	private String nickname;
+
+	/** The queue for messages that have been received without a handler. */
+	private MessageQueue queue;
+
+	/** Routes received messages to the handler for the current screen. */
+	private MessageDispatcher dispatcher;
+
+	/** Whether this client has connected to the server. */
+    private boolean connected;
+
+    /**
+     * Creates a new client and connect to the server.
+     * @param usingNickname whether this client is connecting with a nickname
+     */
+	public ClientHandler(boolean usingNickname) {
+	    if (usingNickname)
+            updateNickname();
+
+	    queue = new MessageQueue();
+	    dispatcher = new MessageDispatcher(queue);
+	    addHandlers();
+
+	    transport = new ClientTransport(dispatcher);
+	    client = transport.getClient();
+
+		try {
+			transport.connect(getServerAddress(), Integer.getInteger("shooter.tcpPort", Network.TCP_PORT), Integer.getInteger("shooter.udpPort", Network.UDP_PORT));
+		    connected = true;
+		} catch (IllegalArgumentException e1) {
+		    JOptionPane.showMessageDialog(null, "Cannot connect to server.", "Connection Error", JOptionPane.ERROR_MESSAGE);
+		    client.close();
+		    return;
+		} catch (SocketException e3) {
+            return;
+        } catch (IOException e2) {
+		    return;
+        }
+
+        if (usingNickname) {
+            UpdateNickname toSend = new UpdateNickname();
+            toSend.nickname = this.nickname;
+            client.sendTCP(toSend);
+        }
+	}
+
+    /**
+     * Gets the address of the server, the shooter.host system property can be used instead of searching the network.
+     * The shooter.tcpPort and shooter.udpPort properties change the ports connected to, such as to connect through a
+     * {@link network.conditioner.LinkConditioner}.
+     * @return the servers address or null if it could not be found
+     * @throws IOException if the host given cannot be found
+     */
+    private InetAddress getServerAddress() throws IOException {
+        String host = System.getProperty("shooter.host");
+        return host != null ? InetAddress.getByName(host) : transport.discoverHost();
+    }
+
+    /**
+     * Gets a new nickname from the user.
+     */
+	private void updateNickname() {
+        nickname = JOptionPane.showInputDialog(null, "Input your nickname.", "Nickname", JOptionPane.QUESTION_MESSAGE);
+    }
+
+    /**
+     * Adds handlers for the messages this client responds to regardless of the current screen.
+     */
+    private void addHandlers() {
+        //start a multiplayer game
+        dispatcher.setHandler(this, StartGame.class, (connection, msg) ->
+                Gdx.app.postRunnable(() -> ControlGame.getInstance().setScreen(new MPGame(this, nickname))));
+
+        //goes to the lobby screen for a new game
+        dispatcher.setHandler(this, JoinLobby.class, (connection, msg) ->
+                Gdx.app.postRunnable(() -> ControlGame.getInstance().setScreen(new LobbyScreen(this, msg.leader))));
+
+        //goes back to the multiplayer lobby
+        dispatcher.setHandler(this, LobbyClosed.class, (connection, msg) ->
+                Gdx.app.postRunnable(() -> ControlGame.getInstance().setScreen(MultiplayerScreen.getInstance())));
+
+        //displays an error message
+        dispatcher.setHandler(this, ErrorMessage.class, (connection, msg) ->
+                JOptionPane.showMessageDialog(null, msg.message, "Error", JOptionPane.ERROR_MESSAGE, null));
+
+        //display a confirmation message
+        dispatcher.setHandler(this, ConfirmationMessage.class, (connection, msg) -> {
+            if (msg.type.equals(ConfirmType.ValidName))
+                Gdx.app.postRunnable(() -> ControlGame.getInstance().setScreen(new MultiplayerScreen(this)));
+        });
+    }
+
+    /**
+     * Sends a message to add a new game room to the server.
+     * @param roomName the rooms name
+     */
+    public void addRoom(String roomName) {
+		AddRoom toSend = new AddRoom();
+		toSend.roomName = roomName;
+		client.sendTCP(toSend);
+		refreshRooms();
+	}
+
+    /**
+     * Sends a request to get a new list of rooms from the server.
+     */
+	public void refreshRooms() {
+		client.sendTCP(new RefreshRooms());
+	}
+
+    /**
+     * Sends a request to the server to join a room.
+     * @param roomName the name of the room to join
+     */
+	public void joinRoom(String roomName) {
+		JoinRoom toSend = new JoinRoom();
+		toSend.roomName = roomName;
+		client.sendTCP(toSend);
+	}
+
+    /**
+     * @return the estimated time on the servers clock in nanoseconds
+     */
+    public long serverTimeNow() {
+        return transport.getClock().serverTimeNow();
+    }
+
+    /**
+     * @return the estimate of the servers clock, including its jitter and drift
+     */
+    public ClockSync getClock() {
+        return transport.getClock();
+    }
+
+    /**
+     * @return the measurements of how long this clients input takes to be applied and rendered
+     */
+    public InputLatency getInputLatency() {
+        return inputLatency;
+    }
+
+    /**
+     * @return this clients queue of messages that were received without a handler
+     */
+    public MessageQueue getQueue() {
+        return queue;
+    }
+
+    /**
+     * @return the dispatcher that routes this clients received messages
+     */
+    public MessageDispatcher getDispatcher() {
+        return dispatcher;
+    }
+
+    /**
+     * @return this clients kyronet client object
+     */
+    public Client getKyroClient() {
+	    return client;
+    }
+
+    /**
+     * @return whether this client is connected to the server
+     */
+    public boolean isConnected() {
+        return connected;
+    }
+}
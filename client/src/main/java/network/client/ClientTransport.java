@@ -0,0 +1,151 @@
+package network.client;
+
+import com.badlogic.gdx.utils.Array;
+import com.esotericsoftware.kryonet.Client;
+import com.esotericsoftware.kryonet.Connection;
+import com.esotericsoftware.kryonet.Listener;
+import network.*;
+import network.Network.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+
+/**
+ * This class holds the parts of a connection to the server that do not depend on the user interface. <br>
+ * It unpacks datagrams, joins fragments, orders and acknowledges reliable messages and keeps the servers clock
+ * estimated, passing every game message on to a {@link MessageDispatcher}. The game client and the load test bots
+ * both connect through it.
+ * @author Connor Stewart
+ */
+public class ClientTransport {
+
+	/** The amount of milliseconds to wait for a connection to the server. */
+	private static final int CONNECT_TIMEOUT = 5000;
+
+	/** The serialization used to read and write messages. */
+	private final WireSerialization serialization;
+
+	/** The kyronet client object. */
+	private final Client client;
+
+	/** Routes the messages received to their handlers. */
+	private final MessageDispatcher dispatcher;
+
+	/** Joins messages that the server split into fragments. */
+	private final FragmentAssembler fragments;
+
+	/** Estimates the servers clock. */
+	private final ClockSync clock = new ClockSync();
+
+	/** Puts the reliable messages sent by the server back in order. */
+	private final ReliableReceiver reliable = new ReliableReceiver();
+
+	/** The reliable messages that are ready to be dispatched, only used by the network thread. */
+	private final Array<Object> reliableDelivered = new Array<>();
+
+	/** The acknowledgement reused for every reliable message received, only used by the network thread. */
+	private final ReliableAck reliableAck = new ReliableAck();
+
+	/**
+	 * Creates a transport and starts its client thread.
+	 * @param dispatcher the dispatcher to pass received game messages to
+	 */
+	public ClientTransport(MessageDispatcher dispatcher) {
+		this(dispatcher, new WireSerialization());
+	}
+
+	/**
+	 * Creates a transport using a given serialization and starts its client thread.
+	 * @param dispatcher the dispatcher to pass received game messages to
+	 * @param serialization the serialization to read and write messages with
+	 */
+	public ClientTransport(MessageDispatcher dispatcher, WireSerialization serialization) {
+		this.dispatcher = dispatcher;
+		this.serialization = serialization;
+		client = new Client(8192, 2048, serialization);
+		fragments = new FragmentAssembler(serialization);
+		addHandlers();
+
+		client.start();
+		client.addListener(dispatcher);
+		client.addListener(new Listener() {
+			@Override
+			public void idle(Connection connection) {
+				//called every client update, the probes are only sent once they are due
+				clock.probeIfDue(connection);
+			}
+		});
+
+		Network.register(client);
+	}
+
+	/**
+	 * Adds handlers for the messages that carry or support other messages.
+	 */
+	private void addHandlers() {
+		dispatcher.setHandler(this, TimeReply.class, (connection, msg) -> clock.receive(msg));
+
+		//unpack datagrams holding several messages
+		dispatcher.setHandler(this, PackedDatagram.class, (connection, msg) -> {
+			for (int i = 0; i < msg.getMessages().size; i++)
+				dispatcher.dispatch(connection, msg.getMessages().get(i));
+		});
+
+		dispatcher.setHandler(this, Fragment.class, (connection, msg) -> {
+			Object message = fragments.add(msg);
+			if (message != null)
+				dispatcher.dispatch(connection, message);
+		});
+
+		//acknowledge reliable messages then dispatch the ones that are now in order
+		dispatcher.setHandler(this, ReliableMessage.class, (connection, msg) -> {
+			reliable.receive(msg, reliableDelivered);
+			connection.sendUDP(reliable.acknowledge(reliableAck));
+
+			for (int i = 0; i < reliableDelivered.size; i++)
+				dispatcher.dispatch(connection, reliableDelivered.get(i));
+			reliableDelivered.clear();
+		});
+	}
+
+	/**
+	 * Connects to the server.
+	 * @param address the servers address
+	 * @param tcpPort the servers TCP port
+	 * @param udpPort the servers UDP port
+	 * @throws IOException if the connection could not be made
+	 */
+	public void connect(InetAddress address, int tcpPort, int udpPort) throws IOException {
+		client.connect(CONNECT_TIMEOUT, address, tcpPort, udpPort);
+	}
+
+	/**
+	 * Searches the local network for a server.
+	 * @return the servers address or null if it could not be found
+	 */
+	public InetAddress discoverHost() {
+		return client.discoverHost(Network.UDP_PORT, CONNECT_TIMEOUT);
+	}
+
+	/**
+	 * @return the kyronet client object
+	 */
+	public Client getClient() {
+		return client;
+	}
+
+	/**
+	 * @return the serialization used to read and write messages
+	 */
+	public WireSerialization getSerialization() {
+		return serialization;
+	}
+
+	/**
+	 * @return the estimate of the servers clock
+	 */
+	public ClockSync getClock() {
+		return clock;
+	}
+
+}
@@ -0,0 +1,88 @@
+package network.client;
+
+import network.LatencyHistogram;
+
+/**
+ * This class measures how long this client's input takes to be applied by the server and shown on screen. <br>
+ * Each input sent is given a sequence number and the time it was sent is kept here. The server echoes the latest
+ * sequence it has applied in the player's updates. The time the echo arrives, less half a round trip, gives the
+ * input to apply latency. The time the update is rendered gives the input to render latency.
+ * @author Connor Stewart
+ */
+public class InputLatency {
+
+	/** The amount of send times kept, older inputs can no longer be measured. */
+	private static final int CAPACITY = 1024;
+
+	/** The time each input was sent, indexed by its sequence number modulo the capacity. */
+	private final long[] sentAt = new long[CAPACITY];
+
+	/** The sequence number of each input in sentAt. */
+	private final int[] sequences = new int[CAPACITY];
+
+	/** The sequence number given to the next input. */
+	private int nextSequence = 1;
+
+	/** The latest input whose apply latency has been recorded. */
+	private int lastApplied;
+
+	/** The latest input whose render latency has been recorded. */
+	private int lastRendered;
+
+	/** The time from input to it being applied by the server. */
+	private final LatencyHistogram applyLatency = new LatencyHistogram();
+
+	/** The time from input to its effect being rendered. */
+	private final LatencyHistogram renderLatency = new LatencyHistogram();
+
+	/**
+	 * Records that an input is being sent.
+	 * @return the sequence number to send with the input
+	 */
+	public synchronized int sent() {
+		int sequence = nextSequence++;
+		sentAt[sequence % CAPACITY] = System.nanoTime();
+		sequences[sequence % CAPACITY] = sequence;
+		return sequence;
+	}
+
+	/**
+	 * Records that the server has applied every input up to a sequence number.
+	 * @param sequence the sequence number echoed by the server
+	 * @param roundTrip the round trip time to the server in nanoseconds
+	 */
+	public synchronized void applied(int sequence, long roundTrip) {
+		if (sequence <= lastApplied || sequences[sequence % CAPACITY] != sequence)
+			return;
+
+		lastApplied = sequence;
+		applyLatency.record(System.nanoTime() - sentAt[sequence % CAPACITY] - roundTrip / 2);
+	}
+
+	/**
+	 * Records that the effect of every input up to a sequence number is being rendered.
+	 * @param sequence the sequence number echoed by the server
+	 */
+	public synchronized void rendered(int sequence) {
+		if (sequence <= lastRendered || sequences[sequence % CAPACITY] != sequence)
+			return;
+
+		lastRendered = sequence;
+		renderLatency.record(System.nanoTime() - sentAt[sequence % CAPACITY]);
+	}
+
+	/**
+	 * @return the time from input to it being applied by the server
+	 */
+	public LatencyHistogram getApplyLatency() {
+		return applyLatency;
+	}
+
+	/**
+	 * @return the time from input to its effect being rendered
+	 */
+	public LatencyHistogram getRenderLatency() {
+		return renderLatency;
+	}
+
+}
@@ -0,0 +1,125 @@
+package network.client;
+
+import network.Network.MouseMoved;
+
+/**
+ * This class decides when a clients mouse position should be sent to the server. <br>
+ * A position is only sent when the mouse has moved further than a distance, or the player would turn further than an
+ * angle, since the last position sent. Positions are sent at most once per send interval, and every position sampled
+ * during an interval is coalesced into the latest one. Sampling does not allocate.
+ * @author Connor Stewart
+ */
+public class MouseSampler {
+
+	/** The default distance in game units the mouse must move before its position is sent. */
+	public static final float DEFAULT_MIN_DISTANCE = 0.25f;
+
+	/** The default angle in degrees the player must turn before the mouse position is sent. */
+	public static final float DEFAULT_MIN_ANGLE = 1f;
+
+	/** The default minimum time in seconds in between positions being sent. */
+	public static final float DEFAULT_SEND_INTERVAL = 1 / 30f;
+
+	/** The distance in game units the mouse must move before its position is sent. */
+	private final float minDistance;
+
+	/** The angle in degrees the player must turn before the mouse position is sent. */
+	private final float minAngle;
+
+	/** The minimum time in seconds in between positions being sent. */
+	private final float sendInterval;
+
+	/** The time since a position was last sent. */
+	private float timeSinceSend;
+
+	/** Whether a position has been sent yet. */
+	private boolean sentOnce;
+
+	/** Whether a position is waiting to be sent. */
+	private boolean pending;
+
+	/** The last mouse position sent. */
+	private float sentX, sentY;
+
+	/** The angle from the player to the mouse when the last position was sent. */
+	private float sentAngle;
+
+	/** The message reused for every position sent. */
+	private final MouseMoved message = new MouseMoved();
+
+	/**
+	 * Creates a sampler using the default thresholds.
+	 */
+	public MouseSampler() {
+		this(DEFAULT_MIN_DISTANCE, DEFAULT_MIN_ANGLE, DEFAULT_SEND_INTERVAL);
+	}
+
+	/**
+	 * Creates a sampler.
+	 * @param minDistance the distance in game units the mouse must move before its position is sent
+	 * @param minAngle the angle in degrees the player must turn before the mouse position is sent
+	 * @param sendInterval the minimum time in seconds in between positions being sent
+	 */
+	public MouseSampler(float minDistance, float minAngle, float sendInterval) {
+		this.minDistance = minDistance;
+		this.minAngle = minAngle;
+		this.sendInterval = sendInterval;
+		timeSinceSend = sendInterval;
+	}
+
+	/**
+	 * Samples the mouse position for this frame.
+	 * @param id the players multiplayer ID
+	 * @param playerX the x coordinate of the center of the player
+	 * @param playerY the y coordinate of the center of the player
+	 * @param mouseX the x coordinate of the mouse within the game
+	 * @param mouseY the y coordinate of the mouse within the game
+	 * @param delta the time since the last frame was rendered
+	 * @return the message to send to the server or null if nothing should be sent this frame
+	 */
+	public MouseMoved sample(int id, float playerX, float playerY, float mouseX, float mouseY, float delta) {
+		timeSinceSend += delta;
+
+		float angle = (float) Math.toDegrees(Math.atan2(mouseY - playerY, mouseX - playerX));
+
+		if (!pending && hasChanged(mouseX, mouseY, angle))
+			pending = true;
+
+		if (!pending || timeSinceSend < sendInterval)
+			return null;
+
+		pending = false;
+		sentOnce = true;
+		timeSinceSend = 0;
+		sentX = mouseX;
+		sentY = mouseY;
+		sentAngle = angle;
+
+		message.id = id;
+		message.x = mouseX;
+		message.y = mouseY;
+		return message;
+	}
+
+	/**
+	 * Checks if the mouse has moved far enough since the last position was sent.
+	 * @param mouseX the x coordinate of the mouse within the game
+	 * @param mouseY the y coordinate of the mouse within the game
+	 * @param angle the angle from the player to the mouse
+	 * @return whether the new position should be sent
+	 */
+	private boolean hasChanged(float mouseX, float mouseY, float angle) {
+		if (!sentOnce)
+			return true;
+
+		float xDistance = mouseX - sentX;
+		float yDistance = mouseY - sentY;
+		if (xDistance * xDistance + yDistance * yDistance >= minDistance * minDistance)
+			return true;
+
+		//the difference between the angles, wrapped to -180 to 180
+		float turned = Math.abs(((angle - sentAngle) % 360 + 540) % 360 - 180);
+		return turned >= minAngle;
+	}
+
+}
@@ -0,0 +1,212 @@
+package network.client;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.Pool;
+import network.MessagePools;
+import network.Network.*;
+
+/**
+ * This class hands game state from the network thread to the render thread. <br>
+ * The network thread writes every update into a back snapshot, the render thread swaps it to the front once per frame
+ * and applies it. Only the latest update for each player and projectile is kept, and the state objects are pooled.
+ * Pooled messages are freed by the dispatcher once handled, so the ones kept until the snapshot is applied are copied.
+ * @author Connor Stewart
+ */
+public class SnapshotBuffer {
+
+	/** The snapshot the network thread is writing to. */
+	private Snapshot back = new Snapshot();
+
+	/** The snapshot the render thread is reading from. */
+	private Snapshot front = new Snapshot();
+
+	/**
+	 * Swaps the back snapshot to the front, should be called once per frame by the render thread.
+	 * @return the snapshot containing every update received since the last swap
+	 */
+	public synchronized Snapshot swap() {
+		Snapshot received = back;
+		back = front;
+		back.clear();
+		front = received;
+		return front;
+	}
+
+	/**
+	 * Records that a player should be added.
+	 * @param msg the message describing the player
+	 */
+	public synchronized void addPlayer(AddPlayer msg) {
+		back.addedPlayers.add(msg);
+	}
+
+	/**
+	 * Records that a projectile should be added.
+	 * @param msg the message describing the projectile
+	 */
+	public synchronized void addProjectile(AddProjectile msg) {
+		AddProjectile copy = MessagePools.obtain(AddProjectile.class);
+		copy.playerID = msg.playerID;
+		copy.id = msg.id;
+		copy.type = msg.type;
+		back.addedProjectiles.add(copy);
+	}
+
+	/**
+	 * Records the latest attributes of a player.
+	 * @param msg the message describing the player
+	 */
+	public synchronized void updatePlayer(UpdatePlayer msg) {
+		PlayerState state = back.players.get(msg.id);
+		if (state == null) {
+			state = back.playerPool.obtain();
+			back.players.put(msg.id, state);
+		}
+
+		state.x = msg.x;
+		state.y = msg.y;
+		state.r = (float) msg.r;
+		state.health = msg.health;
+		state.kills = msg.kills;
+		state.inputSequence = msg.inputSequence;
+	}
+
+	/**
+	 * Records the latest position of a projectile.
+	 * @param msg the message describing the projectile
+	 */
+	public synchronized void updateProjectile(UpdateProjectile msg) {
+		ProjectileState state = back.projectiles.get(msg.id);
+		if (state == null) {
+			state = back.projectilePool.obtain();
+			back.projectiles.put(msg.id, state);
+		}
+
+		state.x = msg.x;
+		state.y = msg.y;
+		state.r = (float) msg.r;
+	}
+
+	/**
+	 * Records that a player should be removed.
+	 * @param id the players multiplayer ID
+	 */
+	public synchronized void removePlayer(int id) {
+		back.removedPlayers.add(id);
+	}
+
+	/**
+	 * Records that a projectile should be removed.
+	 * @param id the projectiles multiplayer ID
+	 */
+	public synchronized void removeProjectile(int id) {
+		back.removedProjectiles.add(id);
+	}
+
+	/**
+	 * Records that a player has won the game.
+	 * @param id the winning players multiplayer ID
+	 */
+	public synchronized void playerWon(int id) {
+		back.winnerID = id;
+	}
+
+	/**
+	 * Every update received during one frame, by the multiplayer ID of the entity updated.
+	 * Additions should be applied first, then updates, then removals.
+	 */
+	public static class Snapshot {
+
+		/** Players to add. */
+		public final Array<AddPlayer> addedPlayers = new Array<>();
+
+		/** Projectiles to add. */
+		public final Array<AddProjectile> addedProjectiles = new Array<>();
+
+		/** The latest state of each player updated. */
+		public final IntMap<PlayerState> players = new IntMap<>();
+
+		/** The latest state of each projectile updated. */
+		public final IntMap<ProjectileState> projectiles = new IntMap<>();
+
+		/** The IDs of players to remove. */
+		public final IntArray removedPlayers = new IntArray();
+
+		/** The IDs of projectiles to remove. */
+		public final IntArray removedProjectiles = new IntArray();
+
+		/** The multiplayer ID of the player that has won, or {@link #NO_WINNER}. */
+		public int winnerID = NO_WINNER;
+
+		/** The winner ID used when no player has won. */
+		public static final int NO_WINNER = -1;
+
+		/** Reuses player states once they have been applied. */
+		private final Pool<PlayerState> playerPool = new Pool<PlayerState>() {
+			@Override
+			protected PlayerState newObject() {
+				return new PlayerState();
+			}
+		};
+
+		/** Reuses projectile states once they have been applied. */
+		private final Pool<ProjectileState> projectilePool = new Pool<ProjectileState>() {
+			@Override
+			protected ProjectileState newObject() {
+				return new ProjectileState();
+			}
+		};
+
+		/**
+		 * Removes every update from this snapshot.
+		 */
+		private void clear() {
+			addedPlayers.clear();
+
+			for (AddProjectile msg : addedProjectiles)
+				MessagePools.free(msg);
+			addedProjectiles.clear();
+			removedPlayers.clear();
+			removedProjectiles.clear();
+			winnerID = NO_WINNER;
+
+			for (PlayerState state : players.values())
+				playerPool.free(state);
+
+			for (ProjectileState state : projectiles.values())
+				projectilePool.free(state);
+
+			players.clear();
+			projectiles.clear();
+		}
+	}
+
+	/** The attributes of a player. */
+	public static class PlayerState {
+		/** The players x coordinate. */
+		public float x;
+		/** The players y coordinate. */
+		public float y;
+		/** The players rotation. */
+		public float r;
+		/** The players health. */
+		public double health;
+		/** The amount of kills the player has. */
+		public int kills;
+		/** The sequence number of the latest input from this player that the server has applied. */
+		public int inputSequence;
+	}
+
+	/** The position of a projectile. */
+	public static class ProjectileState {
+		/** The projectiles x coordinate. */
+		public float x;
+		/** The projectiles y coordinate. */
+		public float y;
+		/** The projectiles rotation. */
+		public float r;
+	}
+
+}
@@ -0,0 +1,77 @@
+package ui;
+
+import jdk.jfr.*;
+
+/**
+ * A Java Flight Recorder event for one frame of a game screen, split into updating and rendering. <br>
+ * The event's duration is the whole frame. It is disabled unless enabled by a recording's settings, such as the
+ * profile in profiling/shooter.jfc.
+ * @author Connor Stewart
+ */
+@Name("shooter.ClientFrame")
+@Label("Client Frame")
+@Category({"Space Shooter", "Client"})
+@Description("A frame of the singleplayer or multiplayer game, with the time taken to update and render it.")
+@Enabled(false)
+@StackTrace(false)
+class ClientFrameEvent extends Event {
+
+	/** The event's type, used to check whether a recording wants the event before creating one. */
+	private static final EventType TYPE = EventType.getEventType(ClientFrameEvent.class);
+
+	/** A frame of {@link SPGame}. */
+	static final String SINGLEPLAYER = "Singleplayer";
+
+	/** A frame of {@link MPGame}. */
+	static final String MULTIPLAYER = "Multiplayer";
+
+	/** The game the frame belongs to. */
+	@Label("Game")
+	String game;
+
+	/** The amount of entities in the game. */
+	@Label("Entities")
+	int entities;
+
+	/** The time taken to handle input and update the game. */
+	@Label("Update")
+	@Timespan(Timespan.NANOSECONDS)
+	long update;
+
+	/** The time taken to clear the screen and draw the game. */
+	@Label("Render")
+	@Timespan(Timespan.NANOSECONDS)
+	long render;
+
+	/**
+	 * Creates and begins an event if a recording wants it, so nothing is allocated each frame while it is disabled.
+	 * @return the event, or null if no recording wants it
+	 */
+	static ClientFrameEvent beginIfEnabled() {
+		if (!TYPE.isEnabled())
+			return null;
+
+		ClientFrameEvent event = new ClientFrameEvent();
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Ends and commits this event if the recording wants it.
+	 * @param game the game the frame belongs to
+	 * @param entities the amount of entities in the game
+	 * @param frameStart the {@link System#nanoTime} the frame started at
+	 * @param update the time in nanoseconds taken to handle input and update the game
+	 */
+	void finish(String game, int entities, long frameStart, long update) {
+		if (!shouldCommit())
+			return;
+
+		this.game = game;
+		this.entities = entities;
+		this.update = update;
+		this.render = System.nanoTime() - frameStart - update;
+		commit();
+	}
+
+}
@@ -0,0 +1,24 @@
+package ui;
+
+import backend.logging.GameLog;
+import com.badlogic.gdx.backends.lwjgl.LwjglApplication;
+import com.badlogic.gdx.backends.lwjgl.LwjglApplicationConfiguration;
+
+/**
+ * This class starts the game, the server is started from its own jar by {@code network.server.ServerDriver}.
+ * @author Connor Stewart
+ */
+public class Driver {
+
+	public static void main(String[] args) {
+		//route KryoNet's log through the game's log before anything connects, -Dshooter.log.level=debug logs more
+		GameLog.start();
+
+		LwjglApplicationConfiguration config = new LwjglApplicationConfiguration();
+		config.title = "Space Defence";
+		config.width = 900;
+		config.height = 700;
+		new LwjglApplication(ControlGame.getInstance(), config);
+	}
+	
+}
@@ -29,6 +29,16 @@ abstract public class GameScreen extends BaseScreen {
     /** The background image. */
     InanimateEntity map;
 
+    /** Whether this screen has released the entity textures. */
+    private boolean texturesReleased;
+
+    /**
+     * Creates a game screen, keeping the entity textures loaded until it is disposed.
+     */
+    GameScreen() {
+        InanimateEntity.retainTextures();
+    }
+
     public void show() {
         //instantiate shape renderer
         sr = new ShapeRenderer();
@@ -62,5 +72,10 @@ abstract public class GameScreen extends BaseScreen {
         batch.dispose();
         sr.dispose();
         font.dispose();
+
+        if (!texturesReleased) {
+            texturesReleased = true;
+            InanimateEntity.releaseTextures();
+        }
     }
 }
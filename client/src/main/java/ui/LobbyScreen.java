@@ -3,7 +3,6 @@ package ui;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
-import com.badlogic.gdx.utils.Array;
 import network.Message;
 import network.Network;
 import network.client.ClientHandler;
@@ -51,13 +50,14 @@ public class LobbyScreen extends UIScreen {
         //initialising room and player lists
         playerList = new List<String>(lstStyle);
 
-        //check if a list of players is waiting in the queue
-        if (client.getQueue().haveReceived(Network.LobbyPlayers.class)) {
-            Array<Message> messages = client.getQueue().getMessages(Network.LobbyPlayers.class, true);
-            //add the latest LobbyPlayers message
-            String[] playerNames = ((Network.LobbyPlayers) messages.get(messages.size - 1).getMessage()).players;
-            populatePlayers(playerNames);
-        }
+        //update the players whenever the server sends a new list
+        client.getDispatcher().setHandler(this, Network.LobbyPlayers.class, (connection, msg) ->
+                Gdx.app.postRunnable(() -> populatePlayers(msg.players)));
+
+        //add the latest list of players if one is waiting in the queue
+        Message latest = client.getQueue().pollLatest(Network.LobbyPlayers.class);
+        if (latest != null)
+            populatePlayers(((Network.LobbyPlayers) latest.getMessage()).players);
 
         lists.addActor(playerList);
         lists.space(50f);
@@ -92,6 +92,11 @@ public class LobbyScreen extends UIScreen {
 
     }
 
+    @Override
+    public void hide() {
+        client.getDispatcher().removeHandlers(this);
+    }
+
     /**
      * Adds a new list of players to the UI.
      * @param players the players names to add
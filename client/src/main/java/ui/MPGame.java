@@ -0,0 +1,392 @@
+package ui;
+
+import backend.entities.InanimateEntity;
+import backend.entities.MultiplayerPlayer;
+import backend.logging.GameLog;
+import backend.projectiles.Projectile;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntMap;
+import com.esotericsoftware.kryonet.Client;
+import network.LatencyHistogram;
+import network.Message;
+import network.MessageDispatcher;
+import network.MessagePools;
+import network.Network;
+import network.Network.*;
+import network.client.ClientHandler;
+import network.client.InputLatency;
+import network.client.MouseSampler;
+import network.client.SnapshotBuffer;
+import network.client.SnapshotBuffer.PlayerState;
+import network.client.SnapshotBuffer.ProjectileState;
+import network.client.SnapshotBuffer.Snapshot;
+
+import javax.swing.*;
+
+/**
+ * This class handles displaying a multiplayer game for the client.
+ * @author Connor Stewart
+ */
+public class MPGame extends GameScreen {
+	
+	/** Players that are currently active in the game. */
+	private Array<Projectile> projectiles  = new Array<Projectile>();
+
+	/** Players that are currently active in the game. */
+	private Array<MultiplayerPlayer> players  = new Array<MultiplayerPlayer>();
+
+	/** This clients player. */
+	private MultiplayerPlayer player;
+	
+	/** Decides when the mouse position should be sent to the server. */
+	private final MouseSampler mouseSampler = new MouseSampler();
+
+	/** The mouse position within the game, reused every frame. */
+	private final Vector3 mousePos = new Vector3();
+
+	/** The position to draw the scores at, reused every frame. */
+	private final Vector3 scoreCord = new Vector3();
+	
+	/** The client connected to the server. */
+	private Client client;
+
+	/** This clients nickname. */
+	private String clientNickname;
+	
+	/** The handler for this clients connection to the server. */
+	private ClientHandler clientHandler;
+
+	/** Hands updates from the network thread to the render thread. */
+	private final SnapshotBuffer snapshots = new SnapshotBuffer();
+
+	/** Measures how long this clients input takes to be applied and rendered. */
+	private InputLatency inputLatency;
+
+	/** The multiplayer ID of this clients player, read by the network thread. */
+	private volatile int playerID = -1;
+
+	/** Whether the input latency overlay is shown, toggled with F3. */
+	private boolean showLatency;
+
+	public MPGame(ClientHandler clientHandler, String nickname) {
+		this.clientHandler = clientHandler;
+		this.client = clientHandler.getKyroClient();
+		this.clientNickname = nickname;
+		this.inputLatency = clientHandler.getInputLatency();
+	}
+
+	/**
+	 * Makes this game the handler for in game messages.
+	 */
+	private void addHandlers() {
+		MessageDispatcher dispatcher = clientHandler.getDispatcher();
+		dispatcher.setHandler(this, AddPlayer.class, (connection, msg) -> snapshots.addPlayer(msg));
+		dispatcher.setHandler(this, AddProjectile.class, (connection, msg) -> snapshots.addProjectile(msg));
+		dispatcher.setHandler(this, UpdatePlayer.class, (connection, msg) -> {
+			if (msg.id == playerID)
+				inputLatency.applied(msg.inputSequence, clientHandler.getClock().getRoundTrip());
+			snapshots.updatePlayer(msg);
+		});
+		dispatcher.setHandler(this, UpdateProjectile.class, (connection, msg) -> snapshots.updateProjectile(msg));
+		dispatcher.setHandler(this, RemoveProjectile.class, (connection, msg) -> snapshots.removeProjectile(msg.id));
+		dispatcher.setHandler(this, RemovePlayer.class, (connection, msg) -> snapshots.removePlayer(msg.id));
+		dispatcher.setHandler(this, PlayerWon.class, (connection, msg) -> snapshots.playerWon(msg.id));
+
+		//add players that were announced before this game was shown
+		Array<Message> queued = new Array<Message>();
+		clientHandler.getQueue().drain(AddPlayer.class, queued);
+		for (Message message : queued)
+			snapshots.addPlayer((AddPlayer) message.getMessage());
+	}
+
+	/**
+	 * Applies every update received from the server since the last frame.
+	 * @param snapshot the updates to apply
+	 */
+	private void applySnapshot(Snapshot snapshot) {
+		for (AddPlayer msg : snapshot.addedPlayers)
+			addPlayer(msg);
+
+		for (AddProjectile msg : snapshot.addedProjectiles)
+			addProjectile(msg);
+
+		for (IntMap.Entry<PlayerState> entry : snapshot.players.entries()) {
+			MultiplayerPlayer toUpdate = getPlayerByID(entry.key);
+			if (toUpdate != null) {
+				toUpdate.setX(entry.value.x);
+				toUpdate.setY(entry.value.y);
+				toUpdate.setRotation(entry.value.r);
+				toUpdate.setHealth(entry.value.health);
+				toUpdate.setKills(entry.value.kills);
+
+				if (toUpdate == player)
+					inputLatency.rendered(entry.value.inputSequence);
+			}
+		}
+
+		for (IntMap.Entry<ProjectileState> entry : snapshot.projectiles.entries()) {
+			Projectile toUpdate = getProjectileByID(entry.key);
+			if (toUpdate != null) {
+				toUpdate.setX(entry.value.x);
+				toUpdate.setY(entry.value.y);
+				toUpdate.setRotation(entry.value.r);
+			}
+		}
+
+		for (int i = 0; i < snapshot.removedProjectiles.size; i++)
+			projectiles.removeValue(getProjectileByID(snapshot.removedProjectiles.get(i)), true);
+
+		for (int i = 0; i < snapshot.removedPlayers.size; i++)
+			players.removeValue(getPlayerByID(snapshot.removedPlayers.get(i)), true);
+
+		if (snapshot.winnerID != Snapshot.NO_WINNER) {
+			MultiplayerPlayer winningPlayer = getPlayerByID(snapshot.winnerID);
+			if (winningPlayer != null)
+				win(winningPlayer);
+		}
+	}
+
+	/**
+	 * Adds a player to the game.
+	 * @param msg the message describing the player
+	 */
+	private void addPlayer(AddPlayer msg) {
+		MultiplayerPlayer toAdd = new MultiplayerPlayer(Network.GAME_HEIGHT / 2, Network.GAME_HEIGHT / 2, msg.name);
+		toAdd.setMultiplayerID(msg.id);
+		players.add(toAdd);
+
+		GameLog.info("game", "Adding player {}", toAdd.getPlayerName());
+
+		if (toAdd.getPlayerName().equals(clientNickname)) {
+			player = toAdd;
+			playerID = toAdd.getMultiplayerID();
+		}
+	}
+
+	/**
+	 * Fires a projectile from the player that fired it on the server.
+	 * @param msg the message describing the projectile
+	 */
+	private void addProjectile(AddProjectile msg) {
+		Projectile toAdd = null;
+		MultiplayerPlayer player = getPlayerByID(msg.playerID);
+		if (player != null) {
+			if (msg.type.equals("Light")) {
+				toAdd = player.getLeftWeapon().fireWithoutValidation(player.getCenterX(), player.getCenterY(), player.getRotation());
+			} else {
+				toAdd = player.getRightWeapon().fireWithoutValidation(player.getCenterX(), player.getCenterY(), player.getRotation());
+			}
+		}
+
+		if (toAdd != null) {
+			toAdd.setFiredByID(msg.playerID);
+			toAdd.setMultiplayerID(msg.id);
+			projectiles.add(toAdd);
+		}
+	}
+
+	public void show() {
+		super.show();
+		GameLog.info("game", "Multiplayer game started");
+		
+		//instantiate map
+		map = new InanimateEntity("backgrounds/redPlanet.png", Network.GAME_WIDTH, Network.GAME_HEIGHT);
+		player = new MultiplayerPlayer(Network.GAME_WIDTH / 2, Network.GAME_HEIGHT / 2, "default");
+
+		addHandlers();
+	}
+
+	public void render(float delta) {
+		ClientFrameEvent event = ClientFrameEvent.beginIfEnabled();
+		long frameStart = System.nanoTime();
+
+		super.render(delta);
+		long updateStart = System.nanoTime();
+
+		applySnapshot(snapshots.swap());
+
+		checkInput();
+		
+		//get the score coordinates according to the current camera position
+		scoreCord.set(10, 10, 0);
+		cam.unproject(scoreCord);
+		
+		//the mouse position relative to the camera
+		mousePos.set(Gdx.input.getX(), Gdx.input.getY(), 0);
+		cam.unproject(mousePos);
+
+		//tell the server that you have moved your mouse
+		MouseMoved toSend = mouseSampler.sample(player.getMultiplayerID(), player.getCenterX(), player.getCenterY(), mousePos.x, mousePos.y, delta);
+		if (toSend != null)
+			client.sendUDP(toSend);
+		
+		//set the camera as the view
+		batch.setProjectionMatrix(cam.combined);
+
+		//validate camera movement
+		if (player.getCenterY() - cam.viewportHeight > 0 && player.getCenterY() + cam.viewportHeight < map.getHeight())
+			cam.position.y = player.getCenterY();
+		
+		if (player.getCenterX() - cam.viewportWidth > 0 && player.getCenterX() + cam.viewportWidth < map.getWidth())
+			cam.position.x = player.getCenterX();
+		
+		//validate the all projectiles are still moving
+		for (int i = 0; i < projectiles.size; i++)
+			if (projectiles.get(i).isDead(delta))
+				projectiles.removeValue(projectiles.get(i), false);
+
+		long update = System.nanoTime() - updateStart;
+		
+		//start drawing sprites
+		batch.begin(); 
+		
+		//draw background
+		map.draw(batch);
+		
+		int yIncrease = 5;
+		font.setUseIntegerPositions(false);
+		
+		for (int i = 0; i < players.size; i++) {
+			//draw the players name
+			font.draw(batch, players.get(i).getPlayerName(), players.get(i).getCenterX(), players.get(i).getCenterY());
+			//draw the players scores
+			font.draw(batch, players.get(i).getPlayerName() + ": " + players.get(i).getKills(), scoreCord.x, scoreCord.y - (i * yIncrease));
+		}
+
+		//draw players
+		for (int i = 0; i < players.size; i++)
+			players.get(i).draw(batch);
+			
+		//draw projectiles
+		for (int i = 0; i < projectiles.size; i++)
+			projectiles.get(i).draw(batch);
+		
+		if (Gdx.input.isKeyJustPressed(Input.Keys.F3))
+			showLatency = !showLatency;
+
+		if (showLatency)
+			drawLatency(yIncrease * (players.size + 1));
+
+		//stop drawing sprites
+		batch.end();
+		
+		//start drawing shapes
+		sr.begin(ShapeRenderer.ShapeType.Filled);
+
+		//draw health bars
+		for (int i = 0; i < players.size; i++)
+			if (players.get(i).hasHealth())
+				players.get(i).drawHP(sr, cam);
+
+		//stop drawing shapes
+		sr.end();
+
+		if (event != null)
+			event.finish(ClientFrameEvent.MULTIPLAYER, players.size + projectiles.size, frameStart, update);
+	}
+
+	/**
+	 * Draws the input latency percentiles below the scores.
+	 * @param yOffset the distance below the score coordinates to draw at
+	 */
+	private void drawLatency(float yOffset) {
+		LatencyHistogram apply = inputLatency.getApplyLatency();
+		LatencyHistogram render = inputLatency.getRenderLatency();
+
+		font.draw(batch, String.format("apply p50/95/99: %.1f/%.1f/%.1f ms", apply.getPercentile(50), apply.getPercentile(95), apply.getPercentile(99)), scoreCord.x, scoreCord.y - yOffset);
+		font.draw(batch, String.format("render p50/95/99: %.1f/%.1f/%.1f ms", render.getPercentile(50), render.getPercentile(95), render.getPercentile(99)), scoreCord.x, scoreCord.y - yOffset - 5);
+	}
+
+	private void win(MultiplayerPlayer player) {
+		Gdx.app.postRunnable(() -> ControlGame.getInstance().setScreen(new MenuScreen()));
+
+		client.close();
+		dispose();
+
+		JOptionPane.showMessageDialog(null, player.getPlayerName() + " has won!", "Winner", JOptionPane.INFORMATION_MESSAGE);
+	}
+
+	public void resize(int width, int height) {}
+
+	public void pause() {}
+
+	public void resume() {}
+
+	public void hide() {
+		clientHandler.getDispatcher().removeHandlers(this);
+	}
+
+	/**
+	 * Gets a MultiplayerPlayer using its multiplayer id.
+	 * @param id the multiplayer id to search for
+	 * @return the player that has a matching id or null
+	 */
+	private MultiplayerPlayer getPlayerByID(int id) {
+		for (MultiplayerPlayer player : players)
+			if (player.getMultiplayerID() == id)
+				return player;
+		
+		return null;
+	}
+	
+	/**
+	 * Gets a Projectile using its multiplayer id.
+	 * @param id the multiplayer id to search for
+	 * @return the projectile that has a matching id or null
+	 */
+	private Projectile getProjectileByID(int id) {
+		for (Projectile projectile : projectiles)
+			if (projectile.getMultiplayerID() == id)
+				return projectile;
+		
+		return null;
+	}
+	
+	/**
+	 * Send player key presses to the server.
+	 */
+	private void checkInput() {
+		checkKeyInput(Input.Keys.W);
+		checkKeyInput(Input.Keys.S);
+		checkKeyInput(Input.Keys.D);
+		checkKeyInput(Input.Keys.A);
+
+		checkMouseInput(Input.Buttons.LEFT);
+		checkMouseInput(Input.Buttons.RIGHT);
+	}
+
+	/**
+	 * Checks if a key has been pressed and notifies the server if so.
+	 * @param keyCode the keyCode to check
+	 */
+	private void checkKeyInput(int keyCode) {
+		if (Gdx.input.isKeyPressed(keyCode)) {
+			KeyInput toSend = MessagePools.obtain(KeyInput.class);
+			toSend.id = player.getMultiplayerID();
+			toSend.keyCode = keyCode;
+			toSend.sequence = inputLatency.sent();
+			client.sendTCP(toSend);
+			MessagePools.free(toSend);
+		}
+	}
+
+	/**
+	 * Checks if a mouse button has been pressed and notifies the server if so.
+	 * @param buttonCode the buttonCode to check
+	 */
+	private void checkMouseInput(int buttonCode) {
+		if (Gdx.input.isButtonPressed(buttonCode)) {
+			MouseInput toSend = MessagePools.obtain(MouseInput.class);
+			toSend.id = player.getMultiplayerID();
+			toSend.buttonCode = buttonCode;
+			toSend.sequence = inputLatency.sent();
+			client.sendTCP(toSend);
+			MessagePools.free(toSend);
+		}
+	}
+	
+}
@@ -4,7 +4,6 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
-import com.badlogic.gdx.utils.Array;
 import network.Message;
 import network.Network;
 import network.client.ClientHandler;
@@ -53,13 +52,13 @@ public class MultiplayerScreen extends UIScreen {
 		//initialising room and player lists
 		roomList = new List<String>(lstStyle);
 
-		//check if a list of players is waiting in the queue
-		if (client.getQueue().haveReceived(Network.RoomUpdate.class)) {
-			Array<Message> messages = client.getQueue().getMessages(Network.RoomUpdate.class, true);
-			//add the latest RoomPlayers message
-			String[] playerNames = ((Network.RoomUpdate) messages.get(messages.size - 1).getMessage()).roomNames;
-			populateRooms(playerNames);
-		}
+		//update the rooms whenever the server sends a new list
+		client.getDispatcher().setHandler(this, Network.RoomUpdate.class, (connection, msg) -> populateRooms(msg.roomNames));
+
+		//add the latest list of rooms if one is waiting in the queue
+		Message latest = client.getQueue().pollLatest(Network.RoomUpdate.class);
+		if (latest != null)
+			populateRooms(((Network.RoomUpdate) latest.getMessage()).roomNames);
 		
 		lists.addActor(roomList);
 		lists.space(50f);
@@ -94,6 +93,11 @@ public class MultiplayerScreen extends UIScreen {
 			client.joinRoom(roomList.getSelected());
 	}
 
+	@Override
+	public void hide() {
+		client.getDispatcher().removeHandlers(this);
+	}
+
 	/**
 	 * Populates the rooms with a new set of rooms.
 	 * @param roomNames the room names to add
@@ -7,27 +7,26 @@ import backend.enemies.Enemy;
 import backend.entities.Entity;
 import backend.entities.InanimateEntity;
 import backend.entities.Player;
+import backend.logging.GameLog;
 import backend.logic.Spawner;
+import backend.logic.World;
 import backend.projectiles.LockOn;
 import backend.projectiles.Projectile;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.Array;
+
+import java.util.Random;
+
 /**
  * The screen that contains the singleplayer game.
  * @author Connor Stewart
  */
-public class SPGame extends GameScreen {
-
-	/** The height of the game. */
-	public static final int GAME_HEIGHT = 100;
-
-	/** The width of the game. */
-	public static final int GAME_WIDTH = 100;
+public class SPGame extends GameScreen implements World {
 
-	/** The entities currently active within the game. */
-	private Array<Entity> activeEntities;
+	/** The entities currently active within the game, created here so entities can be added before it is shown. */
+	private Array<Entity> activeEntities = new Array<>();
 
 	/** The animations currently active within the game. */
 	private Array<AnimationHandler> activeAnimations;
@@ -44,6 +43,24 @@ public class SPGame extends GameScreen {
 	/** The players score. */
 	private int score;
 
+	/** The seed the spawner is created with each time the game is shown. */
+	private final long seed;
+
+	/**
+	 * Creates a game whose enemies spawn in different places every time it is played.
+	 */
+	public SPGame() {
+		this(new Random().nextLong());
+	}
+
+	/**
+	 * Creates a game whose enemies spawn in the same places every time it is played with the same input.
+	 * @param seed the seed of the spawner
+	 */
+	public SPGame(long seed) {
+		this.seed = seed;
+	}
+
 	public void show() {
 		super.show();
 
@@ -56,7 +73,7 @@ public class SPGame extends GameScreen {
 		cam.position.set(player.getX(), player.getY(), 0);
 		
 		//instantiate logic entities
-		spawner = new Spawner(this);
+		spawner = new Spawner(this, seed);
 		activeEntities = new Array<Entity>();
 		activeEffects = new Array<Effect>();
 		activeAnimations = new Array<AnimationHandler>();
@@ -69,10 +86,15 @@ public class SPGame extends GameScreen {
 	}
 
 	public void render(float delta) {
+		ClientFrameEvent event = ClientFrameEvent.beginIfEnabled();
+		long frameStart = System.nanoTime();
+
 		super.render(delta);
+		long updateStart = System.nanoTime();
 		checkInput();
 		
 		update(delta);
+		long update = System.nanoTime() - updateStart;
 		
 		//the mouse position relative to the camera
 		Vector3 mousePos = new Vector3(Gdx.input.getX(),Gdx.input.getY(),0);
@@ -129,6 +151,9 @@ public class SPGame extends GameScreen {
 
 		//stop drawing shapes
 		sr.end();
+
+		if (event != null)
+			event.finish(ClientFrameEvent.SINGLEPLAYER, activeEntities.size, frameStart, update);
 	}
 	
 	public void update(float delta) {
@@ -138,28 +163,8 @@ public class SPGame extends GameScreen {
 		//spawn enemies
 		spawner.spawnEnemies(delta);
 
-		try {
-			//check for collisions between entities
-			for (int entity1Index = 0; entity1Index < activeEntities.size; entity1Index++) {
-				for (int entity2Index = 0; entity2Index < activeEntities.size; entity2Index++) {
-					Entity e1 = activeEntities.get(entity1Index);
-					Entity e2 = activeEntities.get(entity2Index);
-					if (e1.getBoundingRectangle().overlaps(e2.getBoundingRectangle())) {
-						if (e1.onCollision(e2)) {
-							e1.onDestroy();
-							activeEntities.removeValue(e1, false);
-						}
-						if (e2.onCollision(e1)) {
-							e2.onDestroy();
-							activeEntities.removeValue(e2, false);
-						}
-					}//end checking for collisions
-				}//end e2 loop
-			}//end e1 loop
-		} catch (IndexOutOfBoundsException e2) {
-			//TODO: keep an eye on this bug.
-			System.out.println("Index Exception Bug");
-		}
+		//check for collisions between entities
+		resolveCollisions(activeEntities);
 
 		//loop through effects
 		for (Effect effect : activeEffects)
@@ -177,6 +182,34 @@ public class SPGame extends GameScreen {
 
 	}
 
+	/**
+	 * Checks every pair of entities for collisions, removing the entities that are destroyed by them.
+	 * @param entities the entities to check
+	 */
+	public static void resolveCollisions(Array<Entity> entities) {
+		try {
+			for (int entity1Index = 0; entity1Index < entities.size; entity1Index++) {
+				for (int entity2Index = 0; entity2Index < entities.size; entity2Index++) {
+					Entity e1 = entities.get(entity1Index);
+					Entity e2 = entities.get(entity2Index);
+					if (e1.getBoundingRectangle().overlaps(e2.getBoundingRectangle())) {
+						if (e1.onCollision(e2)) {
+							e1.onDestroy();
+							entities.removeValue(e1, false);
+						}
+						if (e2.onCollision(e1)) {
+							e2.onDestroy();
+							entities.removeValue(e2, false);
+						}
+					}//end checking for collisions
+				}//end e2 loop
+			}//end e1 loop
+		} catch (IndexOutOfBoundsException e2) {
+			//TODO: keep an eye on this bug.
+			GameLog.warn("game", "Collisions were skipped this frame as an entity was removed while checking them", e2);
+		}
+	}
+
 	/**
 	 * Checks for user input and reacts accordingly.
 	 */
@@ -266,4 +299,12 @@ public class SPGame extends GameScreen {
 		activeAnimations.add(toAdd);
 	}
 
+	/**
+	 * Shows the player's score once the current frame has finished.
+	 */
+	public void endGame() {
+		int score = this.score;
+		Gdx.app.postRunnable(() -> ControlGame.getInstance().setScreen(new ScoreScreen(score)));
+	}
+
 }
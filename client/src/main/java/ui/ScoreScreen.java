@@ -8,9 +8,6 @@ import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.Timer;
 import com.badlogic.gdx.utils.Timer.Task;
-import com.esotericsoftware.kryonet.Connection;
-import com.esotericsoftware.kryonet.Listener;
-import com.esotericsoftware.kryonet.Listener.ThreadedListener;
 import network.ConfirmType;
 import network.Network;
 import network.client.ClientHandler;
@@ -56,27 +53,16 @@ public class ScoreScreen extends UIScreen {
 		client = new ClientHandler(false);
 
 		if (client.isConnected()) {
-			client.getKyroClient().addListener(new ThreadedListener(new Listener(){
-				@Override
-				public void received(Connection connection, Object object) {
-					if (object instanceof Network.ConfirmationMessage) {
-						if (((Network.ConfirmationMessage) object).type.equals(ConfirmType.ScoreAdded)) {
-							client.getKyroClient().sendTCP(new Network.RefreshScores());
-							txtName.setDisabled(true);
-							txtName.setText("");
-							uploaded = true;
-						}
-					}
-
-					if (object instanceof Network.ScoreUpdate) {
-						Network.ScoreUpdate msg = (Network.ScoreUpdate) object;
-						ArrayList<Integer> scores = msg.scores;
-						ArrayList<String> names = msg.names;
-
-						updateScores(scores, names);
-					}
+			client.getDispatcher().setHandler(this, Network.ConfirmationMessage.class, (connection, msg) -> {
+				if (msg.type.equals(ConfirmType.ScoreAdded)) {
+					client.getKyroClient().sendTCP(new Network.RefreshScores());
+					txtName.setDisabled(true);
+					txtName.setText("");
+					uploaded = true;
 				}
-			}));
+			});
+
+			client.getDispatcher().setHandler(this, Network.ScoreUpdate.class, (connection, msg) -> updateScores(msg.scores, msg.names));
 
 			client.getKyroClient().sendTCP(new Network.RefreshScores());
 		}
@@ -1,5 +1,7 @@
 package backend;
 
+import backend.logging.GameLog;
+
 import java.io.*;
 import java.util.ArrayList;
 
@@ -17,14 +19,21 @@ public class ScoreStorage {
 	 * @param score the score
 	 */
 	public void writeScore(String name, int score) {
+		ScoreStorageEvent event = new ScoreStorageEvent();
+		event.begin();
+		boolean failed = false;
+
 		try {
 			BufferedWriter writer = new BufferedWriter(new FileWriter(fileName, true));
 			writer.newLine();
 			writer.append(name + ":" + score);
 			writer.close();
 		} catch (IOException e) {
-			e.printStackTrace();
+			failed = true;
+			GameLog.error("scores", "The score could not be written to {}", fileName, e);
 		}
+
+		event.finish(ScoreStorageEvent.WRITE, fileName, 1, failed);
 	}
 	
 	/**
@@ -33,6 +42,9 @@ public class ScoreStorage {
 	 */
 	public ArrayList<Integer> getScores() {
 		ArrayList<Integer> scores = new ArrayList<Integer>();
+		ScoreStorageEvent event = new ScoreStorageEvent();
+		event.begin();
+		boolean failed = false;
 
 		try {
 			fileExists();
@@ -42,9 +54,11 @@ public class ScoreStorage {
 				scores.add(Integer.parseInt(line.substring(line.indexOf(":") + 1)));
 			}
 		} catch (IOException e) {
-			e.printStackTrace();
+			failed = true;
+			GameLog.error("scores", "The scores could not be read from {}", fileName, e);
 		}
 
+		event.finish(ScoreStorageEvent.READ_SCORES, fileName, scores.size(), failed);
 		return scores;
 	}
 
@@ -54,6 +68,9 @@ public class ScoreStorage {
 	 */
 	public ArrayList<String> getNames() {
 		ArrayList<String> names = new ArrayList<String>();
+		ScoreStorageEvent event = new ScoreStorageEvent();
+		event.begin();
+		boolean failed = false;
 
 		try {
 			fileExists();
@@ -63,9 +80,11 @@ public class ScoreStorage {
 				names.add(line.substring(0,line.indexOf(":")));
 			}
 		} catch (IOException e) {
-			e.printStackTrace();
+			failed = true;
+			GameLog.error("scores", "The names could not be read from {}", fileName, e);
 		}
-		
+
+		event.finish(ScoreStorageEvent.READ_NAMES, fileName, names.size(), failed);
 		return names;
 	}
 
@@ -0,0 +1,62 @@
+package backend;
+
+import jdk.jfr.*;
+
+/**
+ * A Java Flight Recorder event for {@link ScoreStorage} reading or writing the scores file. <br>
+ * The event's duration is the time the file was open for. It is disabled unless enabled by a recording's settings,
+ * such as the profile in profiling/shooter.jfc.
+ * @author Connor Stewart
+ */
+@Name("shooter.ScoreStorage")
+@Label("Score Storage")
+@Category({"Space Shooter", "Storage"})
+@Description("The scores file being read or written.")
+@Enabled(false)
+@StackTrace(false)
+class ScoreStorageEvent extends Event {
+
+	/** The scores were read. */
+	static final String READ_SCORES = "Read Scores";
+
+	/** The names were read. */
+	static final String READ_NAMES = "Read Names";
+
+	/** A score was written. */
+	static final String WRITE = "Write";
+
+	/** What was done to the file. */
+	@Label("Operation")
+	String operation;
+
+	/** The path of the file. */
+	@Label("File")
+	String file;
+
+	/** The amount of entries read or written. */
+	@Label("Entries")
+	int entries;
+
+	/** Whether the file could not be read or written. */
+	@Label("Failed")
+	boolean failed;
+
+	/**
+	 * Ends and commits this event if the recording wants it.
+	 * @param operation what was done to the file
+	 * @param file the path of the file
+	 * @param entries the amount of entries read or written
+	 * @param failed whether the file could not be read or written
+	 */
+	void finish(String operation, String file, int entries, boolean failed) {
+		if (!shouldCommit())
+			return;
+
+		this.operation = operation;
+		this.file = file;
+		this.entries = entries;
+		this.failed = failed;
+		commit();
+	}
+
+}
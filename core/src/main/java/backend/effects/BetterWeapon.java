@@ -1,9 +1,9 @@
 package backend.effects;
 
 import backend.entities.Player;
+import backend.logic.World;
 import backend.weapons.PlayerAutoWeapon;
 import backend.weapons.PlayerLightWeapon;
-import ui.SPGame;
 
 /**
  * This class is used to define the automatic aiming powerup which gives the player the {@link backend.weapons.PlayerAutoWeapon} for the duration of this effect.
@@ -18,7 +18,7 @@ public class BetterWeapon extends Effect {
 	 * Gives the player an upgraded weapon for the duration of this effect.
 	 * @param game the game this effect has been activated in
 	 */
-	public BetterWeapon(SPGame game) {
+	public BetterWeapon(World game) {
 		super(game, 10);
 		PLAYER = game.getPlayer();
 	}
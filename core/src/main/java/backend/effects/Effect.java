@@ -1,6 +1,6 @@
 package backend.effects;
 
-import ui.SPGame;
+import backend.logic.World;
 
 /**
  * Generic class for things that affect the game as a whole.
@@ -15,14 +15,14 @@ public abstract class Effect {
 	private double timer = 0;
 
 	/** The game screen this effect has been activated on. */
-	protected final SPGame GAME;
+	protected final World GAME;
 
 	/**
 	 * Creates an effect.
 	 * @param game the game this effect has been activated in
 	 * @param duration the duration of the effect
 	 */
-	Effect(SPGame game, double duration) {
+	Effect(World game, double duration) {
 		this.DURATION = duration;
 		this.GAME = game;
 	}
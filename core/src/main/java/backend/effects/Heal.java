@@ -1,6 +1,6 @@
 package backend.effects;
 
-import ui.SPGame;
+import backend.logic.World;
 
 /**
  * This effect heals the player.
@@ -15,7 +15,7 @@ public class Heal extends Effect {
 	 * Activates the heal effect on the current singleplayer player.
 	 * @param game the game this effect has been activated in
 	 */
-	public Heal(SPGame game) {
+	public Heal(World game) {
 		super(game, 0);
 	}
 
@@ -3,9 +3,9 @@ package backend.effects;
 import backend.enemies.Dropship;
 import backend.entities.Entity;
 import backend.entities.Player;
+import backend.logic.World;
 import backend.projectiles.Projectile;
 import backend.projectiles.ProjectileType;
-import ui.SPGame;
 
 /**
  * This effect slows all enemies.
@@ -16,7 +16,7 @@ public class Slow extends Effect {
 	/**
 	 * Creates an instance of the slow effect with the desired duration.
 	 */
-	public Slow(SPGame screen) {
+	public Slow(World screen) {
 		super(screen,7);
 	}
 	
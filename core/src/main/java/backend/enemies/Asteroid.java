@@ -2,7 +2,7 @@ package backend.enemies;
 
 import backend.entities.Entity;
 import backend.entities.Player;
-import ui.SPGame;
+import backend.logic.World;
 
 /**
  * An enemy that flies from one side of the screen to the other. <br>
@@ -17,7 +17,7 @@ public class Asteroid extends Enemy {
 	 * @param y the y location to spawn the asteroid at
 	 * @param game the game this enemy has been spawned in
 	 */
-	public Asteroid(float x, float y, SPGame game) {
+	public Asteroid(float x, float y, World game) {
 		super(x, y, 0, 10, 5, 0, 4, "enemies/asteroid.png", game);
 	}
 
@@ -1,7 +1,7 @@
 package backend.enemies;
 
 import backend.entities.Entity;
-import ui.SPGame;
+import backend.logic.World;
 
 /**
  * An enemy that keeps a distance away from the player and spawns {@link Runner}s.
@@ -27,7 +27,7 @@ public class Dropship extends Enemy {
 	 * @param y the y location to spawn the dropship at
 	 * @param game the game this enemy has been spawned in
 	 */
-	public Dropship(float x, float y, SPGame game) {
+	public Dropship(float x, float y, World game) {
 		super(x, y, 50, 5, 0, 50, 4, "enemies/dropship.png", game);
 	}
 
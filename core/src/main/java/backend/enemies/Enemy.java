@@ -2,9 +2,9 @@ package backend.enemies;
 
 import backend.animations.ExplosionAnimation;
 import backend.entities.Entity;
+import backend.logic.World;
 import backend.projectiles.Projectile;
 import backend.projectiles.ProjectileType;
-import ui.SPGame;
 
 /**
  * Generic class for enemies.
@@ -19,7 +19,7 @@ public abstract class Enemy extends Entity {
 	private final int DAMAGE;
 
 	/** The game screen this enemy has been spawned on. */
-	final SPGame GAME;
+	final World GAME;
 	
 	/**
 	 * Create an enemy.
@@ -32,7 +32,7 @@ public abstract class Enemy extends Entity {
 	 * @param size the size of the sprite
 	 * @param imageLocation the location of this enemies image
 	 */
-	Enemy(float x, float y , int points, int speed, int damage, int maxHealth, int size, String imageLocation, SPGame game) {
+	Enemy(float x, float y , int points, int speed, int damage, int maxHealth, int size, String imageLocation, World game) {
 		super(imageLocation, maxHealth, speed);
 		this.GAME = game;
 		this.POINTS = points;
@@ -1,8 +1,8 @@
 package backend.enemies;
 
 import backend.entities.Entity;
+import backend.logic.World;
 import backend.projectiles.Ball;
-import ui.SPGame;
 
 /**
  * An enemy that keeps a certain distance away from the player while shooting at the player.
@@ -25,7 +25,7 @@ public class Laser extends Enemy {
 	 * @param y the y location to spawn the dropship at
 	 * @param game the game this enemy has been spawned in
 	 */
-	public Laser(float x, float y, SPGame game) {
+	public Laser(float x, float y, World game) {
 		super(x, y, 50, 5, 0, 15, 2, "enemies/laserShip.png", game);
 	}
 
@@ -5,7 +5,7 @@ import com.badlogic.gdx.audio.Sound;
 
 import backend.entities.Entity;
 import backend.entities.Player;
-import ui.SPGame;
+import backend.logic.World;
 
 /**
  * An enemy that flies towards the player and deals damage on contact.
@@ -25,7 +25,7 @@ public class Runner extends Enemy {
 	 * @param y the y location to spawn the runner at
 	 * @param game the game this enemy has been spawned in
 	 */
-	public Runner(float x, float y, SPGame game) {
+	public Runner(float x, float y, World game) {
 		super(x, y, 10, 15, 2, 20, 2, "enemies/runner.png", game);
 	}
 
@@ -0,0 +1,96 @@
+package backend.entities;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Used to represent an entity that does not interact with other entities. <br>
+ * Entities share one texture per image. A game that creates entities calls {@link #retainTextures} when it is created
+ * and {@link #releaseTextures} when it is disposed, and the textures are disposed once the last game releases them,
+ * so they do not outlive the GL context they were loaded in.
+ * @author Connor Stewart
+ */
+public class InanimateEntity extends Sprite {
+
+	/** The texture of each image, loaded by the first entity to use it and shared by every entity after. */
+	private static final ObjectMap<String, Texture> TEXTURES = new ObjectMap<>();
+
+	/** The amount of games using the shared textures. */
+	private static int textureUsers;
+	
+	/**
+	 * Creates a new entity.
+	 * @param imageLocation the path to the image file for this entity
+	 */
+	InanimateEntity(String imageLocation) {
+		super(loadTexture(imageLocation));
+	}
+
+	/**
+	 * Gets the texture of an image, loading it if no entity has used it yet.
+	 * @param imageLocation the path to the image file
+	 * @return the image's texture
+	 */
+	private static synchronized Texture loadTexture(String imageLocation) {
+		Texture texture = TEXTURES.get(imageLocation);
+
+		if (texture == null) {
+			texture = new Texture(Gdx.files.internal(imageLocation));
+			TEXTURES.put(imageLocation, texture);
+		}
+
+		return texture;
+	}
+	
+	/**
+	 * Keeps the shared textures loaded until {@link #releaseTextures} is called, should be called by each game when
+	 * it is created.
+	 */
+	public static synchronized void retainTextures() {
+		textureUsers++;
+	}
+
+	/**
+	 * Lets go of the shared textures, disposing every one of them if no other game is using them. Should be called
+	 * once by each game that called {@link #retainTextures} when it is disposed.
+	 */
+	public static synchronized void releaseTextures() {
+		if (textureUsers == 0)
+			throw new IllegalStateException("Textures were released more times than they were retained.");
+
+		if (--textureUsers > 0)
+			return;
+
+		for (Texture texture : TEXTURES.values())
+			texture.dispose();
+		TEXTURES.clear();
+	}
+
+	/**
+	 * Creates an entity with a specific size
+	 * @param imageLocation the path to the image file for this entity
+	 * @param gameWidth the width of the entity
+	 * @param gameHeight the height of the entity
+	 */
+	public InanimateEntity(String imageLocation, float gameWidth, float gameHeight) {
+		this(imageLocation);
+		setSize(gameWidth, gameHeight);
+	}
+	
+	/**
+	 * @return the x coordinate of the center of the entity
+	 */
+	public float getCenterX() {
+		return getX() + (getWidth() / 2);
+	}
+	
+	/**
+	 * @return the y coordinate of the center of the entity
+	 */
+	public float getCenterY() {
+		return getY() + (getHeight() / 2);
+	}
+
+}
@@ -1,6 +1,7 @@
 package backend.entities;
 
 import backend.enemies.Enemy;
+import backend.logic.World;
 import backend.projectiles.Projectile;
 import backend.projectiles.ProjectileType;
 import backend.weapons.PlayerHeavyWeapon;
@@ -8,9 +9,6 @@ import backend.weapons.PlayerLightWeapon;
 import backend.weapons.Weapon;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
-import ui.ControlGame;
-import ui.SPGame;
-import ui.ScoreScreen;
 
 /**
  * Class used to represent that player character.
@@ -28,7 +26,7 @@ public class Player extends Entity {
 	static final int MAX_HEALTH = 15;
 
 	/** The game this player is in. */
-	private final SPGame GAME;
+	private final World GAME;
 	
 	/** The amount of x pixels the player is moving per second. */
 	double xDelta = 0;
@@ -48,7 +46,7 @@ public class Player extends Entity {
 	 * @param y the players starting y coordinate
 	 * @param game the game this player is in
 	 */
-	public Player(float x, float y, SPGame game) {
+	public Player(float x, float y, World game) {
 		super("misc/ship.png", MAX_HEALTH, 20);
 
 		this.GAME = game;
@@ -105,8 +103,7 @@ public class Player extends Entity {
 
 	@Override
 	public void onDestroy() {
-		int score = GAME.getScore();
-		Gdx.app.postRunnable(() -> ControlGame.getInstance().setScreen(new ScoreScreen(score)));
+		GAME.endGame();
 	}
 
 	@Override
@@ -140,8 +137,8 @@ public class Player extends Entity {
 		if (yDelta < 0)
 			yDelta += (DRAG * delta);
 		
-		float maxHeight = SPGame.GAME_HEIGHT;
-		float maxWidth = SPGame.GAME_WIDTH;
+		float maxHeight = World.GAME_HEIGHT;
+		float maxWidth = World.GAME_WIDTH;
 		float minHeight = 0;
 		float minWidth = 0;
 		
@@ -0,0 +1,416 @@
+package backend.logging;
+
+import com.esotericsoftware.minlog.Log;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This class is the game's log, which writes to the console without making the thread logging wait for it. <br>
+ * The level is checked first, so a message below the level costs a comparison and its arguments are never formatted.
+ * A message that is logged is put in a {@link LogRing} as its template and up to two arguments, and the log's own
+ * thread formats and writes the messages in the ring every few milliseconds. Each template is let through a few times
+ * a second, see {@link RepeatLimiter}, and if the ring fills because messages come faster than they are written new
+ * messages are dropped and counted rather than waited for. Templates mark where each argument goes with {}, as in
+ * {@code GameLog.info("server", "{} joined room {}", nickname, room)}, and arguments are formatted later so they should
+ * not be changed after being logged. KryoNet's log is written through this log too. The level is set with the
+ * shooter.log.level property or {@link #setLevel}, and is info unless set.
+ * @author Connor Stewart
+ */
+public final class GameLog {
+
+	/** The amount of messages that can wait to be written. */
+	private static final int CAPACITY = 4096;
+
+	/** The amount of messages with the same template let through in each window. */
+	private static final int BURST = 10;
+
+	/** The length of the window messages with the same template are limited over, in nanoseconds. */
+	private static final long WINDOW = TimeUnit.SECONDS.toNanos(1);
+
+	/** The time the log's thread waits between writing the messages it has been given, in nanoseconds. */
+	private static final long DRAIN_INTERVAL = TimeUnit.MILLISECONDS.toNanos(10);
+
+	/** The category KryoNet's messages are logged under when they have none. */
+	private static final String KRYONET = "kryonet";
+
+	/** The messages waiting to be written. */
+	private static final LogRing ring = new LogRing(CAPACITY);
+
+	/** The limiter for each template that has been logged. */
+	private static final ConcurrentHashMap<String, RepeatLimiter> limiters = new ConcurrentHashMap<>();
+
+	/** The amount of messages dropped because the ring was full. */
+	private static final AtomicLong dropped = new AtomicLong();
+
+	/** Held while the ring is read, as only one thread may read it at a time. */
+	private static final Object drainLock = new Object();
+
+	/** The text being written, only used while holding the drain lock. */
+	private static final StringBuilder text = new StringBuilder();
+
+	/** Formats the time of each message, only used while holding the drain lock. */
+	private static final SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm:ss.SSS");
+
+	/** The time being formatted, only used while holding the drain lock. */
+	private static final Date date = new Date();
+
+	/** The amount of dropped messages that have been reported, only used while holding the drain lock. */
+	private static long droppedReported;
+
+	/** The lowest level that is logged. */
+	private static volatile LogLevel level = parseLevel(System.getProperty("shooter.log.level"));
+
+	/** Whether each message is written as soon as it is logged, set once the process starts to exit. */
+	private static volatile boolean synchronous;
+
+	/** The thread that writes the messages, null until the log is started. */
+	private static Thread writer;
+
+	static {
+		start();
+	}
+
+	private GameLog() {}
+
+	/**
+	 * Starts the thread that writes the messages and routes KryoNet's log through this log, if this has not been done
+	 * already. Logging anything starts the log, so this only needs calling to route KryoNet's log before anything is
+	 * logged.
+	 */
+	public static synchronized void start() {
+		if (writer != null)
+			return;
+
+		Log.setLogger(new KryoLogger());
+		Log.set(level.getKryoLevel());
+
+		writer = new Thread(() -> {
+			while (true) {
+				flush();
+				LockSupport.parkNanos(DRAIN_INTERVAL);
+			}
+		}, "Log");
+		writer.setDaemon(true);
+		writer.start();
+
+		//write what is left, and anything logged while other shutdown hooks run
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			synchronous = true;
+			flush();
+		}, "Log Flush"));
+	}
+
+	/**
+	 * Parses a level's name, ignoring its case.
+	 * @param name the name, or null for info
+	 * @return the level
+	 */
+	private static LogLevel parseLevel(String name) {
+		if (name == null)
+			return LogLevel.INFO;
+
+		try {
+			return LogLevel.valueOf(name.trim().toUpperCase());
+		} catch (IllegalArgumentException e) {
+			System.out.println("Unknown log level " + name + ", logging at info.");
+			return LogLevel.INFO;
+		}
+	}
+
+	/**
+	 * Sets the lowest level that is logged, for this log and KryoNet's.
+	 * @param level the level
+	 */
+	public static void setLevel(LogLevel level) {
+		GameLog.level = level;
+		Log.set(level.getKryoLevel());
+	}
+
+	/**
+	 * @return the lowest level that is logged
+	 */
+	public static LogLevel getLevel() {
+		return level;
+	}
+
+	/**
+	 * @param level a level
+	 * @return whether messages at the level are logged
+	 */
+	public static boolean isEnabled(LogLevel level) {
+		return level != LogLevel.OFF && level.compareTo(GameLog.level) >= 0;
+	}
+
+	/**
+	 * Logs a message.
+	 * @param level the message's level
+	 * @param category the part of the game the message came from
+	 * @param template the message, with {} where each argument goes
+	 * @param first the first argument, or null
+	 * @param second the second argument, or null
+	 * @param thrown the exception to write with the message, or null
+	 */
+	public static void log(LogLevel level, String category, String template, Object first, Object second, Throwable thrown) {
+		log(level, category, template, template, first, second, thrown);
+	}
+
+	/**
+	 * Logs a message.
+	 * @param level the message's level
+	 * @param category the part of the game the message came from
+	 * @param key what the message is limited by, messages with the same key are limited together
+	 * @param template the message, with {} where each argument goes
+	 * @param first the first argument, or null
+	 * @param second the second argument, or null
+	 * @param thrown the exception to write with the message, or null
+	 */
+	private static void log(LogLevel level, String category, String key, String template, Object first, Object second, Throwable thrown) {
+		if (!isEnabled(level))
+			return;
+
+		RepeatLimiter limiter = limiters.get(key);
+		if (limiter == null)
+			limiter = limiters.computeIfAbsent(key, k -> new RepeatLimiter(BURST, WINDOW));
+
+		int suppressed = limiter.acquire();
+		if (suppressed < 0)
+			return;
+
+		long position = ring.claim();
+		if (position < 0) {
+			dropped.incrementAndGet();
+			return;
+		}
+
+		LogEntry entry = ring.get(position);
+		entry.level = level;
+		entry.category = category;
+		entry.template = template;
+		entry.first = first;
+		entry.second = second;
+		entry.thrown = thrown;
+		entry.thread = Thread.currentThread().getName();
+		entry.time = System.currentTimeMillis();
+		entry.suppressed = suppressed;
+		ring.publish(position);
+
+		if (synchronous)
+			flush();
+	}
+
+	/**
+	 * Writes every message that is waiting on the calling thread.
+	 */
+	public static void flush() {
+		synchronized (drainLock) {
+			for (LogEntry entry = ring.peek(); entry != null; entry = ring.peek()) {
+				format(entry);
+				ring.release();
+			}
+
+			long lost = dropped.get();
+			if (lost > droppedReported) {
+				text.append(lost - droppedReported).append(" messages were dropped as they were logged faster than they could be written.")
+						.append(System.lineSeparator());
+				droppedReported = lost;
+			}
+
+			if (text.length() > 0) {
+				System.out.print(text);
+				System.out.flush();
+				text.setLength(0);
+			}
+		}
+	}
+
+	/**
+	 * Adds a message to the text being written.
+	 * @param entry the message
+	 */
+	private static void format(LogEntry entry) {
+		date.setTime(entry.time);
+		text.append(timeFormat.format(date)).append(' ').append(entry.level.getLabel()).append(" [").append(entry.thread).append("] ")
+				.append(entry.category).append(": ");
+
+		String template = entry.template;
+		int argument = 0, from = 0;
+		for (int at = template.indexOf("{}"); at >= 0 && argument < 2; at = template.indexOf("{}", from)) {
+			text.append(template, from, at).append(argument == 0 ? entry.first : entry.second);
+			argument++;
+			from = at + 2;
+		}
+		text.append(template, from, template.length());
+
+		if (entry.suppressed > 0)
+			text.append(" (").append(entry.suppressed).append(" similar messages were left out)");
+		text.append(System.lineSeparator());
+
+		if (entry.thrown != null) {
+			StringWriter trace = new StringWriter();
+			entry.thrown.printStackTrace(new PrintWriter(trace));
+			text.append(trace);
+		}
+	}
+
+	/**
+	 * Logs a debug message.
+	 * @param category the part of the game the message came from
+	 * @param message the message
+	 */
+	public static void debug(String category, String message) {
+		log(LogLevel.DEBUG, category, message, null, null, null);
+	}
+
+	/**
+	 * Logs a debug message.
+	 * @param category the part of the game the message came from
+	 * @param template the message, with {} where the argument goes
+	 * @param first the argument
+	 */
+	public static void debug(String category, String template, Object first) {
+		log(LogLevel.DEBUG, category, template, first, null, null);
+	}
+
+	/**
+	 * Logs a debug message.
+	 * @param category the part of the game the message came from
+	 * @param template the message, with {} where each argument goes
+	 * @param first the first argument
+	 * @param second the second argument
+	 */
+	public static void debug(String category, String template, Object first, Object second) {
+		log(LogLevel.DEBUG, category, template, first, second, null);
+	}
+
+	/**
+	 * Logs an info message.
+	 * @param category the part of the game the message came from
+	 * @param message the message
+	 */
+	public static void info(String category, String message) {
+		log(LogLevel.INFO, category, message, null, null, null);
+	}
+
+	/**
+	 * Logs an info message.
+	 * @param category the part of the game the message came from
+	 * @param template the message, with {} where the argument goes
+	 * @param first the argument
+	 */
+	public static void info(String category, String template, Object first) {
+		log(LogLevel.INFO, category, template, first, null, null);
+	}
+
+	/**
+	 * Logs an info message.
+	 * @param category the part of the game the message came from
+	 * @param template the message, with {} where each argument goes
+	 * @param first the first argument
+	 * @param second the second argument
+	 */
+	public static void info(String category, String template, Object first, Object second) {
+		log(LogLevel.INFO, category, template, first, second, null);
+	}
+
+	/**
+	 * Logs a warning.
+	 * @param category the part of the game the message came from
+	 * @param message the message
+	 */
+	public static void warn(String category, String message) {
+		log(LogLevel.WARN, category, message, null, null, null);
+	}
+
+	/**
+	 * Logs a warning.
+	 * @param category the part of the game the message came from
+	 * @param template the message, with {} where the argument goes
+	 * @param first the argument
+	 */
+	public static void warn(String category, String template, Object first) {
+		log(LogLevel.WARN, category, template, first, null, null);
+	}
+
+	/**
+	 * Logs a warning.
+	 * @param category the part of the game the message came from
+	 * @param template the message, with {} where each argument goes
+	 * @param first the first argument
+	 * @param second the second argument
+	 */
+	public static void warn(String category, String template, Object first, Object second) {
+		log(LogLevel.WARN, category, template, first, second, null);
+	}
+
+	/**
+	 * Logs a warning with the exception that caused it.
+	 * @param category the part of the game the message came from
+	 * @param message the message
+	 * @param thrown the exception, written with its stack trace
+	 */
+	public static void warn(String category, String message, Throwable thrown) {
+		log(LogLevel.WARN, category, message, null, null, thrown);
+	}
+
+	/**
+	 * Logs an error.
+	 * @param category the part of the game the message came from
+	 * @param message the message
+	 */
+	public static void error(String category, String message) {
+		log(LogLevel.ERROR, category, message, null, null, null);
+	}
+
+	/**
+	 * Logs an error.
+	 * @param category the part of the game the message came from
+	 * @param template the message, with {} where the argument goes
+	 * @param first the argument
+	 */
+	public static void error(String category, String template, Object first) {
+		log(LogLevel.ERROR, category, template, first, null, null);
+	}
+
+	/**
+	 * Logs an error with the exception that caused it.
+	 * @param category the part of the game the message came from
+	 * @param message the message
+	 * @param thrown the exception, written with its stack trace
+	 */
+	public static void error(String category, String message, Throwable thrown) {
+		log(LogLevel.ERROR, category, message, null, null, thrown);
+	}
+
+	/**
+	 * Logs an error with the exception that caused it.
+	 * @param category the part of the game the message came from
+	 * @param template the message, with {} where the argument goes
+	 * @param first the argument
+	 * @param thrown the exception, written with its stack trace
+	 */
+	public static void error(String category, String template, Object first, Throwable thrown) {
+		log(LogLevel.ERROR, category, template, first, null, thrown);
+	}
+
+	/**
+	 * Writes KryoNet's messages through the game's log. <br>
+	 * KryoNet builds each message before logging it, so its messages are limited by category rather than template.
+	 */
+	private static class KryoLogger extends Log.Logger {
+
+		@Override
+		public void log(int kryoLevel, String category, String message, Throwable thrown) {
+			String name = category == null ? KRYONET : category;
+			GameLog.log(LogLevel.fromKryoLevel(kryoLevel), name, name, "{}", message, null, thrown);
+		}
+
+	}
+
+}
@@ -0,0 +1,50 @@
+package backend.logging;
+
+/**
+ * A message waiting in a {@link LogRing} to be written. <br>
+ * Entries belong to the ring and are reused, so a message is kept as its template and arguments and only formatted
+ * once it is written by the log's own thread.
+ * @author Connor Stewart
+ */
+class LogEntry {
+
+	/** The level the message was logged at. */
+	LogLevel level;
+
+	/** The part of the game the message came from. */
+	String category;
+
+	/** The message, with {} where each argument goes. */
+	String template;
+
+	/** The first argument. */
+	Object first;
+
+	/** The second argument. */
+	Object second;
+
+	/** The exception logged with the message, or null. */
+	Throwable thrown;
+
+	/** The name of the thread the message was logged on. */
+	String thread;
+
+	/** The time the message was logged, in milliseconds since the epoch. */
+	long time;
+
+	/** The amount of messages with the same template that were left out before this one. */
+	int suppressed;
+
+	/**
+	 * Removes the message's references so what it held can be collected while the entry waits to be reused.
+	 */
+	void clear() {
+		category = null;
+		template = null;
+		first = null;
+		second = null;
+		thrown = null;
+		thread = null;
+	}
+
+}
@@ -0,0 +1,69 @@
+package backend.logging;
+
+import com.esotericsoftware.minlog.Log;
+
+/**
+ * The levels a message can be logged at, from the least to the most important. <br>
+ * Each level has the matching level of KryoNet's log so its messages can be filtered the same way.
+ * @author Connor Stewart
+ */
+public enum LogLevel {
+
+	/** Detail only wanted while finding a problem. */
+	DEBUG("DEBUG", Log.LEVEL_DEBUG),
+
+	/** Something worth knowing happened, such as a game starting. */
+	INFO("INFO", Log.LEVEL_INFO),
+
+	/** Something went wrong that the game carries on from. */
+	WARN("WARN", Log.LEVEL_WARN),
+
+	/** Something went wrong that the game cannot carry on from. */
+	ERROR("ERROR", Log.LEVEL_ERROR),
+
+	/** Nothing is logged. */
+	OFF("OFF", Log.LEVEL_NONE);
+
+	/** The name printed with each message, padded so messages line up. */
+	private final String label;
+
+	/** KryoNet's matching level. */
+	private final int kryoLevel;
+
+	/**
+	 * @param label the name printed with each message
+	 * @param kryoLevel KryoNet's matching level
+	 */
+	LogLevel(String label, int kryoLevel) {
+		this.label = String.format("%-5s", label);
+		this.kryoLevel = kryoLevel;
+	}
+
+	/**
+	 * @return the name printed with each message, padded so messages line up
+	 */
+	String getLabel() {
+		return label;
+	}
+
+	/**
+	 * @return KryoNet's matching level
+	 */
+	int getKryoLevel() {
+		return kryoLevel;
+	}
+
+	/**
+	 * Gets the level matching one of KryoNet's, KryoNet's trace level is treated as debug.
+	 * @param kryoLevel one of KryoNet's levels
+	 * @return the matching level
+	 */
+	static LogLevel fromKryoLevel(int kryoLevel) {
+		for (LogLevel level : values())
+			if (kryoLevel <= level.kryoLevel)
+				return level;
+
+		return OFF;
+	}
+
+}
@@ -0,0 +1,103 @@
+package backend.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed size ring of {@link LogEntry entries} that any thread can add to without taking a lock. <br>
+ * Each slot has a sequence number saying whose turn it is. A thread adding a message claims the next position with a
+ * compare and set, fills the slot's entry and then publishes it by moving the sequence on, and the reader takes
+ * entries in order once they are published and hands the slot back for the next lap. When the ring is full a message
+ * is refused rather than waiting, so a thread logging never blocks. Only one thread may read at a time.
+ * @author Connor Stewart
+ */
+class LogRing {
+
+	/** The entries, reused on every lap of the ring. */
+	private final LogEntry[] entries;
+
+	/** The sequence of each slot, its position when free to fill and its position plus one when published. */
+	private final AtomicLongArray sequences;
+
+	/** Masks a position to its slot, the capacity is a power of two. */
+	private final int mask;
+
+	/** The next position to be claimed by a thread adding a message. */
+	private final AtomicLong tail = new AtomicLong();
+
+	/** The next position to be read, only changed by the reader. */
+	private long head;
+
+	/**
+	 * Creates a ring.
+	 * @param capacity the amount of messages the ring can hold, a power of two
+	 */
+	LogRing(int capacity) {
+		if (capacity < 2 || Integer.bitCount(capacity) != 1)
+			throw new IllegalArgumentException("Capacity must be a power of two of at least 2 (was " + capacity + ").");
+
+		entries = new LogEntry[capacity];
+		sequences = new AtomicLongArray(capacity);
+		mask = capacity - 1;
+
+		for (int i = 0; i < capacity; i++) {
+			entries[i] = new LogEntry();
+			sequences.set(i, i);
+		}
+	}
+
+	/**
+	 * Claims the next position to fill, the entry at the position must be filled and then {@link #publish published}.
+	 * @return the position, or -1 if the ring is full
+	 */
+	long claim() {
+		while (true) {
+			long position = tail.get();
+			long sequence = sequences.get((int) position & mask);
+
+			if (sequence == position) {
+				if (tail.compareAndSet(position, position + 1))
+					return position;
+			} else if (sequence < position) {
+				//the reader has not freed this slot since the last lap
+				return -1;
+			}
+			//otherwise another thread claimed the position first
+		}
+	}
+
+	/**
+	 * @param position a claimed position
+	 * @return the entry to fill at that position
+	 */
+	LogEntry get(long position) {
+		return entries[(int) position & mask];
+	}
+
+	/**
+	 * Makes a filled entry visible to the reader.
+	 * @param position the position that was claimed and filled
+	 */
+	void publish(long position) {
+		sequences.set((int) position & mask, position + 1);
+	}
+
+	/**
+	 * @return the oldest published entry that has not been read, or null if there is none
+	 */
+	LogEntry peek() {
+		int slot = (int) head & mask;
+		return sequences.get(slot) == head + 1 ? entries[slot] : null;
+	}
+
+	/**
+	 * Hands the entry returned by {@link #peek} back to be filled on the next lap.
+	 */
+	void release() {
+		int slot = (int) head & mask;
+		entries[slot].clear();
+		sequences.set(slot, head + entries.length);
+		head++;
+	}
+
+}
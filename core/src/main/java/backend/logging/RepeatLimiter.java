@@ -0,0 +1,62 @@
+package backend.logging;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits how often a message with the same template is logged. <br>
+ * A burst of messages is let through in each window, the rest are counted and left out, and the count is written with
+ * the next message let through so the log shows how many were missed. A message that repeats every frame is then
+ * written a few times a second instead of sixty.
+ * @author Connor Stewart
+ */
+class RepeatLimiter {
+
+	/** The amount of messages let through in each window. */
+	private final int burst;
+
+	/** The length of a window in nanoseconds. */
+	private final long window;
+
+	/** The time the current window started, from {@link System#nanoTime}. */
+	private final AtomicLong windowStart;
+
+	/** The amount of messages let through or left out in the current window. */
+	private final AtomicInteger count = new AtomicInteger();
+
+	/** The amount of messages left out since one was last let through. */
+	private final AtomicInteger suppressed = new AtomicInteger();
+
+	/**
+	 * Creates a limiter.
+	 * @param burst the amount of messages let through in each window
+	 * @param window the length of a window in nanoseconds
+	 */
+	RepeatLimiter(int burst, long window) {
+		if (burst < 1)
+			throw new IllegalArgumentException("Burst must be at least 1 (was " + burst + ").");
+
+		this.burst = burst;
+		this.window = window;
+		windowStart = new AtomicLong(System.nanoTime());
+	}
+
+	/**
+	 * Counts a message and decides whether it is let through.
+	 * @return -1 if the message is left out, otherwise the amount of messages left out before it
+	 */
+	int acquire() {
+		long now = System.nanoTime();
+		long start = windowStart.get();
+		if (now - start >= window && windowStart.compareAndSet(start, now))
+			count.set(0);
+
+		if (count.incrementAndGet() > burst) {
+			suppressed.incrementAndGet();
+			return -1;
+		}
+
+		return suppressed.getAndSet(0);
+	}
+
+}
@@ -9,11 +9,9 @@ import backend.enemies.Asteroid;
 import backend.enemies.Dropship;
 import backend.enemies.Laser;
 import backend.enemies.Runner;
-import backend.entities.Entity;
 import backend.pickups.AutoAim;
 import backend.pickups.Health;
 import backend.pickups.Time;
-import ui.SPGame;
 
 /**
  * Spawns enemies and powerups.
@@ -51,18 +49,46 @@ public class Spawner {
 	/** The time since a pickup has spawned. */
 	private float pickupSpawnTimer = PICKUP_SPAWN_INTERVAL - 5; //a pickup spawns 5 seconds after the game starts
 	
+	/** The most locations tried for a pickup before it is spawned on top of whatever is there. */
+	private final static int PICKUP_SPAWN_ATTEMPTS = 20;
+
 	/** Random object to generate spawn points. */
-	private static final Random RND = new Random();
+	private final Random RND;
 
 	/** The game this spawner should add enemies to. */
-	private final SPGame GAME;
+	private final World GAME;
+
+	/** The location of the latest spawn, reused so spawning does not allocate. */
+	private final Point spawnLocation = new Point();
+
+	/** The area a pickup would take up, reused while looking for a free spot. */
+	private final Rectangle pickupArea = new Rectangle();
 
 	/**
 	 * Creates a new spawner.
 	 * @param spGame the game this spawner should add enemies to
 	 */
-	public Spawner(SPGame spGame) {
+	public Spawner(World spGame) {
+		this(spGame, new Random());
+	}
+
+	/**
+	 * Creates a spawner that always spawns the same enemies in the same places, given the same updates.
+	 * @param spGame the game this spawner should add enemies to
+	 * @param seed the seed of the spawn points
+	 */
+	public Spawner(World spGame, long seed) {
+		this(spGame, new Random(seed));
+	}
+
+	/**
+	 * Creates a new spawner.
+	 * @param spGame the game this spawner should add enemies to
+	 * @param random generates the spawn points
+	 */
+	private Spawner(World spGame, Random random) {
 		this.GAME = spGame;
+		this.RND = random;
 	}
 
 	/**
@@ -79,13 +105,13 @@ public class Spawner {
 
 	/**
 	 * Generates a point for the enemy to spawn on.
-	 * @return the point for the enemy to spawn on
+	 * @return the point for the enemy to spawn on, only valid until the next spawn
 	 */
 	private Point getEnemySpawnLocation() {
 		int x = 0;
 		int y = 0;
-		int maxHeight = SPGame.GAME_HEIGHT;
-		int maxWidth = SPGame.GAME_WIDTH;
+		int maxHeight = World.GAME_HEIGHT;
+		int maxWidth = World.GAME_WIDTH;
 
 		//pick a side to spawn on
 		switch(RND.nextInt(4)) {
@@ -107,21 +133,23 @@ public class Spawner {
 				break;
 		}
 		
-		return new Point(x,y);
+		spawnLocation.setLocation(x, y);
+		return spawnLocation;
 	}
 	
 	/**
 	 * Gets a random location on the map to spawn a pickup.
-	 * @return the point on the map to spawn a pickup on
+	 * @return the point on the map to spawn a pickup on, only valid until the next spawn
 	 */
 	private Point getPickupSpawnLocation() {
-		boolean overlapping = false;
+		boolean overlapping;
+		int attempts = 0;
 
 		int x;
 		int y;
 
-		int maxHeight = SPGame.GAME_HEIGHT;
-		int maxWidth = SPGame.GAME_WIDTH;
+		int maxHeight = World.GAME_HEIGHT;
+		int maxWidth = World.GAME_WIDTH;
 		
 		int pickupWidth = 50;
 		int pickupHeight = 50;
@@ -144,13 +172,15 @@ public class Spawner {
 			if (y > maxHeight - pickupHeight)
 				y = maxHeight - pickupHeight;
 			
-			//make sure the pickup hasn't spawned on another pickup
-			for (Entity entity : GAME.getActiveEntities()) {
-				overlapping = entity.getBoundingRectangle().overlaps(new Rectangle(x, y, pickupWidth, pickupHeight));
-			}
-		} while ((overlapping));
+			//make sure the pickup hasn't spawned on another entity
+			pickupArea.set(x, y, pickupWidth, pickupHeight);
+			overlapping = false;
+			for (int i = 0; i < GAME.getActiveEntities().size && !overlapping; i++)
+				overlapping = GAME.getActiveEntities().get(i).getBoundingRectangle().overlaps(pickupArea);
+		} while (overlapping && ++attempts < PICKUP_SPAWN_ATTEMPTS);
 		
-		return new Point(x,y);
+		spawnLocation.setLocation(x, y);
+		return spawnLocation;
 	}
 	
 	/**
@@ -241,11 +271,11 @@ public class Spawner {
 			Point spawnLoc = getEnemySpawnLocation();
 			float rotation;
 			
-			if (spawnLoc.y == SPGame.GAME_WIDTH) {
+			if (spawnLoc.y == World.GAME_WIDTH) {
 				rotation = -180;
 			} else if (spawnLoc.y == 0) {
 				rotation = 90;
-			} else { //will trigger if spawnLoc y is equal to SPGame.GAME_HEIGHT
+			} else { //will trigger if spawnLoc y is equal to World.GAME_HEIGHT
 				rotation = 0;
 			}
 			
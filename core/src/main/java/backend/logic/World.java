@@ -0,0 +1,76 @@
+package backend.logic;
+
+import backend.animations.AnimationHandler;
+import backend.effects.Effect;
+import backend.enemies.Enemy;
+import backend.entities.Entity;
+import backend.entities.Player;
+import backend.projectiles.LockOn;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * The singleplayer game as the entities, effects and spawner see it. <br>
+ * Entities are given the world they are in rather than the screen that shows it, so the game's logic does not depend
+ * on the user interface.
+ * @author Connor Stewart
+ */
+public interface World {
+
+	/** The height of the game. */
+	int GAME_HEIGHT = 100;
+
+	/** The width of the game. */
+	int GAME_WIDTH = 100;
+
+	/**
+	 * Gets the nearest enemy that the LockOn projectile can see.
+	 * @param projectile the projectile to check
+	 * @return the closest enemy that the projectile can see if any are found, if not null is returned
+	 */
+	Enemy getNearestVisibleEnemy(LockOn projectile);
+
+	/**
+	 * @return the players score
+	 */
+	int getScore();
+
+	/**
+	 * Adds an amount to the score.
+	 * @param points the amount of points to add to the score.
+	 */
+	void addToScore(int points);
+
+	/**
+	 * @return the entities currently active in the game
+	 */
+	Array<Entity> getActiveEntities();
+
+	/**
+	 * Adds a new entity to the game.
+	 * @param toAdd the entity to add
+	 */
+	void addEntity(Entity toAdd);
+
+	/**
+	 * Adds a new effect to the game.
+	 * @param effect the effect to add
+	 */
+	void addEffect(Effect effect);
+
+	/**
+	 * @return the player the user is controlling
+	 */
+	Player getPlayer();
+
+	/**
+	 * Adds a new animation to game.
+	 * @param toAdd the animation to add.
+	 */
+	void addAnimation(AnimationHandler toAdd);
+
+	/**
+	 * Ends the game once the player has been destroyed.
+	 */
+	void endGame();
+
+}
@@ -1,7 +1,7 @@
 package backend.pickups;
 
 import backend.effects.BetterWeapon;
-import ui.SPGame;
+import backend.logic.World;
 
 /**
  * This pickup upgrades the players light weapon.
@@ -9,7 +9,7 @@ import ui.SPGame;
  */
 public class AutoAim extends Pickup {
 
-	public AutoAim(int x, int y, SPGame game) {
+	public AutoAim(int x, int y, World game) {
 		super("powerups/autoAim.png", new BetterWeapon(game), game);
 		setScale(0.05f);
 		setPosition(x, y);
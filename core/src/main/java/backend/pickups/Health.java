@@ -1,7 +1,7 @@
 package backend.pickups;
 
 import backend.effects.Heal;
-import ui.SPGame;
+import backend.logic.World;
 
 /**
  * This pickup heals the player.
@@ -9,7 +9,7 @@ import ui.SPGame;
  */
 public class Health extends Pickup {
 
-	public Health(int x, int y, SPGame game) {
+	public Health(int x, int y, World game) {
 		super("powerups/health.png", new Heal(game), game);
 		setScale(0.05f);
 		setPosition(x, y);
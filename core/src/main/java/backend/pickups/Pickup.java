@@ -3,7 +3,7 @@ package backend.pickups;
 import backend.effects.Effect;
 import backend.entities.Entity;
 import backend.entities.Player;
-import ui.SPGame;
+import backend.logic.World;
 
 /**
  * Generic class for pickups, entities that can be collided with to activate effects.
@@ -18,7 +18,7 @@ public abstract class Pickup extends Entity {
 	private final Effect EFFECT;
 
 	/** The game this pickup has been spawned in. */
-	private final SPGame GAME;
+	private final World GAME;
 
 	/**
 	 * Creates a pickup.
@@ -26,7 +26,7 @@ public abstract class Pickup extends Entity {
 	 * @param effect the effect to activate when collided with
 	 * @param game the game this pickup has been spawned in
 	 */
-	Pickup(String imageLocation, Effect effect, SPGame game) {
+	Pickup(String imageLocation, Effect effect, World game) {
 		//zero max health and zero speed because a powerup doesn't move and doesn't take damage
 		super(imageLocation, 0, 0);
 		this.GAME = game;
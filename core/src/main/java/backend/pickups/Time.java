@@ -1,7 +1,7 @@
 package backend.pickups;
 
 import backend.effects.Slow;
-import ui.SPGame;
+import backend.logic.World;
 
 /**
  * This pickup slows all enemies.
@@ -9,7 +9,7 @@ import ui.SPGame;
  */
 public class Time extends Pickup {
 
-	public Time(int x, int y, SPGame game) {
+	public Time(int x, int y, World game) {
 		super("powerups/time.png", new Slow(game), game);
 		setScale(0.05f);
 		setPosition(x, y);
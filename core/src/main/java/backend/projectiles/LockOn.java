@@ -2,8 +2,8 @@ package backend.projectiles;
 
 import backend.enemies.Enemy;
 import backend.entities.Entity;
+import backend.logic.World;
 import com.badlogic.gdx.math.Polygon;
-import ui.SPGame;
 
 /**
  * Projectile for use when the player gets the {@link backend.pickups.AutoAim} powerup.
@@ -26,11 +26,11 @@ public class LockOn extends Projectile {
 	/** The max width this projectile can see. */
 	private static final int VIEW_WIDTH = 25;
 
-	private SPGame screen;
+	private World screen;
 
 	private Polygon vision;
 
-	public LockOn(float x, float y, float rotation, SPGame screen) {
+	public LockOn(float x, float y, float rotation, World screen) {
 		super(x, y, rotation, DAMAGE, SPEED, SIZE, "projectiles/autoAim.png", ProjectileType.PLAYER);
 		vision = new Polygon();
 		this.screen = screen;
@@ -1,8 +1,8 @@
 package backend.weapons;
 
+import backend.logic.World;
 import backend.projectiles.LockOn;
 import backend.projectiles.Projectile;
-import ui.SPGame;
 
 /**
  * Weapon for use with the {@link backend.effects.BetterWeapon}.
@@ -10,9 +10,9 @@ import ui.SPGame;
  */
 public class PlayerAutoWeapon extends Weapon {
 
-	private final SPGame screen;
+	private final World screen;
 
-	public PlayerAutoWeapon(SPGame screen) {
+	public PlayerAutoWeapon(World screen) {
 		super(0.05f);
 		this.screen = screen;
 	}
@@ -0,0 +1,215 @@
+package network;
+
+import com.esotericsoftware.kryonet.Connection;
+import network.Network.TimeProbe;
+import network.Network.TimeReply;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class estimates the server's clock on a client, in the same way as NTP. <br>
+ * Probes are sent over UDP and the server replies with the times it received and answered them. Each reply gives a
+ * round trip time and an offset between the clocks. The offset is taken from the sample with the lowest round trip
+ * in a small window, since that sample was delayed the least, and is used as it is until the next sample. The drift
+ * is the slope of a line fitted to the offsets in the window. It is only reported, as over a window of a few seconds
+ * the noise in each offset is far larger than the drift of real clocks, so extrapolating with it would add error
+ * rather than remove it. How much the round trip varies gives the jitter. All times are in nanoseconds.
+ * @author Connor Stewart
+ */
+public class ClockSync {
+
+	/** The default time in milliseconds in between probes once synchronized. */
+	public static final long DEFAULT_PROBE_INTERVAL = 1000;
+
+	/** The time in milliseconds in between the first probes, so the clock is synchronized quickly. */
+	private static final long INITIAL_PROBE_INTERVAL = 100;
+
+	/** The amount of probes sent at the initial interval. */
+	private static final int INITIAL_PROBES = 5;
+
+	/** The amount of samples the offset is chosen from. */
+	private static final int WINDOW = 8;
+
+	/** How much of each new jitter measurement is blended into the estimate. */
+	private static final double SMOOTHING = 1 / 16.0;
+
+	/** The time in nanoseconds in between probes once synchronized. */
+	private final long probeIntervalNanos;
+
+	/** The offset measured by each sample in the window. */
+	private final long[] offsets = new long[WINDOW];
+
+	/** The round trip time measured by each sample in the window. */
+	private final long[] roundTrips = new long[WINDOW];
+
+	/** The time on this clock each sample in the window was taken. */
+	private final long[] sampleTimes = new long[WINDOW];
+
+	/** The amount of samples taken. */
+	private int samples;
+
+	/** The time on this clock the last probe was sent. */
+	private long lastProbe;
+
+	/** The amount of probes sent. */
+	private int probesSent;
+
+	/** The offset from this clock to the server's clock. */
+	private long offset;
+
+	/** How many nanoseconds the server's clock gains on this clock per nanosecond. */
+	private double drift;
+
+	/** The smoothed variation in round trip time. */
+	private double jitter;
+
+	/** The round trip time of the last sample. */
+	private long lastRoundTrip;
+
+	/** The probe reused for every send. */
+	private final TimeProbe probe = new TimeProbe();
+
+	/**
+	 * Creates a clock sync using the default probe interval.
+	 */
+	public ClockSync() {
+		this(DEFAULT_PROBE_INTERVAL);
+	}
+
+	/**
+	 * Creates a clock sync.
+	 * @param probeInterval the time in milliseconds in between probes once synchronized
+	 */
+	public ClockSync(long probeInterval) {
+		if (probeInterval < 1)
+			throw new IllegalArgumentException("Probe interval must be at least 1ms (was " + probeInterval + ").");
+
+		probeIntervalNanos = TimeUnit.MILLISECONDS.toNanos(probeInterval);
+	}
+
+	/**
+	 * Sends a probe if enough time has passed since the last one.
+	 * @param connection the connection to the server
+	 */
+	public void probeIfDue(Connection connection) {
+		long now = System.nanoTime();
+
+		synchronized (this) {
+			long interval = probesSent < INITIAL_PROBES ? TimeUnit.MILLISECONDS.toNanos(INITIAL_PROBE_INTERVAL) : probeIntervalNanos;
+			if (probesSent > 0 && now - lastProbe < interval)
+				return;
+
+			lastProbe = now;
+			probesSent++;
+			probe.clientSent = now;
+		}
+
+		connection.sendUDP(probe);
+	}
+
+	/**
+	 * Adds the sample from a reply to a probe.
+	 * @param reply the servers reply
+	 */
+	public synchronized void receive(TimeReply reply) {
+		long received = System.nanoTime();
+
+		long roundTrip = (received - reply.clientSent) - (reply.serverSent - reply.serverReceived);
+		long sampleOffset = ((reply.serverReceived - reply.clientSent) + (reply.serverSent - received)) / 2;
+
+		if (roundTrip < 0)
+			return;
+
+		if (samples > 0)
+			jitter += (Math.abs(roundTrip - lastRoundTrip) - jitter) * SMOOTHING;
+		lastRoundTrip = roundTrip;
+
+		offsets[samples % WINDOW] = sampleOffset;
+		roundTrips[samples % WINDOW] = roundTrip;
+		sampleTimes[samples % WINDOW] = received;
+		samples++;
+
+		//the sample with the lowest round trip was delayed the least, so its offset is the most accurate
+		int count = Math.min(samples, WINDOW);
+		int best = 0;
+		for (int i = 1; i < count; i++)
+			if (roundTrips[i] < roundTrips[best])
+				best = i;
+
+		offset = offsets[best];
+		drift = fitDrift(count);
+	}
+
+	/**
+	 * Fits a line to the offsets in the window by least squares, relative to the newest sample so the sums stay small.
+	 * @param count the amount of samples in the window
+	 * @return the line's slope, in nanoseconds gained per nanosecond, or zero if the samples were taken at one time
+	 */
+	private double fitDrift(int count) {
+		int newest = (samples - 1) % WINDOW;
+		double meanTime = 0, meanOffset = 0;
+
+		for (int i = 0; i < count; i++) {
+			meanTime += sampleTimes[i] - sampleTimes[newest];
+			meanOffset += offsets[i] - offsets[newest];
+		}
+		meanTime /= count;
+		meanOffset /= count;
+
+		double covariance = 0, variance = 0;
+		for (int i = 0; i < count; i++) {
+			double time = sampleTimes[i] - sampleTimes[newest] - meanTime;
+			covariance += time * (offsets[i] - offsets[newest] - meanOffset);
+			variance += time * time;
+		}
+
+		return variance > 0 ? covariance / variance : 0;
+	}
+
+	/**
+	 * @return the estimated time on the server's clock in nanoseconds, this clock's time until synchronized
+	 */
+	public synchronized long serverTimeNow() {
+		long now = System.nanoTime();
+		if (samples == 0)
+			return now;
+
+		return now + offset;
+	}
+
+	/**
+	 * @return whether a reply has been received from the server
+	 */
+	public synchronized boolean isSynchronized() {
+		return samples > 0;
+	}
+
+	/**
+	 * @return the offset in nanoseconds from this clock to the server's clock
+	 */
+	public synchronized long getOffset() {
+		return offset;
+	}
+
+	/**
+	 * @return how many nanoseconds the server's clock gains on this clock per second
+	 */
+	public synchronized double getDrift() {
+		return drift * TimeUnit.SECONDS.toNanos(1);
+	}
+
+	/**
+	 * @return the smoothed variation in round trip time in nanoseconds
+	 */
+	public synchronized long getJitter() {
+		return (long) jitter;
+	}
+
+	/**
+	 * @return the round trip time in nanoseconds of the last sample
+	 */
+	public synchronized long getRoundTrip() {
+		return lastRoundTrip;
+	}
+
+}
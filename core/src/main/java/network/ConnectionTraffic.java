@@ -0,0 +1,72 @@
+package network;
+
+/**
+ * The packets read from and written to one connection by a {@link WireSerialization}, split by direction and
+ * transport. <br>
+ * A packet is one message as KryoNet frames it, which is a TCP frame or a UDP datagram, counted as it is read or
+ * written and not including KryoNet's TCP length headers. It can be counted from any thread without locking.
+ * @author Connor Stewart
+ */
+public class ConnectionTraffic {
+
+	/** The amount of transports a packet can go over. */
+	private static final int TRANSPORTS = Transport.values().length;
+
+	/** The connection's ID. */
+	private final int connectionID;
+
+	/** The stats of the packets, indexed by the direction's ordinal times the amount of transports plus the transport's ordinal. */
+	private final TrafficStats[] stats = new TrafficStats[TrafficDirection.values().length * TRANSPORTS];
+
+	/**
+	 * Creates the traffic for a connection.
+	 * @param connectionID the connection's ID
+	 */
+	public ConnectionTraffic(int connectionID) {
+		this.connectionID = connectionID;
+
+		for (int i = 0; i < stats.length; i++)
+			stats[i] = new TrafficStats();
+	}
+
+	/**
+	 * Counts a packet.
+	 * @param direction whether the packet was read or written
+	 * @param transport the transport the packet went over
+	 * @param bytes the amount of bytes the packet took up
+	 */
+	public void record(TrafficDirection direction, Transport transport, int bytes) {
+		get(direction, transport).record(bytes);
+	}
+
+	/**
+	 * @param direction whether the packets were read or written
+	 * @param transport the transport the packets went over
+	 * @return the stats of the packets
+	 */
+	public TrafficStats get(TrafficDirection direction, Transport transport) {
+		return stats[direction.ordinal() * TRANSPORTS + transport.ordinal()];
+	}
+
+	/**
+	 * @return the connection's ID
+	 */
+	public int getConnectionID() {
+		return connectionID;
+	}
+
+	/**
+	 * @return the amount of bytes read from the connection
+	 */
+	public long getBytesReceived() {
+		return get(TrafficDirection.RECEIVED, Transport.TCP).getBytes() + get(TrafficDirection.RECEIVED, Transport.UDP).getBytes();
+	}
+
+	/**
+	 * @return the amount of bytes written to the connection
+	 */
+	public long getBytesSent() {
+		return get(TrafficDirection.SENT, Transport.TCP).getBytes() + get(TrafficDirection.SENT, Transport.UDP).getBytes();
+	}
+
+}
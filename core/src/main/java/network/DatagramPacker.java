@@ -0,0 +1,246 @@
+package network;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.esotericsoftware.kryonet.Connection;
+import network.Network.Fragment;
+
+/**
+ * This class gathers the UDP messages for one connection and sends them in as few datagrams as possible. <br>
+ * Messages are added already serialized during a frame, then {@link #flush} packs them into {@link PackedDatagram}s
+ * no larger than the MTU. A message that does not fit in one datagram is split into {@link Fragment}s, which a
+ * {@link FragmentAssembler} joins back together. Each fragment is written straight from the pending bytes, so
+ * splitting a message allocates nothing. A message may be at most {@link #MAX_MESSAGE_SIZE} bytes, which bounds the
+ * amount of fragments a receiver has to hold for one message.
+ * @author Connor Stewart
+ */
+public class DatagramPacker {
+
+	/** The default largest datagram sent, small enough to avoid IP fragmentation on most links. */
+	public static final int DEFAULT_MTU = 1200;
+
+	/** The smallest MTU that can be used. */
+	public static final int MIN_MTU = 128;
+
+	/** The largest MTU that can be used, the size of KryoNet's UDP buffers. */
+	public static final int MAX_MTU = 2048;
+
+	/** The largest message that can be sent. */
+	public static final int MAX_MESSAGE_SIZE = 64 * 1024;
+
+	/** The bytes reserved in each datagram for the class ID and message count. */
+	private static final int PACKED_HEADER = 8;
+
+	/** The bytes reserved in each fragment for the class ID, fragment header and data length. */
+	private static final int FRAGMENT_HEADER = 24;
+
+	/** The most fragments a message can be split into, the largest message split at the smallest MTU. */
+	public static final int MAX_FRAGMENTS = (MAX_MESSAGE_SIZE + MIN_MTU - FRAGMENT_HEADER - 1) / (MIN_MTU - FRAGMENT_HEADER);
+
+	/** The largest datagram sent. */
+	private int mtu;
+
+	/** The messages waiting to be sent, serialized one after another. */
+	private byte[] pending = new byte[DEFAULT_MTU];
+
+	/** The amount of bytes in pending that are used. */
+	private int pendingLength;
+
+	/** The length of each message waiting to be sent. */
+	private final IntArray lengths = new IntArray();
+
+	/** The class of each message waiting to be sent. */
+	private final Array<Class<?>> types = new Array<>();
+
+	/** The datagram reused for every send. */
+	private final PackedDatagram datagram = new PackedDatagram();
+
+	/** The fragment reused for every send. */
+	private final Fragment fragment = new Fragment();
+
+	/** The ID given to the next message that is split into fragments. */
+	private int nextFragmentedID;
+
+	/** The total amount of datagrams sent. */
+	private long datagramsSent;
+
+	/** The total amount of messages sent. */
+	private long messagesSent;
+
+	/**
+	 * Creates a packer using the default MTU.
+	 */
+	public DatagramPacker() {
+		this(DEFAULT_MTU);
+	}
+
+	/**
+	 * Creates a packer.
+	 * @param mtu the largest datagram to send
+	 */
+	public DatagramPacker(int mtu) {
+		setMtu(mtu);
+	}
+
+	/**
+	 * Adds a message to send in the next flush.
+	 * @param message the serialized message
+	 */
+	public synchronized void add(EncodedMessage message) {
+		int length = message.getLength();
+
+		if (length > MAX_MESSAGE_SIZE)
+			throw new IllegalArgumentException("message must be at most " + MAX_MESSAGE_SIZE + " bytes (was " + length + ").");
+
+		if (pendingLength + length > pending.length) {
+			byte[] grown = new byte[Math.max(pending.length * 2, pendingLength + length)];
+			System.arraycopy(pending, 0, grown, 0, pendingLength);
+			pending = grown;
+		}
+
+		System.arraycopy(message.getBytes(), 0, pending, pendingLength, length);
+		pendingLength += length;
+		lengths.add(length);
+		types.add(message.getType());
+	}
+
+	/**
+	 * Sends every message that has been added since the last flush.
+	 * @param connection the connection to send the messages on
+	 * @return the amount of datagrams sent
+	 */
+	public synchronized int flush(Connection connection) {
+		int maxPacked = mtu - PACKED_HEADER;
+		int sent = 0;
+
+		//the start and count of the messages going in the current datagram
+		int start = 0;
+		int end = 0;
+		int count = 0;
+
+		for (int i = 0; i < lengths.size; i++) {
+			int length = lengths.get(i);
+
+			if (count > 0 && end - start + length > maxPacked) {
+				sent += sendPacked(connection, start, end, i - count, count);
+				start = end;
+				count = 0;
+			}
+
+			if (length > maxPacked) {
+				sent += sendFragmented(connection, end, length);
+				end += length;
+				start = end;
+			} else {
+				end += length;
+				count++;
+			}
+		}
+
+		if (count > 0)
+			sent += sendPacked(connection, start, end, lengths.size - count, count);
+
+		messagesSent += lengths.size;
+		datagramsSent += sent;
+		pendingLength = 0;
+		lengths.clear();
+		types.clear();
+
+		return sent;
+	}
+
+	/**
+	 * Sends messages in a single datagram.
+	 * @param connection the connection to send the datagram on
+	 * @param start the index of the first byte of the messages
+	 * @param end the index after the last byte of the messages
+	 * @param first the index of the first message
+	 * @param count the amount of messages
+	 * @return the amount of datagrams sent
+	 */
+	private int sendPacked(Connection connection, int start, int end, int first, int count) {
+		datagram.bytes = pending;
+		datagram.offset = start;
+		datagram.length = end - start;
+		datagram.types = types;
+		datagram.lengths = lengths;
+		datagram.firstType = first;
+		datagram.count = count;
+		connection.sendUDP(datagram);
+		datagram.bytes = null;
+		datagram.types = null;
+		datagram.lengths = null;
+
+		return 1;
+	}
+
+	/**
+	 * Splits a message into fragments and sends each one in its own datagram.
+	 * @param connection the connection to send the fragments on
+	 * @param start the index of the first byte of the message
+	 * @param length the amount of bytes in the message
+	 * @return the amount of datagrams sent
+	 */
+	private int sendFragmented(Connection connection, int start, int length) {
+		int chunk = mtu - FRAGMENT_HEADER;
+		int count = (length + chunk - 1) / chunk;
+
+		fragment.id = nextFragmentedID++;
+		fragment.count = count;
+
+		//each fragment is a slice of the pending bytes, which stay untouched until the flush ends
+		fragment.data = pending;
+
+		for (int i = 0; i < count; i++) {
+			int offset = i * chunk;
+
+			fragment.index = i;
+			fragment.offset = start + offset;
+			fragment.length = Math.min(chunk, length - offset);
+			connection.sendUDP(fragment);
+		}
+
+		fragment.data = null;
+		return count;
+	}
+
+	/**
+	 * Sets the largest datagram to send.
+	 * @param mtu the size in bytes
+	 */
+	public synchronized void setMtu(int mtu) {
+		if (mtu < MIN_MTU || mtu > MAX_MTU)
+			throw new IllegalArgumentException("MTU must be between " + MIN_MTU + " and " + MAX_MTU + " (was " + mtu + ").");
+
+		this.mtu = mtu;
+	}
+
+	/**
+	 * @return the largest datagram sent
+	 */
+	public synchronized int getMtu() {
+		return mtu;
+	}
+
+	/**
+	 * @return the amount of bytes waiting to be sent in the next flush
+	 */
+	public synchronized int getPendingBytes() {
+		return pendingLength;
+	}
+
+	/**
+	 * @return the total amount of datagrams sent
+	 */
+	public synchronized long getDatagramsSent() {
+		return datagramsSent;
+	}
+
+	/**
+	 * @return the total amount of messages sent
+	 */
+	public synchronized long getMessagesSent() {
+		return messagesSent;
+	}
+
+}
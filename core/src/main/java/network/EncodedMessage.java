@@ -0,0 +1,67 @@
+package network;
+
+import com.esotericsoftware.kryo.io.Output;
+
+/**
+ * A message that has already been serialized. <br>
+ * Sending an EncodedMessage writes its bytes as they are, so a message sent to many connections only has to be
+ * serialized once. The bytes are exactly what Kryo would have written for the original message, so receivers read
+ * the original message. Instances can be reused by encoding another message into them.
+ * @author Connor Stewart
+ */
+public class EncodedMessage {
+
+	/** The buffer the message is serialized into, grows if a message does not fit. */
+	private final Output output = new Output(256, -1);
+
+	/** The class of the message that was serialized. */
+	private Class<?> type;
+
+	/**
+	 * Replaces the message with one that was already serialized elsewhere, such as one read from a capture.
+	 * @param bytes the serialized message
+	 * @param length the amount of bytes the message takes up
+	 * @param type the class of the message
+	 */
+	public void set(byte[] bytes, int length, Class<?> type) {
+		output.clear();
+		output.writeBytes(bytes, 0, length);
+		this.type = type;
+	}
+
+	/**
+	 * @return the buffer holding the serialized message
+	 */
+	Output getOutput() {
+		return output;
+	}
+
+	/**
+	 * @param type the class of the message that was serialized
+	 */
+	void setType(Class<?> type) {
+		this.type = type;
+	}
+
+	/**
+	 * @return the class of the message that was serialized
+	 */
+	public Class<?> getType() {
+		return type;
+	}
+
+	/**
+	 * @return the serialized bytes, only the first {@link #getLength()} bytes are part of the message
+	 */
+	public byte[] getBytes() {
+		return output.getBuffer();
+	}
+
+	/**
+	 * @return the amount of bytes the serialized message takes up
+	 */
+	public int getLength() {
+		return output.position();
+	}
+
+}
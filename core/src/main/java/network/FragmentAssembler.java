@@ -0,0 +1,136 @@
+package network;
+
+import com.badlogic.gdx.utils.IntMap;
+import network.Network.Fragment;
+
+/**
+ * This class joins the {@link Fragment}s sent by a {@link DatagramPacker} back into messages. <br>
+ * Fragments are sent over UDP, so if one is lost its message is never completed. Only a few incomplete messages are
+ * kept, the oldest is discarded to make room for a new one. The fragment count comes from the network, so fragments
+ * claiming more than {@link DatagramPacker#MAX_FRAGMENTS} parts, or adding up to more than
+ * {@link DatagramPacker#MAX_MESSAGE_SIZE} bytes, are dropped before anything is allocated for them.
+ * @author Connor Stewart
+ */
+public class FragmentAssembler {
+
+	/** The most messages that can be waiting for fragments at once. */
+	public static final int MAX_INCOMPLETE = 8;
+
+	/** The serialization used to read completed messages. */
+	private final WireSerialization serialization;
+
+	/** Messages that are waiting for fragments, by their fragment ID. */
+	private final IntMap<Incomplete> incomplete = new IntMap<>();
+
+	/** The amount of incomplete messages that were discarded. */
+	private long discarded;
+
+	/**
+	 * Creates an assembler.
+	 * @param serialization the serialization used to read completed messages
+	 */
+	public FragmentAssembler(WireSerialization serialization) {
+		this.serialization = serialization;
+	}
+
+	/**
+	 * Adds a fragment to its message.
+	 * @param fragment the fragment received
+	 * @return the message if this was its last missing fragment, otherwise null
+	 */
+	public synchronized Object add(Fragment fragment) {
+		if (fragment.count < 1 || fragment.count > DatagramPacker.MAX_FRAGMENTS || fragment.index < 0
+				|| fragment.index >= fragment.count || fragment.data == null
+				|| fragment.offset < 0 || fragment.length < 0 || fragment.offset + fragment.length > fragment.data.length)
+			return null;
+
+		Incomplete message = incomplete.get(fragment.id);
+
+		if (message == null) {
+			if (incomplete.size >= MAX_INCOMPLETE)
+				discardOldest();
+
+			message = new Incomplete(fragment.count);
+			incomplete.put(fragment.id, message);
+		}
+
+		if (message.parts.length != fragment.count || message.parts[fragment.index] != null)
+			return null;
+
+		if (message.length + fragment.length > DatagramPacker.MAX_MESSAGE_SIZE) {
+			incomplete.remove(fragment.id);
+			discarded++;
+			return null;
+		}
+
+		//the fragment's bytes were read for it alone, so only a slice of a larger array needs copying
+		byte[] data = fragment.data;
+		if (fragment.offset != 0 || fragment.length != data.length) {
+			data = new byte[fragment.length];
+			System.arraycopy(fragment.data, fragment.offset, data, 0, fragment.length);
+		}
+
+		message.parts[fragment.index] = data;
+		message.length += data.length;
+
+		if (++message.received < fragment.count)
+			return null;
+
+		incomplete.remove(fragment.id);
+
+		byte[] bytes = new byte[message.length];
+		int offset = 0;
+		for (byte[] part : message.parts) {
+			System.arraycopy(part, 0, bytes, offset, part.length);
+			offset += part.length;
+		}
+
+		return serialization.decode(bytes, bytes.length);
+	}
+
+	/**
+	 * Discards the incomplete message that was started first.
+	 */
+	private void discardOldest() {
+		int oldest = 0;
+		boolean found = false;
+
+		for (IntMap.Entry<Incomplete> entry : incomplete.entries()) {
+			if (!found || entry.key < oldest) {
+				oldest = entry.key;
+				found = true;
+			}
+		}
+
+		incomplete.remove(oldest);
+		discarded++;
+	}
+
+	/**
+	 * @return the amount of incomplete messages that were discarded
+	 */
+	public synchronized long getDiscardedCount() {
+		return discarded;
+	}
+
+	/**
+	 * A message that is waiting for fragments.
+	 */
+	private static class Incomplete {
+
+		/** The data of each fragment, null if it has not been received. */
+		private final byte[][] parts;
+
+		/** The amount of fragments received. */
+		private int received;
+
+		/** The total amount of bytes received. */
+		private int length;
+
+		private Incomplete(int count) {
+			parts = new byte[count][];
+		}
+
+	}
+
+}
@@ -0,0 +1,143 @@
+package network;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class records latencies so their percentiles can be read. <br>
+ * Latencies are counted in buckets that are about 12% wide, from one microsecond up to over a minute, so recording
+ * never allocates and a percentile is accurate to within a bucket. It can be recorded to and read from any thread
+ * without locking, a read made while latencies are being recorded may or may not include them.
+ * @author Connor Stewart
+ */
+public class LatencyHistogram {
+
+	/** The amount of buckets each power of two is split into. */
+	private static final int SUB_BUCKETS = 8;
+
+	/** The amount of buckets, enough for latencies up to 2^36 microseconds. */
+	private static final int BUCKETS = (36 - 2) * SUB_BUCKETS;
+
+	/** The amount of latencies in each bucket. */
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+	/** The amount of latencies recorded. */
+	private final AtomicLong total = new AtomicLong();
+
+	/** The sum of every latency recorded in microseconds. */
+	private final AtomicLong sum = new AtomicLong();
+
+	/** The largest latency recorded in microseconds. */
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Records a latency.
+	 * @param nanos the latency in nanoseconds, negative latencies are recorded as zero
+	 */
+	public void record(long nanos) {
+		long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+		counts.incrementAndGet(bucketOf(micros));
+		total.incrementAndGet();
+		sum.addAndGet(micros);
+		max.accumulateAndGet(micros, Math::max);
+	}
+
+	/**
+	 * Gets a percentile of the latencies recorded.
+	 * @param percentile the percentile from 0 to 100
+	 * @return the latency in milliseconds that the percentile of latencies are at or below, or zero if none have been recorded
+	 */
+	public double getPercentile(double percentile) {
+		long recorded = total.get();
+		if (recorded == 0)
+			return 0;
+
+		long target = Math.max(1, (long) Math.ceil(recorded * percentile / 100));
+		long largest = max.get();
+		long seen = 0;
+
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts.get(i);
+			if (seen >= target)
+				return Math.min(upperBound(i), largest) / 1000.0;
+		}
+
+		return largest / 1000.0;
+	}
+
+	/**
+	 * @return the largest latency recorded in milliseconds
+	 */
+	public double getMax() {
+		return max.get() / 1000.0;
+	}
+
+	/**
+	 * @return the sum of every latency recorded in milliseconds
+	 */
+	public double getSum() {
+		return sum.get() / 1000.0;
+	}
+
+	/**
+	 * @return the amount of latencies recorded
+	 */
+	public long getCount() {
+		return total.get();
+	}
+
+	/**
+	 * Adds every latency recorded by another histogram to this one.
+	 * @param other the histogram to add
+	 */
+	public void merge(LatencyHistogram other) {
+		for (int i = 0; i < BUCKETS; i++)
+			counts.addAndGet(i, other.counts.get(i));
+
+		total.addAndGet(other.total.get());
+		sum.addAndGet(other.sum.get());
+		max.accumulateAndGet(other.max.get(), Math::max);
+	}
+
+	/**
+	 * Removes every latency recorded.
+	 */
+	public void reset() {
+		for (int i = 0; i < BUCKETS; i++)
+			counts.set(i, 0);
+
+		total.set(0);
+		sum.set(0);
+		max.set(0);
+	}
+
+	/**
+	 * Gets the bucket a latency is counted in.
+	 * @param micros the latency in microseconds
+	 * @return the index of the bucket
+	 */
+	private static int bucketOf(long micros) {
+		if (micros < SUB_BUCKETS)
+			return (int) micros;
+
+		int exponent = 63 - Long.numberOfLeadingZeros(micros);
+		int sub = (int) ((micros >> (exponent - 3)) & (SUB_BUCKETS - 1));
+		return Math.min(BUCKETS - 1, (exponent - 2) * SUB_BUCKETS + sub);
+	}
+
+	/**
+	 * Gets the largest latency counted in a bucket.
+	 * @param bucket the index of the bucket
+	 * @return the latency in microseconds
+	 */
+	private static long upperBound(int bucket) {
+		if (bucket < SUB_BUCKETS)
+			return bucket;
+
+		int exponent = bucket / SUB_BUCKETS + 2;
+		long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (exponent - 3);
+		return lower + (1L << (exponent - 3)) - 1;
+	}
+
+}
@@ -0,0 +1,170 @@
+package network;
+
+import com.badlogic.gdx.utils.ObjectMap;
+import com.esotericsoftware.kryonet.Connection;
+import com.esotericsoftware.kryonet.FrameworkMessage;
+import com.esotericsoftware.kryonet.Listener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class routes each received message to the single handler that owns its class. <br>
+ * A route is created for every class registered in {@link Network#register}, so finding the handler for a message
+ * is a single map lookup. Messages without a handler are counted and stored in a {@link MessageQueue} if one is given.
+ * Messages from {@link MessagePools} that are not stored are returned to their pool once dispatched, so handlers must
+ * not keep them.
+ * @author Connor Stewart
+ */
+public class MessageDispatcher extends Listener {
+
+	/** The routes for each registered class, this map is never changed after construction. */
+	private final ObjectMap<Class<?>, Route> routes = new ObjectMap<>();
+
+	/** Every route, kept in an array so they can be iterated from any thread. */
+	private final Route[] allRoutes;
+
+	/** The queue that messages without a handler are stored in, may be null. */
+	private final MessageQueue unhandledQueue;
+
+	/** The amount of messages received whose class was not registered. */
+	private final AtomicLong unknown = new AtomicLong();
+
+	/**
+	 * Creates a dispatcher that discards messages without a handler.
+	 */
+	public MessageDispatcher() {
+		this(null);
+	}
+
+	/**
+	 * Creates a dispatcher that stores messages without a handler.
+	 * @param unhandledQueue the queue to store messages without a handler in
+	 */
+	public MessageDispatcher(MessageQueue unhandledQueue) {
+		this.unhandledQueue = unhandledQueue;
+
+		Class<?>[] registered = Network.getRegisteredClasses();
+		allRoutes = new Route[registered.length];
+
+		for (int i = 0; i < registered.length; i++) {
+			allRoutes[i] = new Route();
+			routes.put(registered[i], allRoutes[i]);
+		}
+	}
+
+	@Override
+	public void received(Connection connection, Object object) {
+		dispatch(connection, object);
+	}
+
+	/**
+	 * Passes a message to the handler that owns its class.
+	 * @param connection the connection the message was received on
+	 * @param object the message
+	 * @return whether a handler received the message
+	 */
+	@SuppressWarnings("unchecked")
+	public boolean dispatch(Connection connection, Object object) {
+		Route route = routes.get(object.getClass());
+
+		if (route == null) {
+			//kryonet passes its own pings to listeners, they are not game messages
+			if (!(object instanceof FrameworkMessage))
+				unknown.incrementAndGet();
+			return false;
+		}
+
+		MessageHandler<Object> handler = (MessageHandler<Object>) route.handler;
+
+		if (handler == null) {
+			route.unhandled.incrementAndGet();
+			if (unhandledQueue != null)
+				unhandledQueue.store(new Message(object));
+			else
+				MessagePools.free(object);
+			return false;
+		}
+
+		handler.handle(connection, object);
+		MessagePools.free(object);
+		return true;
+	}
+
+	/**
+	 * Makes a handler the owner of a message class, replacing the previous owner.
+	 * @param owner the object the handler belongs to, used to remove its handlers later
+	 * @param type the class of message to handle
+	 * @param handler the handler
+	 * @param <T> the class of message handled
+	 */
+	public <T> void setHandler(Object owner, Class<T> type, MessageHandler<? super T> handler) {
+		Route route = routes.get(type);
+		if (route == null)
+			throw new IllegalArgumentException(type.getName() + " is not registered in Network.register.");
+
+		synchronized (route) {
+			route.owner = owner;
+			route.handler = handler;
+		}
+	}
+
+	/**
+	 * Removes every handler that belongs to an owner, handlers that have since been replaced are left alone.
+	 * @param owner the owner to remove the handlers of
+	 */
+	public void removeHandlers(Object owner) {
+		for (Route route : allRoutes) {
+			synchronized (route) {
+				if (route.owner == owner) {
+					route.owner = null;
+					route.handler = null;
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the amount of messages received whose class was not registered
+	 */
+	public long getUnknownCount() {
+		return unknown.get();
+	}
+
+	/**
+	 * @param type the message class
+	 * @return the amount of messages of the class that were received without a handler
+	 */
+	public long getUnhandledCount(Class<?> type) {
+		Route route = routes.get(type);
+		return route == null ? 0 : route.unhandled.get();
+	}
+
+	/**
+	 * @return the amount of messages of every class that were received without a handler
+	 */
+	public long getUnhandledCount() {
+		long total = 0;
+
+		for (Route route : allRoutes)
+			total += route.unhandled.get();
+
+		return total;
+	}
+
+	/**
+	 * The handler that currently owns a message class.
+	 */
+	private static class Route {
+
+		/** The object the handler belongs to. */
+		private Object owner;
+
+		/** The handler messages are passed to. */
+		private volatile MessageHandler<?> handler;
+
+		/** The amount of messages received without a handler. */
+		private final AtomicLong unhandled = new AtomicLong();
+
+	}
+
+}
@@ -0,0 +1,19 @@
+package network;
+
+import com.esotericsoftware.kryonet.Connection;
+
+/**
+ * This interface is used to receive messages of a single class from a {@link MessageDispatcher}.
+ * @param <T> the class of message handled
+ * @author Connor Stewart
+ */
+public interface MessageHandler<T> {
+
+	/**
+	 * Called when a message is received.
+	 * @param connection the connection the message was received on
+	 * @param message the message received
+	 */
+	void handle(Connection connection, T message);
+
+}
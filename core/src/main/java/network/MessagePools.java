@@ -0,0 +1,164 @@
+package network;
+
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.Pool;
+import network.Network.*;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * This class holds a pool for each message that is sent or received every frame of a game. <br>
+ * Senders obtain a message, fill it in and free it once it has been sent, which is safe as soon as the send call
+ * returns because KryoNet serializes messages straight away. When received these messages are obtained by their
+ * serializers in {@link MessageSerializers} and freed by the {@link MessageDispatcher} once their handler returns, so
+ * handlers must copy anything they need to keep. A pooled message given to a {@link ReliableSender} is held until it
+ * is acknowledged and freed by the sender then, so each one must be given to a single sender. The pools may be used
+ * from any thread.
+ * @author Connor Stewart
+ */
+public final class MessagePools {
+
+	/** The most free messages kept by each pool, enough for every update in a full snapshot. */
+	private static final int MAX_FREE = 1024;
+
+	/** The pool for each pooled message class, this map is never changed after this class is loaded. */
+	private static final ObjectMap<Class<?>, MessagePool<?>> pools = new ObjectMap<>();
+
+	static {
+		add(KeyInput.class, KeyInput::new, null);
+		add(MouseInput.class, MouseInput::new, null);
+		add(MouseMoved.class, MouseMoved::new, null);
+		add(UpdatePlayer.class, UpdatePlayer::new, null);
+		add(UpdateProjectile.class, UpdateProjectile::new, null);
+		add(AddProjectile.class, AddProjectile::new, msg -> msg.type = null);
+		add(RemoveProjectile.class, RemoveProjectile::new, null);
+		add(ReliableMessage.class, ReliableMessage::new, msg -> msg.message = null);
+		add(ReliableAck.class, ReliableAck::new, null);
+		add(PackedDatagram.class, PackedDatagram::new, datagram -> {
+			datagram.getMessages().clear();
+			datagram.getMessageLengths().clear();
+		});
+	}
+
+	private MessagePools() {}
+
+	/**
+	 * Adds a pool for a message class.
+	 * @param type the message class
+	 * @param factory creates messages when the pool is empty
+	 * @param reset clears references held by a freed message, may be null if every field is overwritten on use
+	 * @param <T> the message class
+	 */
+	private static <T> void add(Class<T> type, Supplier<T> factory, Consumer<T> reset) {
+		pools.put(type, new MessagePool<>(factory, reset));
+	}
+
+	/**
+	 * Takes a message from its pool, its fields hold whatever was last written to them.
+	 * @param type the message class, it must be pooled
+	 * @param <T> the message class
+	 * @return a message to fill in
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> T obtain(Class<T> type) {
+		MessagePool<T> pool = (MessagePool<T>) pools.get(type);
+		if (pool == null)
+			throw new IllegalArgumentException(type.getName() + " is not pooled in MessagePools.");
+
+		return pool.obtain();
+	}
+
+	/**
+	 * Returns a message to its pool, messages whose class is not pooled are left alone.
+	 * @param message the message to return, it must not be used afterwards
+	 */
+	@SuppressWarnings("unchecked")
+	public static void free(Object message) {
+		MessagePool<Object> pool = (MessagePool<Object>) pools.get(message.getClass());
+		if (pool != null)
+			pool.free(message);
+	}
+
+	/**
+	 * @param type the message class
+	 * @return whether messages of the class are pooled
+	 */
+	public static boolean isPooled(Class<?> type) {
+		return pools.containsKey(type);
+	}
+
+	/**
+	 * @param type the message class
+	 * @return the amount of messages of the class that have been created because their pool was empty
+	 */
+	public static long getCreatedCount(Class<?> type) {
+		MessagePool<?> pool = pools.get(type);
+		return pool == null ? 0 : pool.getCreated();
+	}
+
+	/**
+	 * @return the amount of pooled messages of every class that have been created because their pool was empty
+	 */
+	public static long getCreatedCount() {
+		long total = 0;
+
+		for (MessagePool<?> pool : pools.values())
+			total += pool.getCreated();
+
+		return total;
+	}
+
+	/**
+	 * A pool that can be shared between threads.
+	 * @param <T> the message class
+	 */
+	private static class MessagePool<T> extends Pool<T> {
+
+		/** Creates messages when the pool is empty. */
+		private final Supplier<T> factory;
+
+		/** Clears references held by a freed message, may be null. */
+		private final Consumer<T> reset;
+
+		/** The amount of messages created. */
+		private long created;
+
+		private MessagePool(Supplier<T> factory, Consumer<T> reset) {
+			super(16, MAX_FREE);
+			this.factory = factory;
+			this.reset = reset;
+		}
+
+		@Override
+		protected T newObject() {
+			created++;
+			return factory.get();
+		}
+
+		@Override
+		protected void reset(T message) {
+			if (reset != null)
+				reset.accept(message);
+		}
+
+		@Override
+		public synchronized T obtain() {
+			return super.obtain();
+		}
+
+		@Override
+		public synchronized void free(T message) {
+			super.free(message);
+		}
+
+		/**
+		 * @return the amount of messages created
+		 */
+		private synchronized long getCreated() {
+			return created;
+		}
+
+	}
+
+}
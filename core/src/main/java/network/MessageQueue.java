@@ -0,0 +1,107 @@
+package network;
+
+import com.badlogic.gdx.utils.Array;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class stores messages that no {@link MessageHandler} has received. <br>
+ * Messages are kept in a bounded ring per message class, so only the latest messages of each class are kept.
+ * The KryoNet thread can add messages while the render thread reads them.
+ * @author Connor Stewart
+ */
+public class MessageQueue {
+
+    /** The amount of messages kept for each class unless another capacity has been set. */
+    public static final int DEFAULT_CAPACITY = 8;
+
+    /** Messages that have been received, grouped by their class. */
+    private final ConcurrentHashMap<Class<?>, MessageRing> messages = new ConcurrentHashMap<>();
+
+    /** The capacities that have been set for specific message classes. */
+    private final ConcurrentHashMap<Class<?>, Integer> capacities = new ConcurrentHashMap<>();
+
+    /**
+     * Stores a message that no handler has received.
+     * @param message the message to store
+     */
+    void store(Message message) {
+        getRing(message.getMessage().getClass()).add(message);
+    }
+
+    /**
+     * Gets the ring for a message class, creating it if it does not exist.
+     * @param messageClass the messages class
+     * @return the ring holding messages of that class
+     */
+    private MessageRing getRing(Class<?> messageClass) {
+        return messages.computeIfAbsent(messageClass, type -> new MessageRing(capacities.getOrDefault(type, DEFAULT_CAPACITY)));
+    }
+
+    /**
+     * Sets the maximum amount of messages of a class that are kept, older messages are discarded.
+     * @param messageClass the messages class
+     * @param capacity the amount of messages to keep
+     */
+    public void setCapacity(Class<?> messageClass, int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Capacity must be at least 1 (was " + capacity + ").");
+
+        capacities.put(messageClass, capacity);
+
+        MessageRing ring = messages.get(messageClass);
+        if (ring != null)
+            ring.resize(capacity);
+    }
+
+    /**
+     * Checks if this MessageQueue has received a message of the desired class.
+     * @param messageClass the messages class
+     * @return whether a message of the desired class have been received
+     */
+    public boolean haveReceived(Class<?> messageClass) {
+        MessageRing ring = messages.get(messageClass);
+        return ring != null && ring.size() > 0;
+    }
+
+    /**
+     * Gets the latest message of a class without removing it.
+     * @param messageClass the messages class
+     * @return the latest message of the class or null if none have been received
+     */
+    public Message getLatest(Class<?> messageClass) {
+        MessageRing ring = messages.get(messageClass);
+        return ring == null ? null : ring.latest();
+    }
+
+    /**
+     * Gets the latest message of a class and discards every stored message of that class.
+     * @param messageClass the messages class
+     * @return the latest message of the class or null if none have been received
+     */
+    public Message pollLatest(Class<?> messageClass) {
+        MessageRing ring = messages.get(messageClass);
+        return ring == null ? null : ring.pollLatest();
+    }
+
+    /**
+     * Removes every stored message of a class, oldest first.
+     * @param messageClass the class of message to get
+     * @param into the array to add the messages to
+     * @return the amount of messages removed
+     */
+    public int drain(Class<?> messageClass, Array<Message> into) {
+        MessageRing ring = messages.get(messageClass);
+        return ring == null ? 0 : ring.drain(into);
+    }
+
+    /**
+     * @param messageClass the messages class
+     * @return the amount of messages of the class that were discarded because the queue was full
+     */
+    public long getEvictedCount(Class<?> messageClass) {
+        MessageRing ring = messages.get(messageClass);
+        return ring == null ? 0 : ring.getEvicted();
+    }
+
+}
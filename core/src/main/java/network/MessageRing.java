@@ -0,0 +1,126 @@
+package network;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * A fixed size ring buffer of messages of a single class. <br>
+ * When the ring is full the oldest message is overwritten, so the ring always holds the latest messages received.
+ * All methods are synchronized so the network thread can add messages while the render thread reads them.
+ * @author Connor Stewart
+ */
+class MessageRing {
+
+    /** The messages in this ring. */
+    private Message[] messages;
+
+    /** The index of the oldest message. */
+    private int head;
+
+    /** The amount of messages currently in the ring. */
+    private int size;
+
+    /** The amount of messages that have been overwritten before they were read. */
+    private long evicted;
+
+    /**
+     * Creates a new ring.
+     * @param capacity the maximum amount of messages this ring can hold
+     */
+    MessageRing(int capacity) {
+        messages = new Message[capacity];
+    }
+
+    /**
+     * Adds a message to this ring, overwriting the oldest message if the ring is full.
+     * @param message the message to add
+     */
+    synchronized void add(Message message) {
+        int tail = (head + size) % messages.length;
+        messages[tail] = message;
+
+        if (size == messages.length) {
+            head = (head + 1) % messages.length;
+            evicted++;
+        } else {
+            size++;
+        }
+    }
+
+    /**
+     * @return the most recently added message or null if the ring is empty
+     */
+    synchronized Message latest() {
+        if (size == 0)
+            return null;
+
+        return messages[(head + size - 1) % messages.length];
+    }
+
+    /**
+     * Gets the most recently added message and empties this ring.
+     * @return the most recently added message or null if the ring is empty
+     */
+    synchronized Message pollLatest() {
+        Message latest = latest();
+        clear();
+        return latest;
+    }
+
+    /**
+     * Moves every message in this ring into an array, oldest first.
+     * @param into the array to add the messages to
+     * @return the amount of messages drained
+     */
+    synchronized int drain(Array<Message> into) {
+        int drained = size;
+
+        for (int i = 0; i < size; i++)
+            into.add(messages[(head + i) % messages.length]);
+
+        clear();
+        return drained;
+    }
+
+    /**
+     * Changes the maximum amount of messages this ring can hold, keeping the latest messages.
+     * @param capacity the new capacity
+     */
+    synchronized void resize(int capacity) {
+        Message[] resized = new Message[capacity];
+        int kept = Math.min(size, capacity);
+
+        for (int i = 0; i < kept; i++)
+            resized[i] = messages[(head + size - kept + i) % messages.length];
+
+        evicted += size - kept;
+        messages = resized;
+        head = 0;
+        size = kept;
+    }
+
+    /**
+     * Removes every message from this ring.
+     */
+    synchronized void clear() {
+        for (int i = 0; i < size; i++)
+            messages[(head + i) % messages.length] = null;
+
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * @return the amount of messages in this ring
+     */
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @return the amount of messages that were overwritten before they were read
+     */
+    synchronized long getEvicted() {
+        return evicted;
+    }
+
+}
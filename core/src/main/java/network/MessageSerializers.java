@@ -0,0 +1,656 @@
+package network;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import network.Network.*;
+
+import java.util.ArrayList;
+
+/**
+ * This class holds the hand-written serializer for every message in {@link Network}. <br>
+ * Each serializer writes its messages fields in the order they are declared, without reflection. IDs and counts are
+ * written as variable length integers, enums as a byte holding their ordinal plus one and the projectile type as a
+ * byte code, so a zero byte always means null. The messages sent every frame are taken from {@link MessagePools}
+ * rather than created. Changing what a serializer writes changes the wire format, so clients and servers built before
+ * the change can no longer talk to ones built after it.
+ * @author Connor Stewart
+ */
+final class MessageSerializers {
+
+	/** The projectile types that can be sent in {@link AddProjectile#type}, written as their index plus one. */
+	private static final String[] PROJECTILE_TYPES = {"Light", "Heavy"};
+
+	private MessageSerializers() {}
+
+	/**
+	 * Writes a string array as its length plus one followed by each string, or a zero if the array is null.
+	 * @param output the output to write to
+	 * @param strings the strings to write
+	 */
+	private static void writeStrings(Output output, String[] strings) {
+		if (strings == null) {
+			output.writeVarInt(0, true);
+			return;
+		}
+
+		output.writeVarInt(strings.length + 1, true);
+		for (String string : strings)
+			output.writeString(string);
+	}
+
+	/**
+	 * Reads a string array written by {@link #writeStrings}.
+	 * @param input the input to read from
+	 * @return the strings or null
+	 */
+	private static String[] readStrings(Input input) {
+		int length = input.readVarInt(true);
+		if (length == 0)
+			return null;
+
+		String[] strings = new String[length - 1];
+		for (int i = 0; i < strings.length; i++)
+			strings[i] = input.readString();
+
+		return strings;
+	}
+
+	/**
+	 * Writes an enum as a byte holding its ordinal plus one, or a zero if it is null.
+	 * @param output the output to write to
+	 * @param value the enum to write
+	 */
+	private static void writeEnum(Output output, Enum<?> value) {
+		output.writeByte(value == null ? 0 : value.ordinal() + 1);
+	}
+
+	/**
+	 * Reads an enum written by {@link #writeEnum}.
+	 * @param input the input to read from
+	 * @param values the values of the enum
+	 * @param <E> the enum class
+	 * @return the enum or null
+	 */
+	private static <E extends Enum<E>> E readEnum(Input input, E[] values) {
+		int code = input.readByteUnsigned();
+		return code == 0 ? null : values[code - 1];
+	}
+
+	/** Serializes messages that have no fields. */
+	static class EmptySerializer<T> extends Serializer<T> {
+
+		@Override
+		public void write(Kryo kryo, Output output, T message) {}
+
+		@Override
+		public T read(Kryo kryo, Input input, Class<T> type) {
+			return kryo.newInstance(type);
+		}
+
+	}
+
+	/** Writes the room name. */
+	static class AddRoomSerializer extends Serializer<AddRoom> {
+
+		@Override
+		public void write(Kryo kryo, Output output, AddRoom msg) {
+			output.writeString(msg.roomName);
+		}
+
+		@Override
+		public AddRoom read(Kryo kryo, Input input, Class<AddRoom> type) {
+			AddRoom msg = new AddRoom();
+			msg.roomName = input.readString();
+			return msg;
+		}
+
+	}
+
+	/** Writes the score then the name. */
+	static class UploadScoreSerializer extends Serializer<UploadScore> {
+
+		@Override
+		public void write(Kryo kryo, Output output, UploadScore msg) {
+			output.writeVarInt(msg.score, false);
+			output.writeString(msg.name);
+		}
+
+		@Override
+		public UploadScore read(Kryo kryo, Input input, Class<UploadScore> type) {
+			UploadScore msg = new UploadScore();
+			msg.score = input.readVarInt(false);
+			msg.name = input.readString();
+			return msg;
+		}
+
+	}
+
+	/** Writes the room name. */
+	static class JoinRoomSerializer extends Serializer<JoinRoom> {
+
+		@Override
+		public void write(Kryo kryo, Output output, JoinRoom msg) {
+			output.writeString(msg.roomName);
+		}
+
+		@Override
+		public JoinRoom read(Kryo kryo, Input input, Class<JoinRoom> type) {
+			JoinRoom msg = new JoinRoom();
+			msg.roomName = input.readString();
+			return msg;
+		}
+
+	}
+
+	/** Writes the nickname. */
+	static class UpdateNicknameSerializer extends Serializer<UpdateNickname> {
+
+		@Override
+		public void write(Kryo kryo, Output output, UpdateNickname msg) {
+			output.writeString(msg.nickname);
+		}
+
+		@Override
+		public UpdateNickname read(Kryo kryo, Input input, Class<UpdateNickname> type) {
+			UpdateNickname msg = new UpdateNickname();
+			msg.nickname = input.readString();
+			return msg;
+		}
+
+	}
+
+	/** Writes whether the client leads the lobby. */
+	static class JoinLobbySerializer extends Serializer<JoinLobby> {
+
+		@Override
+		public void write(Kryo kryo, Output output, JoinLobby msg) {
+			output.writeBoolean(msg.leader);
+		}
+
+		@Override
+		public JoinLobby read(Kryo kryo, Input input, Class<JoinLobby> type) {
+			JoinLobby msg = new JoinLobby();
+			msg.leader = input.readBoolean();
+			return msg;
+		}
+
+	}
+
+	/** Writes the time the probe was sent as a variable length long, stamping when it is read so queuing is not timed. */
+	static class TimeProbeSerializer extends Serializer<TimeProbe> {
+
+		@Override
+		public void write(Kryo kryo, Output output, TimeProbe msg) {
+			output.writeLong(msg.clientSent, true);
+		}
+
+		@Override
+		public TimeProbe read(Kryo kryo, Input input, Class<TimeProbe> type) {
+			TimeProbe msg = new TimeProbe();
+			msg.readAt = System.nanoTime();
+			msg.clientSent = input.readLong(true);
+			return msg;
+		}
+
+	}
+
+	/** Writes the player ID, key code and sequence number. */
+	static class KeyInputSerializer extends Serializer<KeyInput> {
+
+		@Override
+		public void write(Kryo kryo, Output output, KeyInput msg) {
+			output.writeVarInt(msg.id, true);
+			output.writeVarInt(msg.keyCode, true);
+			output.writeVarInt(msg.sequence, true);
+		}
+
+		@Override
+		public KeyInput read(Kryo kryo, Input input, Class<KeyInput> type) {
+			KeyInput msg = MessagePools.obtain(KeyInput.class);
+			msg.id = input.readVarInt(true);
+			msg.keyCode = input.readVarInt(true);
+			msg.sequence = input.readVarInt(true);
+			return msg;
+		}
+
+	}
+
+	/** Writes the player ID, button code and sequence number. */
+	static class MouseInputSerializer extends Serializer<MouseInput> {
+
+		@Override
+		public void write(Kryo kryo, Output output, MouseInput msg) {
+			output.writeVarInt(msg.id, true);
+			output.writeVarInt(msg.buttonCode, true);
+			output.writeVarInt(msg.sequence, true);
+		}
+
+		@Override
+		public MouseInput read(Kryo kryo, Input input, Class<MouseInput> type) {
+			MouseInput msg = MessagePools.obtain(MouseInput.class);
+			msg.id = input.readVarInt(true);
+			msg.buttonCode = input.readVarInt(true);
+			msg.sequence = input.readVarInt(true);
+			return msg;
+		}
+
+	}
+
+	/** Writes the player ID and the mouse position. */
+	static class MouseMovedSerializer extends Serializer<MouseMoved> {
+
+		@Override
+		public void write(Kryo kryo, Output output, MouseMoved msg) {
+			output.writeVarInt(msg.id, true);
+			output.writeFloat(msg.x);
+			output.writeFloat(msg.y);
+		}
+
+		@Override
+		public MouseMoved read(Kryo kryo, Input input, Class<MouseMoved> type) {
+			MouseMoved msg = MessagePools.obtain(MouseMoved.class);
+			msg.id = input.readVarInt(true);
+			msg.x = input.readFloat();
+			msg.y = input.readFloat();
+			return msg;
+		}
+
+	}
+
+	/** Writes the room names. */
+	static class RoomUpdateSerializer extends Serializer<RoomUpdate> {
+
+		@Override
+		public void write(Kryo kryo, Output output, RoomUpdate msg) {
+			writeStrings(output, msg.roomNames);
+		}
+
+		@Override
+		public RoomUpdate read(Kryo kryo, Input input, Class<RoomUpdate> type) {
+			RoomUpdate msg = new RoomUpdate();
+			msg.roomNames = readStrings(input);
+			return msg;
+		}
+
+	}
+
+	/**
+	 * Writes the amount of scores plus one, or zero if there are none, then each score and name in turn. The scores
+	 * and names are expected to be the same length.
+	 */
+	static class ScoreUpdateSerializer extends Serializer<ScoreUpdate> {
+
+		@Override
+		public void write(Kryo kryo, Output output, ScoreUpdate msg) {
+			if (msg.scores == null || msg.names == null) {
+				output.writeVarInt(0, true);
+				return;
+			}
+
+			int size = Math.min(msg.scores.size(), msg.names.size());
+			output.writeVarInt(size + 1, true);
+
+			for (int i = 0; i < size; i++) {
+				output.writeVarInt(msg.scores.get(i), false);
+				output.writeString(msg.names.get(i));
+			}
+		}
+
+		@Override
+		public ScoreUpdate read(Kryo kryo, Input input, Class<ScoreUpdate> type) {
+			ScoreUpdate msg = new ScoreUpdate();
+			int size = input.readVarInt(true);
+			if (size == 0)
+				return msg;
+
+			size--;
+			msg.scores = new ArrayList<>(size);
+			msg.names = new ArrayList<>(size);
+
+			for (int i = 0; i < size; i++) {
+				msg.scores.add(input.readVarInt(false));
+				msg.names.add(input.readString());
+			}
+
+			return msg;
+		}
+
+	}
+
+	/** Writes the three clock times as variable length longs. */
+	static class TimeReplySerializer extends Serializer<TimeReply> {
+
+		@Override
+		public void write(Kryo kryo, Output output, TimeReply msg) {
+			output.writeLong(msg.clientSent, true);
+			output.writeLong(msg.serverReceived, true);
+			output.writeLong(msg.serverSent, true);
+		}
+
+		@Override
+		public TimeReply read(Kryo kryo, Input input, Class<TimeReply> type) {
+			TimeReply msg = new TimeReply();
+			msg.clientSent = input.readLong(true);
+			msg.serverReceived = input.readLong(true);
+			msg.serverSent = input.readLong(true);
+			return msg;
+		}
+
+	}
+
+	/** Writes the winning players ID. */
+	static class PlayerWonSerializer extends Serializer<PlayerWon> {
+
+		@Override
+		public void write(Kryo kryo, Output output, PlayerWon msg) {
+			output.writeVarInt(msg.id, true);
+		}
+
+		@Override
+		public PlayerWon read(Kryo kryo, Input input, Class<PlayerWon> type) {
+			PlayerWon msg = new PlayerWon();
+			msg.id = input.readVarInt(true);
+			return msg;
+		}
+
+	}
+
+	/** Writes the players names. */
+	static class LobbyPlayersSerializer extends Serializer<LobbyPlayers> {
+
+		@Override
+		public void write(Kryo kryo, Output output, LobbyPlayers msg) {
+			writeStrings(output, msg.players);
+		}
+
+		@Override
+		public LobbyPlayers read(Kryo kryo, Input input, Class<LobbyPlayers> type) {
+			LobbyPlayers msg = new LobbyPlayers();
+			msg.players = readStrings(input);
+			return msg;
+		}
+
+	}
+
+	/** Writes the players name then its ID. */
+	static class AddPlayerSerializer extends Serializer<AddPlayer> {
+
+		@Override
+		public void write(Kryo kryo, Output output, AddPlayer msg) {
+			output.writeString(msg.name);
+			output.writeVarInt(msg.id, true);
+		}
+
+		@Override
+		public AddPlayer read(Kryo kryo, Input input, Class<AddPlayer> type) {
+			AddPlayer msg = new AddPlayer();
+			msg.name = input.readString();
+			msg.id = input.readVarInt(true);
+			return msg;
+		}
+
+	}
+
+	/** Writes the firing players ID, the projectiles ID and the byte code of its type. */
+	static class AddProjectileSerializer extends Serializer<AddProjectile> {
+
+		@Override
+		public void write(Kryo kryo, Output output, AddProjectile msg) {
+			output.writeVarInt(msg.playerID, true);
+			output.writeVarInt(msg.id, true);
+
+			int code = 0;
+			if (msg.type != null) {
+				for (int i = 0; i < PROJECTILE_TYPES.length && code == 0; i++)
+					if (PROJECTILE_TYPES[i].equals(msg.type))
+						code = i + 1;
+
+				if (code == 0)
+					throw new IllegalArgumentException("type must be one of the projectile types (was " + msg.type + ").");
+			}
+
+			output.writeByte(code);
+		}
+
+		@Override
+		public AddProjectile read(Kryo kryo, Input input, Class<AddProjectile> type) {
+			AddProjectile msg = MessagePools.obtain(AddProjectile.class);
+			msg.playerID = input.readVarInt(true);
+			msg.id = input.readVarInt(true);
+
+			int code = input.readByteUnsigned();
+			msg.type = code == 0 ? null : PROJECTILE_TYPES[code - 1];
+			return msg;
+		}
+
+	}
+
+	/** Writes the players ID. */
+	static class RemovePlayerSerializer extends Serializer<RemovePlayer> {
+
+		@Override
+		public void write(Kryo kryo, Output output, RemovePlayer msg) {
+			output.writeVarInt(msg.id, true);
+		}
+
+		@Override
+		public RemovePlayer read(Kryo kryo, Input input, Class<RemovePlayer> type) {
+			RemovePlayer msg = new RemovePlayer();
+			msg.id = input.readVarInt(true);
+			return msg;
+		}
+
+	}
+
+	/** Writes the projectiles ID. */
+	static class RemoveProjectileSerializer extends Serializer<RemoveProjectile> {
+
+		@Override
+		public void write(Kryo kryo, Output output, RemoveProjectile msg) {
+			output.writeVarInt(msg.id, true);
+		}
+
+		@Override
+		public RemoveProjectile read(Kryo kryo, Input input, Class<RemoveProjectile> type) {
+			RemoveProjectile msg = MessagePools.obtain(RemoveProjectile.class);
+			msg.id = input.readVarInt(true);
+			return msg;
+		}
+
+	}
+
+	/** Writes the projectiles ID, position and rotation. */
+	static class UpdateProjectileSerializer extends Serializer<UpdateProjectile> {
+
+		@Override
+		public void write(Kryo kryo, Output output, UpdateProjectile msg) {
+			output.writeVarInt(msg.id, true);
+			output.writeFloat(msg.x);
+			output.writeFloat(msg.y);
+			output.writeDouble(msg.r);
+		}
+
+		@Override
+		public UpdateProjectile read(Kryo kryo, Input input, Class<UpdateProjectile> type) {
+			UpdateProjectile msg = MessagePools.obtain(UpdateProjectile.class);
+			msg.id = input.readVarInt(true);
+			msg.x = input.readFloat();
+			msg.y = input.readFloat();
+			msg.r = input.readDouble();
+			return msg;
+		}
+
+	}
+
+	/** Writes the players ID, position, rotation, health, kills and the latest input applied. */
+	static class UpdatePlayerSerializer extends Serializer<UpdatePlayer> {
+
+		@Override
+		public void write(Kryo kryo, Output output, UpdatePlayer msg) {
+			output.writeVarInt(msg.id, true);
+			output.writeFloat(msg.x);
+			output.writeFloat(msg.y);
+			output.writeDouble(msg.r);
+			output.writeDouble(msg.health);
+			output.writeVarInt(msg.kills, true);
+			output.writeVarInt(msg.inputSequence, true);
+			output.writeVarInt(msg.inputTick, true);
+		}
+
+		@Override
+		public UpdatePlayer read(Kryo kryo, Input input, Class<UpdatePlayer> type) {
+			UpdatePlayer msg = MessagePools.obtain(UpdatePlayer.class);
+			msg.id = input.readVarInt(true);
+			msg.x = input.readFloat();
+			msg.y = input.readFloat();
+			msg.r = input.readDouble();
+			msg.health = input.readDouble();
+			msg.kills = input.readVarInt(true);
+			msg.inputSequence = input.readVarInt(true);
+			msg.inputTick = input.readVarInt(true);
+			return msg;
+		}
+
+	}
+
+	/** Writes the error type then the message. */
+	static class ErrorMessageSerializer extends Serializer<ErrorMessage> {
+
+		@Override
+		public void write(Kryo kryo, Output output, ErrorMessage msg) {
+			writeEnum(output, msg.type);
+			output.writeString(msg.message);
+		}
+
+		@Override
+		public ErrorMessage read(Kryo kryo, Input input, Class<ErrorMessage> type) {
+			ErrorMessage msg = new ErrorMessage();
+			msg.type = readEnum(input, ErrorType.values());
+			msg.message = input.readString();
+			return msg;
+		}
+
+	}
+
+	/** Writes the confirmation type. */
+	static class ConfirmationMessageSerializer extends Serializer<ConfirmationMessage> {
+
+		@Override
+		public void write(Kryo kryo, Output output, ConfirmationMessage msg) {
+			writeEnum(output, msg.type);
+		}
+
+		@Override
+		public ConfirmationMessage read(Kryo kryo, Input input, Class<ConfirmationMessage> type) {
+			ConfirmationMessage msg = new ConfirmationMessage();
+			msg.type = readEnum(input, ConfirmType.values());
+			return msg;
+		}
+
+	}
+
+	/** Writes an enum on its own, as its ordinal byte. */
+	static class EnumSerializer<E extends Enum<E>> extends Serializer<E> {
+
+		/** The values of the enum. */
+		private final E[] values;
+
+		/**
+		 * @param values the values of the enum
+		 */
+		EnumSerializer(E[] values) {
+			this.values = values;
+		}
+
+		@Override
+		public void write(Kryo kryo, Output output, E value) {
+			writeEnum(output, value);
+		}
+
+		@Override
+		public E read(Kryo kryo, Input input, Class<E> type) {
+			return readEnum(input, values);
+		}
+
+	}
+
+	/** Writes the sequence number then the message with its class. */
+	static class ReliableMessageSerializer extends Serializer<ReliableMessage> {
+
+		@Override
+		public void write(Kryo kryo, Output output, ReliableMessage msg) {
+			output.writeVarInt(msg.sequence, true);
+			int start = output.position();
+			kryo.writeClassAndObject(output, msg.message);
+			msg.messageLength = output.position() - start;
+		}
+
+		@Override
+		public ReliableMessage read(Kryo kryo, Input input, Class<ReliableMessage> type) {
+			ReliableMessage msg = MessagePools.obtain(ReliableMessage.class);
+			msg.sequence = input.readVarInt(true);
+			int start = input.position();
+			msg.message = kryo.readClassAndObject(input);
+			msg.messageLength = input.position() - start;
+			return msg;
+		}
+
+	}
+
+	/** Writes the last sequence received in order then the bits of the ones received after it. */
+	static class ReliableAckSerializer extends Serializer<ReliableAck> {
+
+		@Override
+		public void write(Kryo kryo, Output output, ReliableAck msg) {
+			output.writeVarInt(msg.received, true);
+			output.writeInt(msg.receivedBits);
+		}
+
+		@Override
+		public ReliableAck read(Kryo kryo, Input input, Class<ReliableAck> type) {
+			ReliableAck msg = MessagePools.obtain(ReliableAck.class);
+			msg.received = input.readVarInt(true);
+			msg.receivedBits = input.readInt();
+			return msg;
+		}
+
+	}
+
+	/** Writes the message ID, the parts index and count, then the length of its slice of bytes plus one and the slice. */
+	static class FragmentSerializer extends Serializer<Fragment> {
+
+		@Override
+		public void write(Kryo kryo, Output output, Fragment msg) {
+			output.writeVarInt(msg.id, true);
+			output.writeVarInt(msg.index, true);
+			output.writeVarInt(msg.count, true);
+
+			if (msg.data == null) {
+				output.writeVarInt(0, true);
+			} else {
+				output.writeVarInt(msg.length + 1, true);
+				output.writeBytes(msg.data, msg.offset, msg.length);
+			}
+		}
+
+		@Override
+		public Fragment read(Kryo kryo, Input input, Class<Fragment> type) {
+			Fragment msg = new Fragment();
+			msg.id = input.readVarInt(true);
+			msg.index = input.readVarInt(true);
+			msg.count = input.readVarInt(true);
+
+			int length = input.readVarInt(true);
+			if (length > 0) {
+				msg.length = length - 1;
+				msg.data = input.readBytes(msg.length);
+			}
+
+			return msg;
+		}
+
+	}
+
+}
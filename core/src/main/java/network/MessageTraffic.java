@@ -0,0 +1,131 @@
+package network;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import network.Network.ReliableMessage;
+
+/**
+ * The messages of every class registered in {@link Network#register} that went one way, counted by class and
+ * transport. <br>
+ * A message carried inside a {@link PackedDatagram} or {@link ReliableMessage} is counted under its own class with
+ * the bytes it took up, and the wrapper is counted under its class with only the bytes it added, so the bytes of every
+ * class add up to the bytes on the wire. Messages whose class is not registered, such as KryoNet's own messages, are
+ * not counted. It can be counted from any thread without locking.
+ * @author Connor Stewart
+ */
+public class MessageTraffic {
+
+	/** Every registered class, in the order their stats are kept. */
+	private static final Class<?>[] TYPES = Network.getRegisteredClasses();
+
+	/** The amount of transports a message can go over. */
+	private static final int TRANSPORTS = Transport.values().length;
+
+	/** The index of each registered class's stats, this map is never changed after this class is loaded. */
+	private static final ObjectIntMap<Class<?>> INDICES = new ObjectIntMap<>();
+
+	static {
+		for (int i = 0; i < TYPES.length; i++)
+			INDICES.put(TYPES[i], i);
+	}
+
+	/** The stats of each class, indexed by the class's index times the amount of transports plus the transport's ordinal. */
+	private final TrafficStats[] stats = new TrafficStats[TYPES.length * TRANSPORTS];
+
+	/**
+	 * Creates stats for every registered class.
+	 */
+	public MessageTraffic() {
+		for (int i = 0; i < stats.length; i++)
+			stats[i] = new TrafficStats();
+	}
+
+	/**
+	 * Counts a message and any messages it carries.
+	 * @param message the message as it was read or written
+	 * @param transport the transport the message went over
+	 * @param bytes the amount of bytes the message took up
+	 */
+	public void record(Object message, Transport transport, int bytes) {
+		if (message == null)
+			return;
+
+		if (message instanceof EncodedMessage) {
+			record(((EncodedMessage) message).getType(), transport, bytes);
+			return;
+		}
+
+		//the bytes taken up by the messages this one carries
+		int carried = 0;
+
+		if (message instanceof PackedDatagram) {
+			PackedDatagram datagram = (PackedDatagram) message;
+			if (datagram.types != null) {
+				for (int i = datagram.firstType; i < datagram.firstType + datagram.count; i++) {
+					record(datagram.types.get(i), transport, datagram.lengths.get(i));
+					carried += datagram.lengths.get(i);
+				}
+			} else {
+				Array<Object> messages = datagram.getMessages();
+				IntArray lengths = datagram.getMessageLengths();
+				for (int i = 0; i < messages.size; i++) {
+					record(messages.get(i), transport, lengths.get(i));
+					carried += lengths.get(i);
+				}
+			}
+		} else if (message instanceof ReliableMessage) {
+			ReliableMessage reliable = (ReliableMessage) message;
+			if (reliable.message != null) {
+				record(reliable.message, transport, reliable.messageLength);
+				carried = reliable.messageLength;
+			}
+		}
+
+		record(message.getClass(), transport, bytes - carried);
+	}
+
+	/**
+	 * Counts a message, not including any messages it carries.
+	 * @param type the message's class
+	 * @param transport the transport the message went over
+	 * @param bytes the amount of bytes the message took up
+	 */
+	public void record(Class<?> type, Transport transport, int bytes) {
+		TrafficStats typeStats = get(type, transport);
+		if (typeStats != null)
+			typeStats.record(bytes);
+	}
+
+	/**
+	 * @param type the message class
+	 * @param transport the transport
+	 * @return the stats of the class's messages that went over the transport, or null if the class is not registered
+	 */
+	public TrafficStats get(Class<?> type, Transport transport) {
+		int index = INDICES.get(type, -1);
+		return index < 0 ? null : stats[index * TRANSPORTS + transport.ordinal()];
+	}
+
+	/**
+	 * @param type the message class
+	 * @return the amount of messages of the class counted over every transport
+	 */
+	public long getCount(Class<?> type) {
+		long count = 0;
+		for (Transport transport : Transport.values()) {
+			TrafficStats typeStats = get(type, transport);
+			if (typeStats != null)
+				count += typeStats.getCount();
+		}
+		return count;
+	}
+
+	/**
+	 * @return every class that is counted
+	 */
+	public static Class<?>[] getTypes() {
+		return TYPES.clone();
+	}
+
+}
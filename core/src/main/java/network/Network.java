@@ -0,0 +1,385 @@
+package network;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryonet.EndPoint;
+
+import java.util.ArrayList;
+
+/**
+ * This class stores information relevant to both clients and the server.
+ * @author Connor Stewart
+ */
+public class Network {
+
+	/** The width of a multiplayer game. */
+	public static final int GAME_WIDTH = 100;
+	
+	/** The height of a multiplayer game. */
+	public static final float GAME_HEIGHT = 100;
+
+	/** The TCP port the games uses. */
+	public static final int TCP_PORT = 2343;
+
+	/** The UDP port the game uses. */
+	public static final int UDP_PORT = 2344;
+	
+	/** The first registration ID that is not used by Kryo for primitives or by KryoNet for its own messages. */
+	private static final int FIRST_ID = 15;
+
+	/**
+	 * The classes sent over the network with their registration IDs and serializers. <br>
+	 * The IDs are part of the wire format, so an ID must never be reused for a different class. New classes are added
+	 * with the next unused ID, wherever they appear in the list.
+	 */
+	private static final MessageType[] MESSAGE_TYPES = {
+		new MessageType(15, String[].class, null),
+		new MessageType(16, ArrayList.class, null),
+
+		new MessageType(17, AddRoom.class, new MessageSerializers.AddRoomSerializer()),
+		new MessageType(18, RoomUpdate.class, new MessageSerializers.RoomUpdateSerializer()),
+		new MessageType(19, RefreshRooms.class, new MessageSerializers.EmptySerializer<>()),
+		new MessageType(20, JoinRoom.class, new MessageSerializers.JoinRoomSerializer()),
+		new MessageType(21, UpdateNickname.class, new MessageSerializers.UpdateNicknameSerializer()),
+		new MessageType(22, StartGame.class, new MessageSerializers.EmptySerializer<>()),
+		new MessageType(23, KeyInput.class, new MessageSerializers.KeyInputSerializer()),
+		new MessageType(24, MouseInput.class, new MessageSerializers.MouseInputSerializer()),
+		new MessageType(25, AddPlayer.class, new MessageSerializers.AddPlayerSerializer()),
+		new MessageType(26, RemovePlayer.class, new MessageSerializers.RemovePlayerSerializer()),
+		new MessageType(27, RemoveProjectile.class, new MessageSerializers.RemoveProjectileSerializer()),
+		new MessageType(28, UpdateProjectile.class, new MessageSerializers.UpdateProjectileSerializer()),
+		new MessageType(29, UpdatePlayer.class, new MessageSerializers.UpdatePlayerSerializer()),
+		new MessageType(30, MouseMoved.class, new MessageSerializers.MouseMovedSerializer()),
+		new MessageType(31, AddProjectile.class, new MessageSerializers.AddProjectileSerializer()),
+		new MessageType(32, JoinLobby.class, new MessageSerializers.JoinLobbySerializer()),
+		new MessageType(33, RequestGameStart.class, new MessageSerializers.EmptySerializer<>()),
+		new MessageType(34, LeaveLobby.class, new MessageSerializers.EmptySerializer<>()),
+		new MessageType(35, LobbyPlayers.class, new MessageSerializers.LobbyPlayersSerializer()),
+		new MessageType(36, LobbyClosed.class, new MessageSerializers.EmptySerializer<>()),
+		new MessageType(37, ErrorMessage.class, new MessageSerializers.ErrorMessageSerializer()),
+		new MessageType(38, ErrorType.class, new MessageSerializers.EnumSerializer<>(ErrorType.values())),
+		new MessageType(39, PlayerWon.class, new MessageSerializers.PlayerWonSerializer()),
+		new MessageType(40, UploadScore.class, new MessageSerializers.UploadScoreSerializer()),
+		new MessageType(41, ScoreUpdate.class, new MessageSerializers.ScoreUpdateSerializer()),
+		new MessageType(42, ConfirmationMessage.class, new MessageSerializers.ConfirmationMessageSerializer()),
+		new MessageType(43, ConfirmType.class, new MessageSerializers.EnumSerializer<>(ConfirmType.values())),
+		new MessageType(44, RefreshScores.class, new MessageSerializers.EmptySerializer<>()),
+		new MessageType(45, ReliableMessage.class, new MessageSerializers.ReliableMessageSerializer()),
+		new MessageType(46, ReliableAck.class, new MessageSerializers.ReliableAckSerializer()),
+		new MessageType(47, byte[].class, null),
+		new MessageType(48, PackedDatagram.class, new PackedDatagram.PackedSerializer()),
+		new MessageType(49, Fragment.class, new MessageSerializers.FragmentSerializer()),
+		new MessageType(50, TimeProbe.class, new MessageSerializers.TimeProbeSerializer()),
+		new MessageType(51, TimeReply.class, new MessageSerializers.TimeReplySerializer())
+	};
+
+	static {
+		//a repeated ID would silently replace the earlier class
+		for (int i = 0; i < MESSAGE_TYPES.length; i++) {
+			MessageType message = MESSAGE_TYPES[i];
+			boolean repeated = message.id < FIRST_ID;
+
+			for (int j = 0; j < i; j++)
+				repeated |= MESSAGE_TYPES[j].id == message.id;
+
+			if (repeated)
+				throw new IllegalStateException(message.type.getName() + " must have an unused ID of at least " + FIRST_ID + " (was " + message.id + ").");
+		}
+	}
+
+	/**
+	 * This methods registers objects that are going to be sent over the network.
+	 * @param endPoint the endPoint to register the classes to
+	 */
+	public static void register (EndPoint endPoint) {
+		register(endPoint.getKryo());
+	}
+
+	/**
+	 * Registers the objects sent over the network with a Kryo instance that is not attached to an end point.
+	 * @param kryo the Kryo instance to register the classes to
+	 */
+	public static void register(Kryo kryo) {
+		for (MessageType message : MESSAGE_TYPES) {
+			if (message.serializer == null)
+				kryo.register(message.type, message.id);
+			else
+				kryo.register(message.type, message.serializer, message.id);
+		}
+	}
+
+	/**
+	 * @return the classes sent over the network, in the order they are listed
+	 */
+	public static Class<?>[] getRegisteredClasses() {
+		Class<?>[] classes = new Class<?>[MESSAGE_TYPES.length];
+		for (int i = 0; i < classes.length; i++)
+			classes[i] = MESSAGE_TYPES[i].type;
+
+		return classes;
+	}
+
+	/**
+	 * A class sent over the network with the ID and serializer it is registered with.
+	 */
+	private static class MessageType {
+
+		/** The registration ID, written before each object of the class. */
+		private final int id;
+
+		/** The class. */
+		private final Class<?> type;
+
+		/** The serializer for the class, or null to use Kryo's default. */
+		private final Serializer<?> serializer;
+
+		private MessageType(int id, Class<?> type, Serializer<?> serializer) {
+			this.id = id;
+			this.type = type;
+			this.serializer = serializer;
+		}
+
+	}
+
+	//client -> server
+
+	/** A request to add a new room to the server. */
+	public static class AddRoom {
+		/** The rooms name. */
+		public String roomName;
+	}
+
+	/** A request to upload a score to the database. */
+	public static class UploadScore {
+		/** The score to upload. */
+		public int score;
+		/** The nickname of the player who scored the score. */
+		public String name;
+	}
+
+	/** A request to join a room on the server. */
+	public static class JoinRoom {
+		/** The name of the room to join. */
+		public String roomName;
+	}
+
+	/** A request to update this clients nickname. */
+	public static class UpdateNickname {
+		/** The new nickname. */
+		public String nickname;
+	}
+
+	/** A request to join a lobby. */
+	public static class JoinLobby {
+		/** Whether this client is the leader of the lobby. */
+		public boolean leader;
+	}
+
+	/** A request for the servers clock time, see {@link ClockSync}. */
+	public static class TimeProbe {
+		/** The time on the clients clock the probe was sent. */
+		public long clientSent;
+		/** The time from {@link System#nanoTime} the probe was read by the receiver, which is not sent. */
+		public long readAt;
+	}
+
+	/** A notification that the client has pressed a key. */
+	public static class KeyInput {
+		/** The players ID. */
+		public int id;
+		/** The code of the pressed key. */
+		public int keyCode;
+		/** The order the client sent this input in, echoed back in {@link UpdatePlayer#inputSequence}. */
+		public int sequence;
+	}
+
+	/** A notification that the client has pressed a mouse button. */
+	public static class MouseInput {
+		/** The players ID. */
+		public int id;
+		/** The code of the pressed mouse button. */
+		public int buttonCode;
+		/** The order the client sent this input in, echoed back in {@link UpdatePlayer#inputSequence}. */
+		public int sequence;
+	}
+
+	/** A notification that the client has moved their mouse. */
+	public static class MouseMoved {
+		/** The players ID. */
+		public int id;
+		/** The mouses x coordinate within the game. */
+		public float x;
+		/** The mouses y coordinate within the game. */
+		public float y;
+	}
+
+	/** The client is requesting a list of scores. */
+	public static class RefreshScores {}
+
+	/** The client is requesting that their lobby's game is started. */
+	public static class RequestGameStart {}
+
+	/** The client is requesting a new set of available rooms. */
+	public static class RefreshRooms {}
+
+	/** The client is requesting to leave a lobby. */
+	public static class LeaveLobby {}
+
+	//server -> clients
+
+	/** An update containing available rooms to join. */
+	public static class RoomUpdate {
+		/** The names of available rooms. */
+		public String[] roomNames;
+	}
+
+	/** An update containing the scores from the database. */
+	public static class ScoreUpdate {
+		/** The scores from the database. */
+		public ArrayList<Integer> scores;
+		/** The names from the database. */
+		public ArrayList<String> names;
+	}
+
+	/** A reply to a clients {@link TimeProbe}. */
+	public static class TimeReply {
+		/** The time on the clients clock the probe was sent. */
+		public long clientSent;
+		/** The time on the servers clock the probe was received. */
+		public long serverReceived;
+		/** The time on the servers clock the reply was sent. */
+		public long serverSent;
+	}
+
+	/** A notification that a player has won the game. */
+	public static class PlayerWon {
+		/** The ID of the winning player. */
+		public int id;
+	}
+
+	/** An update containing the names of players in a lobby. */
+	public static class LobbyPlayers {
+		/** A list of names of the players in a lobby. */
+		public String[] players;
+	}
+
+	/** An update telling clients to add a player to their game on client-side. */
+	public static class AddPlayer {
+		/** The new players nickname. */
+		public String name;
+
+		/** The new players multiplayer ID. */
+		public int id;
+	}
+
+	/** An update telling clients to add a projectile to their game on client-side. */
+	public static class AddProjectile {
+		/** The ID of the player who fired the projectile. */
+		public int playerID;
+		/** The ID of the projectile. */
+		public int id;
+		/** The type of projectile being fired. */
+		public String type;
+	}
+
+	/** An update telling clients to remove a player from their game on client-side. */
+	public static class RemovePlayer {
+		/** The players multiplayer ID. */
+		public int id;
+	}
+
+	/** An update telling clients to remove a projectile from their game on client-side. */
+	public static class RemoveProjectile {
+		/** The projectiles multiplayer ID. */
+		public int id;
+	}
+
+	/** This update is used to describe the position of a projectile. */
+	public static class UpdateProjectile {
+		/** The multiplayer ID of the projectile that should be updated. */
+		public int id;
+		/** The projectiles x coordinate. */
+		public float x;
+		/** The projectiles y coordinate. */
+		public float y;
+		/** The projectiles rotation. */
+		public double r;
+	}
+
+	/** This update is used to describe the attributes of a player. */
+	public static class UpdatePlayer {
+		/** The multiplayer ID of the player that should be updated. */
+		public int id;
+		/** The players x coordinate. */
+		public float x;
+		/** The players y coordinate. */
+		public float y;
+		/** The players rotation. */
+		public double r;
+		/** The players health. */
+		public double health;
+		/** The amount of kills the player has. */
+		public int kills;
+		/** The sequence number of the latest input from this player that the server has applied. */
+		public int inputSequence;
+		/** The server frame the latest input was applied in. */
+		public int inputTick;
+	}
+
+    /** This class is used to send error messages to clients. */
+	public static class ErrorMessage {
+		/** The type of error. */
+		public ErrorType type;
+		/** The error message. */
+		public String message;
+	}
+
+	/** This class is used to send confirmation messages to the client. */
+	public static class ConfirmationMessage {
+		/** The type of message. */
+		public ConfirmType type;
+	}
+
+	/** The server is telling a client to start a multiplayer client-side game. */
+	public static class StartGame {}
+
+	/** The server is telling a client that their lobby has been closed. */
+	public static class LobbyClosed {}
+
+	//both directions
+
+	/** A message that is sent over UDP until it is acknowledged, see {@link ReliableSender}. */
+	public static class ReliableMessage {
+		/** The order the message was sent in. */
+		public int sequence;
+		/** The message being sent. */
+		public Object message;
+		/** The amount of bytes the message took up when this was last written or read, not sent. */
+		int messageLength;
+	}
+
+	/** An acknowledgement of the reliable messages that have been received, see {@link ReliableReceiver}. */
+	public static class ReliableAck {
+		/** The sequence number of the last message received in order, every message before it has been received. */
+		public int received;
+		/** Bit n is set if the message with the sequence number received + 2 + n has been received. */
+		public int receivedBits;
+	}
+
+	/** Part of a message that is too large for one datagram, see {@link DatagramPacker}. */
+	public static class Fragment {
+		/** The ID of the message this is part of. */
+		public int id;
+		/** The position of this part within the message. */
+		public int index;
+		/** The amount of parts the message was split into. */
+		public int count;
+		/** The bytes holding this part, which may hold other bytes around it. */
+		public byte[] data;
+		/** The index in data of this part's first byte. */
+		public int offset;
+		/** The amount of bytes in this part. */
+		public int length;
+	}
+
+}
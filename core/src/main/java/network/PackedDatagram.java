@@ -0,0 +1,85 @@
+package network;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+
+/**
+ * Several messages sent in a single UDP datagram, see {@link DatagramPacker}. <br>
+ * When sent this holds the messages already serialized one after another, when received it holds the messages.
+ * @author Connor Stewart
+ */
+public class PackedDatagram {
+
+	/** The serialized messages, only used when sending. */
+	byte[] bytes;
+
+	/** The index in bytes of the first serialized message, only used when sending. */
+	int offset;
+
+	/** The amount of bytes the serialized messages take up, only used when sending. */
+	int length;
+
+	/** The amount of serialized messages, only used when sending. */
+	int count;
+
+	/** The class of each message waiting in the packer, only used when sending. */
+	Array<Class<?>> types;
+
+	/** The length of each message waiting in the packer, only used when sending. */
+	IntArray lengths;
+
+	/** The index in types and lengths of the first serialized message, only used when sending. */
+	int firstType;
+
+	/** The messages received, in the order they were packed. */
+	private final Array<Object> messages = new Array<>();
+
+	/** The amount of bytes each message received took up, in the order they were packed. */
+	private final IntArray messageLengths = new IntArray();
+
+	/**
+	 * @return the messages received, in the order they were packed
+	 */
+	public Array<Object> getMessages() {
+		return messages;
+	}
+
+	/**
+	 * @return the amount of bytes each message received took up, in the order they were packed
+	 */
+	public IntArray getMessageLengths() {
+		return messageLengths;
+	}
+
+	/**
+	 * Writes the amount of messages followed by the messages as they were serialized, and reads each message back.
+	 */
+	static class PackedSerializer extends Serializer<PackedDatagram> {
+
+		@Override
+		public void write(Kryo kryo, Output output, PackedDatagram datagram) {
+			output.writeVarInt(datagram.count, true);
+			output.writeBytes(datagram.bytes, datagram.offset, datagram.length);
+		}
+
+		@Override
+		public PackedDatagram read(Kryo kryo, Input input, Class<PackedDatagram> type) {
+			PackedDatagram datagram = MessagePools.obtain(PackedDatagram.class);
+			int count = input.readVarInt(true);
+
+			for (int i = 0; i < count; i++) {
+				int start = input.position();
+				datagram.messages.add(kryo.readClassAndObject(input));
+				datagram.messageLengths.add(input.position() - start);
+			}
+
+			return datagram;
+		}
+
+	}
+
+}
@@ -0,0 +1,91 @@
+package network;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntMap;
+import network.Network.ReliableAck;
+import network.Network.ReliableMessage;
+
+/**
+ * This class puts the messages sent by a {@link ReliableSender} back in order. <br>
+ * Messages that arrive before an earlier message are held until the gap is filled, and duplicates of messages that
+ * have already been delivered are dropped. After each message is received an acknowledgement should be sent back,
+ * it covers every message delivered and each held message up to 32 past them.
+ * @author Connor Stewart
+ */
+public class ReliableReceiver {
+
+	/** The most messages held while waiting for an earlier message, later messages are dropped and resent. */
+	public static final int MAX_HELD = 256;
+
+	/** The sequence number of the next message to deliver. */
+	private int nextSequence;
+
+	/** Messages that arrived before an earlier message, by their sequence number. */
+	private final IntMap<Object> held = new IntMap<>();
+
+	/** The amount of messages received that had already been delivered. */
+	private long duplicates;
+
+	/**
+	 * Receives a message and delivers every message that is now in order.
+	 * @param received the message received
+	 * @param deliver the array to add the messages to deliver to, in the order they were sent
+	 * @return the amount of messages delivered
+	 */
+	public synchronized int receive(ReliableMessage received, Array<Object> deliver) {
+		if (received.sequence < nextSequence || held.containsKey(received.sequence)) {
+			duplicates++;
+			return 0;
+		}
+
+		if (received.sequence > nextSequence) {
+			if (held.size < MAX_HELD)
+				held.put(received.sequence, received.message);
+			return 0;
+		}
+
+		deliver.add(received.message);
+		nextSequence++;
+		int delivered = 1;
+
+		while (held.containsKey(nextSequence)) {
+			deliver.add(held.remove(nextSequence));
+			nextSequence++;
+			delivered++;
+		}
+
+		return delivered;
+	}
+
+	/**
+	 * Fills an acknowledgement for the messages received so far.
+	 * @param ack the acknowledgement to fill
+	 * @return the acknowledgement
+	 */
+	public synchronized ReliableAck acknowledge(ReliableAck ack) {
+		ack.received = nextSequence - 1;
+		ack.receivedBits = 0;
+
+		//the message at nextSequence is missing, so the bits start after it
+		for (int bit = 0; bit < Integer.SIZE && held.size > 0; bit++)
+			if (held.containsKey(nextSequence + 1 + bit))
+				ack.receivedBits |= 1 << bit;
+
+		return ack;
+	}
+
+	/**
+	 * @return the amount of messages held while waiting for an earlier message
+	 */
+	public synchronized int getHeldCount() {
+		return held.size;
+	}
+
+	/**
+	 * @return the amount of messages received that had already been delivered
+	 */
+	public synchronized long getDuplicateCount() {
+		return duplicates;
+	}
+
+}
@@ -0,0 +1,220 @@
+package network;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
+import com.esotericsoftware.kryonet.Connection;
+import network.Network.ReliableAck;
+import network.Network.ReliableMessage;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class sends messages over UDP until the other end acknowledges them. <br>
+ * Each message is given the next sequence number and kept until a {@link ReliableAck} covers it, messages that have
+ * not been acknowledged within the resend interval are sent again. Only the lost messages are resent, so a lost
+ * message never holds up the unreliable messages sent alongside it. A {@link ReliableReceiver} on the other end
+ * delivers the messages in order. The envelope each message is sent in is reused once it has been acknowledged, and a
+ * message taken from {@link MessagePools} is freed then, so a pooled message must only be sent by one sender. A peer that stops
+ * acknowledging would otherwise be resent to forever, so once more than {@link #MAX_PENDING} messages are waiting or
+ * a message has been resent {@link #MAX_RESENDS} times the sender fails: every pending message is dropped, nothing
+ * more is sent and {@link #hasFailed} tells the owner to close the connection.
+ * @author Connor Stewart
+ */
+public class ReliableSender {
+
+	/** The default time in milliseconds to wait for an acknowledgement before resending a message. */
+	public static final long DEFAULT_RESEND_INTERVAL = 100;
+
+	/** The most messages that may wait for an acknowledgement before the peer is given up on. */
+	public static final int MAX_PENDING = 1024;
+
+	/** The most times a message is resent before the peer is given up on, five seconds at the default interval. */
+	public static final int MAX_RESENDS = 50;
+
+	/** The messages that have not been acknowledged, oldest first. */
+	private final Array<Pending> pending = new Array<>();
+
+	/** Reuses the envelopes of acknowledged messages. */
+	private final Pool<Pending> pendingPool = new Pool<Pending>() {
+		@Override
+		protected Pending newObject() {
+			return new Pending();
+		}
+	};
+
+	/** The sequence number given to the next message sent. */
+	private int nextSequence;
+
+	/** The time in nanoseconds to wait for an acknowledgement before resending a message. */
+	private long resendIntervalNanos;
+
+	/** The amount of messages that have been sent, not counting resends. */
+	private long sent;
+
+	/** The amount of messages that have been resent. */
+	private long resent;
+
+	/** Whether the peer stopped acknowledging messages, after which nothing more is sent. */
+	private boolean failed;
+
+	/**
+	 * Creates a sender using the default resend interval.
+	 */
+	public ReliableSender() {
+		this(DEFAULT_RESEND_INTERVAL);
+	}
+
+	/**
+	 * Creates a sender.
+	 * @param resendInterval the time in milliseconds to wait for an acknowledgement before resending a message
+	 */
+	public ReliableSender(long resendInterval) {
+		setResendInterval(resendInterval);
+	}
+
+	/**
+	 * Sends a message that will be resent until it is acknowledged, unless the sender has failed.
+	 * @param connection the connection to send the message on
+	 * @param message the message to send
+	 */
+	public synchronized void send(Connection connection, Object message) {
+		if (failed)
+			return;
+
+		if (pending.size >= MAX_PENDING) {
+			fail();
+			return;
+		}
+
+		Pending toSend = pendingPool.obtain();
+		toSend.message.sequence = nextSequence++;
+		toSend.message.message = message;
+		toSend.sentAt = System.nanoTime();
+
+		pending.add(toSend);
+		sent++;
+		connection.sendUDP(toSend.message);
+	}
+
+	/**
+	 * Resends every message that has not been acknowledged within the resend interval.
+	 * @param connection the connection to resend the messages on
+	 */
+	public synchronized void resend(Connection connection) {
+		long now = System.nanoTime();
+
+		for (int i = 0; i < pending.size; i++) {
+			Pending unacknowledged = pending.get(i);
+			if (now - unacknowledged.sentAt >= resendIntervalNanos) {
+				if (unacknowledged.resends >= MAX_RESENDS) {
+					fail();
+					return;
+				}
+
+				unacknowledged.resends++;
+				unacknowledged.sentAt = now;
+				resent++;
+				connection.sendUDP(unacknowledged.message);
+			}
+		}
+	}
+
+	/**
+	 * Stops sending the messages an acknowledgement covers.
+	 * @param ack the acknowledgement received
+	 */
+	public synchronized void acknowledge(ReliableAck ack) {
+		for (int i = pending.size - 1; i >= 0; i--)
+			if (isAcknowledged(pending.get(i).message.sequence, ack))
+				pendingPool.free(pending.removeIndex(i));
+	}
+
+	/**
+	 * Gives up on the peer, dropping every message waiting for an acknowledgement.
+	 */
+	private void fail() {
+		failed = true;
+
+		for (int i = 0; i < pending.size; i++)
+			pendingPool.free(pending.get(i));
+		pending.clear();
+	}
+
+	/**
+	 * Checks if an acknowledgement covers a message.
+	 * @param sequence the messages sequence number
+	 * @param ack the acknowledgement
+	 * @return whether the message has been received
+	 */
+	static boolean isAcknowledged(int sequence, ReliableAck ack) {
+		if (sequence <= ack.received)
+			return true;
+
+		int bit = sequence - ack.received - 2;
+		return bit >= 0 && bit < Integer.SIZE && (ack.receivedBits & (1 << bit)) != 0;
+	}
+
+	/**
+	 * Sets the time to wait for an acknowledgement before resending a message.
+	 * @param resendInterval the time in milliseconds
+	 */
+	public synchronized void setResendInterval(long resendInterval) {
+		if (resendInterval < 1)
+			throw new IllegalArgumentException("Resend interval must be at least 1ms (was " + resendInterval + ").");
+
+		resendIntervalNanos = TimeUnit.MILLISECONDS.toNanos(resendInterval);
+	}
+
+	/**
+	 * @return whether the peer stopped acknowledging messages, in which case its connection should be closed
+	 */
+	public synchronized boolean hasFailed() {
+		return failed;
+	}
+
+	/**
+	 * @return the amount of messages that have not been acknowledged
+	 */
+	public synchronized int getPendingCount() {
+		return pending.size;
+	}
+
+	/**
+	 * @return the amount of messages that have been sent, not counting resends
+	 */
+	public synchronized long getSentCount() {
+		return sent;
+	}
+
+	/**
+	 * @return the amount of messages that have been resent
+	 */
+	public synchronized long getResentCount() {
+		return resent;
+	}
+
+	/**
+	 * A message waiting to be acknowledged.
+	 */
+	private static class Pending implements Pool.Poolable {
+
+		/** The message as it is sent. */
+		private final ReliableMessage message = new ReliableMessage();
+
+		/** The time in nanoseconds the message was last sent. */
+		private long sentAt;
+
+		/** The amount of times the message has been resent. */
+		private int resends;
+
+		@Override
+		public void reset() {
+			//the message is no longer needed once it has been acknowledged or given up on
+			MessagePools.free(message.message);
+			message.message = null;
+			resends = 0;
+		}
+
+	}
+
+}
@@ -0,0 +1,14 @@
+package network;
+
+/**
+ * The way a message went through a {@link WireSerialization}, relative to the side it was counted on.
+ * @author Connor Stewart
+ */
+public enum TrafficDirection {
+
+	/** The message was read from a connection. */
+	RECEIVED,
+	/** The message was written to a connection. */
+	SENT
+
+}
@@ -0,0 +1,91 @@
+package network;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The amount and total size of a set of messages or packets, with a histogram of their sizes. <br>
+ * Sizes are counted in power of two buckets, bucket n holds the sizes above 2<sup>n-1</sup> bytes up to 2<sup>n</sup>
+ * bytes and the last bucket holds everything larger. It can be counted from any thread without locking.
+ * @author Connor Stewart
+ */
+public class TrafficStats {
+
+	/** The amount of size buckets, the largest bounded bucket holds sizes up to 64KiB. */
+	public static final int BUCKETS = 18;
+
+	/** The amount counted. */
+	private final LongAdder count = new LongAdder();
+
+	/** The total amount of bytes counted. */
+	private final LongAdder bytes = new LongAdder();
+
+	/** The amount counted in each size bucket. */
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+	/**
+	 * Counts a message or packet.
+	 * @param size the amount of bytes it took up
+	 */
+	public void record(int size) {
+		count.increment();
+		bytes.add(size);
+		buckets.incrementAndGet(bucketOf(size));
+	}
+
+	/**
+	 * Adds everything counted by another set of stats to this one.
+	 * @param other the stats to add
+	 */
+	public void merge(TrafficStats other) {
+		count.add(other.getCount());
+		bytes.add(other.getBytes());
+		for (int i = 0; i < BUCKETS; i++)
+			buckets.addAndGet(i, other.getBucketCount(i));
+	}
+
+	/**
+	 * @param size an amount of bytes
+	 * @return the index of the bucket the size is counted in
+	 */
+	static int bucketOf(int size) {
+		if (size <= 1)
+			return 0;
+
+		return Math.min(BUCKETS - 1, 32 - Integer.numberOfLeadingZeros(size - 1));
+	}
+
+	/**
+	 * @param bucket the index of a bucket
+	 * @return the largest size counted in the bucket, or {@link Integer#MAX_VALUE} for the last bucket
+	 */
+	public static int getBucketBound(int bucket) {
+		if (bucket < 0 || bucket >= BUCKETS)
+			throw new IllegalArgumentException("Bucket must be between 0 and " + (BUCKETS - 1) + " (was " + bucket + ").");
+
+		return bucket == BUCKETS - 1 ? Integer.MAX_VALUE : 1 << bucket;
+	}
+
+	/**
+	 * @return the amount counted
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * @return the total amount of bytes counted
+	 */
+	public long getBytes() {
+		return bytes.sum();
+	}
+
+	/**
+	 * @param bucket the index of a bucket
+	 * @return the amount counted in the bucket
+	 */
+	public long getBucketCount(int bucket) {
+		return buckets.get(bucket);
+	}
+
+}
@@ -0,0 +1,14 @@
+package network;
+
+/**
+ * The ways a message can travel between a client and the server.
+ * @author Connor Stewart
+ */
+public enum Transport {
+
+	/** Sent over the connection's TCP socket, ordered and reliable. */
+	TCP,
+	/** Sent in a UDP datagram, which can be lost or arrive out of order. */
+	UDP
+
+}
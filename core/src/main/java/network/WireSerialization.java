@@ -0,0 +1,172 @@
+package network;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryonet.Connection;
+import com.esotericsoftware.kryonet.KryoSerialization;
+import network.Network.ReliableMessage;
+import network.capture.TrafficCapture;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The serialization used for every connection in the game. <br>
+ * This behaves like {@link KryoSerialization} but can also serialize a message ahead of time into an
+ * {@link EncodedMessage}, whose bytes are then copied straight into each connection's buffer.
+ * Every message read and written is counted by class and transport with its size, including the ones packed inside
+ * a {@link PackedDatagram} or {@link ReliableMessage}, and the packets of each tracked connection are counted by
+ * direction and transport, all without locking. KryoNet reads and writes a UDP datagram from the start of its buffer
+ * while a TCP message always comes after its length header, which is how the transport is told apart. Every message
+ * can also be written to a {@link TrafficCapture}.
+ * @author Connor Stewart
+ */
+public class WireSerialization extends KryoSerialization {
+
+	/** The messages read, by class and transport. */
+	private final MessageTraffic received = new MessageTraffic();
+
+	/** The messages written, by class and transport. */
+	private final MessageTraffic sent = new MessageTraffic();
+
+	/** The packets read from and written to each tracked connection. */
+	private final ConcurrentHashMap<Connection, ConnectionTraffic> traffic = new ConcurrentHashMap<>();
+
+	/** The capture every message is written to, null if messages are not being captured. */
+	private volatile TrafficCapture capture;
+
+	public WireSerialization() {
+		//KryoNet's default Kryo settings, references would add an ID before every object and unregistered classes
+		//would be written by name
+		super();
+	}
+
+	@Override
+	public void write(Connection connection, ByteBuffer buffer, Object object) {
+		int start = buffer.position();
+
+		if (object instanceof EncodedMessage) {
+			EncodedMessage encoded = (EncodedMessage) object;
+			buffer.put(encoded.getBytes(), 0, encoded.getLength());
+		} else {
+			super.write(connection, buffer, object);
+		}
+
+		record(TrafficDirection.SENT, connection, object, buffer, start);
+	}
+
+	@Override
+	public Object read(Connection connection, ByteBuffer buffer) {
+		int start = buffer.position();
+		Object message = super.read(connection, buffer);
+		record(TrafficDirection.RECEIVED, connection, message, buffer, start);
+		return message;
+	}
+
+	/**
+	 * Counts a message that has just been read or written and captures it if messages are being captured.
+	 * @param direction whether the message was read or written
+	 * @param connection the connection, null for datagrams from an address that has not connected
+	 * @param message the message, may be null
+	 * @param buffer the buffer the message was read from or written to
+	 * @param start the index in the buffer of the message's first byte
+	 */
+	private void record(TrafficDirection direction, Connection connection, Object message, ByteBuffer buffer, int start) {
+		int bytes = buffer.position() - start;
+		Transport transport = start == 0 ? Transport.UDP : Transport.TCP;
+
+		(direction == TrafficDirection.SENT ? sent : received).record(message, transport, bytes);
+
+		ConnectionTraffic connectionTraffic = trafficOf(connection);
+		if (connectionTraffic != null)
+			connectionTraffic.record(direction, transport, bytes);
+
+		TrafficCapture current = capture;
+		if (current != null)
+			current.record(direction, transport, connection == null ? -1 : connection.getID(), buffer, start, bytes);
+	}
+
+	/**
+	 * Serializes a message, replacing anything previously encoded.
+	 * @param message the message to serialize
+	 * @param into the encoded message to write to
+	 */
+	public synchronized void encode(Object message, EncodedMessage into) {
+		into.getOutput().clear();
+		getKryo().writeClassAndObject(into.getOutput(), message);
+		into.setType(message.getClass());
+	}
+
+	/**
+	 * Reads a message that was serialized by {@link #encode}.
+	 * @param bytes the serialized message
+	 * @param length the amount of bytes the message takes up
+	 * @return the message
+	 */
+	public synchronized Object decode(byte[] bytes, int length) {
+		return getKryo().readClassAndObject(new Input(bytes, 0, length));
+	}
+
+	/**
+	 * Starts counting the packets of a connection.
+	 * @param connection the connection
+	 * @return the connection's traffic
+	 */
+	public ConnectionTraffic track(Connection connection) {
+		return traffic.computeIfAbsent(connection, tracked -> new ConnectionTraffic(tracked.getID()));
+	}
+
+	/**
+	 * @param connection the connection, null for datagrams from an address that has not connected
+	 * @return the connection's traffic, or null if it is not tracked
+	 */
+	private ConnectionTraffic trafficOf(Connection connection) {
+		return connection == null ? null : traffic.get(connection);
+	}
+
+	/**
+	 * Stops counting the packets of a connection.
+	 * @param connection the connection
+	 */
+	public void untrack(Connection connection) {
+		traffic.remove(connection);
+	}
+
+	/**
+	 * @return the traffic of every tracked connection, which can be iterated while connections are tracked and untracked
+	 */
+	public Collection<ConnectionTraffic> getTraffic() {
+		return Collections.unmodifiableCollection(traffic.values());
+	}
+
+	/**
+	 * Starts or stops writing every message read and written to a capture.
+	 * @param capture the capture to write to, or null to stop capturing, the previous capture is not closed
+	 */
+	public void setCapture(TrafficCapture capture) {
+		this.capture = capture;
+	}
+
+	/**
+	 * @return the capture every message is written to, or null if messages are not being captured
+	 */
+	public TrafficCapture getCapture() {
+		return capture;
+	}
+
+	/**
+	 * @return the messages read, by class and transport
+	 */
+	public MessageTraffic getReceived() {
+		return received;
+	}
+
+	/**
+	 * @return the messages written, by class and transport
+	 */
+	public MessageTraffic getSent() {
+		return sent;
+	}
+
+}
@@ -0,0 +1,94 @@
+package network.capture;
+
+import network.Transport;
+import network.TrafficDirection;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+/**
+ * This class reads back the messages in a file written by a {@link TrafficCapture}, one at a time. <br>
+ * The record returned by {@link #next()} is reused for every message, so it has to be copied to be kept.
+ * @author Connor Stewart
+ */
+public class CaptureReader implements Closeable {
+
+	/** Reads from the file. */
+	private final DataInputStream in;
+
+	/** The time in milliseconds since the epoch the capture started. */
+	private final long startTime;
+
+	/** The record reused for every message. */
+	private final CaptureRecord record = new CaptureRecord();
+
+	/**
+	 * Opens a capture file and reads its header.
+	 * @param file the file to read
+	 * @throws IOException if the file could not be read or is not a capture
+	 */
+	public CaptureReader(File file) throws IOException {
+		in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), 65536));
+
+		try {
+			int magic = in.readInt();
+			if (magic != TrafficCapture.MAGIC)
+				throw new IOException(file + " is not a traffic capture (started with " + Integer.toHexString(magic) + ").");
+
+			int version = in.readUnsignedShort();
+			if (version != TrafficCapture.VERSION)
+				throw new IOException(file + " is version " + version + " of the capture format, only version " + TrafficCapture.VERSION + " can be read.");
+
+			startTime = in.readLong();
+		} catch (IOException e) {
+			in.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Reads the next message.
+	 * @return the message, which is overwritten by the next call, or null if there are no more messages
+	 * @throws IOException if the file could not be read or a message was cut short
+	 */
+	public CaptureRecord next() throws IOException {
+		long time;
+		try {
+			time = in.readLong();
+		} catch (EOFException e) {
+			return null;
+		}
+
+		int direction = in.readUnsignedByte();
+		int transport = in.readUnsignedByte();
+		if (direction >= TrafficDirection.values().length || transport >= Transport.values().length)
+			throw new IOException("Capture record has an unknown direction or transport (was " + direction + " and " + transport + ").");
+
+		int connectionID = in.readInt();
+		int length = in.readInt();
+		if (length < 0)
+			throw new IOException("Capture record length must be at least 0 (was " + length + ").");
+
+		record.set(time, TrafficDirection.values()[direction], Transport.values()[transport], connectionID, length);
+		in.readFully(record.getBytes(), 0, length);
+		return record;
+	}
+
+	/**
+	 * @return the time in milliseconds since the epoch the capture started
+	 */
+	public long getStartTime() {
+		return startTime;
+	}
+
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+
+}
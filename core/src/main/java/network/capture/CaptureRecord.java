@@ -0,0 +1,91 @@
+package network.capture;
+
+import network.Transport;
+import network.TrafficDirection;
+
+/**
+ * A message read from a capture file by a {@link CaptureReader}.
+ * @author Connor Stewart
+ */
+public class CaptureRecord {
+
+	/** The nanoseconds between the capture starting and the message being recorded. */
+	private long time;
+
+	/** Whether the message was read or written. */
+	private TrafficDirection direction;
+
+	/** The transport the message went over. */
+	private Transport transport;
+
+	/** The ID of the connection, or -1 if the message came from an address that had not connected. */
+	private int connectionID;
+
+	/** The message's bytes, only the first {@link #length} are part of the message. */
+	private byte[] bytes = new byte[2048];
+
+	/** The amount of bytes the message took up. */
+	private int length;
+
+	/**
+	 * Sets the message this record holds, growing the bytes if they are too small.
+	 * @param time the nanoseconds between the capture starting and the message being recorded
+	 * @param direction whether the message was read or written
+	 * @param transport the transport the message went over
+	 * @param connectionID the ID of the connection
+	 * @param length the amount of bytes the message took up
+	 */
+	void set(long time, TrafficDirection direction, Transport transport, int connectionID, int length) {
+		this.time = time;
+		this.direction = direction;
+		this.transport = transport;
+		this.connectionID = connectionID;
+		this.length = length;
+
+		if (bytes.length < length)
+			bytes = new byte[Math.max(bytes.length * 2, length)];
+	}
+
+	/**
+	 * @return the nanoseconds between the capture starting and the message being recorded
+	 */
+	public long getTime() {
+		return time;
+	}
+
+	/**
+	 * @return whether the message was read or written
+	 */
+	public TrafficDirection getDirection() {
+		return direction;
+	}
+
+	/**
+	 * @return the transport the message went over
+	 */
+	public Transport getTransport() {
+		return transport;
+	}
+
+	/**
+	 * @return the ID of the connection, or -1 if the message came from an address that had not connected
+	 */
+	public int getConnectionID() {
+		return connectionID;
+	}
+
+	/**
+	 * @return the message's bytes, only the first {@link #getLength()} are part of the message
+	 */
+	public byte[] getBytes() {
+		return bytes;
+	}
+
+	/**
+	 * @return the amount of bytes the message took up
+	 */
+	public int getLength() {
+		return length;
+	}
+
+}
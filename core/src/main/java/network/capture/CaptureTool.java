@@ -0,0 +1,261 @@
+package network.capture;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntMap;
+import com.esotericsoftware.kryo.KryoException;
+import com.esotericsoftware.kryonet.Client;
+import com.esotericsoftware.kryonet.FrameworkMessage;
+import network.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class is a command line tool for the files written by a {@link TrafficCapture}. <br>
+ * {@code summarize <file>} prints the messages and bytes of each class read and written, split by transport and
+ * largest first, then each connection's packets and a histogram of the packet sizes. {@code replay <file> [host]
+ * [speed]} connects a client to the server for each connection in the capture and sends the messages that connection
+ * sent, at the times they were captured divided by the speed. A capture made on the server with the shooter.capture
+ * property can be replayed against a local server, KryoNet's own messages are left for the new clients to send.
+ * @author Connor Stewart
+ */
+public class CaptureTool {
+
+	/** The amount of milliseconds to wait for each replayed client to connect. */
+	private static final int CONNECT_TIMEOUT = 5000;
+
+	/** The amount of milliseconds to wait after replaying for the last messages to be sent. */
+	private static final long DRAIN_TIME = 1000;
+
+	private CaptureTool() {}
+
+	/**
+	 * Prints what was sent and received in a capture.
+	 * @param file the capture file
+	 * @throws IOException if the file could not be read
+	 */
+	private static void summarize(File file) throws IOException {
+		WireSerialization serialization = new WireSerialization();
+		Network.register(serialization.getKryo());
+
+		MessageTraffic[] messages = {new MessageTraffic(), new MessageTraffic()};
+		IntMap<ConnectionTraffic> connections = new IntMap<>();
+		long records = 0, undecoded = 0, last = 0;
+		long startTime;
+
+		try (CaptureReader reader = new CaptureReader(file)) {
+			startTime = reader.getStartTime();
+
+			for (CaptureRecord record = reader.next(); record != null; record = reader.next()) {
+				records++;
+				last = record.getTime();
+
+				ConnectionTraffic connection = connections.get(record.getConnectionID());
+				if (connection == null)
+					connections.put(record.getConnectionID(), connection = new ConnectionTraffic(record.getConnectionID()));
+				connection.record(record.getDirection(), record.getTransport(), record.getLength());
+
+				try {
+					Object message = serialization.decode(record.getBytes(), record.getLength());
+					messages[record.getDirection().ordinal()].record(message, record.getTransport(), record.getLength());
+				} catch (KryoException e) {
+					undecoded++;
+				}
+			}
+		}
+
+		double seconds = Math.max(last / 1e9, 1e-9);
+		System.out.printf(Locale.ROOT, "Capture %s started %s, %d messages over %.1f seconds.%n", file, new Date(startTime), records, last / 1e9);
+		if (undecoded > 0)
+			System.out.println(undecoded + " messages could not be decoded, they may be from another version of the game.");
+
+		for (TrafficDirection direction : TrafficDirection.values())
+			printMessages(direction, messages[direction.ordinal()], seconds);
+
+		System.out.println();
+		System.out.println("Connections, -1 is datagrams from addresses that had not connected:");
+		System.out.printf(Locale.ROOT, "  %-10s %-9s %-9s %10s %12s %10s%n", "connection", "direction", "transport", "packets", "bytes", "bytes/s");
+		for (IntMap.Entry<ConnectionTraffic> connection : connections)
+			for (TrafficDirection direction : TrafficDirection.values())
+				for (Transport transport : Transport.values()) {
+					TrafficStats stats = connection.value.get(direction, transport);
+					if (stats.getCount() > 0)
+						System.out.printf(Locale.ROOT, "  %-10d %-9s %-9s %10d %12d %10.1f%n", connection.key, direction, transport,
+								stats.getCount(), stats.getBytes(), stats.getBytes() / seconds);
+				}
+
+		for (TrafficDirection direction : TrafficDirection.values())
+			for (Transport transport : Transport.values()) {
+				TrafficStats total = new TrafficStats();
+				for (ConnectionTraffic connection : connections.values())
+					total.merge(connection.get(direction, transport));
+				printHistogram(direction + " " + transport + " packet sizes:", total);
+			}
+	}
+
+	/**
+	 * Prints the messages of each class that went one way, the classes with the most bytes first.
+	 * @param direction the way the messages went
+	 * @param traffic the messages
+	 * @param seconds the length of the capture in seconds
+	 */
+	private static void printMessages(TrafficDirection direction, MessageTraffic traffic, double seconds) {
+		Array<TrafficStats> rows = new Array<>();
+		Array<String> names = new Array<>();
+
+		for (Class<?> type : MessageTraffic.getTypes())
+			for (Transport transport : Transport.values()) {
+				TrafficStats stats = traffic.get(type, transport);
+				if (stats.getCount() > 0) {
+					rows.add(stats);
+					names.add(type.getSimpleName() + " " + transport);
+				}
+			}
+
+		System.out.println();
+		System.out.println(direction + " messages:");
+		System.out.printf(Locale.ROOT, "  %-28s %10s %12s %8s %10s%n", "class", "messages", "bytes", "mean", "bytes/s");
+
+		//a selection sort keeps the names with their rows, there are only a few dozen
+		for (int i = 0; i < rows.size; i++) {
+			int largest = i;
+			for (int j = i + 1; j < rows.size; j++)
+				if (rows.get(j).getBytes() > rows.get(largest).getBytes())
+					largest = j;
+			rows.swap(i, largest);
+			names.swap(i, largest);
+
+			TrafficStats stats = rows.get(i);
+			System.out.printf(Locale.ROOT, "  %-28s %10d %12d %8.1f %10.1f%n", names.get(i), stats.getCount(), stats.getBytes(),
+					(double) stats.getBytes() / stats.getCount(), stats.getBytes() / seconds);
+		}
+	}
+
+	/**
+	 * Prints the buckets of a histogram of sizes that are not empty.
+	 * @param title the line printed before the buckets
+	 * @param stats the sizes
+	 */
+	private static void printHistogram(String title, TrafficStats stats) {
+		if (stats.getCount() == 0)
+			return;
+
+		System.out.println();
+		System.out.println(title);
+		for (int i = 0; i < TrafficStats.BUCKETS; i++) {
+			long count = stats.getBucketCount(i);
+			if (count == 0)
+				continue;
+
+			String bound = i == TrafficStats.BUCKETS - 1 ? "larger" : "<= " + TrafficStats.getBucketBound(i);
+			System.out.printf(Locale.ROOT, "  %-10s %10d %6.1f%%%n", bound, count, 100.0 * count / stats.getCount());
+		}
+	}
+
+	/**
+	 * Sends the messages each connection in a capture sent to the server again, from new clients.
+	 * @param file the capture file
+	 * @param host the server's address
+	 * @param speed how many times faster than captured to send the messages
+	 * @throws IOException if the file could not be read or a client could not connect
+	 * @throws InterruptedException if interrupted while waiting to send a message
+	 */
+	private static void replay(File file, InetAddress host, double speed) throws IOException, InterruptedException {
+		if (speed <= 0)
+			throw new IllegalArgumentException("Speed must be more than 0 (was " + speed + ").");
+
+		WireSerialization serialization = new WireSerialization();
+		Network.register(serialization.getKryo());
+
+		//connect a client for each connection that sent something before replaying, so connecting does not delay it
+		IntMap<Client> clients = new IntMap<>();
+		try (CaptureReader reader = new CaptureReader(file)) {
+			for (CaptureRecord record = reader.next(); record != null; record = reader.next()) {
+				int id = record.getConnectionID();
+				if (record.getDirection() != TrafficDirection.RECEIVED || id < 0 || clients.containsKey(id))
+					continue;
+
+				Client client = new Client(8192, 2048, serialization);
+				Network.register(client);
+				client.start();
+				client.connect(CONNECT_TIMEOUT, host, Network.TCP_PORT, Network.UDP_PORT);
+				clients.put(id, client);
+			}
+		}
+
+		System.out.println("Replaying " + clients.size + " connections to " + host + " at " + speed + "x speed.");
+
+		EncodedMessage encoded = new EncodedMessage();
+		long sent = 0, skipped = 0, first = -1;
+		long start = System.nanoTime();
+
+		try (CaptureReader reader = new CaptureReader(file)) {
+			for (CaptureRecord record = reader.next(); record != null; record = reader.next()) {
+				Client client = clients.get(record.getConnectionID());
+				if (record.getDirection() != TrafficDirection.RECEIVED || client == null)
+					continue;
+
+				Object message;
+				try {
+					message = serialization.decode(record.getBytes(), record.getLength());
+				} catch (KryoException e) {
+					skipped++;
+					continue;
+				}
+
+				//the new clients register and keep themselves alive
+				if (message instanceof FrameworkMessage) {
+					skipped++;
+					continue;
+				}
+
+				if (first < 0)
+					first = record.getTime();
+				long due = start + (long) ((record.getTime() - first) / speed);
+				long wait = due - System.nanoTime();
+				if (wait > 0)
+					TimeUnit.NANOSECONDS.sleep(wait);
+
+				encoded.set(record.getBytes(), record.getLength(), message.getClass());
+				if (record.getTransport() == Transport.TCP)
+					client.sendTCP(encoded);
+				else
+					client.sendUDP(encoded);
+				sent++;
+			}
+		}
+
+		Thread.sleep(DRAIN_TIME);
+		for (Client client : clients.values())
+			client.stop();
+
+		System.out.printf(Locale.ROOT, "Sent %d messages in %.1f seconds, skipped %d.%n", sent, (System.nanoTime() - start) / 1e9, skipped);
+	}
+
+	/**
+	 * Runs the tool from the command line.
+	 * @param args summarize and a capture file, or replay, a capture file and optionally the server's address and speed
+	 * @throws Exception if the capture could not be read or replayed
+	 */
+	public static void main(String[] args) throws Exception {
+		if (args.length >= 2 && args[0].equals("summarize")) {
+			summarize(new File(args[1]));
+		} else if (args.length >= 2 && args[0].equals("replay")) {
+			InetAddress host = args.length > 2 ? InetAddress.getByName(args[2]) : InetAddress.getLocalHost();
+			double speed = args.length > 3 ? Double.parseDouble(args[3]) : 1;
+			replay(new File(args[1]), host, speed);
+		} else {
+			System.out.println("Usage: CaptureTool summarize <file>");
+			System.out.println("       CaptureTool replay <file> [host] [speed]");
+			System.exit(1);
+		}
+
+		//the replayed clients' threads are not daemons
+		System.exit(0);
+	}
+
+}
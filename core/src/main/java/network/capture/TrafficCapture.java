@@ -0,0 +1,126 @@
+package network.capture;
+
+import backend.logging.GameLog;
+import network.Transport;
+import network.TrafficDirection;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * This class writes every message read or written by a {@link network.WireSerialization} to a file as it was on
+ * the wire. <br>
+ * The file starts with a header of {@link #MAGIC}, {@link #VERSION} and the time in milliseconds since the epoch the
+ * capture started. Each message is then framed by the nanoseconds since the capture started, the direction and
+ * transport ordinals as one byte each, the connection's ID or -1 if it has none, and the length of the message
+ * followed by its bytes, all big endian. The bytes are what Kryo wrote, not including KryoNet's TCP length headers.
+ * Recording copies the message and takes a lock, so a capture is only made when asked for. If the file cannot be
+ * written the failure is reported once and nothing more is recorded. {@link CaptureReader} reads the file back.
+ * @author Connor Stewart
+ */
+public class TrafficCapture implements Closeable {
+
+	/** The first four bytes of a capture file, "SHCP". */
+	public static final int MAGIC = 0x53484350;
+
+	/** The version of the file format written. */
+	public static final int VERSION = 1;
+
+	/** The file being written. */
+	private final File file;
+
+	/** Writes to the file. */
+	private final DataOutputStream out;
+
+	/** The {@link System#nanoTime} the capture started at. */
+	private final long start = System.nanoTime();
+
+	/** A copy of the message being recorded, grows if a message does not fit. */
+	private byte[] copy = new byte[2048];
+
+	/** The amount of messages recorded. */
+	private long recorded;
+
+	/** Whether the file could not be written, nothing is recorded once it is set. */
+	private boolean failed;
+
+	/**
+	 * Creates a capture file and writes its header.
+	 * @param file the file to write, replacing it if it exists
+	 * @throws IOException if the file could not be created
+	 */
+	public TrafficCapture(File file) throws IOException {
+		this.file = file;
+		out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 65536));
+		out.writeInt(MAGIC);
+		out.writeShort(VERSION);
+		out.writeLong(System.currentTimeMillis());
+	}
+
+	/**
+	 * Records a message.
+	 * @param direction whether the message was read or written
+	 * @param transport the transport the message went over
+	 * @param connectionID the ID of the connection, or -1 if the message came from an address that has not connected
+	 * @param buffer the buffer holding the message, its position is not changed
+	 * @param offset the index in the buffer of the message's first byte
+	 * @param length the amount of bytes the message took up
+	 */
+	public synchronized void record(TrafficDirection direction, Transport transport, int connectionID, ByteBuffer buffer, int offset, int length) {
+		if (failed)
+			return;
+
+		try {
+			out.writeLong(System.nanoTime() - start);
+			out.writeByte(direction.ordinal());
+			out.writeByte(transport.ordinal());
+			out.writeInt(connectionID);
+			out.writeInt(length);
+
+			if (buffer.hasArray()) {
+				out.write(buffer.array(), buffer.arrayOffset() + offset, length);
+			} else {
+				if (copy.length < length)
+					copy = new byte[Math.max(copy.length * 2, length)];
+				for (int i = 0; i < length; i++)
+					copy[i] = buffer.get(offset + i);
+				out.write(copy, 0, length);
+			}
+
+			recorded++;
+		} catch (IOException e) {
+			failed = true;
+			GameLog.warn("capture", "Traffic capture to {} failed, no more messages will be recorded: {}", file, e.getMessage());
+		}
+	}
+
+	/**
+	 * @return the amount of messages recorded
+	 */
+	public synchronized long getRecordedCount() {
+		return recorded;
+	}
+
+	/**
+	 * @return the file being written
+	 */
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * Writes any messages still buffered and closes the file, nothing more is recorded.
+	 * @throws IOException if the file could not be written
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		failed = true;
+		out.close();
+	}
+
+}
@@ -0,0 +1,499 @@
+package network.conditioner;
+
+import backend.logging.GameLog;
+import network.Network;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class is a TCP and UDP proxy that makes the link between clients and the server worse in a controlled way. <br>
+ * It listens on its own ports and forwards everything to the server, adding the latency, jitter, loss, reordering
+ * and bandwidth limit of the current {@link LinkProfile}. Each client connection gets its own link, so one client's
+ * traffic does not use another's bandwidth. Clients are pointed at it with the shooter.host, shooter.tcpPort and
+ * shooter.udpPort system properties, see {@link network.client.ClientHandler}. The profile can be changed at any
+ * time, or a script of profiles can be played, so it can be driven by automated tests or run from the command line.
+ * A client's UDP session, its socket to the server and the thread reading the server's replies, is closed once the
+ * client has sent nothing for the session timeout, and every session is closed with the conditioner.
+ * @author Connor Stewart
+ */
+public class LinkConditioner implements Closeable {
+
+	/** The amount added to the servers ports to get the ports the conditioner listens on by default. */
+	public static final int PORT_OFFSET = 1000;
+
+	/** The largest datagram forwarded. */
+	private static final int MAX_DATAGRAM = 65535;
+
+	/** The receive buffer size asked for on each UDP socket, so bursts are not lost before the link drops them. */
+	private static final int SOCKET_BUFFER = 1 << 20;
+
+	/** The default time in milliseconds a UDP session is kept without traffic, well over KryoNet's UDP keep alive. */
+	public static final long DEFAULT_SESSION_TIMEOUT = 60000;
+
+	/** The time in milliseconds in between checking for idle UDP sessions. */
+	private static final long SESSION_SWEEP_INTERVAL = 100;
+
+	/** The port clients connect to over TCP. */
+	private final int tcpPort;
+
+	/** The port clients send datagrams to. */
+	private final int udpPort;
+
+	/** The servers TCP address. */
+	private final InetSocketAddress tcpTarget;
+
+	/** The servers UDP address. */
+	private final InetSocketAddress udpTarget;
+
+	/** The conditions currently applied. */
+	private volatile LinkProfile profile = LinkProfile.PERFECT;
+
+	/** Decides which data is lost, held back and how much jitter it gets. */
+	private final Random random;
+
+	/** Delivers datagrams once their delay has passed, and switches scripted profiles. */
+	private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(daemon("link-conditioner-scheduler"));
+
+	/** The socket clients connect to over TCP. */
+	private ServerSocket tcpListener;
+
+	/** The socket clients send datagrams to. */
+	private DatagramSocket udpListener;
+
+	/** The socket used to forward each clients datagrams to the server, by the clients address. */
+	private final ConcurrentHashMap<SocketAddress, UdpSession> udpSessions = new ConcurrentHashMap<>();
+
+	/** Every socket opened, closed with the conditioner. */
+	private final CopyOnWriteArrayList<Closeable> sockets = new CopyOnWriteArrayList<>();
+
+	/** Whether the conditioner has been closed. */
+	private volatile boolean closed;
+
+	/** The time in nanoseconds a UDP session is kept without traffic from its client. */
+	private volatile long sessionTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_SESSION_TIMEOUT);
+
+	/** The amount of datagrams and TCP reads forwarded. */
+	private final AtomicLong forwarded = new AtomicLong();
+
+	/** The amount of datagrams dropped. */
+	private final AtomicLong dropped = new AtomicLong();
+
+	/**
+	 * Creates a conditioner in front of a server on this machine, listening on the servers ports plus {@link #PORT_OFFSET}.
+	 * @throws IOException if the local host cannot be found
+	 */
+	public LinkConditioner() throws IOException {
+		this(Network.TCP_PORT + PORT_OFFSET, Network.UDP_PORT + PORT_OFFSET,
+				new InetSocketAddress(InetAddress.getLocalHost(), Network.TCP_PORT),
+				new InetSocketAddress(InetAddress.getLocalHost(), Network.UDP_PORT), System.nanoTime());
+	}
+
+	/**
+	 * Creates a conditioner.
+	 * @param tcpPort the port clients connect to over TCP
+	 * @param udpPort the port clients send datagrams to
+	 * @param tcpTarget the servers TCP address
+	 * @param udpTarget the servers UDP address
+	 * @param seed the seed for the random loss, reordering and jitter, so runs can be repeated
+	 */
+	public LinkConditioner(int tcpPort, int udpPort, InetSocketAddress tcpTarget, InetSocketAddress udpTarget, long seed) {
+		this.tcpPort = tcpPort;
+		this.udpPort = udpPort;
+		this.tcpTarget = tcpTarget;
+		this.udpTarget = udpTarget;
+		this.random = new Random(seed);
+	}
+
+	/**
+	 * Starts listening for clients.
+	 * @throws IOException if either port cannot be bound
+	 */
+	public void start() throws IOException {
+		tcpListener = new ServerSocket(tcpPort);
+		udpListener = new DatagramSocket(udpPort);
+		udpListener.setReceiveBufferSize(SOCKET_BUFFER);
+		sockets.add(tcpListener);
+		sockets.add(udpListener);
+
+		daemon("link-conditioner-tcp-accept").newThread(this::acceptTcp).start();
+		daemon("link-conditioner-udp-in").newThread(this::receiveUdp).start();
+		scheduler.scheduleWithFixedDelay(this::expireUdpSessions, SESSION_SWEEP_INTERVAL, SESSION_SWEEP_INTERVAL, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Accepts TCP clients and connects each one to the server.
+	 */
+	private void acceptTcp() {
+		while (!closed) {
+			try {
+				Socket client = tcpListener.accept();
+				client.setTcpNoDelay(true);
+				Socket server = new Socket(tcpTarget.getAddress(), tcpTarget.getPort());
+				server.setTcpNoDelay(true);
+				sockets.add(client);
+				sockets.add(server);
+
+				relayTcp(client, server, "up");
+				relayTcp(server, client, "down");
+			} catch (IOException e) {
+				if (!closed)
+					GameLog.warn("conditioner", "Link conditioner could not connect a client: {}", e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Forwards TCP data from one socket to another through a link.
+	 * @param from the socket to read from
+	 * @param to the socket to write to
+	 * @param direction the name of the direction, used for the thread names
+	 */
+	private void relayTcp(Socket from, Socket to, String direction) {
+		LinkDirection link = new LinkDirection(this);
+		BlockingQueue<Delayed> queue = new LinkedBlockingQueue<>();
+
+		daemon("link-conditioner-tcp-" + direction + "-read").newThread(() -> {
+			byte[] buffer = new byte[16384];
+			try (InputStream in = from.getInputStream()) {
+				int read;
+				while ((read = in.read(buffer)) != -1) {
+					long delay = link.delay(read, true);
+					queue.put(new Delayed(Arrays.copyOf(buffer, read), System.nanoTime() + delay));
+				}
+			} catch (IOException | InterruptedException e) {
+				//the connection has closed
+			}
+			queue.offer(Delayed.END);
+		}).start();
+
+		//a writer per direction keeps the data in order, and a slow reader only holds up its own connection
+		daemon("link-conditioner-tcp-" + direction + "-write").newThread(() -> {
+			try (OutputStream out = to.getOutputStream()) {
+				while (true) {
+					Delayed next = queue.take();
+					if (next == Delayed.END)
+						break;
+
+					long wait = next.arrival - System.nanoTime();
+					if (wait > 0)
+						TimeUnit.NANOSECONDS.sleep(wait);
+
+					out.write(next.data);
+					out.flush();
+					forwarded.incrementAndGet();
+				}
+			} catch (IOException | InterruptedException e) {
+				//the connection has closed
+			}
+			closeQuietly(from);
+			closeQuietly(to);
+			sockets.remove(from);
+			sockets.remove(to);
+		}).start();
+	}
+
+	/**
+	 * Receives datagrams from clients and forwards them to the server.
+	 */
+	private void receiveUdp() {
+		byte[] buffer = new byte[MAX_DATAGRAM];
+
+		while (!closed) {
+			try {
+				DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+				udpListener.receive(packet);
+
+				UdpSession session = udpSessions.get(packet.getSocketAddress());
+				if (session == null) {
+					session = new UdpSession(packet.getSocketAddress());
+					udpSessions.put(packet.getSocketAddress(), session);
+				}
+				session.lastReceived = System.nanoTime();
+
+				byte[] data = Arrays.copyOf(packet.getData(), packet.getLength());
+				UdpSession target = session;
+				sendDelayed(session.up, data, () -> target.socket.send(new DatagramPacket(data, data.length, udpTarget)));
+			} catch (IOException e) {
+				if (!closed)
+					GameLog.warn("conditioner", "Link conditioner could not forward a datagram: {}", e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Closes the UDP sessions whose clients have sent nothing for the session timeout.
+	 */
+	private void expireUdpSessions() {
+		long now = System.nanoTime();
+
+		for (UdpSession session : udpSessions.values())
+			if (now - session.lastReceived > sessionTimeoutNanos && udpSessions.remove(session.client, session))
+				session.close();
+	}
+
+	/**
+	 * Sends a datagram once its link's delay has passed, unless the link drops it.
+	 * @param link the link the datagram is sent over
+	 * @param data the datagram
+	 * @param send sends the datagram
+	 */
+	private void sendDelayed(LinkDirection link, byte[] data, DatagramSend send) {
+		long delay = link.delay(data.length, false);
+		if (delay == LinkDirection.DROPPED) {
+			dropped.incrementAndGet();
+			return;
+		}
+
+		scheduler.schedule(() -> {
+			try {
+				send.send();
+				forwarded.incrementAndGet();
+			} catch (IOException e) {
+				//the socket has closed
+			}
+		}, delay, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Sets the conditions applied to traffic from now on.
+	 * @param profile the conditions
+	 */
+	public void setProfile(LinkProfile profile) {
+		this.profile = profile;
+		GameLog.info("conditioner", "Link conditioner: {}", profile);
+	}
+
+	/**
+	 * Switches between profiles over time, such as {@code lan:10,3g:30,loss5:20}, which applies each profile for
+	 * the given amount of seconds in order. The last profile stays applied.
+	 * @param script comma separated pairs of a profile name and seconds
+	 */
+	public void playScript(String script) {
+		long start = 0;
+
+		for (String step : script.split(",")) {
+			int split = step.lastIndexOf(':');
+			if (split < 0)
+				throw new IllegalArgumentException("Script steps must be profile:seconds (was '" + step + "').");
+
+			LinkProfile stepProfile = LinkProfile.parse(step.substring(0, split));
+			long seconds = Long.parseLong(step.substring(split + 1).trim());
+
+			scheduler.schedule(() -> setProfile(stepProfile), start, TimeUnit.SECONDS);
+			start += seconds;
+		}
+	}
+
+	/**
+	 * Sets how long a client's UDP session is kept without traffic from the client. A client that sends again after
+	 * its session has closed gets a new one, which the server sees as a new address, so the timeout should be longer
+	 * than the client's UDP keep alive.
+	 * @param sessionTimeout the time in milliseconds
+	 */
+	public void setSessionTimeout(long sessionTimeout) {
+		if (sessionTimeout < 1)
+			throw new IllegalArgumentException("Session timeout must be at least 1ms (was " + sessionTimeout + ").");
+
+		sessionTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sessionTimeout);
+	}
+
+	/**
+	 * @return the conditions currently applied
+	 */
+	public LinkProfile getProfile() {
+		return profile;
+	}
+
+	/**
+	 * @return the random used for loss, reordering and jitter, synchronize on it while using it
+	 */
+	Random getRandom() {
+		return random;
+	}
+
+	/**
+	 * @return the amount of datagrams and TCP reads forwarded
+	 */
+	public long getForwardedCount() {
+		return forwarded.get();
+	}
+
+	/**
+	 * @return the amount of datagrams dropped
+	 */
+	public long getDroppedCount() {
+		return dropped.get();
+	}
+
+	/**
+	 * @return the amount of clients with an open UDP session
+	 */
+	public int getSessionCount() {
+		return udpSessions.size();
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+		scheduler.shutdownNow();
+
+		for (UdpSession session : udpSessions.values())
+			session.close();
+		udpSessions.clear();
+
+		for (Closeable socket : sockets)
+			closeQuietly(socket);
+		sockets.clear();
+	}
+
+	/**
+	 * Closes a socket, ignoring any error.
+	 * @param socket the socket to close
+	 */
+	private static void closeQuietly(Closeable socket) {
+		try {
+			socket.close();
+		} catch (IOException e) {
+			//already closed
+		}
+	}
+
+	/**
+	 * Creates daemon threads with a name.
+	 * @param name the threads name
+	 * @return the thread factory
+	 */
+	private static ThreadFactory daemon(String name) {
+		return runnable -> {
+			Thread thread = new Thread(runnable, name);
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	/**
+	 * Runs a conditioner in front of a server on this machine.
+	 * @param args the profile to apply, such as 3g, or a script such as lan:10,3g:30
+	 * @throws Exception if the conditioner cannot start
+	 */
+	public static void main(String[] args) throws Exception {
+		LinkConditioner conditioner = new LinkConditioner();
+		conditioner.start();
+
+		String spec = args.length > 0 ? args[0] : "perfect";
+		if (spec.matches(".*:\\d+.*"))
+			conditioner.playScript(spec);
+		else
+			conditioner.setProfile(LinkProfile.parse(spec));
+
+		System.out.println("Link conditioner listening on TCP " + conditioner.tcpPort + " and UDP " + conditioner.udpPort
+				+ ", start clients with -Dshooter.tcpPort=" + conditioner.tcpPort + " -Dshooter.udpPort=" + conditioner.udpPort);
+
+		Thread.currentThread().join();
+	}
+
+	/**
+	 * Sends a datagram.
+	 */
+	private interface DatagramSend {
+		void send() throws IOException;
+	}
+
+	/**
+	 * TCP data waiting for its delay to pass.
+	 */
+	private static class Delayed {
+
+		/** Marks the end of a connection. */
+		private static final Delayed END = new Delayed(null, 0);
+
+		/** The data. */
+		private final byte[] data;
+
+		/** The time in nanoseconds the data arrives. */
+		private final long arrival;
+
+		private Delayed(byte[] data, long arrival) {
+			this.data = data;
+			this.arrival = arrival;
+		}
+
+	}
+
+	/**
+	 * The socket a single clients datagrams are forwarded to the server from, and its link.
+	 */
+	private class UdpSession {
+
+		/** The clients address. */
+		private final SocketAddress client;
+
+		/** The socket the server sees as the client. */
+		private final DatagramSocket socket;
+
+		/** The time in nanoseconds a datagram was last received from the client. */
+		private volatile long lastReceived = System.nanoTime();
+
+		/** The link from the client to the server. */
+		private final LinkDirection up = new LinkDirection(LinkConditioner.this);
+
+		/** The link from the server to the client. */
+		private final LinkDirection down = new LinkDirection(LinkConditioner.this);
+
+		/**
+		 * Opens a session and starts forwarding the servers replies to the client.
+		 * @param client the clients address
+		 * @throws IOException if the socket cannot be opened
+		 */
+		private UdpSession(SocketAddress client) throws IOException {
+			this.client = client;
+			socket = new DatagramSocket();
+			socket.setReceiveBufferSize(SOCKET_BUFFER);
+
+			daemon("link-conditioner-udp-down").newThread(() -> {
+				byte[] buffer = new byte[MAX_DATAGRAM];
+				while (!closed) {
+					try {
+						DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+						socket.receive(packet);
+
+						byte[] data = Arrays.copyOf(packet.getData(), packet.getLength());
+						sendDelayed(down, data, () -> udpListener.send(new DatagramPacket(data, data.length, client)));
+					} catch (IOException e) {
+						return;
+					}
+				}
+			}).start();
+		}
+
+		/**
+		 * Closes the session's socket, which ends the thread reading the server's replies.
+		 */
+		private void close() {
+			closeQuietly(socket);
+		}
+
+	}
+
+}
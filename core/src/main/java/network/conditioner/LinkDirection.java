@@ -0,0 +1,85 @@
+package network.conditioner;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class works out when data sent one way over a single conditioned link arrives. <br>
+ * The data waits for any earlier data still using the link's bandwidth, then the latency and a random amount of
+ * jitter are added. Datagrams can be dropped or held back, ordered data is never reordered.
+ * @author Connor Stewart
+ */
+class LinkDirection {
+
+	/** The value returned when data is dropped. */
+	static final long DROPPED = -1;
+
+	/** The extra delay in milliseconds given to a datagram that is held back. */
+	private static final int REORDER_DELAY = 50;
+
+	/** The extra delay in milliseconds given to ordered data that would have been lost, a typical retransmission timeout. */
+	private static final int RETRANSMIT_DELAY = 200;
+
+	/** The conditioner this link belongs to. */
+	private final LinkConditioner conditioner;
+
+	/** The time in nanoseconds the link's bandwidth is free again. */
+	private long busyUntil;
+
+	/** The time in nanoseconds the last ordered data arrives. */
+	private long lastArrival;
+
+	/**
+	 * Creates a direction of a link.
+	 * @param conditioner the conditioner the link belongs to
+	 */
+	LinkDirection(LinkConditioner conditioner) {
+		this.conditioner = conditioner;
+	}
+
+	/**
+	 * Works out when data sent now arrives.
+	 * @param bytes the size of the data
+	 * @param ordered whether the data must arrive after everything sent before it, as TCP data does
+	 * @return the delay in nanoseconds until the data arrives, or {@link #DROPPED}
+	 */
+	synchronized long delay(int bytes, boolean ordered) {
+		LinkProfile profile = conditioner.getProfile();
+		Random random = conditioner.getRandom();
+		long now = System.nanoTime();
+
+		boolean lost;
+		boolean heldBack;
+		int jitter;
+		synchronized (random) {
+			lost = random.nextDouble() < profile.getLoss();
+			heldBack = random.nextDouble() < profile.getReorder();
+			jitter = profile.getJitter() == 0 ? 0 : random.nextInt(profile.getJitter() + 1);
+		}
+
+		if (lost && !ordered)
+			return DROPPED;
+
+		long departure = now;
+		if (profile.getBandwidth() > 0) {
+			departure = Math.max(now, busyUntil);
+			busyUntil = departure + TimeUnit.SECONDS.toNanos(bytes) / profile.getBandwidth();
+		}
+
+		long delayMs = profile.getLatency() + jitter;
+		if (ordered && lost)
+			delayMs += RETRANSMIT_DELAY;
+		if (!ordered && heldBack)
+			delayMs += REORDER_DELAY;
+
+		long arrival = departure + TimeUnit.MILLISECONDS.toNanos(delayMs);
+
+		if (ordered) {
+			arrival = Math.max(arrival, lastArrival);
+			lastArrival = arrival;
+		}
+
+		return arrival - now;
+	}
+
+}
@@ -0,0 +1,156 @@
+package network.conditioner;
+
+import java.util.Locale;
+
+/**
+ * This class describes the conditions a {@link LinkConditioner} applies to traffic in each direction. <br>
+ * Profiles can be created directly, looked up by name or parsed from a specification such as
+ * {@code latency=100,jitter=50,loss=0.02,reorder=0.01,bandwidth=96000}.
+ * @author Connor Stewart
+ */
+public class LinkProfile {
+
+	/** A link that passes traffic straight through. */
+	public static final LinkProfile PERFECT = new LinkProfile("perfect", 0, 0, 0, 0, 0);
+
+	/** A local network. */
+	public static final LinkProfile LAN = new LinkProfile("lan", 1, 1, 0, 0, 0);
+
+	/** A typical broadband connection. */
+	public static final LinkProfile BROADBAND = new LinkProfile("broadband", 25, 5, 0.005, 0, 2_500_000);
+
+	/** A 3G mobile connection, slow with noticeable loss and jitter. */
+	public static final LinkProfile THREE_G = new LinkProfile("3g", 150, 50, 0.02, 0.01, 96_000);
+
+	/** A link that loses 5% of datagrams. */
+	public static final LinkProfile LOSS_5 = new LinkProfile("loss5", 0, 0, 0.05, 0, 0);
+
+	/** A link with up to 200ms of jitter. */
+	public static final LinkProfile JITTER_200 = new LinkProfile("jitter200", 50, 200, 0, 0, 0);
+
+	/** Every named profile. */
+	private static final LinkProfile[] PRESETS = { PERFECT, LAN, BROADBAND, THREE_G, LOSS_5, JITTER_200 };
+
+	/** The profiles name. */
+	private final String name;
+
+	/** The delay in milliseconds added to everything sent. */
+	private final int latency;
+
+	/** The most random delay in milliseconds added on top of the latency. */
+	private final int jitter;
+
+	/** The fraction of datagrams dropped, TCP data is delayed as if it had been retransmitted instead. */
+	private final double loss;
+
+	/** The fraction of datagrams held back so they arrive after later ones. */
+	private final double reorder;
+
+	/** The most bytes per second sent in each direction, zero for no limit. */
+	private final int bandwidth;
+
+	/**
+	 * Creates a profile.
+	 * @param name the profiles name
+	 * @param latency the delay in milliseconds added to everything sent
+	 * @param jitter the most random delay in milliseconds added on top of the latency
+	 * @param loss the fraction of datagrams dropped
+	 * @param reorder the fraction of datagrams held back so they arrive after later ones
+	 * @param bandwidth the most bytes per second sent in each direction, zero for no limit
+	 */
+	public LinkProfile(String name, int latency, int jitter, double loss, double reorder, int bandwidth) {
+		if (latency < 0 || jitter < 0 || bandwidth < 0)
+			throw new IllegalArgumentException("Latency, jitter and bandwidth cannot be negative.");
+
+		if (loss < 0 || loss > 1 || reorder < 0 || reorder > 1)
+			throw new IllegalArgumentException("Loss and reorder must be between 0 and 1.");
+
+		this.name = name;
+		this.latency = latency;
+		this.jitter = jitter;
+		this.loss = loss;
+		this.reorder = reorder;
+		this.bandwidth = bandwidth;
+	}
+
+	/**
+	 * Gets a profile by name or parses a specification.
+	 * @param spec the name of a preset, or comma separated key=value pairs for latency, jitter, loss, reorder and
+	 *             bandwidth, any missing value is zero
+	 * @return the profile
+	 */
+	public static LinkProfile parse(String spec) {
+		for (LinkProfile preset : PRESETS)
+			if (preset.name.equalsIgnoreCase(spec.trim()))
+				return preset;
+
+		int latency = 0, jitter = 0, bandwidth = 0;
+		double loss = 0, reorder = 0;
+
+		for (String pair : spec.split(",")) {
+			String[] parts = pair.split("=");
+			if (parts.length != 2)
+				throw new IllegalArgumentException("Unknown link profile '" + spec + "'.");
+
+			String value = parts[1].trim();
+			switch (parts[0].trim().toLowerCase(Locale.ROOT)) {
+				case "latency": latency = Integer.parseInt(value); break;
+				case "jitter": jitter = Integer.parseInt(value); break;
+				case "loss": loss = Double.parseDouble(value); break;
+				case "reorder": reorder = Double.parseDouble(value); break;
+				case "bandwidth": bandwidth = Integer.parseInt(value); break;
+				default: throw new IllegalArgumentException("Unknown link profile setting '" + parts[0] + "'.");
+			}
+		}
+
+		return new LinkProfile(spec, latency, jitter, loss, reorder, bandwidth);
+	}
+
+	/**
+	 * @return the profiles name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return the delay in milliseconds added to everything sent
+	 */
+	public int getLatency() {
+		return latency;
+	}
+
+	/**
+	 * @return the most random delay in milliseconds added on top of the latency
+	 */
+	public int getJitter() {
+		return jitter;
+	}
+
+	/**
+	 * @return the fraction of datagrams dropped
+	 */
+	public double getLoss() {
+		return loss;
+	}
+
+	/**
+	 * @return the fraction of datagrams held back so they arrive after later ones
+	 */
+	public double getReorder() {
+		return reorder;
+	}
+
+	/**
+	 * @return the most bytes per second sent in each direction, zero for no limit
+	 */
+	public int getBandwidth() {
+		return bandwidth;
+	}
+
+	@Override
+	public String toString() {
+		return name + " (latency " + latency + "ms, jitter " + jitter + "ms, loss " + loss + ", reorder " + reorder + ", bandwidth " + (bandwidth == 0 ? "unlimited" : bandwidth + "B/s") + ")";
+	}
+
+}
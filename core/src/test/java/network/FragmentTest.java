@@ -0,0 +1,208 @@
+package network;
+
+import com.badlogic.gdx.utils.Array;
+import com.esotericsoftware.kryonet.Connection;
+import network.Network.Fragment;
+import network.Network.RoomUpdate;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that {@link DatagramPacker} splits a message too large for one datagram into {@link Fragment}s and that
+ * {@link FragmentAssembler} joins them back whatever order they arrive in, ignores duplicates, waits for missing ones
+ * and drops fragments whose header could not have been sent.
+ * @author Connor Stewart
+ */
+class FragmentTest {
+
+	/** The MTU the message is split at. */
+	private static final int MTU = 256;
+
+	/** The serialization fragments are written and read with, as they would be on the wire. */
+	private final WireSerialization serialization = new WireSerialization();
+
+	FragmentTest() {
+		Network.register(serialization.getKryo());
+	}
+
+	@Test
+	void aLargeMessageIsSplitWithinTheMtu() {
+		Array<Fragment> fragments = split(largeMessage());
+
+		assertTrue(fragments.size > 1, "the message was not split");
+		for (int i = 0; i < fragments.size; i++) {
+			assertEquals(i, fragments.get(i).index);
+			assertEquals(fragments.size, fragments.get(i).count);
+			assertTrue(fragments.get(i).length < MTU, "fragment " + i + " is larger than the MTU");
+		}
+	}
+
+	@Test
+	void fragmentsOutOfOrderAreJoined() {
+		Array<Fragment> fragments = split(largeMessage());
+		FragmentAssembler assembler = new FragmentAssembler(serialization);
+
+		Object joined = null;
+		for (int i = fragments.size - 1; i >= 0; i--) {
+			assertNull(joined, "the message was joined before every fragment arrived");
+			joined = assembler.add(fragments.get(i));
+		}
+
+		assertMessage(joined);
+	}
+
+	@Test
+	void duplicatesAreIgnored() {
+		Array<Fragment> fragments = split(largeMessage());
+		FragmentAssembler assembler = new FragmentAssembler(serialization);
+
+		for (int i = 0; i < fragments.size - 1; i++) {
+			assertNull(assembler.add(fragments.get(i)));
+			assertNull(assembler.add(fragments.get(i)));
+		}
+
+		assertMessage(assembler.add(fragments.peek()));
+		//the message has been completed, so a late duplicate starts a new message rather than completing it again
+		assertNull(assembler.add(fragments.get(0)));
+	}
+
+	@Test
+	void aMissingFragmentLeavesTheMessageIncomplete() {
+		Array<Fragment> fragments = split(largeMessage());
+		FragmentAssembler assembler = new FragmentAssembler(serialization);
+
+		for (int i = 1; i < fragments.size; i++)
+			assertNull(assembler.add(fragments.get(i)));
+
+		assertMessage(assembler.add(fragments.get(0)));
+	}
+
+	@Test
+	void onlyMaxIncompleteMessagesAreKept() {
+		FragmentAssembler assembler = new FragmentAssembler(serialization);
+		Array<Fragment> first = split(largeMessage());
+
+		assertNull(assembler.add(first.get(0)));
+		for (int id = 1; id <= FragmentAssembler.MAX_INCOMPLETE; id++)
+			assertNull(assembler.add(fragment(1000 + id, 0, 2, new byte[1])));
+
+		assertEquals(1, assembler.getDiscardedCount());
+		for (int i = 1; i < first.size; i++)
+			assertNull(assembler.add(first.get(i)), "the discarded message was completed");
+	}
+
+	@Test
+	void impossibleFragmentsAreDropped() {
+		FragmentAssembler assembler = new FragmentAssembler(serialization);
+
+		assertNull(assembler.add(fragment(0, 0, Integer.MAX_VALUE, new byte[1])));
+		assertNull(assembler.add(fragment(0, 0, DatagramPacker.MAX_FRAGMENTS + 1, new byte[1])));
+		assertNull(assembler.add(fragment(0, 0, 0, new byte[1])));
+		assertNull(assembler.add(fragment(0, 2, 2, new byte[1])));
+		assertNull(assembler.add(fragment(0, 0, 2, null)));
+
+		//none were kept, so a whole message afterwards is not crowded out
+		assertEquals(0, assembler.getDiscardedCount());
+	}
+
+	@Test
+	void fragmentsAddingUpToMoreThanTheLargestMessageAreDiscarded() {
+		FragmentAssembler assembler = new FragmentAssembler(serialization);
+		byte[] part = new byte[DatagramPacker.MAX_MESSAGE_SIZE / 2 + 1];
+
+		assertNull(assembler.add(fragment(0, 0, 3, part)));
+		assertNull(assembler.add(fragment(0, 1, 3, part)));
+		assertEquals(1, assembler.getDiscardedCount());
+	}
+
+	@Test
+	void tooLargeAMessageIsRejected() {
+		EncodedMessage message = new EncodedMessage();
+		message.set(new byte[DatagramPacker.MAX_MESSAGE_SIZE + 1], DatagramPacker.MAX_MESSAGE_SIZE + 1, RoomUpdate.class);
+
+		assertThrows(IllegalArgumentException.class, () -> new DatagramPacker().add(message));
+	}
+
+	/**
+	 * @return a message several datagrams long
+	 */
+	private static RoomUpdate largeMessage() {
+		RoomUpdate update = new RoomUpdate();
+		update.roomNames = new String[100];
+		for (int i = 0; i < update.roomNames.length; i++)
+			update.roomNames[i] = "room number " + i;
+		return update;
+	}
+
+	/**
+	 * Checks a message is the one from {@link #largeMessage}.
+	 * @param message the message joined
+	 */
+	private static void assertMessage(Object message) {
+		assertNotNull(message, "the message was not joined");
+		assertArrayEquals(largeMessage().roomNames, ((RoomUpdate) message).roomNames);
+	}
+
+	/**
+	 * Splits a message into the fragments a receiver would read.
+	 * @param message the message to split
+	 * @return the fragments, in the order they were sent
+	 */
+	private Array<Fragment> split(Object message) {
+		EncodedMessage encoded = new EncodedMessage();
+		serialization.encode(message, encoded);
+
+		WireConnection connection = new WireConnection();
+		DatagramPacker packer = new DatagramPacker(MTU);
+		packer.add(encoded);
+		assertEquals(packer.flush(connection), connection.received.size);
+
+		return connection.received;
+	}
+
+	/**
+	 * @param id the ID of the message the fragment is part of
+	 * @param index the fragment's position in the message
+	 * @param count the amount of fragments in the message
+	 * @param data the fragment's bytes
+	 * @return a fragment
+	 */
+	private static Fragment fragment(int id, int index, int count, byte[] data) {
+		Fragment fragment = new Fragment();
+		fragment.id = id;
+		fragment.index = index;
+		fragment.count = count;
+		fragment.data = data;
+		fragment.length = data == null ? 0 : data.length;
+		return fragment;
+	}
+
+	/**
+	 * A connection that writes each fragment it is sent to a buffer and reads it back, as the receiver would.
+	 */
+	private class WireConnection extends Connection {
+
+		/** The fragments read back. */
+		private final Array<Fragment> received = new Array<>();
+
+		/** The buffer each fragment is written to, the size of KryoNet's UDP buffers. */
+		private final ByteBuffer buffer = ByteBuffer.allocate(DatagramPacker.MAX_MTU);
+
+		@Override
+		public int sendUDP(Object object) {
+			buffer.clear();
+			serialization.write(this, buffer, object);
+			int written = buffer.position();
+			assertTrue(written <= MTU, "a datagram of " + written + " bytes is larger than the MTU");
+
+			buffer.flip();
+			received.add((Fragment) serialization.read(this, buffer));
+			return written;
+		}
+
+	}
+
+}
@@ -0,0 +1,117 @@
+package network;
+
+import com.esotericsoftware.kryonet.FrameworkMessage;
+import network.Network.AddProjectile;
+import network.Network.KeyInput;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that {@link MessageDispatcher} gives each message class a single owner, counts what it cannot route and
+ * returns pooled messages to {@link MessagePools} only once they are no longer needed.
+ * @author Connor Stewart
+ */
+class MessageDispatcherTest {
+
+	@Test
+	void aSecondHandlerReplacesTheFirst() {
+		MessageDispatcher dispatcher = new MessageDispatcher();
+		Object first = new Object(), second = new Object();
+		List<String> handled = new ArrayList<>();
+
+		dispatcher.setHandler(first, AddProjectile.class, (connection, message) -> handled.add("first"));
+		dispatcher.setHandler(second, AddProjectile.class, (connection, message) -> handled.add("second"));
+
+		assertTrue(dispatcher.dispatch(null, new AddProjectile()));
+		assertEquals(1, handled.size());
+		assertEquals("second", handled.get(0));
+
+		//the replaced owner no longer owns the class, so removing its handlers leaves the new owner alone
+		dispatcher.removeHandlers(first);
+		assertTrue(dispatcher.dispatch(null, new AddProjectile()));
+		assertEquals("second", handled.get(1));
+
+		dispatcher.removeHandlers(second);
+		assertFalse(dispatcher.dispatch(null, new AddProjectile()));
+		assertEquals(2, handled.size());
+		assertEquals(1, dispatcher.getUnhandledCount(AddProjectile.class));
+	}
+
+	@Test
+	void unregisteredHandlersAreRejected() {
+		MessageDispatcher dispatcher = new MessageDispatcher();
+
+		assertThrows(IllegalArgumentException.class,
+				() -> dispatcher.setHandler(this, String.class, (connection, message) -> {}));
+	}
+
+	@Test
+	void unknownClassesAreCounted() {
+		MessageDispatcher dispatcher = new MessageDispatcher();
+
+		assertFalse(dispatcher.dispatch(null, "not a message"));
+		assertFalse(dispatcher.dispatch(null, new Object()));
+		assertEquals(2, dispatcher.getUnknownCount());
+
+		//kryonet's own messages are not game messages
+		assertFalse(dispatcher.dispatch(null, FrameworkMessage.keepAlive));
+		assertEquals(2, dispatcher.getUnknownCount());
+		assertEquals(0, dispatcher.getUnhandledCount());
+	}
+
+	@Test
+	void unhandledMessagesAreQueuedAndNotFreed() {
+		MessageQueue queue = new MessageQueue();
+		MessageDispatcher dispatcher = new MessageDispatcher(queue);
+
+		KeyInput input = MessagePools.obtain(KeyInput.class);
+		input.keyCode = 51;
+
+		assertFalse(dispatcher.dispatch(null, input));
+		assertEquals(1, dispatcher.getUnhandledCount(KeyInput.class));
+		assertEquals(1, dispatcher.getUnhandledCount());
+		assertSame(input, queue.pollLatest(KeyInput.class).getMessage());
+
+		//the queued message is still in use, so the pool must hand out a different one
+		KeyInput next = MessagePools.obtain(KeyInput.class);
+		assertNotSame(input, next);
+		assertEquals(51, input.keyCode);
+		MessagePools.free(next);
+	}
+
+	@Test
+	void unhandledMessagesAreFreedWithoutAQueue() {
+		MessageDispatcher dispatcher = new MessageDispatcher();
+
+		KeyInput input = MessagePools.obtain(KeyInput.class);
+		assertFalse(dispatcher.dispatch(null, input));
+
+		KeyInput next = MessagePools.obtain(KeyInput.class);
+		assertSame(input, next);
+		MessagePools.free(next);
+	}
+
+	@Test
+	void pooledMessagesAreFreedAfterTheirHandlerReturns() {
+		MessageDispatcher dispatcher = new MessageDispatcher();
+		KeyInput input = MessagePools.obtain(KeyInput.class);
+
+		dispatcher.setHandler(this, KeyInput.class, (connection, message) -> {
+			assertSame(input, message);
+			//the message is not back in its pool while the handler is still using it
+			KeyInput during = MessagePools.obtain(KeyInput.class);
+			assertNotSame(message, during);
+			MessagePools.free(during);
+		});
+		assertTrue(dispatcher.dispatch(null, input));
+
+		KeyInput next = MessagePools.obtain(KeyInput.class);
+		assertSame(input, next);
+		MessagePools.free(next);
+	}
+
+}
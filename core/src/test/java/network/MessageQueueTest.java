@@ -0,0 +1,220 @@
+package network;
+
+import com.badlogic.gdx.utils.Array;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests {@link MessageQueue} with producer threads storing messages, as the KryoNet thread does, while a consumer
+ * polls and drains them, as the render thread does.
+ * @author Connor Stewart
+ */
+class MessageQueueTest {
+
+    /** The amount of producer threads. */
+    private static final int PRODUCERS = 4;
+
+    /** The amount of messages each producer stores. */
+    private static final int PER_PRODUCER = 20000;
+
+    /** A message stored by a producer. */
+    private static class Sent {
+        /** The producer that stored the message. */
+        final int producer;
+        /** The order the producer stored the message in. */
+        final int sequence;
+
+        Sent(int producer, int sequence) {
+            this.producer = producer;
+            this.sequence = sequence;
+        }
+    }
+
+    /** A message of a second class, kept in its own ring. */
+    private static class Other extends Sent {
+        Other(int producer, int sequence) {
+            super(producer, sequence);
+        }
+    }
+
+    @Test
+    void nothingIsLostBelowCapacity() throws InterruptedException {
+        MessageQueue queue = new MessageQueue();
+        queue.setCapacity(Sent.class, PRODUCERS * PER_PRODUCER);
+
+        Array<Message> drained = new Array<>();
+        runProducers(queue, () -> queue.drain(Sent.class, drained), null);
+        queue.drain(Sent.class, drained);
+
+        assertEquals(PRODUCERS * PER_PRODUCER, drained.size);
+        assertEquals(0, queue.getEvictedCount(Sent.class));
+        assertUniqueAndOrdered(drained);
+    }
+
+    @Test
+    void evictionsMatchTheOverflow() throws InterruptedException {
+        MessageQueue queue = new MessageQueue();
+        queue.setCapacity(Sent.class, 64);
+
+        runProducers(queue, () -> {}, null);
+
+        Array<Message> drained = new Array<>();
+        queue.drain(Sent.class, drained);
+
+        assertEquals(64, drained.size);
+        assertEquals(PRODUCERS * PER_PRODUCER - 64, queue.getEvictedCount(Sent.class));
+        assertUniqueAndOrdered(drained);
+    }
+
+    @Test
+    void drainedAndEvictedAccountForEveryMessage() throws InterruptedException {
+        MessageQueue queue = new MessageQueue();
+        queue.setCapacity(Sent.class, 16);
+
+        Array<Message> drained = new Array<>();
+        runProducers(queue, () -> queue.drain(Sent.class, drained), null);
+        queue.drain(Sent.class, drained);
+
+        assertEquals(PRODUCERS * PER_PRODUCER, drained.size + queue.getEvictedCount(Sent.class));
+        assertUniqueAndOrdered(drained);
+    }
+
+    @Test
+    void latestIsAlwaysTheNewest() throws InterruptedException {
+        MessageQueue queue = new MessageQueue();
+
+        //one producer per class, so the newest of each class is well defined
+        Thread first = new Thread(() -> {
+            for (int i = 0; i < PER_PRODUCER; i++)
+                queue.store(new Message(new Sent(0, i)));
+        });
+        Thread second = new Thread(() -> {
+            for (int i = 0; i < PER_PRODUCER; i++)
+                queue.store(new Message(new Other(1, i)));
+        });
+        first.start();
+        second.start();
+
+        int lastSent = -1, lastOther = -1;
+        while (first.isAlive() || second.isAlive()) {
+            Message latest = queue.getLatest(Sent.class);
+            if (latest != null) {
+                int sequence = ((Sent) latest.getMessage()).sequence;
+                assertTrue(sequence >= lastSent, "latest went back from " + lastSent + " to " + sequence);
+                lastSent = sequence;
+            }
+
+            Message polled = queue.pollLatest(Other.class);
+            if (polled != null) {
+                int sequence = ((Sent) polled.getMessage()).sequence;
+                assertTrue(sequence > lastOther, "polled " + sequence + " after " + lastOther);
+                lastOther = sequence;
+            }
+        }
+        first.join();
+        second.join();
+
+        assertEquals(PER_PRODUCER - 1, ((Sent) queue.getLatest(Sent.class).getMessage()).sequence);
+        Message last = queue.pollLatest(Other.class);
+        if (last != null)
+            assertEquals(PER_PRODUCER - 1, ((Sent) last.getMessage()).sequence);
+        else
+            assertEquals(PER_PRODUCER - 1, lastOther);
+        assertNull(queue.pollLatest(Other.class));
+        assertFalse(queue.haveReceived(Other.class));
+    }
+
+    @Test
+    void resizingUnderContentionNeitherLosesNorDuplicates() throws InterruptedException {
+        MessageQueue queue = new MessageQueue();
+        queue.setCapacity(Sent.class, 8);
+
+        Array<Message> drained = new Array<>();
+        int[] resizes = {0};
+        //the producers wait halfway until the ring has been both grown and shrunk, so it is always resized under them
+        CountDownLatch resized = new CountDownLatch(2);
+        runProducers(queue, () -> {
+            //grow and shrink the ring while the producers are adding to it
+            queue.setCapacity(Sent.class, resizes[0]++ % 2 == 0 ? 4096 : 8);
+            queue.drain(Sent.class, drained);
+            resized.countDown();
+        }, resized);
+        queue.drain(Sent.class, drained);
+
+        assertTrue(resizes[0] > 1, "the ring was never resized");
+        assertEquals(PRODUCERS * PER_PRODUCER, drained.size + queue.getEvictedCount(Sent.class));
+        assertUniqueAndOrdered(drained);
+    }
+
+    @Test
+    void resizingKeepsTheNewestAndCountsTheRest() {
+        MessageRing ring = new MessageRing(8);
+        for (int i = 0; i < 8; i++)
+            ring.add(new Message(new Sent(0, i)));
+
+        ring.resize(3);
+
+        Array<Message> drained = new Array<>();
+        assertEquals(3, ring.drain(drained));
+        assertEquals(5, ring.getEvicted());
+        for (int i = 0; i < 3; i++)
+            assertEquals(5 + i, ((Sent) drained.get(i).getMessage()).sequence);
+    }
+
+    /**
+     * Stores messages from every producer at once, running a consumer on this thread until they have finished.
+     * @param queue the queue to store into
+     * @param consumer run repeatedly while the producers are storing
+     * @param halfway waited on by each producer once it has stored half its messages, may be null
+     * @throws InterruptedException if interrupted while waiting for the producers
+     */
+    private static void runProducers(MessageQueue queue, Runnable consumer, CountDownLatch halfway) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(PRODUCERS);
+
+        for (int p = 0; p < PRODUCERS; p++) {
+            int producer = p;
+            new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < PER_PRODUCER; i++) {
+                        if (i == PER_PRODUCER / 2 && halfway != null)
+                            halfway.await();
+                        queue.store(new Message(new Sent(producer, i)));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    finished.countDown();
+                }
+            }).start();
+        }
+
+        start.countDown();
+        while (finished.getCount() > 0)
+            consumer.run();
+    }
+
+    /**
+     * Checks no message was taken twice and each producer's messages were taken in the order they were stored.
+     * @param drained the messages taken, in the order they were taken
+     */
+    private static void assertUniqueAndOrdered(Array<Message> drained) {
+        IdentityHashMap<Object, Boolean> seen = new IdentityHashMap<>();
+        int[] last = new int[PRODUCERS];
+        Arrays.fill(last, -1);
+
+        for (Message message : drained) {
+            Sent sent = (Sent) message.getMessage();
+            assertNull(seen.put(sent, Boolean.TRUE), "a message was taken twice");
+            assertTrue(sent.sequence > last[sent.producer], "producer " + sent.producer + " was taken out of order");
+            last[sent.producer] = sent.sequence;
+        }
+    }
+
+}
@@ -0,0 +1,175 @@
+package network;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import network.Network.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the wire format in {@link Network} and {@link MessageSerializers}, so a change to a registration ID or to
+ * what a serializer writes fails here rather than between a client and server built at different times.
+ * @author Connor Stewart
+ */
+class NetworkWireFormatTest {
+
+	/** Every class sent over the network, in the order of their registration IDs from 15. */
+	private static final Class<?>[] REGISTERED = {
+		String[].class, ArrayList.class, AddRoom.class, RoomUpdate.class, RefreshRooms.class, JoinRoom.class,
+		UpdateNickname.class, StartGame.class, KeyInput.class, MouseInput.class, AddPlayer.class, RemovePlayer.class,
+		RemoveProjectile.class, UpdateProjectile.class, UpdatePlayer.class, MouseMoved.class, AddProjectile.class,
+		JoinLobby.class, RequestGameStart.class, LeaveLobby.class, LobbyPlayers.class, LobbyClosed.class,
+		ErrorMessage.class, ErrorType.class, PlayerWon.class, UploadScore.class, ScoreUpdate.class,
+		ConfirmationMessage.class, ConfirmType.class, RefreshScores.class, ReliableMessage.class, ReliableAck.class,
+		byte[].class, PackedDatagram.class, Fragment.class, TimeProbe.class, TimeReply.class
+	};
+
+	@Test
+	void registrationIdsAreFixed() {
+		Kryo kryo = newKryo();
+
+		for (int i = 0; i < REGISTERED.length; i++)
+			assertEquals(15 + i, kryo.getRegistration(REGISTERED[i]).getId(), REGISTERED[i].getName());
+
+		assertArrayEquals(REGISTERED, Network.getRegisteredClasses());
+	}
+
+	@Test
+	void inputIsWrittenAsVarInts() {
+		KeyInput key = new KeyInput();
+		key.id = 3;
+		key.keyCode = 51;
+		key.sequence = 300;
+
+		//the class ID is written as the registration ID plus two
+		assertBytes(key, 25, 3, 51, 0xAC, 0x02);
+
+		MouseInput mouse = new MouseInput();
+		mouse.id = 3;
+		mouse.buttonCode = 1;
+		mouse.sequence = 7;
+
+		assertBytes(mouse, 26, 3, 1, 7);
+	}
+
+	@Test
+	void projectileTypesAreWrittenAsByteCodes() {
+		AddProjectile light = new AddProjectile();
+		light.playerID = 2;
+		light.id = 7;
+		light.type = "Light";
+
+		AddProjectile heavy = new AddProjectile();
+		heavy.playerID = 2;
+		heavy.id = 130;
+		heavy.type = "Heavy";
+
+		AddProjectile none = new AddProjectile();
+		none.playerID = 0;
+		none.id = 1;
+
+		assertBytes(light, 33, 2, 7, 1);
+		assertBytes(heavy, 33, 2, 0x82, 0x01, 2);
+		assertBytes(none, 33, 0, 1, 0);
+
+		assertEquals("Heavy", ((AddProjectile) roundTrip(heavy)).type);
+		assertNull(((AddProjectile) roundTrip(none)).type);
+	}
+
+	@Test
+	void unknownProjectileTypesAreRejected() {
+		AddProjectile unknown = new AddProjectile();
+		unknown.type = "Medium";
+
+		assertThrows(IllegalArgumentException.class,
+				() -> new MessageSerializers.AddProjectileSerializer().write(newKryo(), new Output(16), unknown));
+	}
+
+	@Test
+	void enumsAreWrittenAsTheirOrdinalPlusOne() {
+		ConfirmationMessage valid = new ConfirmationMessage();
+		valid.type = ConfirmType.ValidName;
+
+		ConfirmationMessage empty = new ConfirmationMessage();
+
+		assertBytes(valid, 44, 2);
+		assertBytes(empty, 44, 0);
+		assertBytes(ConfirmType.ScoreAdded, 45, 1);
+		assertBytes(ErrorType.DuplicateName, 40, 1);
+
+		assertEquals(ConfirmType.ValidName, ((ConfirmationMessage) roundTrip(valid)).type);
+		assertNull(((ConfirmationMessage) roundTrip(empty)).type);
+		assertEquals(ErrorType.DuplicateName, roundTrip(ErrorType.DuplicateName));
+	}
+
+	@Test
+	void updatesAreWrittenAsFixedWidthFloats() {
+		UpdateProjectile update = new UpdateProjectile();
+		update.id = 4;
+		update.x = 1;
+		update.y = 2;
+		update.r = 0;
+
+		assertBytes(update, 30, 4, 0x3F, 0x80, 0, 0, 0x40, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+	}
+
+	@Test
+	void reliableMessagesWrapTheirMessageWithItsClass() {
+		RemoveProjectile remove = new RemoveProjectile();
+		remove.id = 9;
+
+		ReliableMessage reliable = new ReliableMessage();
+		reliable.sequence = 1;
+		reliable.message = remove;
+
+		ReliableAck ack = new ReliableAck();
+		ack.received = 5;
+		ack.receivedBits = 3;
+
+		assertBytes(reliable, 47, 1, 29, 9);
+		assertBytes(ack, 48, 5, 0, 0, 0, 3);
+	}
+
+	/**
+	 * @return the Kryo instance of the serialization every connection uses, with the network's classes registered
+	 */
+	private static Kryo newKryo() {
+		Kryo kryo = new WireSerialization().getKryo();
+		Network.register(kryo);
+		return kryo;
+	}
+
+	/**
+	 * Checks the exact bytes a message is written as, with its class.
+	 * @param message the message to write
+	 * @param expected the expected bytes, each from 0 to 255
+	 */
+	private static void assertBytes(Object message, int... expected) {
+		Output output = new Output(64);
+		newKryo().writeClassAndObject(output, message);
+
+		byte[] bytes = new byte[expected.length];
+		for (int i = 0; i < expected.length; i++)
+			bytes[i] = (byte) expected[i];
+
+		assertArrayEquals(bytes, output.toBytes(), message.getClass().getSimpleName());
+	}
+
+	/**
+	 * Writes a message with its class and reads it back.
+	 * @param message the message to write
+	 * @return the message read
+	 */
+	private static Object roundTrip(Object message) {
+		Kryo kryo = newKryo();
+		Output output = new Output(64);
+		kryo.writeClassAndObject(output, message);
+
+		return kryo.readClassAndObject(new Input(output.toBytes()));
+	}
+
+}
@@ -0,0 +1,205 @@
+package network;
+
+import com.badlogic.gdx.utils.Array;
+import com.esotericsoftware.kryonet.Connection;
+import network.Network.ReliableAck;
+import network.Network.ReliableMessage;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests {@link ReliableSender} and {@link ReliableReceiver}: which messages an acknowledgement covers, how messages
+ * that arrive out of order, twice or after a gap are delivered, and that a peer which stops acknowledging is given
+ * up on.
+ * @author Connor Stewart
+ */
+class ReliableMessagingTest {
+
+	@Test
+	void theAckCoversEverythingUpToReceived() {
+		ReliableAck ack = ack(10, 0);
+
+		assertTrue(ReliableSender.isAcknowledged(0, ack));
+		assertTrue(ReliableSender.isAcknowledged(10, ack));
+		assertFalse(ReliableSender.isAcknowledged(11, ack));
+		assertFalse(ReliableSender.isAcknowledged(12, ack));
+	}
+
+	@Test
+	void theBitsStartAfterTheMissingMessage() {
+		//11 is missing, bit 0 is 12 and bit 31 is 43
+		ReliableAck ack = ack(10, 1 | 1 << 31);
+
+		assertFalse(ReliableSender.isAcknowledged(11, ack));
+		assertTrue(ReliableSender.isAcknowledged(12, ack));
+		assertFalse(ReliableSender.isAcknowledged(13, ack));
+		assertTrue(ReliableSender.isAcknowledged(43, ack));
+		assertFalse(ReliableSender.isAcknowledged(44, ack));
+	}
+
+	@Test
+	void nothingReceivedAcknowledgesNothing() {
+		ReliableAck ack = new ReliableReceiver().acknowledge(new ReliableAck());
+
+		assertEquals(-1, ack.received);
+		assertEquals(0, ack.receivedBits);
+		assertFalse(ReliableSender.isAcknowledged(0, ack));
+	}
+
+	@Test
+	void messagesAreDeliveredInOrderOnceTheHoleIsFilled() {
+		ReliableReceiver receiver = new ReliableReceiver();
+		Array<Object> delivered = new Array<>();
+
+		assertEquals(1, receiver.receive(message(0), delivered));
+		assertEquals(0, receiver.receive(message(2), delivered));
+		assertEquals(0, receiver.receive(message(4), delivered));
+		assertEquals(2, receiver.getHeldCount());
+
+		//1 and 3 are missing, so only the held messages past them are acknowledged by bits
+		ReliableAck ack = receiver.acknowledge(new ReliableAck());
+		assertEquals(0, ack.received);
+		assertEquals(1 | 1 << 2, ack.receivedBits);
+
+		assertEquals(2, receiver.receive(message(1), delivered));
+		assertEquals(2, receiver.receive(message(3), delivered));
+		assertEquals(0, receiver.getHeldCount());
+
+		assertEquals(5, delivered.size);
+		for (int i = 0; i < delivered.size; i++)
+			assertEquals(i, delivered.get(i));
+		assertEquals(4, receiver.acknowledge(ack).received);
+		assertEquals(0, ack.receivedBits);
+	}
+
+	@Test
+	void duplicatesAreDroppedAndCounted() {
+		ReliableReceiver receiver = new ReliableReceiver();
+		Array<Object> delivered = new Array<>();
+
+		receiver.receive(message(0), delivered);
+		receiver.receive(message(2), delivered);
+
+		//one already delivered and one already held
+		assertEquals(0, receiver.receive(message(0), delivered));
+		assertEquals(0, receiver.receive(message(2), delivered));
+		assertEquals(2, receiver.getDuplicateCount());
+
+		receiver.receive(message(1), delivered);
+		assertEquals(3, delivered.size);
+	}
+
+	@Test
+	void onlyMaxHeldMessagesAreHeld() {
+		ReliableReceiver receiver = new ReliableReceiver();
+		Array<Object> delivered = new Array<>();
+
+		for (int sequence = 1; sequence <= ReliableReceiver.MAX_HELD + 10; sequence++)
+			receiver.receive(message(sequence), delivered);
+
+		assertEquals(ReliableReceiver.MAX_HELD, receiver.getHeldCount());
+		assertEquals(ReliableReceiver.MAX_HELD + 1, receiver.receive(message(0), delivered));
+	}
+
+	@Test
+	void acknowledgedMessagesStopBeingResent() throws InterruptedException {
+		ReliableSender sender = new ReliableSender();
+		sender.setResendInterval(1);
+		SentConnection connection = new SentConnection();
+
+		for (int i = 0; i < 4; i++)
+			sender.send(connection, i);
+		assertEquals(4, connection.sent.size);
+
+		//0, 1 and 3 arrived
+		sender.acknowledge(ack(1, 1));
+		assertEquals(1, sender.getPendingCount());
+
+		Thread.sleep(2);
+		sender.resend(connection);
+		assertEquals(1, sender.getResentCount());
+		assertEquals(2, connection.sent.peek().sequence);
+	}
+
+	@Test
+	void aPeerThatNeverAcknowledgesIsGivenUpOn() throws InterruptedException {
+		ReliableSender sender = new ReliableSender();
+		sender.setResendInterval(1);
+		SentConnection connection = new SentConnection();
+
+		sender.send(connection, "lost");
+		for (int i = 0; i < ReliableSender.MAX_RESENDS && !sender.hasFailed(); i++) {
+			Thread.sleep(2);
+			sender.resend(connection);
+		}
+		assertFalse(sender.hasFailed());
+
+		Thread.sleep(2);
+		sender.resend(connection);
+		assertTrue(sender.hasFailed());
+		assertEquals(0, sender.getPendingCount());
+
+		sender.send(connection, "after");
+		assertEquals(1 + ReliableSender.MAX_RESENDS, connection.sent.size);
+	}
+
+	@Test
+	void tooManyPendingMessagesFailTheSender() {
+		ReliableSender sender = new ReliableSender();
+		SentConnection connection = new SentConnection();
+
+		for (int i = 0; i < ReliableSender.MAX_PENDING; i++)
+			sender.send(connection, i);
+		assertFalse(sender.hasFailed());
+
+		sender.send(connection, "over");
+		assertTrue(sender.hasFailed());
+		assertEquals(0, sender.getPendingCount());
+		assertEquals(ReliableSender.MAX_PENDING, connection.sent.size);
+	}
+
+	/**
+	 * @param sequence the message's sequence number, also used as the message
+	 * @return a reliable message
+	 */
+	private static ReliableMessage message(int sequence) {
+		ReliableMessage message = new ReliableMessage();
+		message.sequence = sequence;
+		message.message = sequence;
+		return message;
+	}
+
+	/**
+	 * @param received the highest sequence number received in order
+	 * @param receivedBits the messages received after the missing one
+	 * @return an acknowledgement
+	 */
+	private static ReliableAck ack(int received, int receivedBits) {
+		ReliableAck ack = new ReliableAck();
+		ack.received = received;
+		ack.receivedBits = receivedBits;
+		return ack;
+	}
+
+	/**
+	 * A connection that records a copy of each reliable message it is sent.
+	 */
+	private static class SentConnection extends Connection {
+
+		/** The reliable messages sent, copied as the sender reuses its envelopes. */
+		private final Array<ReliableMessage> sent = new Array<>();
+
+		@Override
+		public int sendUDP(Object object) {
+			ReliableMessage original = (ReliableMessage) object;
+			ReliableMessage copy = new ReliableMessage();
+			copy.sequence = original.sequence;
+			copy.message = original.message;
+			sent.add(copy);
+			return 0;
+		}
+
+	}
+
+}
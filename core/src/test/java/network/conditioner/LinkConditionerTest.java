@@ -0,0 +1,190 @@
+package network.conditioner;
+
+import com.esotericsoftware.kryonet.Client;
+import com.esotericsoftware.kryonet.Connection;
+import com.esotericsoftware.kryonet.Listener;
+import com.esotericsoftware.kryonet.Server;
+import network.Network;
+import network.Network.KeyInput;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs a KryoNet client and server through a {@link LinkConditioner} on this machine, checking that a lossy, slow
+ * profile drops datagrams but never TCP data, delays both, and that UDP sessions are closed once idle and with the
+ * conditioner.
+ * @author Connor Stewart
+ */
+class LinkConditionerTest {
+
+	/** The latency in milliseconds of the profile tested. */
+	private static final int LATENCY = 40;
+
+	/** The amount of messages sent over each protocol. */
+	private static final int MESSAGES = 200;
+
+	/** The longest time in milliseconds waited for something to happen. */
+	private static final long TIMEOUT = 5000;
+
+	/** The server the client connects to through the conditioner. */
+	private final Server server = new Server();
+
+	/** The client. */
+	private final Client client = new Client();
+
+	/** The sequence numbers of the messages the server received over TCP, in the order they arrived. */
+	private final CopyOnWriteArrayList<Integer> tcpReceived = new CopyOnWriteArrayList<>();
+
+	/** The sequence numbers of the messages the server received over UDP. */
+	private final CopyOnWriteArrayList<Integer> udpReceived = new CopyOnWriteArrayList<>();
+
+	/** The time in nanoseconds the server received the first message over TCP. */
+	private volatile long firstTcpArrival;
+
+	/** The conditioner between the client and server. */
+	private LinkConditioner conditioner;
+
+	@BeforeEach
+	void connect() throws IOException {
+		int serverTcp = freeTcpPort(), serverUdp = freeUdpPort();
+		int linkTcp = freeTcpPort(), linkUdp = freeUdpPort();
+		InetAddress local = InetAddress.getLoopbackAddress();
+
+		Network.register(server);
+		Network.register(client);
+		server.addListener(new Listener() {
+			@Override
+			public void received(Connection connection, Object object) {
+				if (!(object instanceof KeyInput))
+					return;
+
+				KeyInput input = (KeyInput) object;
+				if (input.keyCode == 0) {
+					if (tcpReceived.isEmpty())
+						firstTcpArrival = System.nanoTime();
+					tcpReceived.add(input.sequence);
+				} else {
+					udpReceived.add(input.sequence);
+				}
+			}
+		});
+		server.bind(new InetSocketAddress(local, serverTcp), new InetSocketAddress(local, serverUdp));
+		server.start();
+
+		conditioner = new LinkConditioner(linkTcp, linkUdp, new InetSocketAddress(local, serverTcp), new InetSocketAddress(local, serverUdp), 39);
+		conditioner.start();
+
+		//the client registers its UDP address with the server while the link is perfect, as that is not retried
+		client.start();
+		client.connect((int) TIMEOUT, local, linkTcp, linkUdp);
+	}
+
+	@AfterEach
+	void close() {
+		client.stop();
+		conditioner.close();
+		server.stop();
+	}
+
+	@Test
+	void aLossyLinkDropsDatagramsButNotTcp() throws InterruptedException {
+		conditioner.setProfile(new LinkProfile("test", LATENCY, 0, 0.2, 0, 0));
+
+		long sent = System.nanoTime();
+		for (int i = 0; i < MESSAGES; i++) {
+			client.sendTCP(input(0, i));
+			client.sendUDP(input(1, i));
+		}
+
+		waitFor(() -> tcpReceived.size() == MESSAGES);
+		//every datagram has either been dropped or had its delay scheduled, give the last ones time to arrive
+		Thread.sleep(LATENCY * 4);
+
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(firstTcpArrival - sent) >= LATENCY, "TCP data was not delayed");
+		for (int i = 0; i < MESSAGES; i++)
+			assertEquals(i, tcpReceived.get(i).intValue(), "TCP data arrived out of order");
+
+		assertTrue(conditioner.getDroppedCount() > 0, "no datagrams were dropped");
+		assertTrue(udpReceived.size() < MESSAGES, "every datagram arrived");
+		assertTrue(udpReceived.size() > MESSAGES / 2, "only " + udpReceived.size() + " datagrams arrived");
+	}
+
+	@Test
+	void idleSessionsAreClosed() throws InterruptedException {
+		assertEquals(1, conditioner.getSessionCount());
+
+		conditioner.setSessionTimeout(200);
+		waitFor(() -> conditioner.getSessionCount() == 0);
+
+		//the client gets a new session when it sends again
+		client.sendUDP(input(1, 0));
+		waitFor(() -> conditioner.getSessionCount() == 1);
+	}
+
+	@Test
+	void closingEndsEverySession() {
+		assertEquals(1, conditioner.getSessionCount());
+
+		conditioner.close();
+		assertEquals(0, conditioner.getSessionCount());
+	}
+
+	/**
+	 * @param keyCode zero for a message sent over TCP, one for UDP
+	 * @param sequence the message's sequence number
+	 * @return a message
+	 */
+	private static KeyInput input(int keyCode, int sequence) {
+		KeyInput input = new KeyInput();
+		input.keyCode = keyCode;
+		input.sequence = sequence;
+		return input;
+	}
+
+	/**
+	 * Waits until a condition is true, failing if it takes longer than {@link #TIMEOUT}.
+	 * @param condition the condition
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+		long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT);
+
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.nanoTime() < end, "timed out waiting");
+			Thread.sleep(10);
+		}
+	}
+
+	/**
+	 * @return a TCP port nothing is listening on
+	 * @throws IOException if no port can be found
+	 */
+	private static int freeTcpPort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+
+	/**
+	 * @return a UDP port nothing is bound to
+	 * @throws IOException if no port can be found
+	 */
+	private static int freeUdpPort() throws IOException {
+		try (DatagramSocket socket = new DatagramSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+
+}
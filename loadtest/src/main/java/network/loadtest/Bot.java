@@ -0,0 +1,316 @@
+package network.loadtest;
+
+import backend.logging.GameLog;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.esotericsoftware.kryonet.Client;
+import com.esotericsoftware.kryonet.Connection;
+import network.ConfirmType;
+import network.MessageDispatcher;
+import network.MessagePools;
+import network.Network.*;
+import network.WireSerialization;
+import network.client.ClientTransport;
+import network.client.InputLatency;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * This class is a headless client that plays the game without a user. <br>
+ * It connects through a {@link ClientTransport}, so it uses the same connection code as the game client. Once
+ * connected it picks a nickname, adds or joins its room and, if it leads the room, starts the game once every bot
+ * has joined. While playing, each call to {@link #step} sends the input a player would: it moves in a square,
+ * circles its aim around itself and fires every few steps. The bytes and messages it receives and the time its
+ * input takes to be applied are recorded for the load test report.
+ * @author Connor Stewart
+ */
+class Bot {
+
+	/** The keys pressed in turn to move in a square. */
+	private static final int[] MOVES = {Input.Keys.W, Input.Keys.D, Input.Keys.S, Input.Keys.A};
+
+	/** The amount of steps each key in MOVES is held for. */
+	private static final int STEPS_PER_MOVE = 15;
+
+	/** The amount of steps between each shot. */
+	private static final int STEPS_PER_SHOT = 10;
+
+	/** The distance from the player its aim is circled at. */
+	private static final float AIM_RADIUS = 200;
+
+	/** The stages a bot goes through from connecting to the end of its game. */
+	enum Stage {
+		/** Waiting for the server to accept its nickname. */
+		NAMING,
+		/** Waiting for its room to be added or joined. */
+		JOINING,
+		/** In its rooms lobby waiting for the game to start. */
+		LOBBY,
+		/** Playing the game. */
+		PLAYING,
+		/** The game has been won. */
+		FINISHED
+	}
+
+	/** This bots nickname. */
+	private final String nickname;
+
+	/** The name of the room this bot plays in. */
+	private final String roomName;
+
+	/** Whether this bot adds its room and starts the game. */
+	private final boolean leader;
+
+	/** The amount of bots that play in this bots room, including itself. */
+	private final int roomSize;
+
+	/** Counts every message this bot receives, including the ones packed inside others. */
+	private final CountingDispatcher dispatcher = new CountingDispatcher();
+
+	/** Counts the bytes this bot receives. */
+	private final CountingSerialization serialization = new CountingSerialization();
+
+	/** This bots connection to the server. */
+	private final ClientTransport transport;
+
+	/** Measures how long this bots input takes to be applied by the server. */
+	private final InputLatency inputLatency = new InputLatency();
+
+	/** Varies the timing of each bots shots. */
+	private final Random random;
+
+	/** The stage this bot has reached. */
+	private volatile Stage stage = Stage.NAMING;
+
+	/** The multiplayer ID of this bots player, zero until the server has added it. */
+	private volatile int playerID;
+
+	/** The amount of times this bot has stepped while playing. */
+	private int steps;
+
+	/** The last position of this bots player received from the server. */
+	private volatile float x, y;
+
+	/** The error messages this bot has been sent. */
+	private volatile int errors;
+
+	/**
+	 * Creates a bot, it does not connect until {@link #connect} is called.
+	 * @param nickname the bots nickname
+	 * @param roomName the name of the room the bot plays in
+	 * @param leader whether the bot adds its room and starts the game
+	 * @param roomSize the amount of bots that play in the room, including this one
+	 * @param seed the seed for the bots random choices
+	 */
+	Bot(String nickname, String roomName, boolean leader, int roomSize, long seed) {
+		this.nickname = nickname;
+		this.roomName = roomName;
+		this.leader = leader;
+		this.roomSize = roomSize;
+		random = new Random(seed);
+		addHandlers();
+		transport = new ClientTransport(dispatcher, serialization);
+	}
+
+	/**
+	 * Adds handlers that move the bot through its stages.
+	 */
+	private void addHandlers() {
+		dispatcher.setHandler(this, ConfirmationMessage.class, (connection, msg) -> {
+			if (msg.type != ConfirmType.ValidName || stage != Stage.NAMING)
+				return;
+
+			stage = Stage.JOINING;
+			if (leader) {
+				AddRoom toSend = new AddRoom();
+				toSend.roomName = roomName;
+				connection.sendTCP(toSend);
+			} else {
+				//the room may have been added before this bot was listening for room updates
+				connection.sendTCP(new RefreshRooms());
+			}
+		});
+
+		dispatcher.setHandler(this, RoomUpdate.class, (connection, msg) -> {
+			if (leader || stage != Stage.JOINING || msg.roomNames == null || !Arrays.asList(msg.roomNames).contains(roomName))
+				return;
+
+			stage = Stage.LOBBY;
+			JoinRoom toSend = new JoinRoom();
+			toSend.roomName = roomName;
+			connection.sendTCP(toSend);
+		});
+
+		dispatcher.setHandler(this, JoinLobby.class, (connection, msg) -> stage = Stage.LOBBY);
+
+		dispatcher.setHandler(this, LobbyPlayers.class, (connection, msg) -> {
+			if (leader && stage == Stage.LOBBY && msg.players != null && msg.players.length >= roomSize)
+				connection.sendTCP(new RequestGameStart());
+		});
+
+		dispatcher.setHandler(this, StartGame.class, (connection, msg) -> stage = Stage.PLAYING);
+
+		dispatcher.setHandler(this, AddPlayer.class, (connection, msg) -> {
+			if (nickname.equals(msg.name))
+				playerID = msg.id;
+		});
+
+		dispatcher.setHandler(this, UpdatePlayer.class, (connection, msg) -> {
+			if (msg.id != playerID)
+				return;
+
+			x = msg.x;
+			y = msg.y;
+			inputLatency.applied(msg.inputSequence, transport.getClock().getRoundTrip());
+		});
+
+		dispatcher.setHandler(this, PlayerWon.class, (connection, msg) -> stage = Stage.FINISHED);
+
+		dispatcher.setHandler(this, ErrorMessage.class, (connection, msg) -> {
+			errors++;
+			GameLog.warn("loadtest", "{} was sent an error: {}", nickname, msg.message);
+		});
+	}
+
+	/**
+	 * Connects to the server and sends this bots nickname.
+	 * @param address the servers address
+	 * @param tcpPort the servers TCP port
+	 * @param udpPort the servers UDP port
+	 * @throws IOException if the connection could not be made
+	 */
+	void connect(InetAddress address, int tcpPort, int udpPort) throws IOException {
+		transport.connect(address, tcpPort, udpPort);
+
+		UpdateNickname toSend = new UpdateNickname();
+		toSend.nickname = nickname;
+		transport.getClient().sendTCP(toSend);
+	}
+
+	/**
+	 * Sends the input for one step of play, does nothing until the bot is playing and has been given a player.
+	 */
+	void step() {
+		Client client = transport.getClient();
+		if (stage != Stage.PLAYING || playerID == 0 || !client.isConnected())
+			return;
+
+		steps++;
+
+		KeyInput key = MessagePools.obtain(KeyInput.class);
+		key.id = playerID;
+		key.keyCode = MOVES[(steps / STEPS_PER_MOVE) % MOVES.length];
+		key.sequence = inputLatency.sent();
+		client.sendTCP(key);
+		MessagePools.free(key);
+
+		double angle = steps * 0.1;
+		MouseMoved mouse = MessagePools.obtain(MouseMoved.class);
+		mouse.id = playerID;
+		mouse.x = x + (float) Math.cos(angle) * AIM_RADIUS;
+		mouse.y = y + (float) Math.sin(angle) * AIM_RADIUS;
+		client.sendUDP(mouse);
+		MessagePools.free(mouse);
+
+		if (random.nextInt(STEPS_PER_SHOT) == 0) {
+			MouseInput fire = MessagePools.obtain(MouseInput.class);
+			fire.id = playerID;
+			fire.buttonCode = Input.Buttons.LEFT;
+			fire.sequence = inputLatency.sent();
+			client.sendTCP(fire);
+			MessagePools.free(fire);
+		}
+	}
+
+	/**
+	 * Disconnects from the server and stops the bots client thread.
+	 */
+	void close() {
+		transport.getClient().stop();
+	}
+
+	/**
+	 * @return the stage this bot has reached
+	 */
+	Stage getStage() {
+		return stage;
+	}
+
+	/**
+	 * @return the name of the room this bot plays in
+	 */
+	String getRoomName() {
+		return roomName;
+	}
+
+	/**
+	 * @return the amount of bytes this bot has received
+	 */
+	long getBytesReceived() {
+		return serialization.bytes;
+	}
+
+	/**
+	 * @return the amount of messages of each class this bot has received, by simple class name
+	 */
+	ObjectIntMap<String> getMessageCounts() {
+		synchronized (dispatcher.counts) {
+			return new ObjectIntMap<>(dispatcher.counts);
+		}
+	}
+
+	/**
+	 * @return the measurements of how long this bots input takes to be applied
+	 */
+	InputLatency getInputLatency() {
+		return inputLatency;
+	}
+
+	/**
+	 * @return the amount of error messages this bot has been sent
+	 */
+	int getErrorCount() {
+		return errors;
+	}
+
+	/**
+	 * A dispatcher that counts the messages passed through it by class.
+	 */
+	private static class CountingDispatcher extends MessageDispatcher {
+
+		/** The amount of messages received of each class, by simple class name. */
+		private final ObjectIntMap<String> counts = new ObjectIntMap<>();
+
+		@Override
+		public boolean dispatch(Connection connection, Object object) {
+			synchronized (counts) {
+				counts.getAndIncrement(object.getClass().getSimpleName(), 0, 1);
+			}
+			return super.dispatch(connection, object);
+		}
+
+	}
+
+	/**
+	 * A serialization that counts the bytes of each message read through it, not including TCP length headers.
+	 */
+	private static class CountingSerialization extends WireSerialization {
+
+		/** The amount of bytes read, only written by the client thread. */
+		private volatile long bytes;
+
+		@Override
+		public Object read(Connection connection, ByteBuffer buffer) {
+			int start = buffer.position();
+			Object message = super.read(connection, buffer);
+			bytes += buffer.position() - start;
+			return message;
+		}
+
+	}
+
+}
@@ -0,0 +1,249 @@
+package network.loadtest;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import network.LatencyHistogram;
+import network.MessagePools;
+import network.Network;
+import network.server.ServerGame;
+import network.server.ServerHandler;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class measures how much load the server can take by playing games between {@link Bot}s. <br>
+ * It starts the server in this process and connects a number of bots to it for each room over real connections.
+ * Once every room's game has started the bots play for a set time, then a JSON summary is written with each room's
+ * frame times, the bytes and messages each client was sent, the time input took to be applied and how many pooled
+ * messages had to be created because their pool was empty, which is zero once play has settled. Run it with the
+ * room count, bots per room, seconds to play and optionally a file to write the summary to, for example
+ * {@code LoadTest 8 4 30 load.json}.
+ * @author Connor Stewart
+ */
+public class LoadTest {
+
+	/** The rate in hertz each bot sends input at, about what a client sends while its keys are held. */
+	private static final int STEP_RATE = 30;
+
+	/** The amount of milliseconds to wait for every room's game to start before giving up. */
+	private static final long START_TIMEOUT = 30000;
+
+	/** The amount of rooms played in at once. */
+	private final int rooms;
+
+	/** The amount of bots in each room. */
+	private final int botsPerRoom;
+
+	/** The amount of seconds the bots play for once every game has started. */
+	private final int seconds;
+
+	/** Every bot in the test. */
+	private final Array<Bot> bots = new Array<>();
+
+	/**
+	 * Creates a load test.
+	 * @param rooms the amount of rooms played in at once
+	 * @param botsPerRoom the amount of bots in each room, at least two so the games do not end straight away
+	 * @param seconds the amount of seconds the bots play for once every game has started
+	 */
+	public LoadTest(int rooms, int botsPerRoom, int seconds) {
+		if (rooms < 1)
+			throw new IllegalArgumentException("rooms must be at least 1 (was " + rooms + ").");
+		if (botsPerRoom < 2)
+			throw new IllegalArgumentException("botsPerRoom must be at least 2 (was " + botsPerRoom + ").");
+		if (seconds < 1)
+			throw new IllegalArgumentException("seconds must be at least 1 (was " + seconds + ").");
+
+		this.rooms = rooms;
+		this.botsPerRoom = botsPerRoom;
+		this.seconds = seconds;
+	}
+
+	/**
+	 * Starts the server, plays the games and returns the summary.
+	 * @return the summary as JSON
+	 * @throws IOException if a bot could not connect
+	 * @throws InterruptedException if interrupted while the bots play
+	 */
+	public String run() throws IOException, InterruptedException {
+		ServerHandler server = ServerHandler.getInstance();
+		InetAddress address = InetAddress.getLocalHost();
+
+		for (int room = 0; room < rooms; room++) {
+			for (int i = 0; i < botsPerRoom; i++) {
+				Bot bot = new Bot("bot-" + room + "-" + i, "room-" + room, i == 0, botsPerRoom, room * 1000L + i);
+				bots.add(bot);
+			}
+		}
+
+		//the leaders connect first so their rooms exist before the other bots look for them
+		for (int i = 0; i < bots.size; i += botsPerRoom)
+			bots.get(i).connect(address, Network.TCP_PORT, Network.UDP_PORT);
+		for (int i = 0; i < bots.size; i++)
+			if (i % botsPerRoom != 0)
+				bots.get(i).connect(address, Network.TCP_PORT, Network.UDP_PORT);
+
+		ScheduledExecutorService stepper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "Load test bots");
+			thread.setDaemon(true);
+			return thread;
+		});
+		stepper.scheduleAtFixedRate(() -> {
+			for (int i = 0; i < bots.size; i++)
+				bots.get(i).step();
+		}, 0, 1000 / STEP_RATE, TimeUnit.MILLISECONDS);
+
+		long deadline = System.currentTimeMillis() + START_TIMEOUT;
+		while (server.getGames().size < rooms && System.currentTimeMillis() < deadline)
+			Thread.sleep(100);
+
+		//measure the games once they are all running, leaving out the bots joining
+		Array<ServerGame> games = server.getGames();
+		for (ServerGame game : games)
+			game.getFrameTimes().reset();
+		long[] startBytes = new long[bots.size];
+		ObjectIntMap<String> startMessages = new ObjectIntMap<>();
+		for (int i = 0; i < bots.size; i++) {
+			startBytes[i] = bots.get(i).getBytesReceived();
+			addAll(startMessages, bots.get(i).getMessageCounts());
+			bots.get(i).getInputLatency().getApplyLatency().reset();
+		}
+		long startCreated = MessagePools.getCreatedCount();
+		int[] startFrames = new int[games.size];
+		for (int i = 0; i < games.size; i++)
+			startFrames[i] = games.get(i).getFrameCount();
+
+		long start = System.nanoTime();
+		Thread.sleep(seconds * 1000L);
+		double elapsed = (System.nanoTime() - start) / 1e9;
+
+		stepper.shutdownNow();
+		long created = MessagePools.getCreatedCount() - startCreated;
+		String summary = summarise(games, startFrames, startBytes, startMessages, created, elapsed);
+
+		for (Bot bot : bots)
+			bot.close();
+
+		return summary;
+	}
+
+	/**
+	 * Writes the summary of the bots games.
+	 * @param games the games that were measured
+	 * @param startFrames the frame count of each game when measuring began
+	 * @param startBytes the bytes each bot had received when measuring began
+	 * @param startMessages the messages of each class the bots had received when measuring began
+	 * @param created the amount of pooled messages created while measuring
+	 * @param elapsed the amount of seconds measured
+	 * @return the summary as JSON
+	 */
+	private String summarise(Array<ServerGame> games, int[] startFrames, long[] startBytes, ObjectIntMap<String> startMessages, long created, double elapsed) {
+		StringBuilder json = new StringBuilder();
+		json.append("{\n");
+		json.append("  \"rooms\": ").append(rooms).append(",\n");
+		json.append("  \"botsPerRoom\": ").append(botsPerRoom).append(",\n");
+		json.append("  \"gamesStarted\": ").append(games.size).append(",\n");
+		json.append("  \"seconds\": ").append(number(elapsed)).append(",\n");
+
+		//the time each room's game took to run its frames
+		json.append("  \"roomTickMs\": [");
+		for (int i = 0; i < games.size; i++) {
+			ServerGame game = games.get(i);
+			LatencyHistogram frames = game.getFrameTimes();
+			json.append(i == 0 ? "\n" : ",\n");
+			json.append("    {\"room\": \"").append(game.getRoomName()).append("\"");
+			json.append(", \"framesPerSecond\": ").append(number((game.getFrameCount() - startFrames[i]) / elapsed));
+			json.append(", \"p50\": ").append(number(frames.getPercentile(50)));
+			json.append(", \"p99\": ").append(number(frames.getPercentile(99)));
+			json.append(", \"max\": ").append(number(frames.getMax())).append("}");
+		}
+		json.append("\n  ],\n");
+
+		//the bytes sent to each client, measured as they arrive at the bot
+		double totalBytes = 0, maxBytes = 0;
+		int errors = 0;
+		for (int i = 0; i < bots.size; i++) {
+			double rate = (bots.get(i).getBytesReceived() - startBytes[i]) / elapsed;
+			totalBytes += rate;
+			maxBytes = Math.max(maxBytes, rate);
+			errors += bots.get(i).getErrorCount();
+		}
+		json.append("  \"outboundBytesPerClientPerSecond\": {\"mean\": ").append(number(totalBytes / bots.size))
+				.append(", \"max\": ").append(number(maxBytes)).append("},\n");
+
+		//the messages of each class sent to a client each second, averaged over every client
+		ObjectIntMap<String> messages = new ObjectIntMap<>();
+		for (Bot bot : bots)
+			addAll(messages, bot.getMessageCounts());
+		json.append("  \"messagesPerClientPerSecond\": {");
+		boolean first = true;
+		for (ObjectIntMap.Entry<String> entry : messages) {
+			double rate = (entry.value - startMessages.get(entry.key, 0)) / elapsed / bots.size;
+			json.append(first ? "\n" : ",\n").append("    \"").append(entry.key).append("\": ").append(number(rate));
+			first = false;
+		}
+		json.append("\n  },\n");
+
+		//the time from input being sent to it being applied, over every bot
+		LatencyHistogram latency = new LatencyHistogram();
+		for (Bot bot : bots)
+			latency.merge(bot.getInputLatency().getApplyLatency());
+		json.append("  \"inputLatencyMs\": {\"samples\": ").append(latency.getCount());
+		json.append(", \"p50\": ").append(number(latency.getPercentile(50)));
+		json.append(", \"p99\": ").append(number(latency.getPercentile(99)));
+		json.append(", \"max\": ").append(number(latency.getMax())).append("},\n");
+
+		json.append("  \"pooledMessagesCreated\": ").append(created).append(",\n");
+		json.append("  \"errors\": ").append(errors).append("\n");
+		json.append("}\n");
+		return json.toString();
+	}
+
+	/**
+	 * Adds the counts of one map to another.
+	 * @param into the map to add to
+	 * @param counts the counts to add
+	 */
+	private static void addAll(ObjectIntMap<String> into, ObjectIntMap<String> counts) {
+		for (ObjectIntMap.Entry<String> entry : counts)
+			into.getAndIncrement(entry.key, 0, entry.value);
+	}
+
+	/**
+	 * @param value the number to format
+	 * @return the number with up to three decimal places, in a form JSON accepts
+	 */
+	private static String number(double value) {
+		return String.format(Locale.ROOT, "%.3f", value);
+	}
+
+	/**
+	 * Runs a load test from the command line.
+	 * @param args the room count, bots per room, seconds to play and optionally a file to write the summary to
+	 * @throws Exception if the test could not be run
+	 */
+	public static void main(String[] args) throws Exception {
+		int rooms = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+		int botsPerRoom = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+		int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+
+		String summary = new LoadTest(rooms, botsPerRoom, seconds).run();
+		System.out.print(summary);
+
+		if (args.length > 3)
+			try (Writer out = new FileWriter(args[3])) {
+				out.write(summary);
+			}
+
+		//the server and its games run on non daemon threads
+		System.exit(0);
+	}
+
+}
@@ -0,0 +1,63 @@
+package network.metrics;
+
+/**
+ * A named metric in a {@link MetricsRegistry}. <br>
+ * A metric does not store its values, it reads them from the objects that record them each time it is collected.
+ * This keeps recording free of any locking the registry needs. A metric can have several samples, one for each set
+ * of labels, such as one for each room.
+ * @author Connor Stewart
+ */
+public abstract class Metric {
+
+	/** The metric's name, in the form Prometheus accepts. */
+	private final String name;
+
+	/** A description of what the metric measures. */
+	private final String help;
+
+	/** The kind of metric. */
+	private final MetricType type;
+
+	/**
+	 * Creates a metric.
+	 * @param name the metric's name, made of letters, digits and underscores and not starting with a digit
+	 * @param help a description of what the metric measures
+	 * @param type the kind of metric
+	 */
+	protected Metric(String name, String help, MetricType type) {
+		if (!name.matches("[a-zA-Z_][a-zA-Z0-9_]*"))
+			throw new IllegalArgumentException("Metric names must be letters, digits and underscores (was " + name + ").");
+
+		this.name = name;
+		this.help = help;
+		this.type = type;
+	}
+
+	/**
+	 * Adds the current samples of this metric.
+	 * @param samples the samples to add to, which are already set to this metric
+	 */
+	protected abstract void collect(Samples samples);
+
+	/**
+	 * @return the metric's name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return a description of what the metric measures
+	 */
+	public String getHelp() {
+		return help;
+	}
+
+	/**
+	 * @return the kind of metric
+	 */
+	public MetricType getType() {
+		return type;
+	}
+
+}
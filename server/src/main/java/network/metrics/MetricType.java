@@ -0,0 +1,32 @@
+package network.metrics;
+
+/**
+ * The kinds of metric a {@link MetricsRegistry} can hold, named as they are in the Prometheus text format.
+ * @author Connor Stewart
+ */
+public enum MetricType {
+
+	/** A total that only goes up while the server runs. */
+	COUNTER("counter"),
+	/** A value that can go up and down. */
+	GAUGE("gauge"),
+	/** Percentiles of a set of observations, along with their sum and count. */
+	SUMMARY("summary"),
+	/** Counts of a set of observations in buckets that each hold everything up to a bound, along with their sum and count. */
+	HISTOGRAM("histogram");
+
+	/** The name used for this type in the Prometheus text format. */
+	private final String prometheusName;
+
+	MetricType(String prometheusName) {
+		this.prometheusName = prometheusName;
+	}
+
+	/**
+	 * @return the name used for this type in the Prometheus text format
+	 */
+	public String getPrometheusName() {
+		return prometheusName;
+	}
+
+}
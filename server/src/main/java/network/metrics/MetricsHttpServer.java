@@ -0,0 +1,71 @@
+package network.metrics;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+/**
+ * A small HTTP server that serves the metrics in a {@link MetricsRegistry} in the Prometheus text format. <br>
+ * The metrics are served at {@code /metrics} on the loopback address only, so they can be scraped by a Prometheus
+ * agent on the same machine but not from the network. Requests are handled on a single daemon thread, so scraping
+ * never delays the game threads beyond the time taken to read each metric.
+ * @author Connor Stewart
+ */
+public class MetricsHttpServer {
+
+	/** The path the metrics are served at. */
+	public static final String PATH = "/metrics";
+
+	/** The content type of the Prometheus text format. */
+	private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+	/** The HTTP server. */
+	private final HttpServer server;
+
+	/**
+	 * Starts serving metrics.
+	 * @param registry the metrics to serve
+	 * @param port the port to listen on, or zero for any free port
+	 * @throws IOException if the port could not be bound
+	 */
+	public MetricsHttpServer(MetricsRegistry registry, int port) throws IOException {
+		if (port < 0 || port > 65535)
+			throw new IllegalArgumentException("port must be between 0 and 65535 (was " + port + ").");
+
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+		server.createContext(PATH, exchange -> {
+			byte[] body = registry.toPrometheus().getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		server.setExecutor(Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "Metrics HTTP server");
+			thread.setDaemon(true);
+			return thread;
+		}));
+		server.start();
+	}
+
+	/**
+	 * @return the port the metrics are served on
+	 */
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	/**
+	 * Stops serving metrics.
+	 */
+	public void stop() {
+		server.stop(0);
+	}
+
+}
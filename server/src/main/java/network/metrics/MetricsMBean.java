@@ -0,0 +1,86 @@
+package network.metrics;
+
+import javax.management.*;
+import java.lang.management.ManagementFactory;
+
+/**
+ * This class shows the metrics in a {@link MetricsRegistry} over JMX, such as in JConsole or VisualVM. <br>
+ * Each sample is a read only attribute named by its series, so a metric with labels has one attribute for each set
+ * of labels. The attributes are collected again every time they are read, so rooms added since the bean was
+ * registered appear the next time its attributes are listed.
+ * @author Connor Stewart
+ */
+public class MetricsMBean implements DynamicMBean {
+
+	/** The metrics shown. */
+	private final MetricsRegistry registry;
+
+	/**
+	 * Creates a bean for a registry.
+	 * @param registry the metrics to show
+	 */
+	public MetricsMBean(MetricsRegistry registry) {
+		this.registry = registry;
+	}
+
+	/**
+	 * Registers this bean with the platform MBean server.
+	 * @param name the bean's object name, such as {@code shooter:type=ServerMetrics}
+	 * @throws JMException if the name is not valid or is already registered
+	 */
+	public void register(String name) throws JMException {
+		ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(name));
+	}
+
+	@Override
+	public Object getAttribute(String attribute) throws AttributeNotFoundException {
+		Samples samples = registry.collect();
+
+		for (int i = 0; i < samples.size(); i++)
+			if (samples.getSeries(i).equals(attribute))
+				return samples.getValue(i);
+
+		throw new AttributeNotFoundException(attribute + " is not a metric.");
+	}
+
+	@Override
+	public AttributeList getAttributes(String[] attributes) {
+		Samples samples = registry.collect();
+		AttributeList found = new AttributeList();
+
+		for (String attribute : attributes)
+			for (int i = 0; i < samples.size(); i++)
+				if (samples.getSeries(i).equals(attribute))
+					found.add(new Attribute(attribute, samples.getValue(i)));
+
+		return found;
+	}
+
+	@Override
+	public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+		throw new AttributeNotFoundException("Metrics are read only (was setting " + attribute.getName() + ").");
+	}
+
+	@Override
+	public AttributeList setAttributes(AttributeList attributes) {
+		//none of the attributes can be set
+		return new AttributeList();
+	}
+
+	@Override
+	public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+		throw new ReflectionException(new NoSuchMethodException(actionName));
+	}
+
+	@Override
+	public MBeanInfo getMBeanInfo() {
+		Samples samples = registry.collect();
+		MBeanAttributeInfo[] attributes = new MBeanAttributeInfo[samples.size()];
+
+		for (int i = 0; i < attributes.length; i++)
+			attributes[i] = new MBeanAttributeInfo(samples.getSeries(i), "double", samples.getMetric(i).getHelp(), true, false, false);
+
+		return new MBeanInfo(getClass().getName(), "The game server's metrics.", attributes, null, null, null);
+	}
+
+}
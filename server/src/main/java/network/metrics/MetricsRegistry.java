@@ -0,0 +1,121 @@
+package network.metrics;
+
+import com.badlogic.gdx.utils.Array;
+
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * This class holds a set of metrics and collects their values when they are asked for. <br>
+ * Metrics read their values from the objects that record them, which count without locking, so only collecting takes
+ * the registry's lock. The values can be written in the Prometheus text format with {@link #toPrometheus}, served by a
+ * {@link MetricsHttpServer} and read over JMX through a {@link MetricsMBean}.
+ * @author Connor Stewart
+ */
+public class MetricsRegistry {
+
+	/** The metrics in the order they were registered. */
+	private final Array<Metric> metrics = new Array<>();
+
+	/**
+	 * Adds a metric.
+	 * @param metric the metric to add, its name must not already be used
+	 * @param <M> the class of metric
+	 * @return the metric
+	 */
+	public synchronized <M extends Metric> M register(M metric) {
+		for (Metric registered : metrics)
+			if (registered.getName().equals(metric.getName()))
+				throw new IllegalArgumentException("A metric named " + metric.getName() + " is already registered.");
+
+		metrics.add(metric);
+		return metric;
+	}
+
+	/**
+	 * Adds a metric with a single value that can go up and down.
+	 * @param name the metric's name
+	 * @param help a description of what the metric measures
+	 * @param value reads the metric's value, called from the thread collecting the metrics
+	 * @return the metric
+	 */
+	public Metric gauge(String name, String help, DoubleSupplier value) {
+		return register(new Metric(name, help, MetricType.GAUGE) {
+			@Override
+			protected void collect(Samples samples) {
+				samples.add(value.getAsDouble());
+			}
+		});
+	}
+
+	/**
+	 * Adds a metric with a single total that only goes up.
+	 * @param name the metric's name, which should end in _total
+	 * @param help a description of what the metric measures
+	 * @param value reads the metric's total, called from the thread collecting the metrics
+	 * @return the metric
+	 */
+	public Metric counter(String name, String help, LongSupplier value) {
+		return register(new Metric(name, help, MetricType.COUNTER) {
+			@Override
+			protected void collect(Samples samples) {
+				samples.add(value.getAsLong());
+			}
+		});
+	}
+
+	/**
+	 * @return the current samples of every metric, in the order the metrics were registered
+	 */
+	public synchronized Samples collect() {
+		Samples samples = new Samples();
+
+		for (Metric metric : metrics) {
+			samples.setMetric(metric);
+			metric.collect(samples);
+		}
+
+		return samples;
+	}
+
+	/**
+	 * @return the current samples of every metric in the Prometheus text format
+	 */
+	public String toPrometheus() {
+		Samples samples = collect();
+		StringBuilder text = new StringBuilder();
+		Metric last = null;
+
+		for (int i = 0; i < samples.size(); i++) {
+			Metric metric = samples.getMetric(i);
+
+			if (metric != last) {
+				text.append("# HELP ").append(metric.getName()).append(' ');
+				text.append(metric.getHelp().replace("\\", "\\\\").replace("\n", "\\n")).append('\n');
+				text.append("# TYPE ").append(metric.getName()).append(' ');
+				text.append(metric.getType().getPrometheusName()).append('\n');
+				last = metric;
+			}
+
+			text.append(samples.getSeries(i)).append(' ').append(format(samples.getValue(i))).append('\n');
+		}
+
+		return text.toString();
+	}
+
+	/**
+	 * @param value a sample's value
+	 * @return the value as the Prometheus text format writes it, whole numbers without a decimal point
+	 */
+	private static String format(double value) {
+		if (Double.isNaN(value))
+			return "NaN";
+		if (Double.isInfinite(value))
+			return value > 0 ? "+Inf" : "-Inf";
+		if (value == Math.rint(value) && Math.abs(value) < 1e15)
+			return Long.toString((long) value);
+
+		return Double.toString(value);
+	}
+
+}
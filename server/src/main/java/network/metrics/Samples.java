@@ -0,0 +1,124 @@
+package network.metrics;
+
+import com.badlogic.gdx.utils.Array;
+
+import java.util.Arrays;
+
+/**
+ * The values of every metric in a {@link MetricsRegistry} at the time it was collected. <br>
+ * Each sample is named by its series, the metric's name with an optional suffix and labels written the way the
+ * Prometheus text format writes them, for example {@code shooter_room_entities{room="lobby"}}. Samples are kept in
+ * the order they were added, so the samples of a metric are next to each other.
+ * @author Connor Stewart
+ */
+public class Samples {
+
+	/** The metric each sample belongs to. */
+	private final Array<Metric> metrics = new Array<>();
+
+	/** The series name of each sample. */
+	private final Array<String> series = new Array<>();
+
+	/** The value of each sample. */
+	private double[] values = new double[64];
+
+	/** The metric samples are currently being added for. */
+	private Metric current;
+
+	/**
+	 * Sets the metric that samples are added for.
+	 * @param metric the metric being collected
+	 */
+	void setMetric(Metric metric) {
+		current = metric;
+	}
+
+	/**
+	 * Adds a sample of the current metric.
+	 * @param value the sample's value
+	 * @param labels the names and values of the sample's labels, one after another
+	 */
+	public void add(double value, String... labels) {
+		addWithSuffix("", value, labels);
+	}
+
+	/**
+	 * Adds a sample of the current metric whose series name has a suffix, such as the _sum of a summary.
+	 * @param suffix the text added to the metric's name
+	 * @param value the sample's value
+	 * @param labels the names and values of the sample's labels, one after another
+	 */
+	public void addWithSuffix(String suffix, double value, String... labels) {
+		if (labels.length % 2 != 0)
+			throw new IllegalArgumentException("Labels must be given as names and values (was " + labels.length + " strings).");
+
+		StringBuilder name = new StringBuilder(current.getName()).append(suffix);
+		if (labels.length > 0) {
+			name.append('{');
+			for (int i = 0; i < labels.length; i += 2) {
+				if (i > 0)
+					name.append(',');
+				name.append(labels[i]).append("=\"");
+				escape(labels[i + 1], name);
+				name.append('"');
+			}
+			name.append('}');
+		}
+
+		if (series.size == values.length)
+			values = Arrays.copyOf(values, values.length * 2);
+
+		values[series.size] = value;
+		metrics.add(current);
+		series.add(name.toString());
+	}
+
+	/**
+	 * Escapes a label value for the Prometheus text format.
+	 * @param value the label value
+	 * @param into the text to write the escaped value to
+	 */
+	private static void escape(String value, StringBuilder into) {
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '\\' || c == '"')
+				into.append('\\').append(c);
+			else if (c == '\n')
+				into.append("\\n");
+			else
+				into.append(c);
+		}
+	}
+
+	/**
+	 * @return the amount of samples
+	 */
+	public int size() {
+		return series.size;
+	}
+
+	/**
+	 * @param index the index of the sample
+	 * @return the metric the sample belongs to
+	 */
+	public Metric getMetric(int index) {
+		return metrics.get(index);
+	}
+
+	/**
+	 * @param index the index of the sample
+	 * @return the sample's series name
+	 */
+	public String getSeries(int index) {
+		return series.get(index);
+	}
+
+	/**
+	 * @param index the index of the sample
+	 * @return the sample's value
+	 */
+	public double getValue(int index) {
+		return values[index];
+	}
+
+}
@@ -0,0 +1,178 @@
+package network.server;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
+import network.EncodedMessage;
+import network.WireSerialization;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class sends the same message to many clients while only serializing it once. <br>
+ * The message is serialized into a pooled buffer and those bytes are written to each client's connection, or for UDP
+ * added to each client's {@link network.DatagramPacker} until the frame is flushed.
+ * The time spent serializing and the time spent writing to connections are recorded separately.
+ * @author Connor Stewart
+ */
+class Broadcaster {
+
+	/** The serialization used by the server. */
+	private final WireSerialization serialization;
+
+	/** Buffers to serialize messages into, shared by every thread sending messages. */
+	private final Pool<EncodedMessage> buffers = new Pool<EncodedMessage>() {
+		@Override
+		protected EncodedMessage newObject() {
+			return new EncodedMessage();
+		}
+	};
+
+	/** The amount of messages broadcast. */
+	private final AtomicLong broadcasts = new AtomicLong();
+
+	/** The amount of times a broadcast message was written to a connection. */
+	private final AtomicLong writes = new AtomicLong();
+
+	/** The total time in nanoseconds spent serializing broadcast messages. */
+	private final AtomicLong serializeNanos = new AtomicLong();
+
+	/** The total time in nanoseconds spent writing broadcast messages to connections. */
+	private final AtomicLong writeNanos = new AtomicLong();
+
+	/**
+	 * Creates a broadcaster.
+	 * @param serialization the serialization used by the server
+	 */
+	Broadcaster(WireSerialization serialization) {
+		this.serialization = serialization;
+	}
+
+	/**
+	 * Sends a message to clients over TCP.
+	 * @param clients the clients to send the message to
+	 * @param message the message to send
+	 */
+	void sendTCP(Array<ClientInfo> clients, Object message) {
+		send(clients, message, true);
+	}
+
+	/**
+	 * Serializes a message that will be sent to several clients.
+	 * @param message the message to serialize
+	 * @param into the encoded message to write to
+	 */
+	void encode(Object message, EncodedMessage into) {
+		long start = System.nanoTime();
+		serialization.encode(message, into);
+		serializeNanos.addAndGet(System.nanoTime() - start);
+	}
+
+	/**
+	 * Adds a message to the UDP messages sent to clients in the next flush.
+	 * @param clients the clients to send the message to
+	 * @param message the message to send
+	 */
+	void queueUDP(Array<ClientInfo> clients, Object message) {
+		send(clients, message, false);
+	}
+
+	/**
+	 * Sends the UDP messages that have been queued for clients.
+	 * @param clients the clients to flush
+	 * @return the amount of datagrams sent
+	 */
+	int flushUDP(Array<ClientInfo> clients) {
+		long start = System.nanoTime();
+		int datagrams = 0;
+
+		for (int i = 0; i < clients.size; i++) {
+			ClientInfo client = clients.get(i);
+			datagrams += client.getPacker().flush(client.getConnection());
+		}
+
+		writeNanos.addAndGet(System.nanoTime() - start);
+		return datagrams;
+	}
+
+	/**
+	 * Serializes a message once and writes it to every client.
+	 * @param clients the clients to send the message to
+	 * @param message the message to send
+	 * @param tcp whether to send the message over TCP, if not it is queued for UDP
+	 */
+	private void send(Array<ClientInfo> clients, Object message, boolean tcp) {
+		if (clients.size == 0)
+			return;
+
+		EncodedMessage encoded = obtain();
+
+		long start = System.nanoTime();
+		serialization.encode(message, encoded);
+		long encodedAt = System.nanoTime();
+
+		int written = 0;
+		for (int i = 0; i < clients.size; i++) {
+			ClientInfo client = clients.get(i);
+			if (tcp)
+				client.getConnection().sendTCP(encoded);
+			else
+				client.getPacker().add(encoded);
+			written++;
+		}
+
+		serializeNanos.addAndGet(encodedAt - start);
+		writeNanos.addAndGet(System.nanoTime() - encodedAt);
+		broadcasts.incrementAndGet();
+		writes.addAndGet(written);
+
+		free(encoded);
+	}
+
+	/**
+	 * @return a buffer to serialize a message into
+	 */
+	private EncodedMessage obtain() {
+		synchronized (buffers) {
+			return buffers.obtain();
+		}
+	}
+
+	/**
+	 * Returns a buffer to the pool.
+	 * @param encoded the buffer to return
+	 */
+	private void free(EncodedMessage encoded) {
+		synchronized (buffers) {
+			buffers.free(encoded);
+		}
+	}
+
+	/**
+	 * @return the amount of messages broadcast
+	 */
+	long getBroadcasts() {
+		return broadcasts.get();
+	}
+
+	/**
+	 * @return the amount of times a broadcast message was written to a connection
+	 */
+	long getWrites() {
+		return writes.get();
+	}
+
+	/**
+	 * @return the total time in nanoseconds spent serializing broadcast messages
+	 */
+	long getSerializeNanos() {
+		return serializeNanos.get();
+	}
+
+	/**
+	 * @return the total time in nanoseconds spent writing broadcast messages to connections
+	 */
+	long getWriteNanos() {
+		return writeNanos.get();
+	}
+
+}
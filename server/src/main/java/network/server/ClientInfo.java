@@ -0,0 +1,163 @@
+package network.server;
+
+import com.esotericsoftware.kryonet.Connection;
+import network.DatagramPacker;
+import network.ReliableSender;
+
+/**
+ * This class stores information that the server knows about a client.
+ * @author Connor Stewart
+ */
+class ClientInfo {
+
+	/** This clients nickname. */
+	private String nickname;
+
+	/** This clients connection to the server. */
+	private Connection conn;
+
+	/** The ID of this clients player. */
+	private int multiplayerID;
+
+	/** The game this client is playing in. */
+	private volatile ServerGame game;
+
+	/** Limits how many input messages this client can send. */
+	private final InputLimiter inputLimiter;
+
+	/** Input this client has sent that has not been applied to their player yet. */
+	private final InputInbox inputs = new InputInbox();
+
+	/** Sends the messages this client must receive. */
+	private final ReliableSender reliable = new ReliableSender();
+
+	/** Packs the UDP messages sent to this client each frame into as few datagrams as possible. */
+	private final DatagramPacker packer = new DatagramPacker();
+
+	/** Decides which frames this client is sent snapshots in. */
+	private final SnapshotRateController snapshotRate;
+
+	/** Watches how much data is waiting to be sent to this client. */
+	private final OutboundMonitor outbound = new OutboundMonitor();
+
+	/** Decides which entity updates this client is sent when they do not all fit in its byte budget. */
+	private final PriorityAccumulator priorities = new PriorityAccumulator();
+
+	/** The maximum length of a nickname. */
+	static int MAX_NAME_LENGTH = 30;
+
+	/**
+	 * Creates the information for a newly connected client.
+	 * @param connection the clients connection
+	 * @param limits the limits on the input messages the client can send
+	 * @param rates the bounds and thresholds for the clients snapshot rate
+	 */
+	ClientInfo(Connection connection, RateLimits limits, SnapshotRates rates) {
+		conn = connection;
+		inputLimiter = new InputLimiter(limits);
+		snapshotRate = new SnapshotRateController(rates);
+	}
+
+	/**
+	 * @return this clients nickname
+	 */
+	String getNickname() {
+		return nickname;
+	}
+
+	/**
+	 * @return the connection this client is connected on
+	 */
+	Connection getConnection() {
+		return conn;
+	}
+
+	/**
+	 * @return this clients multiplayer ID
+	 */
+	int getID() {
+		return multiplayerID;
+	}
+
+	/**
+	 * Assigns this client a nickname.
+	 * @param nickname the clients new nickname
+	 */
+	void setNickname(String nickname) {
+		if (nickname != null)
+			this.nickname = nickname;
+	}
+
+	/**
+	 * Set the clients multiplayer ID
+	 * @param id the new ID
+	 */
+	void setMultiplayerID(int id) {
+		multiplayerID = id;
+	}
+
+	/**
+	 * @return the game this client is playing in or null if they are not in one
+	 */
+	ServerGame getGame() {
+		return game;
+	}
+
+	/**
+	 * Sets the game this client is playing in.
+	 * @param game the game or null if the client has left their game
+	 */
+	void setGame(ServerGame game) {
+		this.game = game;
+	}
+
+	/**
+	 * @return the limiter for the input messages this client sends
+	 */
+	InputLimiter getInputLimiter() {
+		return inputLimiter;
+	}
+
+	/**
+	 * @return the input this client has sent that has not been applied to their player yet
+	 */
+	InputInbox getInputs() {
+		return inputs;
+	}
+
+	/**
+	 * @return the sender for the messages this client must receive
+	 */
+	ReliableSender getReliable() {
+		return reliable;
+	}
+
+	/**
+	 * @return the packer for the UDP messages sent to this client
+	 */
+	DatagramPacker getPacker() {
+		return packer;
+	}
+
+	/**
+	 * @return the controller for how often this client is sent snapshots
+	 */
+	SnapshotRateController getSnapshotRate() {
+		return snapshotRate;
+	}
+
+	/**
+	 * @return the monitor for how much data is waiting to be sent to this client
+	 */
+	OutboundMonitor getOutbound() {
+		return outbound;
+	}
+
+	/**
+	 * @return the accumulator for the priority of each entity update this client is sent
+	 */
+	PriorityAccumulator getPriorities() {
+		return priorities;
+	}
+
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+package network.server;
+
+import com.badlogic.gdx.graphics.GL20;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * Creates the OpenGL the server's games are given, which does nothing. <br>
+ * Entities load their textures as they are created, so the server needs an OpenGL to give them, but nothing is
+ * drawn so every call can be ignored. Each call returns zero, false or null, as a mock would, without the server
+ * depending on a mocking library.
+ * @author Connor Stewart
+ */
+final class HeadlessGL {
+
+	private HeadlessGL() {}
+
+	/**
+	 * @return an OpenGL that ignores every call
+	 */
+	static GL20 create() {
+		return (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class<?>[] {GL20.class}, (proxy, method, args) -> {
+			if (method.getDeclaringClass() == Object.class) {
+				switch (method.getName()) {
+					case "equals":
+						return proxy == args[0];
+					case "hashCode":
+						return System.identityHashCode(proxy);
+					default:
+						return "HeadlessGL";
+				}
+			}
+
+			Class<?> type = method.getReturnType();
+			if (type == int.class)
+				return 0;
+			if (type == boolean.class)
+				return false;
+			return null;
+		});
+	}
+
+}
@@ -0,0 +1,123 @@
+package network.server;
+
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * This class holds a clients input until its game applies it. <br>
+ * The KryoNet thread adds input and the games thread drains it once per frame. Mouse movements are merged, so only
+ * the latest position received during a frame is applied. The highest input sequence number received is kept so the
+ * game can echo it back to the client.
+ * @author Connor Stewart
+ */
+class InputInbox {
+
+	/** Key codes received since the last drain. */
+	private IntArray keys = new IntArray();
+
+	/** Mouse button codes received since the last drain. */
+	private IntArray buttons = new IntArray();
+
+	/** Key codes being applied by the game. */
+	private IntArray drainedKeys = new IntArray();
+
+	/** Mouse button codes being applied by the game. */
+	private IntArray drainedButtons = new IntArray();
+
+	/** Whether the mouse has moved since the last drain. */
+	private boolean mouseMoved;
+
+	/** The latest mouse position received. */
+	private float mouseX, mouseY;
+
+	/** The highest sequence number of the key and button presses received since the last drain. */
+	private int sequence;
+
+	/** The amount of mouse movements that were replaced by a later one before being applied. */
+	private long merged;
+
+	/**
+	 * Adds a key press.
+	 * @param keyCode the code of the pressed key
+	 * @param sequence the order the client sent the input in
+	 */
+	synchronized void addKey(int keyCode, int sequence) {
+		keys.add(keyCode);
+		this.sequence = Math.max(this.sequence, sequence);
+	}
+
+	/**
+	 * Adds a mouse button press.
+	 * @param buttonCode the code of the pressed button
+	 * @param sequence the order the client sent the input in
+	 */
+	synchronized void addButton(int buttonCode, int sequence) {
+		buttons.add(buttonCode);
+		this.sequence = Math.max(this.sequence, sequence);
+	}
+
+	/**
+	 * Sets the latest mouse position, replacing any position that has not been applied.
+	 * @param x the mouses x coordinate within the game
+	 * @param y the mouses y coordinate within the game
+	 */
+	synchronized void setMouse(float x, float y) {
+		if (mouseMoved)
+			merged++;
+
+		mouseMoved = true;
+		mouseX = x;
+		mouseY = y;
+	}
+
+	/**
+	 * Applies every input received since the last drain to a player.
+	 * @param game the game the player is in
+	 * @param playerID the players multiplayer ID
+	 * @return the highest sequence number of the presses applied, or zero if none were
+	 */
+	int drain(ServerGame game, int playerID) {
+		boolean moved;
+		float x, y;
+		int applied;
+
+		synchronized (this) {
+			IntArray swap = keys;
+			keys = drainedKeys;
+			drainedKeys = swap;
+
+			swap = buttons;
+			buttons = drainedButtons;
+			drainedButtons = swap;
+
+			moved = mouseMoved;
+			x = mouseX;
+			y = mouseY;
+			mouseMoved = false;
+
+			applied = sequence;
+			sequence = 0;
+		}
+
+		if (moved)
+			game.mouseMoved(playerID, x, y);
+
+		for (int i = 0; i < drainedButtons.size; i++)
+			game.mouseInput(playerID, drainedButtons.get(i));
+
+		for (int i = 0; i < drainedKeys.size; i++)
+			game.keyInput(playerID, drainedKeys.get(i));
+
+		drainedKeys.clear();
+		drainedButtons.clear();
+
+		return applied;
+	}
+
+	/**
+	 * @return the amount of mouse movements that were replaced by a later one before being applied
+	 */
+	synchronized long getMergedCount() {
+		return merged;
+	}
+
+}
@@ -0,0 +1,86 @@
+package network.server;
+
+import com.badlogic.gdx.utils.ObjectMap;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class limits how many input messages of each class a single client can send. <br>
+ * It is only used on the KryoNet thread, the drop counts can be read from any thread.
+ * @author Connor Stewart
+ */
+class InputLimiter {
+
+	/** The limits new buckets are created from. */
+	private final RateLimits limits;
+
+	/** The bucket for each message class that has been received, null if the class is not limited. */
+	private final ObjectMap<Class<?>, TokenBucket> buckets = new ObjectMap<>();
+
+	/** The amount of messages of each class dropped. */
+	private final ObjectMap<Class<?>, AtomicLong> dropped = new ObjectMap<>();
+
+	/** The amount of messages of every class dropped. */
+	private final AtomicLong totalDropped = new AtomicLong();
+
+	/**
+	 * Creates a limiter for a client.
+	 * @param limits the limits to apply
+	 */
+	InputLimiter(RateLimits limits) {
+		this.limits = limits;
+	}
+
+	/**
+	 * Checks if a message is within its classes limit.
+	 * @param type the message class
+	 * @return whether the message should be processed, if not it has been counted as dropped
+	 */
+	boolean allow(Class<?> type) {
+		if (!buckets.containsKey(type))
+			buckets.put(type, limits.newBucket(type));
+
+		TokenBucket bucket = buckets.get(type);
+		if (bucket == null || bucket.tryConsume(System.nanoTime()))
+			return true;
+
+		totalDropped.incrementAndGet();
+		getDropCounter(type).incrementAndGet();
+		return false;
+	}
+
+	/**
+	 * Gets the drop counter for a message class, creating it if it does not exist.
+	 * @param type the message class
+	 * @return the counter
+	 */
+	private AtomicLong getDropCounter(Class<?> type) {
+		synchronized (dropped) {
+			AtomicLong counter = dropped.get(type);
+			if (counter == null) {
+				counter = new AtomicLong();
+				dropped.put(type, counter);
+			}
+			return counter;
+		}
+	}
+
+	/**
+	 * @param type the message class
+	 * @return the amount of messages of the class that were dropped
+	 */
+	long getDropped(Class<?> type) {
+		synchronized (dropped) {
+			AtomicLong counter = dropped.get(type);
+			return counter == null ? 0 : counter.get();
+		}
+	}
+
+	/**
+	 * @return the amount of messages of every class that were dropped
+	 */
+	long getTotalDropped() {
+		return totalDropped.get();
+	}
+
+}
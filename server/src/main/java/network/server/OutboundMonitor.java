@@ -0,0 +1,67 @@
+package network.server;
+
+import com.esotericsoftware.kryonet.Connection;
+import network.DatagramPacker;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class watches how much data is waiting to be sent to a single client. <br>
+ * The bytes queued are the client's TCP write buffer plus the UDP messages packed but not yet flushed. While they are
+ * over the threshold the client's snapshots are dropped, the next snapshot it is sent replaces them anyway. Reliable
+ * messages are never dropped. It is only updated by the game thread, the gauges can be read from any thread.
+ * @author Connor Stewart
+ */
+class OutboundMonitor {
+
+	/** The bytes queued when last checked. */
+	private volatile int queuedBytes;
+
+	/** The most bytes that have been queued. */
+	private volatile int peakQueuedBytes;
+
+	/** The amount of snapshots dropped because too many bytes were queued. */
+	private final AtomicLong droppedSnapshots = new AtomicLong();
+
+	/**
+	 * Checks if a client can be sent a snapshot.
+	 * @param connection the clients connection
+	 * @param packer the packer for the clients UDP messages
+	 * @param threshold the bytes queued above which snapshots are dropped
+	 * @return whether the snapshot should be sent, if not it has been counted as dropped
+	 */
+	boolean admitSnapshot(Connection connection, DatagramPacker packer, int threshold) {
+		int queued = connection.getTcpWriteBufferSize() + packer.getPendingBytes();
+		queuedBytes = queued;
+		if (queued > peakQueuedBytes)
+			peakQueuedBytes = queued;
+
+		if (queued <= threshold)
+			return true;
+
+		droppedSnapshots.incrementAndGet();
+		return false;
+	}
+
+	/**
+	 * @return the bytes queued when last checked
+	 */
+	int getQueuedBytes() {
+		return queuedBytes;
+	}
+
+	/**
+	 * @return the most bytes that have been queued
+	 */
+	int getPeakQueuedBytes() {
+		return peakQueuedBytes;
+	}
+
+	/**
+	 * @return the amount of snapshots dropped because too many bytes were queued
+	 */
+	long getDroppedSnapshots() {
+		return droppedSnapshots.get();
+	}
+
+}
@@ -0,0 +1,155 @@
+package network.server;
+
+import com.badlogic.gdx.utils.IntFloatMap;
+import network.DatagramPacker;
+
+/**
+ * This class decides which entity updates a single client is sent when they do not all fit in its byte budget. <br>
+ * Every entity builds up priority for the time it has not been sent, scaled by its type's weight and by how close it
+ * is to the client's player. Updates are added highest priority first while they fit in the budget, and the
+ * priority of each entity sent goes back to zero, so distant entities are still sent every so often. If every update
+ * fits they are all sent without being ordered, otherwise they are put in a heap and only taken from it until the
+ * budget is full, so a large game costs a linear pass plus a logarithmic step for each update sent.
+ * It is only used by the game thread.
+ * @author Connor Stewart
+ */
+class PriorityAccumulator {
+
+	/** The distance in game units at which an entity builds up priority at half the rate of one on top of the player. */
+	static final float DISTANCE_FALLOFF = 25;
+
+	/** The priority of each entity that has not been sent, by multiplayer ID. */
+	private IntFloatMap priorities = new IntFloatMap();
+
+	/** The priorities being built for the current snapshot, swapped with priorities so removed entities are forgotten. */
+	private IntFloatMap next = new IntFloatMap();
+
+	/** The index of each update, kept as a heap with the highest priority first. */
+	private int[] heap = new int[16];
+
+	/** The priority of each update in the current snapshot. */
+	private float[] scratch = new float[16];
+
+	/** The time in nanoseconds the client was last sent a snapshot. */
+	private long lastSnapshot = System.nanoTime();
+
+	/** The amount of updates that did not fit in the last snapshot. */
+	private volatile int deferredLastSnapshot;
+
+	/**
+	 * Adds the most important updates this frame to a client's packer.
+	 * @param frame the updates for this frame
+	 * @param focusX the x coordinate of the client's player
+	 * @param focusY the y coordinate of the client's player
+	 * @param budget the most bytes of updates to send
+	 * @param packer the packer for the client's UDP messages
+	 * @return the amount of bytes added
+	 */
+	int fill(Replicator frame, float focusX, float focusY, int budget, DatagramPacker packer) {
+		long now = System.nanoTime();
+		float elapsed = (now - lastSnapshot) / 1e9f;
+		lastSnapshot = now;
+
+		int size = frame.size();
+		if (heap.length < size) {
+			heap = new int[Math.max(size, heap.length * 2)];
+			scratch = new float[heap.length];
+		}
+
+		//build up each entity's priority
+		int total = 0;
+		int smallest = Integer.MAX_VALUE;
+		for (int i = 0; i < size; i++) {
+			float xDistance = frame.getX(i) - focusX;
+			float yDistance = frame.getY(i) - focusY;
+			float distance = (float) Math.sqrt(xDistance * xDistance + yDistance * yDistance);
+
+			scratch[i] = priorities.get(frame.getID(i), 0) + elapsed * frame.getWeight(i) / (1 + distance / DISTANCE_FALLOFF);
+			heap[i] = i;
+
+			int length = frame.getUpdate(i).getLength();
+			total += length;
+			smallest = Math.min(smallest, length);
+		}
+
+		int bytes = 0;
+		int deferred = 0;
+		next.clear();
+
+		if (total <= budget) {
+			for (int i = 0; i < size; i++) {
+				packer.add(frame.getUpdate(i));
+				next.put(frame.getID(i), 0);
+			}
+			bytes = total;
+		} else {
+			for (int parent = size / 2 - 1; parent >= 0; parent--)
+				siftDown(parent, size);
+
+			//send the highest priorities that fit until not even the smallest update would
+			int remaining = size;
+			while (remaining > 0 && budget - bytes >= smallest) {
+				int i = heap[0];
+				heap[0] = heap[--remaining];
+				siftDown(0, remaining);
+
+				int length = frame.getUpdate(i).getLength();
+				if (bytes + length <= budget) {
+					packer.add(frame.getUpdate(i));
+					bytes += length;
+					next.put(frame.getID(i), 0);
+				} else {
+					next.put(frame.getID(i), scratch[i]);
+					deferred++;
+				}
+			}
+
+			//everything left in the heap keeps the priority it built up
+			for (int rank = 0; rank < remaining; rank++)
+				next.put(frame.getID(heap[rank]), scratch[heap[rank]]);
+			deferred += remaining;
+		}
+
+		IntFloatMap swap = priorities;
+		priorities = next;
+		next = swap;
+
+		deferredLastSnapshot = deferred;
+		return bytes;
+	}
+
+	/**
+	 * Moves an update down the heap until both of its children have a lower priority.
+	 * @param position the position in the heap of the update
+	 * @param size the amount of updates in the heap
+	 */
+	private void siftDown(int position, int size) {
+		int index = heap[position];
+		float priority = scratch[index];
+
+		while (true) {
+			int child = position * 2 + 1;
+			if (child >= size)
+				break;
+
+			if (child + 1 < size && scratch[heap[child + 1]] > scratch[heap[child]])
+				child++;
+
+			if (scratch[heap[child]] <= priority)
+				break;
+
+			heap[position] = heap[child];
+			position = child;
+		}
+
+		heap[position] = index;
+	}
+
+	/**
+	 * @return the amount of updates that did not fit in the last snapshot
+	 */
+	int getDeferredLastSnapshot() {
+		return deferredLastSnapshot;
+	}
+
+}
@@ -0,0 +1,68 @@
+package network.server;
+
+import com.badlogic.gdx.utils.ObjectMap;
+import network.Network.*;
+
+/**
+ * This class stores how many messages of each class a single client may send per second. <br>
+ * Messages of a class without a limit are never limited.
+ * @author Connor Stewart
+ */
+public class RateLimits {
+
+	/** The limits for each message class. */
+	private final ObjectMap<Class<?>, Limit> limits = new ObjectMap<>();
+
+	/**
+	 * Creates the default limits, which allow a client rendering at 60 frames per second to hold every key and button.
+	 */
+	public RateLimits() {
+		setLimit(KeyInput.class, 240, 60);
+		setLimit(MouseInput.class, 120, 30);
+	}
+
+	/**
+	 * Sets how many messages of a class a client may send.
+	 * @param type the message class
+	 * @param perSecond the amount of messages allowed per second
+	 * @param burst the amount of messages that can be sent at once after a quiet period
+	 */
+	public synchronized void setLimit(Class<?> type, double perSecond, int burst) {
+		if (perSecond <= 0 || burst < 1)
+			throw new IllegalArgumentException("Invalid limit for " + type.getSimpleName() + ": " + perSecond + "/s, burst " + burst + ".");
+
+		limits.put(type, new Limit(perSecond, burst));
+	}
+
+	/**
+	 * Removes the limit for a message class.
+	 * @param type the message class
+	 */
+	public synchronized void removeLimit(Class<?> type) {
+		limits.remove(type);
+	}
+
+	/**
+	 * Creates a token bucket for a message class.
+	 * @param type the message class
+	 * @return a full bucket for the class or null if the class is not limited
+	 */
+	synchronized TokenBucket newBucket(Class<?> type) {
+		Limit limit = limits.get(type);
+		return limit == null ? null : new TokenBucket(limit.perSecond, limit.burst);
+	}
+
+	/** The limit for a single message class. */
+	private static class Limit {
+		/** The amount of messages allowed per second. */
+		private final double perSecond;
+		/** The amount of messages that can be sent at once. */
+		private final int burst;
+
+		private Limit(double perSecond, int burst) {
+			this.perSecond = perSecond;
+			this.burst = burst;
+		}
+	}
+
+}
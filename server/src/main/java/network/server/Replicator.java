@@ -0,0 +1,118 @@
+package network.server;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.Pool;
+import network.EncodedMessage;
+
+/**
+ * This class collects the state updates for every entity in a game during a frame. <br>
+ * Each update is serialized once when it is added, then each client due a snapshot is given the updates its
+ * {@link PriorityAccumulator} chooses. It is only used by the game thread.
+ * @author Connor Stewart
+ */
+class Replicator {
+
+	/** The multiplayer ID of each entity updated this frame. */
+	private final IntArray ids = new IntArray();
+
+	/** The x coordinate of the center of each entity. */
+	private final FloatArray xs = new FloatArray();
+
+	/** The y coordinate of the center of each entity. */
+	private final FloatArray ys = new FloatArray();
+
+	/** How important each entity's type is. */
+	private final FloatArray weights = new FloatArray();
+
+	/** Each entity's serialized update. */
+	private final Array<EncodedMessage> updates = new Array<>();
+
+	/** Reuses serialized updates from previous frames. */
+	private final Pool<EncodedMessage> pool = new Pool<EncodedMessage>() {
+		@Override
+		protected EncodedMessage newObject() {
+			return new EncodedMessage();
+		}
+	};
+
+	/**
+	 * Removes every update from the previous frame.
+	 */
+	void clear() {
+		pool.freeAll(updates);
+		updates.clear();
+		ids.clear();
+		xs.clear();
+		ys.clear();
+		weights.clear();
+	}
+
+	/**
+	 * Adds an entity's update to this frame.
+	 * @param id the entities multiplayer ID
+	 * @param x the x coordinate of the center of the entity
+	 * @param y the y coordinate of the center of the entity
+	 * @param weight how important the entity's type is
+	 * @param update the update message, it is serialized straight away
+	 */
+	void add(int id, float x, float y, float weight, Object update) {
+		EncodedMessage encoded = pool.obtain();
+		ServerHandler.getInstance().encode(update, encoded);
+
+		ids.add(id);
+		xs.add(x);
+		ys.add(y);
+		weights.add(weight);
+		updates.add(encoded);
+	}
+
+	/**
+	 * @return the amount of entities updated this frame
+	 */
+	int size() {
+		return ids.size;
+	}
+
+	/**
+	 * @param index the index of the update
+	 * @return the multiplayer ID of the entity
+	 */
+	int getID(int index) {
+		return ids.get(index);
+	}
+
+	/**
+	 * @param index the index of the update
+	 * @return the x coordinate of the center of the entity
+	 */
+	float getX(int index) {
+		return xs.get(index);
+	}
+
+	/**
+	 * @param index the index of the update
+	 * @return the y coordinate of the center of the entity
+	 */
+	float getY(int index) {
+		return ys.get(index);
+	}
+
+	/**
+	 * @param index the index of the update
+	 * @return how important the entity's type is
+	 */
+	float getWeight(int index) {
+		return weights.get(index);
+	}
+
+	/**
+	 * @param index the index of the update
+	 * @return the serialized update
+	 */
+	EncodedMessage getUpdate(int index) {
+		return updates.get(index);
+	}
+
+}
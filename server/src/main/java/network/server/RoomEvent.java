@@ -0,0 +1,73 @@
+package network.server;
+
+import jdk.jfr.*;
+
+/**
+ * A Java Flight Recorder event for a stage in the life of a {@link Room}, from being added to its game ending. <br>
+ * The event's duration is the time the server took to handle the stage, such as creating the game when it starts.
+ * It is disabled unless enabled by a recording's settings, such as the profile in profiling/shooter.jfc.
+ * @author Connor Stewart
+ */
+@Name("shooter.Room")
+@Label("Room Lifecycle")
+@Category({"Space Shooter", "Server"})
+@Description("A room being added, joined, left, started, closed or destroyed, or its game ending.")
+@Enabled(false)
+@StackTrace(false)
+class RoomEvent extends Event {
+
+	/** A client added the room. */
+	static final String ADDED = "Added";
+
+	/** A client joined the room. */
+	static final String JOINED = "Joined";
+
+	/** A client left the room. */
+	static final String LEFT = "Left";
+
+	/** The room's game was started. */
+	static final String GAME_STARTED = "Game Started";
+
+	/** The room stopped being listed because its game started. */
+	static final String CLOSED = "Closed";
+
+	/** The room was removed because its leader disconnected. */
+	static final String DESTROYED = "Destroyed";
+
+	/** The room's game ended. */
+	static final String GAME_ENDED = "Game Ended";
+
+	/** The room's name. */
+	@Label("Room")
+	String room;
+
+	/** The stage the room reached. */
+	@Label("Stage")
+	String stage;
+
+	/** The amount of clients in the room. */
+	@Label("Players")
+	int players;
+
+	/** The amount of entities in the room's game, zero if it has no game. */
+	@Label("Entities")
+	int entities;
+
+	/**
+	 * Ends and commits this event if the recording wants it.
+	 * @param stage the stage the room reached
+	 * @param room the room
+	 * @param entities the amount of entities in the room's game, zero if it has no game
+	 */
+	void finish(String stage, Room room, int entities) {
+		if (!shouldCommit())
+			return;
+
+		this.stage = stage;
+		this.room = room.getRoomName();
+		this.players = room.getClients().size;
+		this.entities = entities;
+		commit();
+	}
+
+}
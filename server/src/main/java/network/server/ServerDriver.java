@@ -0,0 +1,19 @@
+package network.server;
+
+import backend.logging.GameLog;
+
+/**
+ * This class starts the dedicated server, the main class of the server's jar.
+ * @author Connor Stewart
+ */
+public class ServerDriver {
+
+	public static void main(String[] args) {
+		//route KryoNet's log through the game's log before anything connects, -Dshooter.log.level=debug logs more
+		GameLog.start();
+
+		//only the dedicated server publishes its metrics, -Dshooter.metricsPort=-1 leaves them off HTTP
+		ServerHandler.getInstance().startMetrics(Integer.getInteger("shooter.metricsPort", ServerMetrics.DEFAULT_PORT));
+	}
+
+}
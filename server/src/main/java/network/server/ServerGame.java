@@ -0,0 +1,511 @@
+package network.server;
+
+import backend.entities.Entity;
+import backend.entities.InanimateEntity;
+import backend.entities.MultiplayerPlayer;
+import backend.logging.GameLog;
+import backend.projectiles.Projectile;
+import com.badlogic.gdx.ApplicationListener;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.esotericsoftware.kryonet.Listener;
+import network.LatencyHistogram;
+import network.MessagePools;
+import network.Network;
+import network.Network.*;
+
+/**
+ * This thread hosts a server side game game once a room of players has been assembled.
+ * @author Connor Stewart
+ */
+public class ServerGame extends Listener implements ApplicationListener {
+	
+	/** The room containing clients playing this game. */
+	private final Room room;
+	
+	/** The last multiplayer ID assigned to an entity. */
+	private static int lastIDAssigned;
+
+	/** The entities in this game. */
+	private Array<Entity> entities = new Array<>();
+
+	/** The time in between game updates ticks in seconds. */
+	private static final float TICK_TIME = 1;
+
+	/** The time that has passes since the last tick. */
+	private float tickTimer;
+
+	/** The gdx application used to handle the server game. */
+	private HeadlessApplication gdxApp;
+
+	/** Whether the game has been disposed. */
+	private boolean disposed;
+
+	/** The amount of UDP datagrams sent to clients during the last frame. */
+	private volatile int datagramsLastFrame;
+
+	/** The amount of frames this game has run. */
+	private volatile int frame;
+
+	/** How long each frame took to update the game and send its snapshots. */
+	private final LatencyHistogram frameTimes = new LatencyHistogram();
+
+	/** The sequence number of the latest input applied for each player, by multiplayer ID. */
+	private final IntIntMap inputSequences = new IntIntMap();
+
+	/** The frame the latest input was applied in for each player, by multiplayer ID. */
+	private final IntIntMap inputTicks = new IntIntMap();
+
+	/** The clients that are due a snapshot this frame. */
+	private final Array<ClientInfo> snapshotTargets = new Array<>();
+
+	/** The entity updates serialized this frame. */
+	private final Replicator replicator = new Replicator();
+
+	/** How quickly players build up priority to be sent compared to other entities. */
+	private static final float PLAYER_PRIORITY = 2;
+
+	/** How quickly projectiles build up priority to be sent compared to other entities. */
+	private static final float PROJECTILE_PRIORITY = 1;
+
+	/**
+	 * Creates a game that runs in its own application.
+	 * @param toHost the room containing the clients playing the game
+	 */
+	ServerGame(Room toHost) {
+		this(toHost, true);
+	}
+
+	/**
+	 * Creates a game.
+	 * @param toHost the room containing the clients playing the game
+	 * @param hosted whether the game runs in its own application, otherwise its frames are run by calling render
+	 */
+	ServerGame(Room toHost, boolean hosted) {
+		this.room = toHost;
+		InanimateEntity.retainTextures();
+
+		if (hosted) {
+			ServerHandler.getInstance().addListener(this);
+			Gdx.gl = HeadlessGL.create();
+			gdxApp = new HeadlessApplication(this);
+		}
+	}
+
+	/**
+	 * Rotates a player towards their mouse.
+	 * @param playerID the multiplayer ID of the player that moved their mouse
+	 * @param x the mouses x coordinate within the game
+	 * @param y the mouses y coordinate within the game
+	 */
+	void mouseMoved(int playerID, float x, float y) {
+		MultiplayerPlayer toUpdate = getPlayerByID(playerID);
+		if (toUpdate != null) {
+			//rotate the player towards the mouse
+			toUpdate.rotateTowards(x, y);
+			toUpdate.setRotation(toUpdate.getRotation() - 90); //-90 due to how the player sprite is drawn
+		}
+	}
+
+	/**
+	 * Fires projectiles depending on mouse input.
+	 * @param playerID the multiplayer ID of the player that pressed the button
+	 * @param buttonCode the code of the pressed mouse button
+	 */
+	void mouseInput(int playerID, int buttonCode) {
+		MultiplayerPlayer toUpdate = getPlayerByID(playerID);
+		if (toUpdate != null) {
+			if (buttonCode == Input.Buttons.LEFT) {
+				Projectile pp = toUpdate.getLeftWeapon().fire(toUpdate.getCenterX(), toUpdate.getCenterY(), toUpdate.getRotation());
+				if (pp != null) {
+					lastIDAssigned++;
+					sendAddProjectile(toUpdate.getMultiplayerID(), lastIDAssigned, "Light");
+
+					pp.setFiredByID(toUpdate.getMultiplayerID());
+					pp.setMultiplayerID(lastIDAssigned);
+					entities.add(pp);
+				}
+			}
+			if (buttonCode == Input.Buttons.RIGHT) {
+				Projectile pp = toUpdate.getRightWeapon().fire(toUpdate.getCenterX(), toUpdate.getCenterY(), toUpdate.getRotation());
+				if (pp != null) {
+					lastIDAssigned++;
+					sendAddProjectile(toUpdate.getMultiplayerID(), lastIDAssigned, "Heavy");
+
+					pp.setFiredByID(toUpdate.getMultiplayerID());
+					pp.setMultiplayerID(lastIDAssigned);
+					entities.add(pp);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Moves players depending on key input.
+	 * @param playerID the multiplayer ID of the player that pressed the key
+	 * @param keyCode the code of the pressed key
+	 */
+	void keyInput(int playerID, int keyCode) {
+		MultiplayerPlayer toUpdate = getPlayerByID(playerID);
+
+		if (toUpdate != null) {
+			if (keyCode == Input.Keys.W)
+				toUpdate.moveUp(Gdx.graphics.getDeltaTime());
+
+			if (keyCode == Input.Keys.S)
+				toUpdate.moveDown(Gdx.graphics.getDeltaTime());
+
+			if (keyCode == Input.Keys.D)
+				toUpdate.moveRight(Gdx.graphics.getDeltaTime());
+
+			if (keyCode == Input.Keys.A)
+				toUpdate.moveLeft(Gdx.graphics.getDeltaTime());
+		}
+	}
+
+	public void create() {
+		//tell the clients to open their game screens
+		for (ClientInfo client : room.getClients())
+			client.getConnection().sendTCP(new StartGame());
+		
+		try {
+			Thread.sleep(500L);
+		} catch (InterruptedException e) {
+			GameLog.warn("server", "Interrupted while waiting for the clients to open their games", e);
+		}
+		
+		//tell the clients to add the player characters to the game
+		for (int i = 0; i < room.getClients().size ; i++) {
+			lastIDAssigned++;
+
+			room.getClients().get(i).setMultiplayerID(lastIDAssigned);
+
+			AddPlayer toSend = new AddPlayer();
+			toSend.id = lastIDAssigned;
+			toSend.name = room.getClients().get(i).getNickname();
+			ServerHandler.getInstance().sendReliableTo(room.getClients(), toSend);
+
+			MultiplayerPlayer toAdd = new MultiplayerPlayer(Network.GAME_HEIGHT / 2, Network.GAME_HEIGHT / 2, room.getClients().get(i).getNickname());
+			toAdd.setMultiplayerID(lastIDAssigned);
+			entities.add(toAdd);
+		}
+	}
+	
+	public void render() {
+		ServerTickEvent event = ServerTickEvent.beginIfEnabled();
+		boolean timeCollisions = event != null;
+		long collide = 0;
+
+		long frameStart = System.nanoTime();
+		float delta = Gdx.graphics.getDeltaTime();
+		frame++;
+
+		//apply the input each client has sent since the last frame, remembering the latest so it can be echoed back
+		for (int i = 0; i < room.getClients().size; i++) {
+			ClientInfo client = room.getClients().get(i);
+			int applied = client.getInputs().drain(this, client.getID());
+			if (applied > 0) {
+				inputSequences.put(client.getID(), applied);
+				inputTicks.put(client.getID(), frame);
+			}
+		}
+
+		long drained = System.nanoTime();
+
+		//each client is sent snapshots at a rate that suits their link, unless too much is already queued for them
+		snapshotTargets.clear();
+		int backpressureThreshold = ServerHandler.getInstance().getBackpressureThreshold();
+		for (int i = 0; i < room.getClients().size; i++) {
+			ClientInfo client = room.getClients().get(i);
+			if (client.getSnapshotRate().update(delta, client.getConnection(), client.getReliable())
+					&& client.getOutbound().admitSnapshot(client.getConnection(), client.getPacker(), backpressureThreshold))
+				snapshotTargets.add(client);
+		}
+
+		replicator.clear();
+		long simulateStart = System.nanoTime();
+
+		for (int i = 0 ; i < entities.size; i++) {
+			Entity currentEntity = entities.get(i);
+			currentEntity.update(delta);
+			if (currentEntity instanceof Projectile) {
+				Projectile projectile = (Projectile) currentEntity;
+				
+				//send the projectile update command to the clients
+				UpdateProjectile toSend = MessagePools.obtain(UpdateProjectile.class);
+				toSend.id = projectile.getMultiplayerID();
+				toSend.x = projectile.getX();
+				toSend.y = projectile.getY();
+				toSend.r = Math.floor(projectile.getRotation());
+				replicator.add(toSend.id, projectile.getCenterX(), projectile.getCenterY(), PROJECTILE_PRIORITY, toSend);
+				MessagePools.free(toSend);
+				
+				//remove the projectile if its outside the map
+				if (projectile.getX() > Network.GAME_WIDTH || projectile.getX() < 0 || projectile.getY() > Network.GAME_HEIGHT || projectile.getY() < 0)
+					removeProjectile(projectile);
+			} else if (currentEntity instanceof MultiplayerPlayer) {
+				MultiplayerPlayer player = (MultiplayerPlayer) currentEntity;
+				
+				//send the player update command to the clients
+				UpdatePlayer toSend = MessagePools.obtain(UpdatePlayer.class);
+				toSend.id = player.getMultiplayerID();
+				toSend.x = player.getX();
+				toSend.y = player.getY();
+				toSend.r = Math.floor(player.getRotation());
+				toSend.health = player.getHealth();
+				toSend.kills = player.getKills();
+				toSend.inputSequence = inputSequences.get(toSend.id, 0);
+				toSend.inputTick = inputTicks.get(toSend.id, 0);
+				replicator.add(toSend.id, player.getCenterX(), player.getCenterY(), PLAYER_PRIORITY, toSend);
+				MessagePools.free(toSend);
+			}
+			
+			//check if this entity collides with any others
+			long collideStart = timeCollisions ? System.nanoTime() : 0;
+			for (int j = 0; j < entities.size; j++)
+				if (currentEntity.getBoundingRectangle().overlaps(entities.get(j).getBoundingRectangle()) && !currentEntity.equals(entities.get(j)))
+					resolveCollision(currentEntity, entities.get(j));
+			if (timeCollisions)
+				collide += System.nanoTime() - collideStart;
+		}
+
+		long simulated = System.nanoTime();
+
+		//give each client due a snapshot the most important updates that fit in its budget
+		for (int i = 0; i < snapshotTargets.size; i++) {
+			ClientInfo client = snapshotTargets.get(i);
+			MultiplayerPlayer focus = getPlayerByID(client.getID());
+			float focusX = focus == null ? Network.GAME_WIDTH / 2 : focus.getCenterX();
+			float focusY = focus == null ? Network.GAME_HEIGHT / 2 : focus.getCenterY();
+			client.getPriorities().fill(replicator, focusX, focusY, client.getSnapshotRate().getByteBudget(), client.getPacker());
+		}
+
+		//send this frames updates in as few datagrams as possible
+		datagramsLastFrame = ServerHandler.getInstance().flushUDP(room.getClients());
+		long broadcast = System.nanoTime();
+
+		tickTimer += delta;
+		if (tickTimer >= TICK_TIME)
+			tick();
+
+		frameTimes.record(System.nanoTime() - frameStart);
+
+		if (event != null && event.shouldCommit()) {
+			event.room = getRoomName();
+			event.entities = entities.size;
+			event.clients = room.getClients().size;
+			event.inputDrain = drained - frameStart;
+			event.simulate = simulated - simulateStart - collide;
+			event.collide = collide;
+			//choosing which clients are due a snapshot happens before the simulation but is part of broadcasting
+			event.broadcast = (simulateStart - drained) + (broadcast - simulated);
+			event.commit();
+		}
+	}
+
+	/**
+	 * Called every time the time the tickTimer reaches the TICK_TIME.
+	 */
+	private void tick() {
+		tickTimer = 0;
+
+		if (room.getClients().size <= 1) {
+			ClientInfo lastClient = room.getClients().get(0);
+			if (lastClient != null) {
+				sendWin(lastClient);
+				ServerHandler.getInstance().endGame(this);
+			}
+		}
+
+		for (int i = 0; i < room.getClients().size; i++) {
+			ClientInfo client = room.getClients().get(i);
+			MultiplayerPlayer player = getPlayerByID(client.getID());
+			if (player != null && player.getKills() >= 10) {
+				sendWin(client);
+				ServerHandler.getInstance().endGame(this);
+			}
+		}
+	}
+
+	/**
+	 * Sends a message to end the game to all players within the game.
+	 * @param winningClient the winning client
+	 */
+	private void sendWin(ClientInfo winningClient) {
+		PlayerWon toSend = new PlayerWon();
+		toSend.id = winningClient.getID();
+		ServerHandler.getInstance().sendReliableTo(room.getClients(), toSend);
+	}
+
+	/**
+	 * Resolves a collision between two entities.
+	 * @param entity1 the first entity in the collision
+	 * @param entity2 the second entity in the collision
+	 */
+	private void resolveCollision(Entity entity1, Entity entity2) {
+		if (entity1 instanceof MultiplayerPlayer) {
+			if (entity2 instanceof Projectile) {
+				Projectile projectile = (Projectile) entity2;
+				MultiplayerPlayer player = (MultiplayerPlayer) entity1;
+				
+				//if the projectile was fired by another player
+				if (projectile.getFiredByID() != player.getMultiplayerID()) {
+					player.reduceHealth(projectile.getDamage());
+					entities.removeValue(projectile, false);
+					
+					if (player.getHealth() <= 0) {
+						MultiplayerPlayer toIncrement = getPlayerByID(projectile.getFiredByID());
+
+						if (toIncrement != null)
+							toIncrement.incrementKills();
+
+						player.resetHealth();
+						player.setPosition(Network.GAME_WIDTH / 2, Network.GAME_HEIGHT / 2);
+					}
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Gets a MultiplayerPlayer using its multiplayer id.
+	 * @param id the multiplayer id to search for
+	 * @return the player that has a matching id or null
+	 */
+	private MultiplayerPlayer getPlayerByID(int id) {
+		for (Entity entity : entities)
+			if (entity instanceof MultiplayerPlayer)
+				if (entity.getMultiplayerID() == id)
+					return (MultiplayerPlayer) entity;
+		
+		return null;
+	}
+	
+	/**
+	 * Tells all clients a projectile has been fired, each is sent its own pooled message as its sender frees it once
+	 * acknowledged.
+	 * @param playerID the multiplayer ID of the player who fired the projectile
+	 * @param id the projectiles multiplayer ID
+	 * @param type the type of projectile fired
+	 */
+	private void sendAddProjectile(int playerID, int id, String type) {
+		Array<ClientInfo> clients = room.getClients();
+
+		for (int i = 0; i < clients.size; i++) {
+			AddProjectile toSend = MessagePools.obtain(AddProjectile.class);
+			toSend.playerID = playerID;
+			toSend.id = id;
+			toSend.type = type;
+			clients.get(i).getReliable().send(clients.get(i).getConnection(), toSend);
+		}
+	}
+
+	/**
+	 * Tells all clients to remove a projectile and queue it for removal from the server.
+	 * @param toRemove the projectile to remove
+	 */
+	private void removeProjectile(Projectile toRemove) {
+		//remove on clients, each is sent its own pooled message as its sender frees it once acknowledged
+		Array<ClientInfo> clients = room.getClients();
+		for (int i = 0; i < clients.size; i++) {
+			RemoveProjectile toSend = MessagePools.obtain(RemoveProjectile.class);
+			toSend.id = toRemove.getMultiplayerID();
+			clients.get(i).getReliable().send(clients.get(i).getConnection(), toSend);
+		}
+		
+		//remove on server
+		toRemove.onDestroy();
+		entities.removeValue(toRemove, false);
+	}
+
+	/**
+	 * @return the amount of UDP datagrams sent to clients during the last frame
+	 */
+	public int getDatagramsLastFrame() {
+		return datagramsLastFrame;
+	}
+
+	/**
+	 * @return how long each frame took to update the game and send its snapshots
+	 */
+	public LatencyHistogram getFrameTimes() {
+		return frameTimes;
+	}
+
+	/**
+	 * @return the amount of frames this game has run
+	 */
+	public int getFrameCount() {
+		return frame;
+	}
+
+	/**
+	 * @return the amount of entities in this game, read without locking so it may be a frame out of date
+	 */
+	public int getEntityCount() {
+		return entities.size;
+	}
+
+	/**
+	 * @return the name of the room this game is hosting
+	 */
+	public String getRoomName() {
+		return room.getRoomName();
+	}
+
+	/**
+	 * @return the room containing clients within the game
+	 */
+	Room getRoom() {
+		return room;
+	}
+
+	/**
+	 * Removes a player from the game.
+	 * @param client the client to remove
+	 */
+	void removePlayer(ClientInfo client) {
+		MultiplayerPlayer toRemove = getPlayerByID(client.getID());
+
+		if (toRemove != null) {
+			RemovePlayer toSend = new RemovePlayer();
+			toSend.id = toRemove.getMultiplayerID();
+			ServerHandler.getInstance().sendReliableTo(room.getClients(), toSend);
+		}
+	}
+
+	/**
+	 * Adds an entity to the game without telling the clients.
+	 * @param toAdd the entity to add
+	 */
+	void addEntity(Entity toAdd) {
+		entities.add(toAdd);
+	}
+
+	/**
+	 * Closes the gdx app that runs this game.
+	 */
+	void close() {
+		if (gdxApp != null)
+			gdxApp.exit();
+	}
+
+	public void resize(int width, int height) {}
+	public void pause() {}
+	public void resume() {}
+
+	/**
+	 * Releases the entity textures, once, as a hosted game is disposed both by its app exiting and by the server.
+	 */
+	public synchronized void dispose() {
+		if (disposed)
+			return;
+
+		disposed = true;
+		InanimateEntity.releaseTextures();
+	}
+
+}
\ No newline at end of file
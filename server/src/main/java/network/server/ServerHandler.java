@@ -0,0 +1,793 @@
+package network.server;
+
+import backend.logging.GameLog;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntMap;
+import com.esotericsoftware.kryonet.Connection;
+import com.esotericsoftware.kryonet.Listener;
+import com.esotericsoftware.kryonet.Server;
+import backend.ScoreStorage;
+import network.ConfirmType;
+import network.ErrorType;
+import network.EncodedMessage;
+import network.MessageDispatcher;
+import network.MessagePools;
+import network.Network;
+import network.Network.*;
+import network.WireSerialization;
+import network.capture.TrafficCapture;
+import network.metrics.MetricsRegistry;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+
+/**
+ * This class handles server functions.
+ * @author Connor Stewart
+ */
+public class ServerHandler extends Listener {
+	
+	/** The singleton instance of the server handler. */
+	private static ServerHandler instance = new ServerHandler();
+
+	/** The serialization used by the server, shared with the broadcaster so messages can be serialized once. */
+	private WireSerialization serialization = new WireSerialization();
+
+	/** The server that this handles. */
+	private Server server = new Server(16384, 2048, serialization);
+
+	/** Sends messages to many clients while only serializing them once. */
+	private Broadcaster broadcaster = new Broadcaster(serialization);
+
+	/** Open rooms on the server. */
+	private Array<Room> rooms = new Array<>();
+	
+	/** The clients connected to the server. */
+	private Array<ClientInfo> clients = new Array<>();
+
+	/** The clients connected to the server, by their connections ID. */
+	private IntMap<ClientInfo> clientsByID = new IntMap<>();
+
+	/** The limits on how many input messages each client can send. */
+	private RateLimits rateLimits = new RateLimits();
+
+	/** The bounds and thresholds used to adapt how often each client is sent snapshots. */
+	private SnapshotRates snapshotRates = new SnapshotRates();
+
+	/** The default bytes queued for a client above which it is not sent snapshots, half its write buffer. */
+	public static final int DEFAULT_BACKPRESSURE_THRESHOLD = 8192;
+
+	/** The bytes queued for a client above which it is not sent snapshots. */
+	private volatile int backpressureThreshold = DEFAULT_BACKPRESSURE_THRESHOLD;
+
+	/** Publishes what the server is doing over JMX and HTTP. */
+	private ServerMetrics metrics;
+
+	/** Routes each message received to the method that handles it. */
+	private MessageDispatcher dispatcher = new MessageDispatcher();
+
+	/** Games currently being hosted on the server. */
+	private Array<ServerGame> games = new Array<>();
+
+	/**
+	 * Starts the server.
+	 */
+	private ServerHandler() {
+		ServerHandler.instance = this;
+
+		//start the server
+		server.start();
+		
+		Network.register(server);
+		addHandlers();
+
+		server.addListener(this);
+
+		metrics = new ServerMetrics(this, serialization);
+
+		String capture = System.getProperty("shooter.capture");
+		if (capture != null)
+			startCapture(new File(capture));
+
+		try {
+			server.bind(new InetSocketAddress(InetAddress.getLocalHost(), Network.TCP_PORT), new InetSocketAddress(InetAddress.getLocalHost(), Network.UDP_PORT));
+		} catch (IOException e) {
+			GameLog.error("server", "Server is already running on this network.");
+		}
+	}
+
+	/**
+	 * Writes every message the server reads and writes to a capture file until the process exits, a failure to create
+	 * the file is reported and otherwise ignored.
+	 * @param file the file to write, set with the shooter.capture property
+	 */
+	private void startCapture(File file) {
+		try {
+			TrafficCapture capture = new TrafficCapture(file);
+			serialization.setCapture(capture);
+
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+				try {
+					capture.close();
+				} catch (IOException e) {
+					GameLog.warn("capture", "Traffic capture to {} could not be closed: {}", file, e.getMessage());
+				}
+			}, "Traffic Capture"));
+		} catch (IOException e) {
+			GameLog.warn("capture", "Traffic could not be captured to {}: {}", file, e.getMessage());
+		}
+	}
+
+	@Override
+	public void connected(Connection connection) {
+		ClientInfo client = new ClientInfo(connection, rateLimits, snapshotRates);
+		serialization.track(connection);
+		clients.add(client);
+		clientsByID.put(connection.getID(), client);
+	}
+
+	@Override
+	public void disconnected(Connection connection) {
+		serialization.untrack(connection);
+		ClientInfo left = getClientInfoByConnection(connection);
+
+		if (left == null)
+			return;
+
+		//remove the client from their game
+		ServerGame game = left.getGame();
+		if (game != null) {
+			game.removePlayer(left);
+			game.getRoom().getClients().removeValue(left, false);
+			left.setGame(null);
+		}
+
+		//Array<Room> toRemove = new Array<>();
+
+		//remove the clients room if they were the leader of any
+		for (Room room : rooms)
+			if (room.getLeader().equals(left))
+				destroyRoom(room);
+
+		//rooms.removeAll(toRemove, false);
+
+		//remove client from rooms
+		for (Room room : rooms) {
+			if (room.getClients().contains(left, false)) {
+				room.getClients().removeValue(left, false);
+			}
+		}
+
+		clients.removeValue(left, false);
+		clientsByID.remove(connection.getID());
+	}
+
+	/**
+	 * Removes all players from a room and removes the room.
+	 * @param room the room to destroy
+	 */
+	private void destroyRoom(Room room) {
+		RoomEvent event = new RoomEvent();
+		event.begin();
+
+		rooms.removeValue(room, false);
+		sendTCPToAll(new Network.LobbyClosed());
+
+		event.finish(RoomEvent.DESTROYED, room, 0);
+	}
+
+	@Override
+	public void received(Connection connection, Object object) {
+		dispatcher.dispatch(connection, object);
+	}
+
+	@Override
+	public void idle(Connection connection) {
+		//called every server update, so messages are resent even when no game is running
+		ClientInfo client = getClientInfoByConnection(connection);
+		if (client == null)
+			return;
+
+		client.getReliable().resend(connection);
+
+		//a client that stops acknowledging would be resent to forever, closing it removes it like any disconnect
+		if (client.getReliable().hasFailed()) {
+			GameLog.warn("server", "Closing connection {} as it stopped acknowledging reliable messages", connection.getID());
+			connection.close();
+		}
+	}
+
+	/**
+	 * Adds handlers for every message a client can send to the server.
+	 */
+	private void addHandlers() {
+		//server messages
+		dispatcher.setHandler(this, AddRoom.class, (connection, msg) -> addRoom(connection, msg));
+		dispatcher.setHandler(this, RefreshRooms.class, (connection, msg) -> connection.sendTCP(getRoomUpdate()));
+		dispatcher.setHandler(this, JoinRoom.class, (connection, msg) -> joinRoom(connection, msg));
+		dispatcher.setHandler(this, UpdateNickname.class, (connection, msg) -> updateNickname(getClientInfoByConnection(connection), connection, msg));
+		dispatcher.setHandler(this, LeaveLobby.class, (connection, msg) -> leaveLobby(getClientInfoByConnection(connection)));
+		dispatcher.setHandler(this, RequestGameStart.class, (connection, msg) -> requestGameStart(getClientInfoByConnection(connection)));
+		dispatcher.setHandler(this, UploadScore.class, (connection, msg) -> uploadScore(connection, msg));
+		dispatcher.setHandler(this, RefreshScores.class, (connection, msg) -> refreshScores(connection));
+		dispatcher.setHandler(this, TimeProbe.class, (connection, msg) -> replyToTimeProbe(connection, msg));
+		dispatcher.setHandler(this, ReliableAck.class, (connection, msg) -> {
+			ClientInfo client = getClientInfoByConnection(connection);
+			if (client != null)
+				client.getReliable().acknowledge(msg);
+		});
+
+		//game input is limited then held until the clients game applies it
+		dispatcher.setHandler(this, KeyInput.class, (connection, msg) -> {
+			ClientInfo client = getInputSender(connection, KeyInput.class);
+			if (client != null)
+				client.getInputs().addKey(msg.keyCode, msg.sequence);
+		});
+
+		dispatcher.setHandler(this, MouseInput.class, (connection, msg) -> {
+			ClientInfo client = getInputSender(connection, MouseInput.class);
+			if (client != null)
+				client.getInputs().addButton(msg.buttonCode, msg.sequence);
+		});
+
+		dispatcher.setHandler(this, MouseMoved.class, (connection, msg) -> {
+			ClientInfo client = getInputSender(connection, MouseMoved.class);
+			if (client != null)
+				client.getInputs().setMouse(msg.x, msg.y);
+		});
+	}
+
+	/**
+	 * Adds a new room if its name is valid.
+	 * @param connection the connection the client is on
+	 * @param msg the message the client sent
+	 */
+	private void addRoom(Connection connection, AddRoom msg) {
+		RoomEvent event = new RoomEvent();
+		event.begin();
+		String roomName = msg.roomName;
+
+		if (msg.roomName.replaceAll("\\s+","").isEmpty()) {
+			ErrorMessage em = new ErrorMessage();
+			em.message = "Your must provide a room name!";
+			connection.sendTCP(em);
+			return;
+		}
+
+		if (roomName.length() > Room.MAX_NAME_LEN) {
+			ErrorMessage em = new ErrorMessage();
+			em.message = "Your room name is too long (max " + Room.MAX_NAME_LEN +  " characters), your room has not been added.";
+			connection.sendTCP(em);
+			return;
+		}
+
+		boolean duplicateName = false;
+
+		for (Room room : rooms)
+			if (room.getRoomName().equals(roomName))
+				duplicateName = true;
+
+		if (!duplicateName)
+			for (ServerGame game : getGames())
+				if (game.getRoom().getRoomName().equals(roomName))
+					duplicateName = true;
+
+		if (duplicateName) {
+			ErrorMessage em = new ErrorMessage();
+			em.message = "Your room name '" + roomName + "' is already in use, please choose another.";
+			connection.sendTCP(em);
+			return;
+		}
+
+		Room toAdd = new Room(msg.roomName, getClientInfoByConnection(connection));
+		toAdd.addClient(getClientInfoByConnection(connection));
+		rooms.add(toAdd);
+		sendTCPToAll(getRoomUpdate());
+
+		event.finish(RoomEvent.ADDED, toAdd, 0);
+	}
+
+	/**
+	 * Adds a client to the room they have requested to join.
+	 * @param connection the connection the client is on
+	 * @param msg the message the client sent
+	 */
+	private void joinRoom(Connection connection, JoinRoom msg) {
+		for (Room room : rooms) {
+			if (room.getRoomName().equals(msg.roomName)) {
+				RoomEvent event = new RoomEvent();
+				event.begin();
+				room.addClient(getClientInfoByConnection(connection));
+				event.finish(RoomEvent.JOINED, room, 0);
+			}
+		}
+	}
+
+	/**
+	 * Changes a clients nickname if the new nickname is valid.
+	 * @param client the client that sent the message
+	 * @param connection the connection the client is on
+	 * @param msg the message the client sent
+	 */
+	private void updateNickname(ClientInfo client, Connection connection, UpdateNickname msg) {
+		boolean duplicateNickname = false;
+
+		for (ClientInfo clientInfo : clients)
+			if (clientInfo.getNickname() != null && clientInfo.getNickname().equals(msg.nickname))
+				duplicateNickname = true;
+
+		if (duplicateNickname) {
+			ErrorMessage em = new ErrorMessage();
+			em.type = ErrorType.DuplicateName;
+			em.message = "Your nickname '" + msg.nickname + "' is already in use, please choose another.";
+			connection.close();
+			connection.sendTCP(em);
+			return;
+		} else {
+			client.setNickname(msg.nickname);
+		}
+
+		if (msg.nickname == null || msg.nickname.replaceAll("\\s+","").isEmpty()) {
+			ErrorMessage em = new ErrorMessage();
+			em.message = "You must give a nickname!";
+			connection.sendTCP(em);
+			connection.close();
+			return;
+		}
+
+		if (msg.nickname.length() > ClientInfo.MAX_NAME_LENGTH) {
+			ErrorMessage em = new ErrorMessage();
+			em.message = "Your nickname is too long (max " + ClientInfo.MAX_NAME_LENGTH +  " characters).";
+			connection.sendTCP(em);
+			connection.close();
+			return;
+		}
+
+		ConfirmationMessage reply = new ConfirmationMessage();
+		reply.type = ConfirmType.ValidName;
+		connection.sendTCP(reply);
+	}
+
+	/**
+	 * Removes a client from its current room.
+	 * @param client the client that sent the message
+	 */
+	private void leaveLobby(ClientInfo client) {
+		for (Room room : rooms) {
+			if (room.hasClient(client)) {
+				RoomEvent event = new RoomEvent();
+				event.begin();
+				room.removeClient(client);
+				event.finish(RoomEvent.LEFT, room, 0);
+			}
+		}
+	}
+
+	/**
+	 * Finds the clients room and starts the game if the client is the rooms leader.
+	 * @param client the client that sent the message
+	 */
+	private void requestGameStart(ClientInfo client) {
+		Room clientsRoom = null;
+		for (Room room : rooms) {
+			if (room.getClients().contains(client, false)) {
+				clientsRoom = room;
+				break;
+			}
+		}
+
+		if (client != null && clientsRoom != null && client.equals(clientsRoom.getLeader())) {
+			startGame(clientsRoom);
+			closeRoom(clientsRoom);
+		}
+	}
+
+	/**
+	 * Stores a score a client has uploaded.
+	 * @param connection the connection the client is on
+	 * @param msg the message the client sent
+	 */
+	private void uploadScore(Connection connection, UploadScore msg) {
+		new ScoreStorage().writeScore(msg.name, msg.score);
+		ConfirmationMessage reply = new ConfirmationMessage();
+		reply.type = ConfirmType.ScoreAdded;
+		connection.sendTCP(reply);
+	}
+
+	/**
+	 * Sends the stored scores to a client.
+	 * @param connection the connection the client is on
+	 */
+	private void refreshScores(Connection connection) {
+		ScoreUpdate msg = new ScoreUpdate();
+		ScoreStorage dao = new ScoreStorage();
+
+		msg.names = dao.getNames();
+		msg.scores = dao.getScores();
+
+		connection.sendTCP(msg);
+	}
+
+	/**
+	 * Replies to a clients request for the servers clock time.
+	 * @param connection the connection the client is on
+	 * @param msg the message the client sent
+	 */
+	private void replyToTimeProbe(Connection connection, TimeProbe msg) {
+		TimeReply reply = new TimeReply();
+		reply.clientSent = msg.clientSent;
+		//the probe was stamped as it was read, so the time spent in the server is taken out of the round trip
+		reply.serverReceived = msg.readAt;
+		reply.serverSent = serverTimeNow();
+		connection.sendUDP(reply);
+	}
+
+	/**
+	 * @return the time on the servers clock in nanoseconds, which clients estimate with a {@link network.ClockSync}, the
+	 * same clock {@link TimeProbe}s are stamped with as they are read
+	 */
+	public static long serverTimeNow() {
+		return System.nanoTime();
+	}
+
+	/**
+	 * Gets the client that sent an input message if the message should be applied.
+	 * @param connection the clients connection
+	 * @param type the class of input message
+	 * @return the client or null if they are not in a game or have sent too many messages of this class
+	 */
+	private ClientInfo getInputSender(Connection connection, Class<?> type) {
+		ClientInfo client = getClientInfoByConnection(connection);
+
+		if (client == null || client.getGame() == null)
+			return null;
+
+		return client.getInputLimiter().allow(type) ? client : null;
+	}
+
+	/**
+	 * Gets the amount of input messages a client has sent that were dropped for exceeding the rate limits.
+	 * @param connectionID the ID of the clients connection
+	 * @return the amount of messages dropped, or zero if the client is not connected
+	 */
+	public long getDroppedInputs(int connectionID) {
+		ClientInfo client = clientsByID.get(connectionID);
+		return client == null ? 0 : client.getInputLimiter().getTotalDropped();
+	}
+
+	/**
+	 * @return the limits on how many input messages each client can send, changes apply to clients that connect later
+	 */
+	public RateLimits getRateLimits() {
+		return rateLimits;
+	}
+
+	/**
+	 * @return the bounds and thresholds used to adapt how often each client is sent snapshots
+	 */
+	public SnapshotRates getSnapshotRates() {
+		return snapshotRates;
+	}
+
+	/**
+	 * Gets how many snapshots per second a client is currently being sent.
+	 * @param connectionID the ID of the clients connection
+	 * @return the snapshots per second, or zero if the client is not connected
+	 */
+	public float getSnapshotRate(int connectionID) {
+		ClientInfo client = clientsByID.get(connectionID);
+		return client == null ? 0 : client.getSnapshotRate().getRate();
+	}
+
+	/**
+	 * Sets the bytes queued for a client above which it is not sent snapshots, reliable messages are always sent.
+	 * @param bytes the threshold in bytes
+	 */
+	public void setBackpressureThreshold(int bytes) {
+		if (bytes < 0)
+			throw new IllegalArgumentException("Backpressure threshold cannot be negative (was " + bytes + ").");
+
+		backpressureThreshold = bytes;
+	}
+
+	/**
+	 * @return the bytes queued for a client above which it is not sent snapshots
+	 */
+	int getBackpressureThreshold() {
+		return backpressureThreshold;
+	}
+
+	/**
+	 * Gets the bytes waiting to be sent to a client when it was last checked for backpressure.
+	 * @param connectionID the ID of the clients connection
+	 * @return the bytes queued, or zero if the client is not connected
+	 */
+	public int getQueuedBytes(int connectionID) {
+		ClientInfo client = clientsByID.get(connectionID);
+		return client == null ? 0 : client.getOutbound().getQueuedBytes();
+	}
+
+	/**
+	 * Gets the most bytes that have been waiting to be sent to a client.
+	 * @param connectionID the ID of the clients connection
+	 * @return the most bytes queued, or zero if the client is not connected
+	 */
+	public int getPeakQueuedBytes(int connectionID) {
+		ClientInfo client = clientsByID.get(connectionID);
+		return client == null ? 0 : client.getOutbound().getPeakQueuedBytes();
+	}
+
+	/**
+	 * Gets the amount of snapshots a client was not sent because too many bytes were queued for it.
+	 * @param connectionID the ID of the clients connection
+	 * @return the amount of snapshots dropped, or zero if the client is not connected
+	 */
+	public long getDroppedSnapshots(int connectionID) {
+		ClientInfo client = clientsByID.get(connectionID);
+		return client == null ? 0 : client.getOutbound().getDroppedSnapshots();
+	}
+
+	/**
+	 * Gets the amount of entity updates that did not fit in the byte budget of the last snapshot sent to a client.
+	 * @param connectionID the ID of the clients connection
+	 * @return the amount of updates deferred, or zero if the client is not connected
+	 */
+	public int getDeferredUpdates(int connectionID) {
+		ClientInfo client = clientsByID.get(connectionID);
+		return client == null ? 0 : client.getPriorities().getDeferredLastSnapshot();
+	}
+
+	/**
+	 * Gets the amount of reliable messages a client has not acknowledged yet.
+	 * @param connectionID the ID of the clients connection
+	 * @return the amount of messages, or zero if the client is not connected
+	 */
+	public int getPendingReliable(int connectionID) {
+		ClientInfo client = clientsByID.get(connectionID);
+		return client == null ? 0 : client.getReliable().getPendingCount();
+	}
+
+	/**
+	 * Opens a new room on the server.
+	 * @param room the room to open
+	 */
+	private void startGame(Room room) {
+		RoomEvent event = new RoomEvent();
+		event.begin();
+
+		ServerGame game = new ServerGame(room);
+		synchronized (games) {
+			games.add(game);
+		}
+
+		for (ClientInfo client : room.getClients())
+			client.setGame(game);
+
+		event.finish(RoomEvent.GAME_STARTED, room, game.getEntityCount());
+	}
+
+	/**
+	 * Returns the information know about a client using their connection.
+	 * @param connection the clients connection
+	 * @return the ClientInfo object
+	 */
+	private ClientInfo getClientInfoByConnection(Connection connection) {
+		return clientsByID.get(connection.getID());
+	}
+
+	/**
+	 * Gets the singleton instance of this class.
+	 * @return the singleton instance of this class
+	 */
+	public static ServerHandler getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Adds a listener for KryoNet server events.
+	 * @param toAdd the listener to add
+	 */
+	void addListener(Listener toAdd) {
+		server.addListener(toAdd);
+	}
+
+	/**
+	 * Gets the games currently being hosted, copied so it can be read from any thread.
+	 * @return the games currently being hosted
+	 */
+	public Array<ServerGame> getGames() {
+		synchronized (games) {
+			return new Array<>(games);
+		}
+	}
+
+	/**
+	 * @return the amount of clients connected to the server
+	 */
+	int getClientCount() {
+		return clients.size;
+	}
+
+	/**
+	 * @return the amount of rooms open on the server
+	 */
+	int getRoomCount() {
+		return rooms.size;
+	}
+
+	/**
+	 * Shows the server's metrics over JMX and serves them over HTTP. Only the dedicated server does this, so servers
+	 * started by load tests and benchmarks do not bind a port.
+	 * @param port the port to serve the metrics on, or -1 to only show them over JMX
+	 */
+	public void startMetrics(int port) {
+		metrics.start(port);
+	}
+
+	/**
+	 * @return the server's metrics, which are also shown over JMX and HTTP once started
+	 */
+	public MetricsRegistry getMetrics() {
+		return metrics.getRegistry();
+	}
+
+	/**
+	 * @return the port the server's metrics are served on, or -1 if they are not served
+	 */
+	public int getMetricsPort() {
+		return metrics.getPort();
+	}
+
+	/**
+	 * Gets the KyroNet server object.
+	 * @return the KyroNet server object
+	 */
+	public Server getServer() {
+		return server;
+	}
+
+	/**
+	 * Sends a TCP message to an array containing client information.
+	 * @param clients the array of clients
+	 * @param message the message to send
+	 */
+	void sendTCPTo(Array<ClientInfo> clients, Object message) {
+		broadcaster.sendTCP(clients, message);
+	}
+
+	/**
+	 * Sends a UDP message to an array containing client information in their next datagrams.
+	 * @param clients the array of clients
+	 * @param message the message to send
+	 */
+	void sendUDPTo(Array<ClientInfo> clients, Object message) {
+		broadcaster.queueUDP(clients, message);
+	}
+
+	/**
+	 * Serializes a message that will be sent to several clients.
+	 * @param message the message to serialize
+	 * @param into the encoded message to write to
+	 */
+	void encode(Object message, EncodedMessage into) {
+		broadcaster.encode(message, into);
+	}
+
+	/**
+	 * Packs the UDP messages sent to clients since the last flush into datagrams and sends them.
+	 * @param clients the array of clients
+	 * @return the amount of datagrams sent
+	 */
+	int flushUDP(Array<ClientInfo> clients) {
+		return broadcaster.flushUDP(clients);
+	}
+
+	/**
+	 * Sends a message over UDP to an array containing client information, resending it until each client receives it.
+	 * Pooled messages are freed once acknowledged, so each client must be sent its own, see {@link ClientInfo#getReliable}.
+	 * @param clients the array of clients
+	 * @param message the message to send, which must not be pooled
+	 */
+	void sendReliableTo(Array<ClientInfo> clients, Object message) {
+		if (MessagePools.isPooled(message.getClass()))
+			throw new IllegalArgumentException(message.getClass().getSimpleName() + " is pooled, so it cannot be shared between clients.");
+
+		for (int i = 0; i < clients.size; i++) {
+			ClientInfo client = clients.get(i);
+			client.getReliable().send(client.getConnection(), message);
+		}
+	}
+
+	/**
+	 * Send TCP to all clients connected to the server.
+	 * @param message the message to send
+	 */
+	private void sendTCPToAll(Object message) {
+		broadcaster.sendTCP(clients, message);
+	}
+
+	/**
+	 * @return the amount of messages that have been sent to many clients at once
+	 */
+	public long getBroadcastCount() {
+		return broadcaster.getBroadcasts();
+	}
+
+	/**
+	 * @return the total time in nanoseconds spent serializing messages sent to many clients
+	 */
+	public long getBroadcastSerializeNanos() {
+		return broadcaster.getSerializeNanos();
+	}
+
+	/**
+	 * @return the total time in nanoseconds spent writing messages sent to many clients to their connections
+	 */
+	public long getBroadcastWriteNanos() {
+		return broadcaster.getWriteNanos();
+	}
+
+	/**
+	 * @return the amount of times a message sent to many clients was written to a connection
+	 */
+	public long getBroadcastWriteCount() {
+		return broadcaster.getWrites();
+	}
+
+	/**
+	 * Removes a room from this list of rooms available rooms to join.
+	 * @param room the room to remove
+	 */
+	void closeRoom(Room room) {
+		RoomEvent event = new RoomEvent();
+		event.begin();
+
+		rooms.removeValue(room, false);
+		sendTCPToAll(getRoomUpdate());
+
+		event.finish(RoomEvent.CLOSED, room, 0);
+	}
+
+
+	/**
+	 * Gets a RoomUpdate object containing the names of all rooms available to join.
+	 * @return the RoomUpdate object
+	 */
+	private RoomUpdate getRoomUpdate() {
+		RoomUpdate toSend = new RoomUpdate();
+		String[] roomNames = new String[rooms.size];
+
+		for (int i = 0; i < rooms.size; i++)
+			roomNames[i] = rooms.get(i).getRoomName();
+
+		toSend.roomNames = roomNames;
+
+		return toSend;
+	}
+
+	/**
+	 * Closes a game that is running on the server.
+	 * @param serverGame the game to close.
+	 */
+	void endGame(ServerGame serverGame) {
+		RoomEvent event = new RoomEvent();
+		event.begin();
+		int entities = serverGame.getEntityCount();
+
+		synchronized (games) {
+			games.removeValue(serverGame, false);
+		}
+
+		for (ClientInfo client : serverGame.getRoom().getClients())
+			if (client.getGame() == serverGame)
+				client.setGame(null);
+
+		serverGame.close();
+		serverGame.dispose();
+
+		event.finish(RoomEvent.GAME_ENDED, serverGame.getRoom(), entities);
+	}
+}
@@ -0,0 +1,215 @@
+package network.server;
+
+import backend.logging.GameLog;
+import network.*;
+import network.metrics.*;
+
+import javax.management.JMException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * This class publishes what the server is doing so it can be watched while it runs. <br>
+ * It registers the server's metrics, which are the connected clients, open rooms and running games, each room's
+ * entity count and frame times, the messages and bytes of each class read and written with a histogram of their
+ * sizes, and the packets and bytes of each connection, all split by transport. They
+ * are shown over JMX as {@value #OBJECT_NAME} and served in the Prometheus text format at
+ * {@code http://localhost:<port>/metrics}. Every value is read from what the server already records without locking.
+ * @author Connor Stewart
+ */
+class ServerMetrics {
+
+	/** The default port the dedicated server serves the metrics on, set with the shooter.metricsPort property or -1 to not serve them. */
+	static final int DEFAULT_PORT = 9464;
+
+	/** The name the metrics are registered with over JMX. */
+	static final String OBJECT_NAME = "shooter:type=ServerMetrics";
+
+	/** The percentiles given for each room's frame times. */
+	private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+	/** The server's metrics. */
+	private final MetricsRegistry registry = new MetricsRegistry();
+
+	/** Serves the metrics, null if they are not served. */
+	private MetricsHttpServer http;
+
+	/**
+	 * Registers the server's metrics.
+	 * @param server the server to measure
+	 * @param serialization the serialization used by the server
+	 */
+	ServerMetrics(ServerHandler server, WireSerialization serialization) {
+		registry.gauge("shooter_connected_clients", "Clients connected to the server.", server::getClientCount);
+		registry.gauge("shooter_open_rooms", "Rooms open on the server.", server::getRoomCount);
+		registry.gauge("shooter_running_games", "Games being played on the server.", () -> server.getGames().size);
+
+		registry.register(new Metric("shooter_room_entities", "Entities in each room's game.", MetricType.GAUGE) {
+			@Override
+			protected void collect(Samples samples) {
+				for (ServerGame game : server.getGames())
+					samples.add(game.getEntityCount(), "room", game.getRoomName());
+			}
+		});
+
+		registry.register(new Metric("shooter_room_tick_seconds", "Time each room's game took to run a frame.", MetricType.SUMMARY) {
+			@Override
+			protected void collect(Samples samples) {
+				for (ServerGame game : server.getGames()) {
+					LatencyHistogram frames = game.getFrameTimes();
+					for (double quantile : QUANTILES)
+						samples.add(frames.getPercentile(quantile * 100) / 1000, "room", game.getRoomName(), "quantile", Double.toString(quantile));
+					samples.addWithSuffix("_sum", frames.getSum() / 1000, "room", game.getRoomName());
+					samples.addWithSuffix("_count", frames.getCount(), "room", game.getRoomName());
+				}
+			}
+		});
+
+		addMessageTraffic("received", "read from clients", serialization.getReceived());
+		addMessageTraffic("sent", "written to clients", serialization.getSent());
+
+		registry.register(new Metric("shooter_connection_packets_total", "TCP frames and UDP datagrams of each connection.", MetricType.COUNTER) {
+			@Override
+			protected void collect(Samples samples) {
+				for (ConnectionTraffic traffic : serialization.getTraffic())
+					for (TrafficDirection direction : TrafficDirection.values())
+						for (Transport transport : Transport.values())
+							samples.add(traffic.get(direction, transport).getCount(), "connection", Integer.toString(traffic.getConnectionID()),
+									"direction", label(direction), "transport", label(transport));
+			}
+		});
+
+		registry.register(new Metric("shooter_connection_bytes_total", "Bytes read from and written to each connection.", MetricType.COUNTER) {
+			@Override
+			protected void collect(Samples samples) {
+				for (ConnectionTraffic traffic : serialization.getTraffic())
+					for (TrafficDirection direction : TrafficDirection.values())
+						for (Transport transport : Transport.values())
+							samples.add(traffic.get(direction, transport).getBytes(), "connection", Integer.toString(traffic.getConnectionID()),
+									"direction", label(direction), "transport", label(transport));
+			}
+		});
+
+		registry.register(new Metric("shooter_packet_size_bytes", "Sizes of the TCP frames and UDP datagrams of every connection.", MetricType.HISTOGRAM) {
+			@Override
+			protected void collect(Samples samples) {
+				for (TrafficDirection direction : TrafficDirection.values()) {
+					for (Transport transport : Transport.values()) {
+						TrafficStats total = new TrafficStats();
+						for (ConnectionTraffic traffic : serialization.getTraffic())
+							total.merge(traffic.get(direction, transport));
+						addHistogram(samples, total, "direction", label(direction), "transport", label(transport));
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Adds the metrics of the messages of each class that went one way.
+	 * @param direction the direction used in the metrics' names
+	 * @param description what was done with the messages, used in the metrics' descriptions
+	 * @param traffic the messages
+	 */
+	private void addMessageTraffic(String direction, String description, MessageTraffic traffic) {
+		Class<?>[] types = MessageTraffic.getTypes();
+
+		registry.register(new Metric("shooter_messages_" + direction + "_total", "Messages " + description + ", by class and transport.", MetricType.COUNTER) {
+			@Override
+			protected void collect(Samples samples) {
+				for (Class<?> type : types)
+					for (Transport transport : Transport.values())
+						samples.add(traffic.get(type, transport).getCount(), "type", type.getSimpleName(), "transport", label(transport));
+			}
+		});
+
+		registry.register(new Metric("shooter_message_" + direction + "_bytes_total", "Bytes of the messages " + description + ", by class and transport.", MetricType.COUNTER) {
+			@Override
+			protected void collect(Samples samples) {
+				for (Class<?> type : types)
+					for (Transport transport : Transport.values())
+						samples.add(traffic.get(type, transport).getBytes(), "type", type.getSimpleName(), "transport", label(transport));
+			}
+		});
+
+		//only the classes that have been seen are given, as every bucket of every class would be thousands of series
+		registry.register(new Metric("shooter_message_" + direction + "_size_bytes", "Sizes of the messages " + description + ", by class and transport.", MetricType.HISTOGRAM) {
+			@Override
+			protected void collect(Samples samples) {
+				for (Class<?> type : types) {
+					for (Transport transport : Transport.values()) {
+						TrafficStats stats = traffic.get(type, transport);
+						if (stats.getCount() > 0)
+							addHistogram(samples, stats, "type", type.getSimpleName(), "transport", label(transport));
+					}
+				}
+			}
+		});
+	}
+
+	/**
+	 * Adds the samples of a histogram of sizes, which are the count up to each bucket's bound, the sum and the count.
+	 * @param samples the samples to add to
+	 * @param stats the sizes
+	 * @param labels the names and values of the histogram's labels, one after another
+	 */
+	private static void addHistogram(Samples samples, TrafficStats stats, String... labels) {
+		String[] bucketLabels = Arrays.copyOf(labels, labels.length + 2);
+		bucketLabels[labels.length] = "le";
+
+		long cumulative = 0;
+		for (int i = 0; i < TrafficStats.BUCKETS; i++) {
+			cumulative += stats.getBucketCount(i);
+			bucketLabels[labels.length + 1] = i == TrafficStats.BUCKETS - 1 ? "+Inf" : Integer.toString(TrafficStats.getBucketBound(i));
+			samples.addWithSuffix("_bucket", cumulative, bucketLabels);
+		}
+
+		samples.addWithSuffix("_sum", stats.getBytes(), labels);
+		samples.addWithSuffix("_count", stats.getCount(), labels);
+	}
+
+	/**
+	 * @param value a direction or transport
+	 * @return the value as it is given in a label
+	 */
+	private static String label(Enum<?> value) {
+		return value.name().toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * Shows the metrics over JMX and serves them over HTTP, a failure to do either is reported and otherwise ignored.
+	 * @param port the port to serve the metrics on, zero for any free port or negative to not serve them
+	 */
+	void start(int port) {
+		try {
+			new MetricsMBean(registry).register(OBJECT_NAME);
+		} catch (JMException e) {
+			GameLog.warn("metrics", "Metrics could not be registered over JMX: {}", e.getMessage());
+		}
+
+		if (port < 0)
+			return;
+
+		try {
+			http = new MetricsHttpServer(registry, port);
+		} catch (IOException e) {
+			GameLog.warn("metrics", "Metrics could not be served on port {}: {}", port, e.getMessage());
+		}
+	}
+
+	/**
+	 * @return the server's metrics
+	 */
+	MetricsRegistry getRegistry() {
+		return registry;
+	}
+
+	/**
+	 * @return the port the metrics are served on, or -1 if they are not served
+	 */
+	int getPort() {
+		return http == null ? -1 : http.getPort();
+	}
+
+}
@@ -0,0 +1,68 @@
+package network.server;
+
+import jdk.jfr.*;
+
+/**
+ * A Java Flight Recorder event for one frame of a {@link ServerGame}, split into its phases. <br>
+ * The event's duration is the whole frame and each phase's time is given separately, collisions are checked as
+ * entities are simulated so their time is taken out of the simulate phase. It is disabled unless enabled by a
+ * recording's settings, such as the profile in profiling/shooter.jfc.
+ * @author Connor Stewart
+ */
+@Name("shooter.ServerTick")
+@Label("Server Tick")
+@Category({"Space Shooter", "Server"})
+@Description("A frame of a server side game, with the time taken by each phase.")
+@Enabled(false)
+@StackTrace(false)
+class ServerTickEvent extends Event {
+
+	/** The event's type, used to check whether a recording wants the event before creating one. */
+	private static final EventType TYPE = EventType.getEventType(ServerTickEvent.class);
+
+	/** The name of the room the game is hosting. */
+	@Label("Room")
+	String room;
+
+	/** The amount of entities in the game at the end of the frame. */
+	@Label("Entities")
+	int entities;
+
+	/** The amount of clients playing the game. */
+	@Label("Clients")
+	int clients;
+
+	/** The time taken to apply the input each client sent since the last frame. */
+	@Label("Input Drain")
+	@Timespan(Timespan.NANOSECONDS)
+	long inputDrain;
+
+	/** The time taken to update the entities and serialize their state, not counting collisions. */
+	@Label("Simulate")
+	@Timespan(Timespan.NANOSECONDS)
+	long simulate;
+
+	/** The time taken to check for and resolve collisions. */
+	@Label("Collide")
+	@Timespan(Timespan.NANOSECONDS)
+	long collide;
+
+	/** The time taken to fill each client's snapshot and send the frame's datagrams. */
+	@Label("Broadcast")
+	@Timespan(Timespan.NANOSECONDS)
+	long broadcast;
+
+	/**
+	 * Creates and begins an event if a recording wants it, so nothing is allocated each frame while it is disabled.
+	 * @return the event, or null if no recording wants it
+	 */
+	static ServerTickEvent beginIfEnabled() {
+		if (!TYPE.isEnabled())
+			return null;
+
+		ServerTickEvent event = new ServerTickEvent();
+		event.begin();
+		return event;
+	}
+
+}
@@ -0,0 +1,117 @@
+package network.server;
+
+import com.esotericsoftware.kryonet.Connection;
+import network.ReliableSender;
+
+/**
+ * This class decides which frames a single client is sent snapshots in and how many bytes each snapshot can hold. <br>
+ * Every adapt interval the client's round trip time, the fraction of reliable messages resent to it and the size of
+ * its TCP write buffer are checked. If any of them look bad the rate and byte budget are halved, if all of them look
+ * good the rate is raised a step and the byte budget doubled, always staying within the bounds of the
+ * {@link SnapshotRates}. It is only used by the game thread, the current rate and budget can be read from any thread.
+ * @author Connor Stewart
+ */
+class SnapshotRateController {
+
+	/** The bounds and thresholds the rate is adapted with. */
+	private final SnapshotRates rates;
+
+	/** The current snapshots per second. */
+	private volatile float rate;
+
+	/** The current most bytes of entity updates in a snapshot. */
+	private volatile int byteBudget;
+
+	/** The time in seconds since the last snapshot was due. */
+	private float sinceSnapshot;
+
+	/** The time in seconds since the rate was last adapted. */
+	private float sinceAdapt;
+
+	/** The amount of reliable messages sent when the rate was last adapted. */
+	private long lastSent;
+
+	/** The amount of reliable messages resent when the rate was last adapted. */
+	private long lastResent;
+
+	/** The size of the TCP write buffer when the rate was last adapted. */
+	private int lastBufferSize;
+
+	/**
+	 * Creates a controller for a client, starting at the maximum rate.
+	 * @param rates the bounds and thresholds to adapt the rate with
+	 */
+	SnapshotRateController(SnapshotRates rates) {
+		this.rates = rates;
+		rate = rates.getMaxRate();
+		byteBudget = rates.getMaxByteBudget();
+	}
+
+	/**
+	 * Advances the controller by a frame.
+	 * @param delta the time in seconds since the last frame
+	 * @param connection the clients connection
+	 * @param reliable the sender for the clients reliable messages
+	 * @return whether the client should be sent a snapshot this frame
+	 */
+	boolean update(float delta, Connection connection, ReliableSender reliable) {
+		sinceAdapt += delta;
+		if (sinceAdapt >= rates.getAdaptInterval()) {
+			sinceAdapt = 0;
+			adapt(connection, reliable);
+		}
+
+		float interval = 1 / rate;
+		sinceSnapshot += delta;
+		if (sinceSnapshot < interval)
+			return false;
+
+		//carry over the remainder but never let missed snapshots build up into a burst
+		sinceSnapshot = Math.min(sinceSnapshot - interval, interval);
+		return true;
+	}
+
+	/**
+	 * Lowers or raises the rate depending on how the clients link is doing.
+	 * @param connection the clients connection
+	 * @param reliable the sender for the clients reliable messages
+	 */
+	private void adapt(Connection connection, ReliableSender reliable) {
+		//the reply to this ping updates the round trip time used the next time the rate is adapted
+		connection.updateReturnTripTime();
+		int rtt = connection.getReturnTripTime();
+
+		long sent = reliable.getSentCount();
+		long resent = reliable.getResentCount();
+		float loss = sent > lastSent ? Math.min(1, (float) (resent - lastResent) / (sent - lastSent)) : 0;
+		lastSent = sent;
+		lastResent = resent;
+
+		int bufferSize = connection.getTcpWriteBufferSize();
+		boolean bufferGrowing = bufferSize > 0 && bufferSize > lastBufferSize;
+		lastBufferSize = bufferSize;
+
+		if (rtt > rates.getHighRtt() || loss > rates.getHighLoss() || bufferGrowing) {
+			rate = Math.max(rates.getMinRate(), rate / 2);
+			byteBudget = Math.max(rates.getMinByteBudget(), byteBudget / 2);
+		} else if (rtt < rates.getLowRtt() && loss <= rates.getHighLoss() / 2) {
+			rate = Math.min(rates.getMaxRate(), rate + rates.getIncreaseStep());
+			byteBudget = Math.min(rates.getMaxByteBudget(), byteBudget * 2);
+		}
+	}
+
+	/**
+	 * @return the current snapshots per second
+	 */
+	float getRate() {
+		return rate;
+	}
+
+	/**
+	 * @return the current most bytes of entity updates in a snapshot
+	 */
+	int getByteBudget() {
+		return byteBudget;
+	}
+
+}
@@ -0,0 +1,177 @@
+package network.server;
+
+import network.DatagramPacker;
+
+/**
+ * This class stores the bounds and thresholds used to adapt how often each client is sent snapshots, and how large
+ * each snapshot can be. <br>
+ * Clients start at the maximum rate and byte budget. Both are halved while a client's link looks bad. Once the link
+ * has recovered the rate is raised a step at a time and the byte budget is doubled.
+ * @author Connor Stewart
+ */
+public class SnapshotRates {
+
+	/** The fewest snapshots per second sent to a client. */
+	private float minRate = 5;
+
+	/** The most snapshots per second sent to a client. */
+	private float maxRate = 60;
+
+	/** The snapshots per second added to a recovered client's rate each time it is adapted. */
+	private float increaseStep = 5;
+
+	/** The round trip time in milliseconds above which a client's rate is lowered. */
+	private int highRtt = 200;
+
+	/** The round trip time in milliseconds below which a client's rate can be raised. */
+	private int lowRtt = 100;
+
+	/** The fraction of reliable messages resent above which a client's rate is lowered. */
+	private float highLoss = 0.1f;
+
+	/** The time in seconds in between adapting each client's rate. */
+	private float adaptInterval = 1;
+
+	/** The fewest bytes of entity updates in a single snapshot, enough for a few players. */
+	private int minByteBudget = 256;
+
+	/** The most bytes of entity updates in a single snapshot, one full datagram by default. */
+	private int maxByteBudget = DatagramPacker.DEFAULT_MTU - 16;
+
+	/**
+	 * Sets the range a client's snapshot rate is kept within.
+	 * @param minRate the fewest snapshots per second
+	 * @param maxRate the most snapshots per second
+	 */
+	public synchronized void setBounds(float minRate, float maxRate) {
+		if (minRate <= 0 || maxRate < minRate)
+			throw new IllegalArgumentException("Invalid snapshot rate bounds: " + minRate + " to " + maxRate + ".");
+
+		this.minRate = minRate;
+		this.maxRate = maxRate;
+	}
+
+	/**
+	 * Sets the round trip times that lower and raise a client's rate.
+	 * @param lowRtt the time in milliseconds below which the rate can be raised
+	 * @param highRtt the time in milliseconds above which the rate is lowered
+	 */
+	public synchronized void setRttThresholds(int lowRtt, int highRtt) {
+		if (lowRtt < 0 || highRtt < lowRtt)
+			throw new IllegalArgumentException("Invalid round trip thresholds: " + lowRtt + "ms to " + highRtt + "ms.");
+
+		this.lowRtt = lowRtt;
+		this.highRtt = highRtt;
+	}
+
+	/**
+	 * Sets the fraction of reliable messages resent above which a client's rate is lowered.
+	 * @param highLoss the fraction from 0 to 1
+	 */
+	public synchronized void setLossThreshold(float highLoss) {
+		if (highLoss < 0 || highLoss > 1)
+			throw new IllegalArgumentException("Loss threshold must be between 0 and 1 (was " + highLoss + ").");
+
+		this.highLoss = highLoss;
+	}
+
+	/**
+	 * Sets the snapshots per second added to a recovered client's rate each time it is adapted.
+	 * @param increaseStep the snapshots per second
+	 */
+	public synchronized void setIncreaseStep(float increaseStep) {
+		if (increaseStep <= 0)
+			throw new IllegalArgumentException("Increase step must be positive (was " + increaseStep + ").");
+
+		this.increaseStep = increaseStep;
+	}
+
+	/**
+	 * Sets the time in between adapting each client's rate.
+	 * @param adaptInterval the time in seconds
+	 */
+	public synchronized void setAdaptInterval(float adaptInterval) {
+		if (adaptInterval <= 0)
+			throw new IllegalArgumentException("Adapt interval must be positive (was " + adaptInterval + ").");
+
+		this.adaptInterval = adaptInterval;
+	}
+
+	/**
+	 * Sets the range a client's bytes of entity updates in a single snapshot are kept within, the most important
+	 * updates are sent first.
+	 * @param minByteBudget the fewest bytes
+	 * @param maxByteBudget the most bytes
+	 */
+	public synchronized void setByteBudget(int minByteBudget, int maxByteBudget) {
+		if (minByteBudget < 1 || maxByteBudget < minByteBudget)
+			throw new IllegalArgumentException("Invalid byte budget bounds: " + minByteBudget + " to " + maxByteBudget + " bytes.");
+
+		this.minByteBudget = minByteBudget;
+		this.maxByteBudget = maxByteBudget;
+	}
+
+	/**
+	 * @return the fewest snapshots per second sent to a client
+	 */
+	synchronized float getMinRate() {
+		return minRate;
+	}
+
+	/**
+	 * @return the most snapshots per second sent to a client
+	 */
+	synchronized float getMaxRate() {
+		return maxRate;
+	}
+
+	/**
+	 * @return the snapshots per second added to a recovered client's rate
+	 */
+	synchronized float getIncreaseStep() {
+		return increaseStep;
+	}
+
+	/**
+	 * @return the round trip time in milliseconds above which a client's rate is lowered
+	 */
+	synchronized int getHighRtt() {
+		return highRtt;
+	}
+
+	/**
+	 * @return the round trip time in milliseconds below which a client's rate can be raised
+	 */
+	synchronized int getLowRtt() {
+		return lowRtt;
+	}
+
+	/**
+	 * @return the fraction of reliable messages resent above which a client's rate is lowered
+	 */
+	synchronized float getHighLoss() {
+		return highLoss;
+	}
+
+	/**
+	 * @return the time in seconds in between adapting each client's rate
+	 */
+	synchronized float getAdaptInterval() {
+		return adaptInterval;
+	}
+
+	/**
+	 * @return the fewest bytes of entity updates in a single snapshot
+	 */
+	synchronized int getMinByteBudget() {
+		return minByteBudget;
+	}
+
+	/**
+	 * @return the most bytes of entity updates in a single snapshot
+	 */
+	synchronized int getMaxByteBudget() {
+		return maxByteBudget;
+	}
+
+}
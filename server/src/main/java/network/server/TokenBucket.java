@@ -0,0 +1,50 @@
+package network.server;
+
+/**
+ * A token bucket used to limit how often something can happen. <br>
+ * The bucket refills at a constant rate up to its capacity, and each event takes one token.
+ * @author Connor Stewart
+ */
+class TokenBucket {
+
+	/** The amount of tokens added per second. */
+	private final double refillRate;
+
+	/** The maximum amount of tokens the bucket can hold. */
+	private final double capacity;
+
+	/** The amount of tokens in the bucket. */
+	private double tokens;
+
+	/** The time in nanoseconds the bucket was last refilled. */
+	private long lastRefill;
+
+	/**
+	 * Creates a full bucket.
+	 * @param refillRate the amount of tokens added per second
+	 * @param capacity the maximum amount of tokens the bucket can hold
+	 */
+	TokenBucket(double refillRate, int capacity) {
+		this.refillRate = refillRate;
+		this.capacity = capacity;
+		tokens = capacity;
+		lastRefill = System.nanoTime();
+	}
+
+	/**
+	 * Takes a token from the bucket if one is available.
+	 * @param now the current time in nanoseconds
+	 * @return whether a token was taken
+	 */
+	boolean tryConsume(long now) {
+		tokens = Math.min(capacity, tokens + (now - lastRefill) / 1e9 * refillRate);
+		lastRefill = now;
+
+		if (tokens < 1)
+			return false;
+
+		tokens--;
+		return true;
+	}
+
+}
@@ -1,16 +0,0 @@
-package network;
-
-/**
- * This class is used to receive messages from the MessageQueue.
- * @author Connor Stewart
- */
-public interface MessageQueueListener {
-
-    /**
-     * Called when a message is received.
-     * @param message the message received
-     * @return whether to consume the message
-     */
-    boolean received(Message message);
-
-}